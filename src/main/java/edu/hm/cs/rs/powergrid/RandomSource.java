@@ -0,0 +1,76 @@
+package edu.hm.cs.rs.powergrid;
+
+import java.util.List;
+
+/**
+ * Eine Quelle fuer Zufallszahlen, die an ein Spiel gebunden ist.
+ * Alle Zufallsentscheidungen eines Spieles (Mischen des Kraftwerksstapels,
+ * Gleichstand bei der Spielerreihenfolge, ...) beziehen ihre Zahlen aus einer solchen Quelle.
+ * Gleicher Startwert liefert die gleiche Folge von Zahlen.
+ * Eine Quelle ist nicht threadsicher. Jeder Thread bekommt eine eigene Quelle mit derive oder split.
+ * @author Stefan Kuehnel, stefan.kuehnel@hm.edu
+ * @version last-modified 2026-10-19
+ */
+public interface RandomSource {
+    /**
+     * Startwert, aus dem diese Quelle entstanden ist.
+     * Reicht zusammen mit den Stream-Nummern aus, um ein Spiel exakt nachzuspielen.
+     * @return Startwert.
+     */
+    long getSeed();
+
+    /**
+     * Naechste Zufallszahl im Bereich 0 (inklusive) bis bound (exklusive).
+     * @param bound Obergrenze. Echt positiv.
+     * @return Zufallszahl.
+     * @throws IllegalArgumentException wenn bound nicht positiv ist.
+     */
+    int nextInt(int bound);
+
+    /**
+     * Naechste Zufallszahl aus dem ganzen Wertebereich von long.
+     * @return Zufallszahl.
+     */
+    long nextLong();
+
+    /**
+     * Spaltet eine neue, unabhaengige Quelle von dieser ab.
+     * Aendert den Zustand dieser Quelle.
+     * @return Neue Quelle. Nicht null.
+     */
+    RandomSource split();
+
+    /**
+     * Leitet eine unabhaengige Quelle aus dem Startwert dieser Quelle ab.
+     * Das Ergebnis haengt nur vom Startwert und der Stream-Nummer ab,
+     * nicht vom bisherigen Gebrauch dieser Quelle.
+     * Damit bekommen Spiele, Spielphasen und Simulationsthreads reproduzierbare Quellen,
+     * egal in welcher Reihenfolge sie angefordert werden.
+     * @param streamId Nummer des abgeleiteten Streams.
+     * @return Neue Quelle. Nicht null.
+     */
+    RandomSource derive(long streamId);
+
+    /**
+     * Mischt ein Array (Fisher-Yates).
+     * @param array Array. Nicht null.
+     */
+    default void shuffle(int[] array) {
+        for(int index = array.length - 1; index > 0; index--) {
+            final int other = nextInt(index + 1);
+            final int swap = array[index];
+            array[index] = array[other];
+            array[other] = swap;
+        }
+    }
+
+    /**
+     * Mischt eine Liste (Fisher-Yates).
+     * @param list Veraenderliche Liste. Nicht null.
+     * @param <E> Typ der Elemente.
+     */
+    default <E> void shuffle(List<E> list) {
+        for(int index = list.size() - 1; index > 0; index--)
+            list.set(index, list.set(nextInt(index + 1), list.get(index)));
+    }
+}
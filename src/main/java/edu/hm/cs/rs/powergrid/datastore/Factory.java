@@ -1,6 +1,7 @@
 package edu.hm.cs.rs.powergrid.datastore;
 
 import edu.hm.cs.rs.powergrid.Edition;
+import edu.hm.cs.rs.powergrid.RandomSource;
 import java.util.List;
 
 /**
@@ -117,4 +118,13 @@ public interface Factory {
      * @see Phase
      */
     Game newGame(Edition edition);
+
+    /**
+     * Eine Zufallsquelle fuer ein Spiel.
+     * Spielphasen und Simulationsthreads leiten davon eigene Quellen ab.
+     * @param seed Startwert. Gleicher Startwert liefert die gleichen Zufallszahlen.
+     * @return Zufallsquelle. Nicht null.
+     * @see RandomSource#derive(long)
+     */
+    RandomSource newRandomSource(long seed);
 }
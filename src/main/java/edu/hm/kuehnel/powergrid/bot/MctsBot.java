@@ -0,0 +1,170 @@
+/*
+ * Copyright (c) 2020 Stefan Kuehnel - All Rights Reserved
+ * Unauthorized copying of this file, via any medium is strictly prohibited
+ * Proprietary and confidential
+ * Written by Stefan Kuehnel <stefan.kuehnel@hm.edu>, May 2020
+ *
+ * DISCLAIMER. THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OR CONDITION,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. THE AUTHOR HEREBY DISCLAIMS
+ * ALL LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE.
+ */
+
+package edu.hm.kuehnel.powergrid.bot;
+
+import edu.hm.cs.rs.powergrid.RandomSource;
+import edu.hm.kuehnel.powergrid.engine.Action;
+import edu.hm.kuehnel.powergrid.engine.ActionBatch;
+import edu.hm.kuehnel.powergrid.engine.GameEngine;
+import edu.hm.kuehnel.powergrid.engine.Phase;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+/** Ein Bot, der seine Zuege mit Monte-Carlo-Baumsuche (UCT) waehlt.
+ * Die Suche laeuft auf dem kompakten Zustand der Engine, nicht auf den Objekten von Board und City.
+ * Mehrere Worker suchen unabhaengig voneinander in eigenen Baeumen (Wurzelparallelisierung).
+ * Am Ende zaehlen die Besuche der Zuege an der Wurzel ueber alle Baeume zusammen.
+ * Die Knoten liegen in wiederverwendeten primitiven Arrays.
+ * Ein Bot bearbeitet immer nur eine Entscheidung gleichzeitig.
+ * @author Stefan Kuehnel, stefan.kuehnel@hm.edu
+ * @version last-modified 2026-10-19
+ */
+public class MctsBot {
+    /**
+     * Executor, auf dem die Worker suchen.
+     */
+    private final Executor executor;
+
+    /**
+     * Hoechstanzahl Knoten pro Baum.
+     */
+    private final int poolSize;
+
+    /**
+     * Zufallsquelle, von der jeder Worker eine eigene abspaltet.
+     */
+    private final RandomSource random;
+
+    /**
+     * Die Worker. Werden neu angelegt, wenn das Spiel nicht mehr passt.
+     */
+    private final SearchWorker[] workers;
+
+    /**
+     * Anzahl Iterationen aller Worker bei der letzten Entscheidung.
+     */
+    private int lastIterations;
+
+    /**
+     * Initialisiert einen Bot.
+     * @param executor Executor fuer die Worker. Nicht null.
+     * @param threads Anzahl Worker. Echt positiv.
+     * @param poolSize Hoechstanzahl Knoten pro Baum. Echt positiv.
+     * @param random Zufallsquelle. Nicht null.
+     * @throws IllegalArgumentException wenn ein Argument null oder nicht positiv ist.
+     */
+    public MctsBot(Executor executor, int threads, int poolSize, RandomSource random) {
+        if (executor == null || random == null)
+            throw new IllegalArgumentException("Executor und Zufallsquelle duerfen nicht null sein.");
+        if (threads < 1 || poolSize < 1)
+            throw new IllegalArgumentException("Anzahl Worker und Knoten muessen echt positiv sein.");
+        this.executor = executor;
+        this.poolSize = poolSize;
+        this.random = random;
+        workers = new SearchWorker[threads];
+    }
+
+    /**
+     * Anzahl Iterationen aller Worker bei der letzten Entscheidung.
+     * @return Anzahl.
+     */
+    public int getLastIterations() {
+        return lastIterations;
+    }
+
+    /**
+     * Waehlt einen Zug fuer einen Spieler innerhalb einer Zeitvorgabe.
+     * @param game Spiel. Gehoert dem aufrufenden Thread. Nicht null.
+     * @param player Spieler, der ziehen soll.
+     * @param millis Zeitvorgabe in Millisekunden.
+     * @return Zug. EndPhase bedeutet, dass der Spieler in dieser Phase fertig ist.
+     * @throws IllegalArgumentException wenn das Spiel null oder der Spieler unbekannt ist.
+     * @throws IllegalStateException wenn das Spiel zu Ende ist.
+     */
+    public Action decide(GameEngine game, int player, long millis) {
+        return decide(game, player, millis, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Waehlt einen Zug fuer einen Spieler innerhalb einer Zeitvorgabe und einer Hoechstanzahl Iterationen pro Worker.
+     * @param game Spiel. Gehoert dem aufrufenden Thread. Nicht null.
+     * @param player Spieler, der ziehen soll.
+     * @param millis Zeitvorgabe in Millisekunden.
+     * @param iterations Hoechstanzahl Iterationen pro Worker.
+     * @return Zug. EndPhase bedeutet, dass der Spieler in dieser Phase fertig ist.
+     * @throws IllegalArgumentException wenn das Spiel null oder der Spieler unbekannt ist.
+     * @throws IllegalStateException wenn das Spiel zu Ende ist.
+     */
+    public Action decide(GameEngine game, int player, long millis, int iterations) {
+        if (game == null)
+            throw new IllegalArgumentException("Das Spiel darf nicht null sein.");
+        if (player < 0 || player >= game.getState().getPlayers())
+            throw new IllegalArgumentException("Unbekannter Spieler: " + player);
+        if (game.getState().getPhase() == Phase.Terminated)
+            throw new IllegalStateException("Das Spiel ist zu Ende.");
+
+        for (int index = 0; index < workers.length; index++) {
+            if (workers[index] == null || !workers[index].fits(game))
+                workers[index] = new SearchWorker(game, poolSize, random.split());
+            workers[index].prepare(game, player);
+        }
+
+        final long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(millis);
+        final CompletableFuture<?>[] running = new CompletableFuture<?>[workers.length];
+        final int[] done = new int[workers.length];
+        for (int index = 0; index < workers.length; index++) {
+            final int worker = index;
+            running[index] = CompletableFuture.runAsync(() -> done[worker] = workers[worker].search(deadline, iterations), executor);
+        }
+        CompletableFuture.allOf(running).join();
+
+        lastIterations = 0;
+        for (int count : done)
+            lastIterations += count;
+        return best(game, player);
+    }
+
+    /**
+     * Hilfsmethode, die die Besuche der Zuege an der Wurzel ueber alle Baeume zusammenzaehlt.
+     * Alle Baeume haben an der Wurzel dieselben Zuege in derselben Reihenfolge.
+     * War der Baum zu klein fuer die Zuege an der Wurzel, gilt der erste Zug des MoveGenerator.
+     * @param game Spiel an der Wurzel.
+     * @param player Spieler an der Wurzel.
+     * @return Meistbesuchter Zug, oder der erste regelkonforme Zug, wenn die Wurzel nicht aufgeklappt ist.
+     */
+    private Action best(GameEngine game, int player) {
+        final NodePool first = workers[0].getPool();
+        if (!first.isExpanded(NodePool.ROOT)) {
+            final ActionBatch moves = new ActionBatch(8);
+            new MoveGenerator(game).generate(player, moves);
+            return new Action(moves.getType(0), moves.getPlayer(0), moves.getFirst(0), moves.getSecond(0));
+        }
+        final int children = first.getChildCount(NodePool.ROOT);
+        int best = 0;
+        long bestVisits = -1;
+        for (int child = 0; child < children; child++) {
+            long visits = 0;
+            for (SearchWorker worker : workers)
+                visits += worker.getPool().getVisits(worker.getPool().getFirstChild(NodePool.ROOT) + child);
+            if (visits > bestVisits) {
+                bestVisits = visits;
+                best = child;
+            }
+        }
+        final int node = first.getFirstChild(NodePool.ROOT) + best;
+        return new Action(first.getMoveType(node), first.getMover(node), first.getMoveFirst(node), first.getMoveSecond(node));
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) 2020 Stefan Kuehnel - All Rights Reserved
+ * Unauthorized copying of this file, via any medium is strictly prohibited
+ * Proprietary and confidential
+ * Written by Stefan Kuehnel <stefan.kuehnel@hm.edu>, May 2020
+ *
+ * DISCLAIMER. THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OR CONDITION,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. THE AUTHOR HEREBY DISCLAIMS
+ * ALL LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE.
+ */
+
+package edu.hm.kuehnel.powergrid.bot;
+
+import edu.hm.kuehnel.powergrid.engine.ActionBatch;
+import edu.hm.kuehnel.powergrid.engine.ActionType;
+import edu.hm.kuehnel.powergrid.engine.EditionTables;
+import edu.hm.kuehnel.powergrid.engine.FiringOptimizer;
+import edu.hm.kuehnel.powergrid.engine.GameEngine;
+import edu.hm.kuehnel.powergrid.engine.GameState;
+import edu.hm.kuehnel.powergrid.engine.Phase;
+
+/** Zaehlt die Zuege auf, die ein Bot in der aktuellen Phase erwaegt.
+ * Alle erzeugten Zuege sind regelkonform, die Engine lehnt keinen davon ab.
+ * Um die Verzweigung klein zu halten, beschraenkt sich die Auswahl auf typische Zuege:
+ * Gebote zur Nummer des Kraftwerks, Kaeufe einzelner Rohstoffe, Anschluesse einzelner Staedte
+ * und den besten Betrieb der Kraftwerke.
+ * EndPhase steht fuer "Der Spieler ist in dieser Phase fertig" und ist immer dabei, ausser am Spielende.
+ * Erzeugt beim Aufzaehlen keine Objekte und ist nicht threadsicher.
+ * @author Stefan Kuehnel, stefan.kuehnel@hm.edu
+ * @version last-modified 2026-10-19
+ */
+public class MoveGenerator {
+    /**
+     * Das Spiel.
+     */
+    private final GameEngine engine;
+
+    /**
+     * Zwischenspeicher fuer die Verbindungskosten aller Staedte.
+     */
+    private final int[] connectionCosts;
+
+    /**
+     * Sucht den besten Betrieb der Kraftwerke.
+     */
+    private final FiringOptimizer optimizer;
+
+    /**
+     * Initialisiert einen Generator fuer ein Spiel.
+     * @param engine Das Spiel. Nicht null.
+     * @throws IllegalArgumentException wenn das Spiel null ist.
+     */
+    public MoveGenerator(GameEngine engine) {
+        if (engine == null)
+            throw new IllegalArgumentException("Das Spiel darf nicht null sein.");
+        this.engine = engine;
+        connectionCosts = new int[engine.getBoard().size()];
+        optimizer = new FiringOptimizer(engine.getTables());
+    }
+
+    /**
+     * Zaehlt die Zuege eines Spielers auf.
+     * @param player Spieler.
+     * @param moves Liste, die geleert und mit den Zuegen gefuellt wird. Nicht null.
+     */
+    public void generate(int player, ActionBatch moves) {
+        moves.clear();
+        final GameState state = engine.getState();
+        final EditionTables tables = engine.getTables();
+        final int money = state.getMoney(player);
+
+        switch (state.getPhase()) {
+            case PlantAuction -> {
+                for (int position = 0; position < tables.getActualPlants(state.getLevel()); position++) {
+                    final int plant = state.getMarketPlant(position);
+                    if (plant < 0)
+                        break;
+                    if (tables.getPlantNumber(plant) <= money)
+                        moves.add(ActionType.Bid, player, plant, tables.getPlantNumber(plant));
+                }
+            }
+            case ResourceBuying -> {
+                for (int resource = 0; resource < EditionTables.RESOURCES; resource++) {
+                    final int available = state.getMarket(resource);
+                    if (available > 0 && tables.getResourceCost(resource, available, 1) <= money
+                            && engine.canStore(player, resource, 1))
+                        moves.add(ActionType.BuyResource, player, resource, 1);
+                }
+            }
+            case Building -> {
+                engine.getConnectionCosts(player, connectionCosts);
+                for (int city = 0; city < connectionCosts.length; city++) {
+                    final int slot = state.getFreeSlot(city);
+                    if (slot < 0 || slot > state.getLevel() || connectionCosts[city] == Integer.MAX_VALUE
+                            || state.isOwner(player, city))
+                        continue;
+                    if (tables.getCityCost(slot) + connectionCosts[city] <= money)
+                        moves.add(ActionType.BuildCity, player, city, 0);
+                }
+            }
+            case Bureaucracy -> {
+                if (!state.hasFired(player)) {
+                    optimizer.optimize(state, player);
+                    moves.add(ActionType.FirePlants, player, optimizer.getMask(), optimizer.getHybridCoal());
+                }
+            }
+            case Terminated -> {
+                return;
+            }
+            default -> { }
+        }
+        moves.add(ActionType.EndPhase, player, 0, 0);
+    }
+
+    /**
+     * Prueft, ob das Spiel zu Ende ist.
+     * @return true am Spielende.
+     */
+    public boolean isTerminal() {
+        return engine.getState().getPhase() == Phase.Terminated;
+    }
+}
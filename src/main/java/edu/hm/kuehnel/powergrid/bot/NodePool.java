@@ -0,0 +1,241 @@
+/*
+ * Copyright (c) 2020 Stefan Kuehnel - All Rights Reserved
+ * Unauthorized copying of this file, via any medium is strictly prohibited
+ * Proprietary and confidential
+ * Written by Stefan Kuehnel <stefan.kuehnel@hm.edu>, May 2020
+ *
+ * DISCLAIMER. THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OR CONDITION,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. THE AUTHOR HEREBY DISCLAIMS
+ * ALL LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE.
+ */
+
+package edu.hm.kuehnel.powergrid.bot;
+
+import edu.hm.kuehnel.powergrid.engine.ActionBatch;
+import edu.hm.kuehnel.powergrid.engine.ActionType;
+
+/** Die Knoten eines Suchbaums in parallelen primitiven Arrays.
+ * Ein Knoten ist ein Index. Die Kinder eines Knotens liegen lueckenlos hintereinander,
+ * der Knoten merkt sich nur das erste Kind und ihre Anzahl.
+ * Der Speicher wird einmal angelegt und fuer jede Suche mit clear() wiederverwendet.
+ * @author Stefan Kuehnel, stefan.kuehnel@hm.edu
+ * @version last-modified 2026-10-19
+ */
+class NodePool {
+    /**
+     * Index der Wurzel.
+     */
+    static final int ROOT = 0;
+
+    /**
+     * Eintrag fuer "kein Knoten".
+     */
+    static final int NONE = -1;
+
+    /**
+     * Die Arten der Zuege in der Reihenfolge ihrer Ordinalzahlen.
+     */
+    private static final ActionType[] TYPES = ActionType.values();
+
+    /**
+     * Elternknoten.
+     */
+    private final int[] parent;
+
+    /**
+     * Erstes Kind oder NONE, solange der Knoten nicht aufgeklappt ist.
+     */
+    private final int[] firstChild;
+
+    /**
+     * Anzahl Kinder.
+     */
+    private final int[] childCount;
+
+    /**
+     * Zug, der zu diesem Knoten fuehrt: Art als Ordinalzahl, Spieler, erstes und zweites Argument.
+     */
+    private final int[] moveType, mover, moveFirst, moveSecond;
+
+    /**
+     * Anzahl Besuche.
+     */
+    private final int[] visits;
+
+    /**
+     * Summe der Bewertungen aus Sicht des Spielers, der den Zug gemacht hat.
+     */
+    private final double[] value;
+
+    /**
+     * Anzahl belegter Knoten.
+     */
+    private int size;
+
+    /**
+     * Initialisiert einen leeren Vorrat.
+     * @param capacity Hoechstanzahl Knoten. Echt positiv.
+     */
+    NodePool(int capacity) {
+        parent = new int[capacity];
+        firstChild = new int[capacity];
+        childCount = new int[capacity];
+        moveType = new int[capacity];
+        mover = new int[capacity];
+        moveFirst = new int[capacity];
+        moveSecond = new int[capacity];
+        visits = new int[capacity];
+        value = new double[capacity];
+    }
+
+    /**
+     * Gibt alle Knoten frei und legt eine neue Wurzel an.
+     */
+    void clear() {
+        size = 1;
+        parent[ROOT] = NONE;
+        firstChild[ROOT] = NONE;
+        childCount[ROOT] = 0;
+        mover[ROOT] = NONE;
+        visits[ROOT] = 0;
+        value[ROOT] = 0;
+    }
+
+    /**
+     * Anzahl belegter Knoten.
+     * @return Anzahl.
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Klappt einen Knoten auf und legt fuer jeden Zug ein Kind an.
+     * @param node Knoten, noch nicht aufgeklappt.
+     * @param moves Die Zuege.
+     * @return true, wenn der Platz fuer alle Kinder reichte.
+     */
+    boolean expand(int node, ActionBatch moves) {
+        final int count = moves.size();
+        if (size + count > parent.length)
+            return false;
+        for (int index = 0; index < count; index++) {
+            final int child = size + index;
+            parent[child] = node;
+            firstChild[child] = NONE;
+            childCount[child] = 0;
+            moveType[child] = moves.getType(index).ordinal();
+            mover[child] = moves.getPlayer(index);
+            moveFirst[child] = moves.getFirst(index);
+            moveSecond[child] = moves.getSecond(index);
+            visits[child] = 0;
+            value[child] = 0;
+        }
+        firstChild[node] = size;
+        childCount[node] = count;
+        size += count;
+        return true;
+    }
+
+    /**
+     * Prueft, ob ein Knoten aufgeklappt ist.
+     * @param node Knoten.
+     * @return true, wenn er Kinder hat.
+     */
+    boolean isExpanded(int node) {
+        return firstChild[node] != NONE;
+    }
+
+    /**
+     * Elternknoten.
+     * @param node Knoten.
+     * @return Elternknoten oder NONE fuer die Wurzel.
+     */
+    int getParent(int node) {
+        return parent[node];
+    }
+
+    /**
+     * Erstes Kind.
+     * @param node Knoten.
+     * @return Erstes Kind oder NONE.
+     */
+    int getFirstChild(int node) {
+        return firstChild[node];
+    }
+
+    /**
+     * Anzahl Kinder.
+     * @param node Knoten.
+     * @return Anzahl.
+     */
+    int getChildCount(int node) {
+        return childCount[node];
+    }
+
+    /**
+     * Art des Zuges, der zum Knoten fuehrt.
+     * @param node Knoten, nicht die Wurzel.
+     * @return Art.
+     */
+    ActionType getMoveType(int node) {
+        return TYPES[moveType[node]];
+    }
+
+    /**
+     * Spieler, der den Zug zum Knoten macht.
+     * @param node Knoten.
+     * @return Spieler oder NONE fuer die Wurzel.
+     */
+    int getMover(int node) {
+        return mover[node];
+    }
+
+    /**
+     * Erstes Argument des Zuges zum Knoten.
+     * @param node Knoten.
+     * @return Argument.
+     */
+    int getMoveFirst(int node) {
+        return moveFirst[node];
+    }
+
+    /**
+     * Zweites Argument des Zuges zum Knoten.
+     * @param node Knoten.
+     * @return Argument.
+     */
+    int getMoveSecond(int node) {
+        return moveSecond[node];
+    }
+
+    /**
+     * Anzahl Besuche.
+     * @param node Knoten.
+     * @return Anzahl.
+     */
+    int getVisits(int node) {
+        return visits[node];
+    }
+
+    /**
+     * Summe der Bewertungen.
+     * @param node Knoten.
+     * @return Summe.
+     */
+    double getValue(int node) {
+        return value[node];
+    }
+
+    /**
+     * Verbucht einen Besuch mit Bewertung.
+     * @param node Knoten.
+     * @param reward Bewertung aus Sicht des Spielers, der den Zug zum Knoten gemacht hat.
+     */
+    void update(int node, double reward) {
+        visits[node]++;
+        value[node] += reward;
+    }
+}
@@ -0,0 +1,274 @@
+/*
+ * Copyright (c) 2020 Stefan Kuehnel - All Rights Reserved
+ * Unauthorized copying of this file, via any medium is strictly prohibited
+ * Proprietary and confidential
+ * Written by Stefan Kuehnel <stefan.kuehnel@hm.edu>, May 2020
+ *
+ * DISCLAIMER. THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OR CONDITION,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. THE AUTHOR HEREBY DISCLAIMS
+ * ALL LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE.
+ */
+
+package edu.hm.kuehnel.powergrid.bot;
+
+import edu.hm.cs.rs.powergrid.RandomSource;
+import edu.hm.kuehnel.powergrid.engine.ActionBatch;
+import edu.hm.kuehnel.powergrid.engine.ActionType;
+import edu.hm.kuehnel.powergrid.engine.GameEngine;
+import edu.hm.kuehnel.powergrid.engine.GameState;
+
+import java.nio.ByteBuffer;
+
+/** Eine Monte-Carlo-Baumsuche in einem Thread.
+ * Der Worker hat ein eigenes Spiel, einen eigenen Baum und eine eigene Zufallsquelle.
+ * Er uebernimmt den Zustand der Wurzel einmal aus einer Sicherung. Danach spielt er jede Iteration
+ * mit make() und nimmt sie mit undo() wieder zurueck, statt das Spiel zu kopieren.
+ * Zugmodell: Die Spieler ziehen reihum. EndPhase heisst "fertig in dieser Phase".
+ * Erst wenn alle Spieler nacheinander fertig sind, endet die Phase in der Engine.
+ * @author Stefan Kuehnel, stefan.kuehnel@hm.edu
+ * @version last-modified 2026-10-19
+ */
+class SearchWorker {
+    /**
+     * Gewicht fuer die Erkundung in der UCT-Formel.
+     */
+    static final double EXPLORATION = 0.7;
+
+    /**
+     * Anzahl Runden, die eine Simulation hoechstens ueber die Wurzel hinaus spielt.
+     */
+    static final int HORIZON_ROUNDS = 2;
+
+    /**
+     * Hoechstanzahl Zuege einer Simulation.
+     */
+    static final int ROLLOUT_LIMIT = 400;
+
+    /**
+     * Elektro, die eine angeschlossene Stadt in der Bewertung wert ist.
+     */
+    static final int CITY_VALUE = 20;
+
+    /**
+     * Das eigene Spiel.
+     */
+    private final GameEngine engine;
+
+    /**
+     * Zuege fuer das eigene Spiel.
+     */
+    private final MoveGenerator generator;
+
+    /**
+     * Der Baum.
+     */
+    private final NodePool pool;
+
+    /**
+     * Zufallsquelle fuer Simulationen.
+     */
+    private final RandomSource random;
+
+    /**
+     * Puffer, ueber den der Worker den Zustand der Wurzel uebernimmt.
+     */
+    private final ByteBuffer root;
+
+    /**
+     * Zwischenspeicher fuer Zuege.
+     */
+    private final ActionBatch moves = new ActionBatch(64);
+
+    /**
+     * Zwischenspeicher fuer die Bewertung pro Spieler.
+     */
+    private final double[] rewards;
+
+    /**
+     * Spieler am Zug an der Wurzel und Runde der Wurzel.
+     */
+    private int rootPlayer, rootRound;
+
+    /**
+     * Spieler am Zug und Anzahl Spieler, die nacheinander fertig sind.
+     */
+    private int toMove, passes;
+
+    /**
+     * Initialisiert einen Worker.
+     * @param template Spiel, dessen Tabellen und Spielplan der Worker teilt. Nicht null.
+     * @param poolSize Hoechstanzahl Knoten im Baum.
+     * @param random Eigene Zufallsquelle. Nicht null.
+     */
+    SearchWorker(GameEngine template, int poolSize, RandomSource random) {
+        engine = new GameEngine(template.getTables(), template.getBoard(), template.getState().getPlayers(), random.split());
+        generator = new MoveGenerator(engine);
+        pool = new NodePool(poolSize);
+        this.random = random;
+        root = ByteBuffer.allocate(engine.getState().getByteSize());
+        rewards = new double[engine.getState().getPlayers()];
+    }
+
+    /**
+     * Prueft, ob der Worker zu einem Spiel passt.
+     * @param game Spiel.
+     * @return true, wenn Tabellen, Spielplan und Spieleranzahl gleich sind.
+     */
+    boolean fits(GameEngine game) {
+        return game.getTables() == engine.getTables() && game.getBoard() == engine.getBoard()
+                && game.getState().getPlayers() == engine.getState().getPlayers();
+    }
+
+    /**
+     * Uebernimmt den Zustand eines Spieles als Wurzel und leert den Baum.
+     * Nur im Thread aufrufen, dem das Spiel gehoert.
+     * @param game Spiel. Passt zum Worker.
+     * @param player Spieler, der an der Wurzel am Zug ist.
+     */
+    void prepare(GameEngine game, int player) {
+        game.getState().writeTo(root.clear());
+        engine.getState().readFrom(root.clear());
+        rootPlayer = player;
+        rootRound = game.getState().getRound();
+        pool.clear();
+    }
+
+    /**
+     * Der Baum der letzten Suche.
+     * @return Baum.
+     */
+    NodePool getPool() {
+        return pool;
+    }
+
+    /**
+     * Sucht bis zur Frist oder bis zur Hoechstanzahl Iterationen, wenigstens aber eine Iteration.
+     * Die Uhr wird nur alle 16 Iterationen gelesen.
+     * @param deadline Frist als System.nanoTime().
+     * @param iterations Hoechstanzahl Iterationen.
+     * @return Anzahl durchgefuehrter Iterationen.
+     */
+    int search(long deadline, int iterations) {
+        int done = 0;
+        while (done < iterations) {
+            if (done > 0 && (done & 15) == 0 && System.nanoTime() - deadline >= 0)
+                break;
+            iterate();
+            done++;
+        }
+        return done;
+    }
+
+    /**
+     * Hilfsmethode fuer eine Iteration: Auswahl, Aufklappen, Simulation und Rueckmeldung.
+     */
+    private void iterate() {
+        toMove = rootPlayer;
+        passes = 0;
+
+        // Auswahl
+        int node = NodePool.ROOT;
+        while (pool.isExpanded(node)) {
+            node = select(node);
+            play(pool.getMoveType(node), pool.getMover(node), pool.getMoveFirst(node), pool.getMoveSecond(node));
+        }
+
+        // Aufklappen
+        if (!isOver()) {
+            generator.generate(toMove, moves);
+            if (pool.expand(node, moves)) {
+                node = pool.getFirstChild(node) + random.nextInt(pool.getChildCount(node));
+                play(pool.getMoveType(node), pool.getMover(node), pool.getMoveFirst(node), pool.getMoveSecond(node));
+            }
+        }
+
+        // Simulation
+        for (int step = 0; step < ROLLOUT_LIMIT && !isOver(); step++) {
+            generator.generate(toMove, moves);
+            final int pick = random.nextInt(moves.size());
+            play(moves.getType(pick), moves.getPlayer(pick), moves.getFirst(pick), moves.getSecond(pick));
+        }
+
+        // Rueckmeldung
+        evaluate();
+        for (; node != NodePool.NONE; node = pool.getParent(node)) {
+            final int mover = pool.getMover(node);
+            pool.update(node, mover == NodePool.NONE ? 0 : rewards[mover]);
+        }
+        while (engine.getState().getUndoDepth() > 0)
+            engine.undo();
+    }
+
+    /**
+     * Hilfsmethode, die nach UCT das vielversprechendste Kind auswaehlt.
+     * Unbesuchte Kinder kommen zuerst dran.
+     * @param node Aufgeklappter Knoten.
+     * @return Kind.
+     */
+    private int select(int node) {
+        final double logVisits = Math.log(Math.max(1, pool.getVisits(node)));
+        int best = NodePool.NONE;
+        double bestScore = Double.NEGATIVE_INFINITY;
+        final int first = pool.getFirstChild(node);
+        for (int child = first; child < first + pool.getChildCount(node); child++) {
+            final int visits = pool.getVisits(child);
+            if (visits == 0)
+                return child;
+            final double score = pool.getValue(child) / visits + EXPLORATION * Math.sqrt(logVisits / visits);
+            if (score > bestScore) {
+                bestScore = score;
+                best = child;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Hilfsmethode, die einen Zug im Zugmodell spielt.
+     * @param type Art.
+     * @param player Spieler.
+     * @param first Erstes Argument.
+     * @param second Zweites Argument.
+     */
+    private void play(ActionType type, int player, int first, int second) {
+        final int players = rewards.length;
+        if (type == ActionType.EndPhase) {
+            passes++;
+            if (passes == players) {
+                engine.make(ActionType.EndPhase, player, 0, 0);
+                passes = 0;
+                toMove = 0;
+                return;
+            }
+        } else {
+            engine.make(type, player, first, second);
+            passes = 0;
+        }
+        toMove = (toMove + 1) % players;
+    }
+
+    /**
+     * Hilfsmethode, die prueft, ob eine Simulation endet.
+     * @return true am Spielende oder hinter dem Horizont.
+     */
+    private boolean isOver() {
+        return generator.isTerminal() || engine.getState().getRound() > rootRound + HORIZON_ROUNDS;
+    }
+
+    /**
+     * Hilfsmethode, die den Zustand fuer alle Spieler bewertet.
+     * Jeder Spieler bekommt seinen Punktestand im Verhaeltnis zum besten Punktestand, also einen Wert in [0, 1].
+     */
+    private void evaluate() {
+        final GameState state = engine.getState();
+        double best = 0;
+        for (int player = 0; player < rewards.length; player++) {
+            rewards[player] = Math.max(0, state.getCitiesBuilt(player) * CITY_VALUE + state.getMoney(player));
+            best = Math.max(best, rewards[player]);
+        }
+        for (int player = 0; player < rewards.length; player++)
+            rewards[player] = best == 0 ? 0 : rewards[player] / best;
+    }
+}
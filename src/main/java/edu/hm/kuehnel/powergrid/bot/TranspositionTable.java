@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2020 Stefan Kuehnel - All Rights Reserved
+ * Unauthorized copying of this file, via any medium is strictly prohibited
+ * Proprietary and confidential
+ * Written by Stefan Kuehnel <stefan.kuehnel@hm.edu>, May 2020
+ *
+ * DISCLAIMER. THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OR CONDITION,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. THE AUTHOR HEREBY DISCLAIMS
+ * ALL LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE.
+ */
+
+package edu.hm.kuehnel.powergrid.bot;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+/** Eine Transpositionstabelle fester Groesse fuer die Suche von Bots.
+ * Bildet Zobrist-Hashes von Stellungen auf 64-Bit-Daten ab, etwa eine gepackte Bewertung.
+ * Die Tabelle kommt ohne Sperren aus: Jeder Platz speichert die Daten und Hash XOR Daten.
+ * Ein Leser erkennt so Plaetze, die zwei Schreiber gleichzeitig halb ueberschrieben haben, als leer.
+ * Ein neuer Eintrag ersetzt immer den alten auf demselben Platz.
+ * @author Stefan Kuehnel, stefan.kuehnel@hm.edu
+ * @version last-modified 2026-10-19
+ */
+public class TranspositionTable {
+    /**
+     * Ergebnis von probe(), wenn die Stellung nicht in der Tabelle steht.
+     */
+    public static final long MISSING = Long.MIN_VALUE;
+
+    /**
+     * Zugriff auf die Arrays mit unteilbarem Lesen und Schreiben einzelner longs.
+     */
+    private static final VarHandle SLOTS = MethodHandles.arrayElementVarHandle(long[].class);
+
+    /**
+     * Pro Platz: Hash XOR Daten.
+     */
+    private final long[] checks;
+
+    /**
+     * Pro Platz: Daten.
+     */
+    private final long[] data;
+
+    /**
+     * Maske fuer den Platz eines Hashes.
+     */
+    private final int mask;
+
+    /**
+     * Initialisiert eine leere Tabelle.
+     * @param capacity Anzahl Plaetze. Eine positive Zweierpotenz.
+     * @throws IllegalArgumentException wenn die Anzahl keine positive Zweierpotenz ist.
+     */
+    public TranspositionTable(int capacity) {
+        if (capacity < 1 || Integer.bitCount(capacity) != 1)
+            throw new IllegalArgumentException("Die Anzahl Plaetze muss eine positive Zweierpotenz sein: " + capacity);
+        checks = new long[capacity];
+        data = new long[capacity];
+        mask = capacity - 1;
+        clear();
+    }
+
+    /**
+     * Anzahl Plaetze.
+     * @return Anzahl.
+     */
+    public int getCapacity() {
+        return data.length;
+    }
+
+    /**
+     * Leert die Tabelle. Nicht gleichzeitig mit anderen Zugriffen aufrufen.
+     */
+    public void clear() {
+        for (int slot = 0; slot < data.length; slot++) {
+            data[slot] = MISSING;
+            checks[slot] = 0;
+        }
+    }
+
+    /**
+     * Speichert Daten zu einer Stellung.
+     * @param hash Zobrist-Hash der Stellung.
+     * @param value Daten. Nicht MISSING.
+     * @throws IllegalArgumentException wenn die Daten MISSING sind.
+     */
+    public void store(long hash, long value) {
+        if (value == MISSING)
+            throw new IllegalArgumentException("MISSING kann nicht gespeichert werden.");
+        final int slot = index(hash);
+        SLOTS.setOpaque(data, slot, value);
+        SLOTS.setOpaque(checks, slot, hash ^ value);
+    }
+
+    /**
+     * Liest die Daten zu einer Stellung.
+     * @param hash Zobrist-Hash der Stellung.
+     * @return Daten oder MISSING.
+     */
+    public long probe(long hash) {
+        final int slot = index(hash);
+        final long value = (long) SLOTS.getOpaque(data, slot);
+        final long check = (long) SLOTS.getOpaque(checks, slot);
+        return value != MISSING && (check ^ value) == hash ? value : MISSING;
+    }
+
+    /**
+     * Hilfsmethode, die den Platz eines Hashes berechnet.
+     * Faltet die oberen 32 Bits in die unteren, damit alle Bits des Hashes den Platz bestimmen.
+     * @param hash Hash.
+     * @return Platz.
+     */
+    private int index(long hash) {
+        return (int) (hash >>> 32 ^ hash) & mask;
+    }
+}
@@ -15,19 +15,24 @@ package edu.hm.kuehnel.powergrid.datastore;
 
 import edu.hm.cs.rs.powergrid.datastore.Board;
 import edu.hm.cs.rs.powergrid.datastore.City;
+import edu.hm.kuehnel.powergrid.diagnostics.CloseRegionsEvent;
+import edu.hm.kuehnel.powergrid.diagnostics.FlightEvents;
 
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.Iterator;
-import java.util.Optional;
 import java.util.Set;
-import java.util.function.Predicate;
 
 /** Der Spielplan.
  * @author Stefan Kuehnel, stefan.kuehnel@hm.edu
  * @version last-modified 2020-05-18
  */
 public class BoardGenerator implements Board {
+    /**
+     * Meldung fuer einen leeren Namen.
+     */
+    private static final String BLANK_NAME = "Name der zu findenden Stadt darf nicht null und nicht leer sein.";
+
     /**
      * Eine Liste aller Staedte auf dem Spielplan.
      */
@@ -41,6 +46,7 @@ public class BoardGenerator implements Board {
     /**
      * Entfernt alle Staedte mit einer Region ueber der Grenze.
      * Loescht auch alle Verbindungen von und zu entfernten Staedten.
+     * Schreibt bei laufender Aufzeichnung ein CloseRegionsEvent.
      *
      * @param remaining Staedte in Regionen bis zu dieser Nummer bleiben bestehen.
      *                  Staedte darueber verschwinden.
@@ -52,6 +58,13 @@ public class BoardGenerator implements Board {
         requireNonClosedBoard();
         requireNonNegativeRemaining(remaining);
 
+        // Misst das Beschraenken nur bei laufender Aufzeichnung.
+        final CloseRegionsEvent event = FlightEvents.CLOSE_REGIONS.isEnabled() ? new CloseRegionsEvent() : null;
+        if (event != null) {
+            event.begin();
+            event.citiesBefore = citiesOnBoard.size();
+        }
+
         // Erstellt einen Iterator für die Städte auf dem Spielplan.
         final Iterator<City> cityIterator = citiesOnBoard.iterator();
 
@@ -68,6 +81,12 @@ public class BoardGenerator implements Board {
             if (city.getRegion() > remaining)
                 cityIterator.remove();
         }
+
+        if (event != null) {
+            event.remaining = remaining;
+            event.citiesAfter = citiesOnBoard.size();
+            event.commit();
+        }
     }
 
     /**
@@ -78,17 +97,13 @@ public class BoardGenerator implements Board {
      */
     @Override
     public City findCity(String name) {
-        final String findCityName = Optional.ofNullable(name) // Name darf nicht null sein
-                .filter(Predicate.not(String::isBlank)) // Name darf nicht leer sein.
-                .orElseThrow(
-                        () -> new IllegalArgumentException("Name der zu findenden Stadt darf nicht null und nicht leer sein.")
-                );
+        Checks.requireNonBlank(name, BLANK_NAME); // Name darf nicht null und nicht leer sein.
 
         // Gibt entweder die Stadt oder null zurück.
-        return citiesOnBoard.stream() // Erstellt Stream aus den Staedten
-                .filter(cityOnBoard -> cityOnBoard.getName().equals(findCityName)) // Vergleicht Namen beider Staedte.
-                .findFirst()  // Findet das erste Element.
-                .orElse(null);
+        for (City cityOnBoard : citiesOnBoard)
+            if (cityOnBoard.getName().equals(name)) // Vergleicht Namen beider Staedte.
+                return cityOnBoard;
+        return null;
     }
 
     /**
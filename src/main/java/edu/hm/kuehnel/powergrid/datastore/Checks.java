@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2020 Stefan Kuehnel - All Rights Reserved
+ * Unauthorized copying of this file, via any medium is strictly prohibited
+ * Proprietary and confidential
+ * Written by Stefan Kuehnel <stefan.kuehnel@hm.edu>, May 2020
+ *
+ * DISCLAIMER. THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OR CONDITION,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. THE AUTHOR HEREBY DISCLAIMS
+ * ALL LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE.
+ */
+
+package edu.hm.kuehnel.powergrid.datastore;
+
+/** Pruefungen von Argumenten und Zustaenden ohne Optional, Lambdas und Autoboxing.
+ * Die Meldungen sind fertige Konstanten der Aufrufer. Eine Ausnahme entsteht erst,
+ * wenn eine Pruefung scheitert, der Erfolgsfall legt keine Objekte an.
+ * Gedacht fuer die Bausteine des Spielplans, die pro Spielplan hundertfach gebaut werden.
+ * @author Stefan Kuehnel, stefan.kuehnel@hm.edu
+ * @version last-modified 2026-10-19
+ */
+public final class Checks {
+    /**
+     * Keine Instanzen.
+     */
+    private Checks() {
+    }
+
+    /**
+     * Prueft, dass ein Argument nicht null ist.
+     * Anders als Objects.requireNonNull mit IllegalArgumentException, wie ueberall im Spielplan.
+     * @param value Wert.
+     * @param message Meldung der Ausnahme.
+     * @param <T> Typ des Wertes.
+     * @return Der Wert.
+     * @throws IllegalArgumentException wenn der Wert null ist.
+     */
+    public static <T> T requireArgumentNonNull(T value, String message) {
+        if (value == null)
+            throw new IllegalArgumentException(message);
+        return value;
+    }
+
+    /**
+     * Prueft, dass ein Text weder null noch leer ist.
+     * @param value Text.
+     * @param message Meldung der Ausnahme.
+     * @return Der Text.
+     * @throws IllegalArgumentException wenn der Text null, leer oder nur Leerraum ist.
+     */
+    public static String requireNonBlank(String value, String message) {
+        if (value == null || value.isBlank())
+            throw new IllegalArgumentException(message);
+        return value;
+    }
+
+    /**
+     * Prueft eine Untergrenze.
+     * @param value Wert.
+     * @param minimum Kleinster erlaubter Wert.
+     * @param message Meldung der Ausnahme.
+     * @return Der Wert.
+     * @throws IllegalArgumentException wenn der Wert kleiner als die Untergrenze ist.
+     */
+    public static int requireAtLeast(int value, int minimum, String message) {
+        if (value < minimum)
+            throw new IllegalArgumentException(message);
+        return value;
+    }
+
+    /**
+     * Prueft eine Bedingung an die Argumente.
+     * @param condition Bedingung.
+     * @param message Meldung der Ausnahme.
+     * @throws IllegalArgumentException wenn die Bedingung nicht gilt.
+     */
+    public static void requireArgument(boolean condition, String message) {
+        if (!condition)
+            throw new IllegalArgumentException(message);
+    }
+
+    /**
+     * Prueft eine Bedingung an den Zustand.
+     * @param condition Bedingung.
+     * @param message Meldung der Ausnahme.
+     * @throws IllegalStateException wenn die Bedingung nicht gilt.
+     */
+    public static void requireState(boolean condition, String message) {
+        if (!condition)
+            throw new IllegalStateException(message);
+    }
+}
@@ -19,14 +19,42 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
-import java.util.Optional;
-import java.util.function.Predicate;
 
 /** Eine Stadt auf dem Spielplan.
  * @author Stefan Kuehnel, stefan.kuehnel@hm.edu
  * @version last-modified 2020-05-16
  */
 class CityGenerator implements City {
+    /**
+     * Meldung fuer einen leeren Namen.
+     */
+    private static final String BLANK_NAME = "Name der Stadt darf nicht leer oder null sein.";
+
+    /**
+     * Meldung fuer ein Gebiet kleiner als 1.
+     */
+    private static final String INVALID_REGION = "Das Gebiet der Stadt muss wenigstens 1 sein.";
+
+    /**
+     * Meldung fuer eine unzulaessige Verbindung.
+     */
+    private static final String INVALID_CONNECTION = "Die zu verbindenden Staedte dürfen nicht identisch und noch nicht verbunden sein.";
+
+    /**
+     * Meldung fuer negative Verbindungskosten.
+     */
+    private static final String NEGATIVE_COST = "Die Verbindungskosten muessen grösser gleich 0 sein.";
+
+    /**
+     * Meldung fuer eine schon geschlossene Stadt.
+     */
+    private static final String CLOSED = "Die Stadt wurde bereits geschlossen.";
+
+    /**
+     * Meldung fuer eine Stadt ohne Verbindungen.
+     */
+    private static final String NO_CONNECTIONS = "Die Stadt muss mit mindestens einer anderen Stadt verbunden werden.";
+
     /**
      * Der Name der Stadt.
      */
@@ -56,17 +84,8 @@ class CityGenerator implements City {
      * @throws IllegalArgumentException wenn das Gebiet, in dem die Stadt liegt, nicht wenigstens 1 ist.
      */
     CityGenerator(final String name, final int region) {
-        this.name = Optional.ofNullable(name) // Name der Stadt darf nicht null sein.
-                            .filter(Predicate.not(String::isBlank)) // Name der Stadt darf nicht leer sein.
-                            .orElseThrow(
-                                    () -> new IllegalArgumentException("Name der Stadt darf nicht leer oder null sein.")
-                            );
-
-        this.region = Optional.of(region)
-                            .filter(reg -> reg >= 1) // Das Gebiet der Stadt muss wenigstens 1 sein.
-                            .orElseThrow(
-                                    () -> new IllegalArgumentException("Das Gebiet der Stadt muss wenigstens 1 sein.")
-                            );
+        this.name = Checks.requireNonBlank(name, BLANK_NAME); // Name der Stadt darf nicht null und nicht leer sein.
+        this.region = Checks.requireAtLeast(region, 1, INVALID_REGION); // Das Gebiet der Stadt muss wenigstens 1 sein.
     }
 
     /**
@@ -98,21 +117,13 @@ class CityGenerator implements City {
      */
     @Override
     public void connect(final City to, final int cost) {
-        if(closed)
-            throw new IllegalStateException("Die Stadt wurde bereits geschlossen.");
-
-        final City connectTo = Optional.ofNullable(to) // Die zu verbindende Stadt ist nicht null.
-                .filter(cityToConnect -> !cityToConnect.equals(this) && !connections.containsKey(cityToConnect)) // Die zu verbindenden Staedte sind nicht identisch und noch nicht verbunden.
-                .orElseThrow(
-                        () -> new IllegalArgumentException("Die zu verbindenden Staedte dürfen nicht identisch und noch nicht verbunden sein.")
-                );
-        final int connectCost = Optional.of(cost)
-                .filter(costToConnect -> costToConnect >= 0) // Die Verbindungskosten muessen grösser gleich 0 sein.
-                .orElseThrow(
-                        () -> new IllegalArgumentException("Die Verbindungskosten muessen grösser gleich 0 sein.")
-                );
-
-        connections.put(connectTo, connectCost);
+        Checks.requireState(!closed, CLOSED);
+
+        // Die zu verbindenden Staedte sind nicht null, nicht identisch und noch nicht verbunden.
+        Checks.requireArgument(to != null && !to.equals(this) && !connections.containsKey(to), INVALID_CONNECTION);
+        Checks.requireAtLeast(cost, 0, NEGATIVE_COST); // Die Verbindungskosten muessen grösser gleich 0 sein.
+
+        connections.put(to, cost);
     }
 
     /**
@@ -126,8 +137,7 @@ class CityGenerator implements City {
     @Override
     public Map<City, Integer> getConnections() {
         // Prueft, ob mindestens eine Verbindung zu einer anderen Stadt existiert.
-        if(connections.isEmpty())
-            throw new IllegalStateException("Die Stadt muss mit mindestens einer anderen Stadt verbunden werden.");
+        Checks.requireState(!connections.isEmpty(), NO_CONNECTIONS);
 
         // Prueft, ob die Stadt schon geschlossen ist und liefert eine unveraenderliche Map zurück.
         if(closed)
@@ -144,11 +154,8 @@ class CityGenerator implements City {
      */
     @Override
     public void close() {
-        if (closed)
-            throw new IllegalStateException("Die Stadt wurde bereits geschlossen.");
-
-        if (connections.isEmpty())
-            throw new IllegalStateException("Die Stadt muss mit mindestens einer anderen Stadt verbunden werden.");
+        Checks.requireState(!closed, CLOSED);
+        Checks.requireState(!connections.isEmpty(), NO_CONNECTIONS);
 
         closed = true;
     }
@@ -1,6 +1,7 @@
 package edu.hm.kuehnel.powergrid.datastore;
 
 import edu.hm.cs.rs.powergrid.Edition;
+import edu.hm.cs.rs.powergrid.RandomSource;
 import edu.hm.cs.rs.powergrid.datastore.Auction;
 import edu.hm.cs.rs.powergrid.datastore.Board;
 import edu.hm.cs.rs.powergrid.datastore.City;
@@ -10,10 +11,15 @@ import edu.hm.cs.rs.powergrid.datastore.Plant;
 import edu.hm.cs.rs.powergrid.datastore.PlantMarket;
 import edu.hm.cs.rs.powergrid.datastore.Player;
 import edu.hm.cs.rs.powergrid.datastore.ResourceMarket;
+import edu.hm.kuehnel.powergrid.diagnostics.BoardBuildEvent;
+import edu.hm.kuehnel.powergrid.diagnostics.FlightEvents;
+import edu.hm.kuehnel.powergrid.engine.EditionValidator;
+import edu.hm.kuehnel.powergrid.metrics.Counter;
+import edu.hm.kuehnel.powergrid.metrics.LatencyHistogram;
+import edu.hm.kuehnel.powergrid.metrics.MetricsRegistry;
 
 import java.util.Iterator;
 import java.util.List;
-import java.util.Optional;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
@@ -23,6 +29,18 @@ import java.util.stream.Collectors;
  */
 public class FactoryProvider implements Factory {
 
+    /**
+     * Anzahl gebauter Spielplaene.
+     */
+    private static final Counter BOARDS_BUILT = MetricsRegistry.getDefault()
+            .counter("powergrid_boards_built_total", "Mit newBoard gebaute Spielplaene.");
+
+    /**
+     * Dauer des Aufbaus eines Spielplans in Nanosekunden.
+     */
+    private static final LatencyHistogram BOARD_BUILD_LATENCY = MetricsRegistry.getDefault()
+            .histogram("powergrid_board_build_seconds", "Dauer von newBoard.");
+
     /**
      * Eine Stadt.
      *
@@ -95,17 +113,28 @@ public class FactoryProvider implements Factory {
      * Ein Spielplan.
      * Fuegt die Staedte der Edition und ihre Verbindungen in den Spielplan ein.
      * Der Spielplan ist noch offen.
+     * Schreibt bei laufender Aufzeichnung ein BoardBuildEvent.
+     * Prueft die Ausgabe beim ersten Spielplan mit dem EditionValidator.
      *
      * @param edition Ausgabe des Spieles.
      * @return Spielplan.
+     * @throws IllegalArgumentException wenn die Ausgabe null oder nicht gueltig ist.
      */
     @Override
     public Board newBoard(Edition edition) { // ToDo: Caching implementieren.
 
         // Prüft, ob die Edition null ist.
-        Optional.ofNullable(edition).orElseThrow(
-                () -> new IllegalArgumentException("Die Edition darf nicht null sein.")
-        );
+        Checks.requireArgumentNonNull(edition, "Die Edition darf nicht null sein.");
+
+        // Prüft die Edition, bevor ihre Texte zerlegt werden. Jede Edition nur beim ersten Mal.
+        EditionValidator.requireValid(edition);
+
+        final long start = System.nanoTime();
+
+        // Misst den Aufbau fuer JFR nur bei laufender Aufzeichnung.
+        final BoardBuildEvent event = FlightEvents.BOARD_BUILD.isEnabled() ? new BoardBuildEvent() : null;
+        if (event != null)
+            event.begin();
 
         // Erstellt einen neuen Spielplan.
         final Board board = new BoardGenerator();
@@ -165,6 +194,13 @@ public class FactoryProvider implements Factory {
                     }
                 });
 
+        if (event != null) {
+            event.edition = edition.getClass().getName();
+            event.cities = board.getCities().size();
+            event.commit();
+        }
+        BOARD_BUILD_LATENCY.record(System.nanoTime() - start);
+        BOARDS_BUILT.increment();
         return board;
     }
 
@@ -196,4 +232,16 @@ public class FactoryProvider implements Factory {
     public Game newGame(Edition edition) {
         return null;
     }
+
+    /**
+     * Eine Zufallsquelle fuer ein Spiel.
+     * Spielphasen und Simulationsthreads leiten davon eigene Quellen ab.
+     *
+     * @param seed Startwert. Gleicher Startwert liefert die gleichen Zufallszahlen.
+     * @return Zufallsquelle. Nicht null.
+     */
+    @Override
+    public RandomSource newRandomSource(long seed) {
+        return new RandomSourceGenerator(seed);
+    }
 }
@@ -0,0 +1,247 @@
+/*
+ * Copyright (c) 2020 Stefan Kuehnel - All Rights Reserved
+ * Unauthorized copying of this file, via any medium is strictly prohibited
+ * Proprietary and confidential
+ * Written by Stefan Kuehnel <stefan.kuehnel@hm.edu>, May 2020
+ *
+ * DISCLAIMER. THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OR CONDITION,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. THE AUTHOR HEREBY DISCLAIMS
+ * ALL LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE.
+ */
+
+package edu.hm.kuehnel.powergrid.datastore;
+
+import edu.hm.cs.rs.powergrid.datastore.Board;
+import edu.hm.cs.rs.powergrid.datastore.City;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/** Ein unveraenderlicher Spielplan, kopiert aus einem geschlossenen Spielplan.
+ * Alle Felder sind final und alle Mengen und Abbildungen entstehen einmal im Konstruktor
+ * als unveraenderliche Kopien. Nach dem Konstruktor kann der Spielplan ohne Synchronisation
+ * an beliebig viele Threads und Spiele weitergegeben werden.
+ * Getter legen keine Objekte an, findCity sucht binaer in den sortierten Namen.
+ * Alle veraendernden Methoden werfen eine IllegalStateException, wie bei einem geschlossenen BoardGenerator.
+ * @author Stefan Kuehnel, stefan.kuehnel@hm.edu
+ * @version last-modified 2026-10-19
+ */
+public class FrozenBoard implements Board {
+    /**
+     * Die Staedte, nach Namen sortiert.
+     */
+    private final FrozenCity[] cities;
+
+    /**
+     * Die Namen der Staedte, aufsteigend sortiert.
+     */
+    private final String[] names;
+
+    /**
+     * Die Staedte als unveraenderliche Menge.
+     */
+    private final Set<City> citySet;
+
+    /**
+     * Die Verbindungen jeder Stadt als unveraenderliche Abbildung, Index wie cities.
+     */
+    private final Map<City, Integer>[] connections;
+
+    /**
+     * Kopiert einen Spielplan.
+     * @param board Geschlossener Spielplan. Nicht null.
+     * @throws IllegalArgumentException wenn der Spielplan null ist.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public FrozenBoard(Board board) {
+        if (board == null)
+            throw new IllegalArgumentException("Der Spielplan darf nicht null sein.");
+
+        final City[] originals = board.getCities().toArray(City[]::new);
+        Arrays.sort(originals, Comparator.comparing(City::getName));
+        cities = new FrozenCity[originals.length];
+        names = new String[originals.length];
+        for (int city = 0; city < originals.length; city++) {
+            names[city] = originals[city].getName();
+            cities[city] = new FrozenCity(this, city, names[city], originals[city].getRegion());
+        }
+        citySet = Set.of(cities);
+
+        connections = new Map[originals.length];
+        for (int city = 0; city < originals.length; city++) {
+            final Map<City, Integer> copy = new HashMap<>();
+            for (Map.Entry<City, Integer> connection : originals[city].getConnections().entrySet()) {
+                final int target = Arrays.binarySearch(names, connection.getKey().getName());
+                if (target < 0)
+                    throw new IllegalArgumentException("Verbindung zu einer Stadt ausserhalb des Spielplans: "
+                            + connection.getKey().getName());
+                copy.put(cities[target], connection.getValue());
+            }
+            connections[city] = Map.copyOf(copy);
+        }
+    }
+
+    /**
+     * Baut einen Spielplan aus Staedten und Verbindungen im CSR-Format, wie sie BoardIndex liefert.
+     * Die Verbindungen der Stadt c stehen in targets und costs an den Positionen offsets[c] bis offsets[c + 1] - 1.
+     * Gedacht fuer vorberechnete Spielplaene, die ohne Factory und ohne Zerlegen der Ausgabe entstehen.
+     * @param names Namen der Staedte, aufsteigend sortiert. Nicht null.
+     * @param regions Gebiet jeder Stadt. Nicht null.
+     * @param offsets Beginn der Verbindungen jeder Stadt, eine Stelle mehr als Staedte. Nicht null.
+     * @param targets Nachbarstadt jeder Verbindung. Nicht null.
+     * @param costs Kosten jeder Verbindung. Nicht null.
+     * @throws IllegalArgumentException wenn die Arrays nicht zusammenpassen, die Verbindungsanfaenge nicht bei 0 beginnen
+     * oder fallen oder die Namen nicht sortiert sind.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public FrozenBoard(String[] names, int[] regions, int[] offsets, int[] targets, int[] costs) {
+        if (names == null || regions == null || offsets == null || targets == null || costs == null
+                || regions.length != names.length || offsets.length != names.length + 1
+                || offsets[0] != 0 || targets.length != offsets[names.length] || costs.length != targets.length)
+            throw new IllegalArgumentException("Die Arrays des Spielplans passen nicht zusammen.");
+        for (int city = 0; city < names.length; city++)
+            if (offsets[city + 1] < offsets[city])
+                throw new IllegalArgumentException("Die Verbindungsanfaenge duerfen nicht fallen: " + offsets[city + 1]);
+
+        this.names = names.clone();
+        cities = new FrozenCity[names.length];
+        for (int city = 0; city < names.length; city++) {
+            if (city > 0 && names[city - 1].compareTo(names[city]) >= 0)
+                throw new IllegalArgumentException("Die Namen muessen aufsteigend sortiert sein: " + names[city]);
+            cities[city] = new FrozenCity(this, city, names[city], regions[city]);
+        }
+        citySet = Set.of(cities);
+
+        connections = new Map[names.length];
+        for (int city = 0; city < names.length; city++) {
+            final Map.Entry<City, Integer>[] entries = new Map.Entry[offsets[city + 1] - offsets[city]];
+            for (int edge = offsets[city]; edge < offsets[city + 1]; edge++) {
+                if (targets[edge] < 0 || targets[edge] >= names.length)
+                    throw new IllegalArgumentException("Verbindung zu einer Stadt ausserhalb des Spielplans: " + targets[edge]);
+                entries[edge - offsets[city]] = Map.entry(cities[targets[edge]], costs[edge]);
+            }
+            connections[city] = Map.ofEntries(entries);
+        }
+    }
+
+    /**
+     * Nicht erlaubt, der Spielplan ist geschlossen.
+     * @param remaining Wird nicht beachtet.
+     * @throws IllegalStateException immer.
+     */
+    @Override
+    public void closeRegions(int remaining) {
+        throw new IllegalStateException("Der Spielplan wurde bereits geschlossen");
+    }
+
+    /**
+     * Sucht eine Stadt.
+     * @param name Name.
+     * @return Stadt mit dem Namen oder null, wenn es keine mit diesem Namen gibt.
+     * @throws IllegalArgumentException wenn der Name null oder leer ist.
+     */
+    @Override
+    public City findCity(String name) {
+        if (name == null || name.isBlank())
+            throw new IllegalArgumentException("Name der zu findenden Stadt darf nicht null und nicht leer sein.");
+        final int city = Arrays.binarySearch(names, name);
+        return city < 0 ? null : cities[city];
+    }
+
+    /**
+     * Menge aller Staedte.
+     * @return Staedte. Unveraenderlich, bei jedem Aufruf dieselbe Menge.
+     */
+    @Override
+    public Set<City> getCities() {
+        return citySet;
+    }
+
+    /**
+     * Nicht erlaubt, der Spielplan ist geschlossen.
+     * @throws IllegalStateException immer.
+     */
+    @Override
+    public void close() {
+        throw new IllegalStateException("Der Spielplan wurde bereits geschlossen");
+    }
+
+    /** Eine Stadt eines FrozenBoard.
+     * Name, Gebiet und Verbindungen sind final, die Verbindungen liegen im Spielplan.
+     */
+    private static final class FrozenCity implements City {
+        /**
+         * Der Spielplan.
+         */
+        private final FrozenBoard board;
+
+        /**
+         * Index der Stadt im Spielplan.
+         */
+        private final int index;
+
+        /**
+         * Name.
+         */
+        private final String name;
+
+        /**
+         * Gebiet.
+         */
+        private final int region;
+
+        /**
+         * Initialisiert eine Stadt.
+         * @param board Spielplan.
+         * @param index Index im Spielplan.
+         * @param name Name.
+         * @param region Gebiet.
+         */
+        private FrozenCity(FrozenBoard board, int index, String name, int region) {
+            this.board = board;
+            this.index = index;
+            this.name = name;
+            this.region = region;
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public int getRegion() {
+            return region;
+        }
+
+        @Override
+        public void connect(City to, int cost) {
+            throw new IllegalStateException("Die Stadt wurde bereits geschlossen.");
+        }
+
+        @Override
+        public Map<City, Integer> getConnections() {
+            return board.connections[index];
+        }
+
+        @Override
+        public void close() {
+            throw new IllegalStateException("Die Stadt wurde bereits geschlossen.");
+        }
+
+        @Override
+        public int compareTo(City that) {
+            return name.compareTo(that.getName());
+        }
+
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+}
@@ -0,0 +1,282 @@
+/*
+ * Copyright (c) 2020 Stefan Kuehnel - All Rights Reserved
+ * Unauthorized copying of this file, via any medium is strictly prohibited
+ * Proprietary and confidential
+ * Written by Stefan Kuehnel <stefan.kuehnel@hm.edu>, May 2020
+ *
+ * DISCLAIMER. THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OR CONDITION,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. THE AUTHOR HEREBY DISCLAIMS
+ * ALL LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE.
+ */
+
+package edu.hm.kuehnel.powergrid.datastore;
+
+import edu.hm.cs.rs.powergrid.Edition;
+import edu.hm.cs.rs.powergrid.EditionStandard;
+import edu.hm.cs.rs.powergrid.datastore.Board;
+import edu.hm.cs.rs.powergrid.datastore.City;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+
+/** Erzeugt zufaellige, ebene Spielplaene beliebiger Groesse fuer Last- und Strategietests.
+ * Die Staedte liegen auf einem Gitter mit width Spalten, Stadt c in Zeile c / width und Spalte c % width.
+ * Jede Stadt ist mit ihrem rechten und ihrem unteren Nachbarn verbunden,
+ * mit einstellbarer Wahrscheinlichkeit auch mit dem Nachbarn rechts unten.
+ * Es gibt nur diese eine Diagonale, daher kreuzen sich keine Verbindungen.
+ * Die Gebiete sind Streifen aus benachbarten Spalten. So ist jedes Gebiet fuer sich zusammenhaengend
+ * und jede Stadt hat wenigstens eine Verbindung.
+ * Die Kosten sind gleichverteilt zwischen minCost und maxCost.
+ * Jede Zeile hat eine eigene Zufallsquelle aus dem Startwert. Die Zeilen entstehen parallel
+ * und das Ergebnis haengt trotzdem nur vom Startwert ab.
+ * Der Spielplan liegt wie in BoardIndex im CSR-Format vor und wird erst auf Wunsch
+ * in einen Board oder eine Edition umgewandelt.
+ * @author Stefan Kuehnel, stefan.kuehnel@hm.edu
+ * @version last-modified 2026-10-19
+ */
+public class MapGenerator {
+    /**
+     * Erzeugte Verbindungen pro Stadt: nach rechts, nach unten, nach rechts unten.
+     */
+    private static final int OWN_EDGES = 3;
+
+    /**
+     * Eintrag fuer "keine Verbindung" in den Kosten einer Richtung.
+     */
+    private static final int NONE = -1;
+
+    /**
+     * Anzahl Spalten des Gitters.
+     */
+    private final int width;
+
+    /**
+     * Die Gebiete der Staedte, fortlaufend ab 1.
+     */
+    private final int[] regions;
+
+    /**
+     * Kosten der eigenen Verbindungen jeder Stadt, OWN_EDGES pro Stadt, NONE fuer fehlende.
+     */
+    private final int[] ownCosts;
+
+    /**
+     * Beginn der Nachbarn jeder Stadt in targets und costs. Eine Position mehr als Staedte.
+     */
+    private final int[] offsets;
+
+    /**
+     * Nummern der Nachbarstaedte.
+     */
+    private final int[] targets;
+
+    /**
+     * Verbindungskosten zu den Nachbarstaedten.
+     */
+    private final int[] costs;
+
+    /**
+     * Erzeugt einen Spielplan.
+     * @param cities Anzahl Staedte. Wenigstens 2.
+     * @param regionCount Anzahl Gebiete. Wenigstens 1, hoechstens so viele wie Spalten im Gitter.
+     * @param minCost Kleinste Verbindungskosten. Nicht negativ.
+     * @param maxCost Groesste Verbindungskosten. Wenigstens minCost.
+     * @param diagonals Wahrscheinlichkeit einer Diagonale, zwischen 0 und 1.
+     * @param seed Startwert der Zufallsquellen.
+     * @throws IllegalArgumentException wenn ein Parameter ausserhalb seines Bereichs liegt.
+     */
+    public MapGenerator(int cities, int regionCount, int minCost, int maxCost, double diagonals, long seed) {
+        if (cities < 2)
+            throw new IllegalArgumentException("Es braucht wenigstens zwei Staedte: " + cities);
+        width = (int) Math.ceil(Math.sqrt(cities));
+        if (regionCount < 1 || regionCount > width)
+            throw new IllegalArgumentException("Die Anzahl Gebiete muss zwischen 1 und " + width + " liegen: " + regionCount);
+        if (minCost < 0 || maxCost < minCost)
+            throw new IllegalArgumentException("Ungueltige Verbindungskosten: " + minCost + " bis " + maxCost);
+        if (!(diagonals >= 0 && diagonals <= 1))
+            throw new IllegalArgumentException("Die Wahrscheinlichkeit muss zwischen 0 und 1 liegen: " + diagonals);
+
+        regions = new int[cities];
+        ownCosts = new int[cities * OWN_EDGES];
+        final int rows = (cities + width - 1) / width;
+        IntStream.range(0, rows).parallel().forEach(row -> {
+            final SplittableRandom random = new SplittableRandom(seed ^ row * 0x9E37_79B9_7F4A_7C15L);
+            for (int city = row * width; city < Math.min(cities, (row + 1) * width); city++) {
+                final int column = city % width;
+                regions[city] = column * regionCount / width + 1;
+                final boolean right = column + 1 < width && city + 1 < cities;
+                final boolean down = city + width < cities;
+                final boolean diagonal = right && city + width + 1 < cities && random.nextDouble() < diagonals;
+                ownCosts[city * OWN_EDGES] = right ? random.nextInt(minCost, maxCost + 1) : NONE;
+                ownCosts[city * OWN_EDGES + 1] = down ? random.nextInt(minCost, maxCost + 1) : NONE;
+                ownCosts[city * OWN_EDGES + 2] = diagonal ? random.nextInt(minCost, maxCost + 1) : NONE;
+            }
+        });
+
+        // Jede Verbindung kommt bei beiden Staedten vor: als eigene bei der einen, als fremde bei der anderen.
+        offsets = new int[cities + 1];
+        IntStream.range(0, cities).parallel().forEach(city -> {
+            int degree = 0;
+            for (int direction = 0; direction < OWN_EDGES; direction++) {
+                if (ownCosts[city * OWN_EDGES + direction] != NONE)
+                    degree++;
+                final int from = source(city, direction);
+                if (from >= 0 && ownCosts[from * OWN_EDGES + direction] != NONE)
+                    degree++;
+            }
+            offsets[city + 1] = degree;
+        });
+        Arrays.parallelPrefix(offsets, Integer::sum);
+
+        targets = new int[offsets[cities]];
+        costs = new int[offsets[cities]];
+        IntStream.range(0, cities).parallel().forEach(city -> {
+            int edge = offsets[city];
+            for (int direction = 0; direction < OWN_EDGES; direction++) {
+                final int cost = ownCosts[city * OWN_EDGES + direction];
+                if (cost != NONE) {
+                    targets[edge] = city + step(direction);
+                    costs[edge++] = cost;
+                }
+                final int from = source(city, direction);
+                if (from >= 0 && ownCosts[from * OWN_EDGES + direction] != NONE) {
+                    targets[edge] = from;
+                    costs[edge++] = ownCosts[from * OWN_EDGES + direction];
+                }
+            }
+        });
+    }
+
+    /**
+     * Anzahl Staedte.
+     * @return Anzahl.
+     */
+    public int size() {
+        return regions.length;
+    }
+
+    /**
+     * Gebiet einer Stadt.
+     * @param city Nummer der Stadt.
+     * @return Gebiet, fortlaufend ab 1.
+     */
+    public int getRegion(int city) {
+        return regions[city];
+    }
+
+    /**
+     * Anzahl aller Verbindungen, jede Richtung einzeln gezaehlt.
+     * @return Anzahl.
+     */
+    public int getEdges() {
+        return targets.length;
+    }
+
+    /**
+     * Position der ersten Verbindung einer Stadt.
+     * @param city Nummer der Stadt. Hoechstens size().
+     * @return Position in getTarget und getCost.
+     */
+    public int getOffset(int city) {
+        return offsets[city];
+    }
+
+    /**
+     * Ziel einer Verbindung.
+     * @param edge Position der Verbindung.
+     * @return Nummer der Nachbarstadt.
+     */
+    public int getTarget(int edge) {
+        return targets[edge];
+    }
+
+    /**
+     * Kosten einer Verbindung.
+     * @param edge Position der Verbindung.
+     * @return Verbindungskosten.
+     */
+    public int getCost(int edge) {
+        return costs[edge];
+    }
+
+    /**
+     * Name einer Stadt. Die Namen sind so lang, dass ihre Sortierung der Nummerierung entspricht.
+     * @param city Nummer der Stadt.
+     * @return Name.
+     */
+    public String getName(int city) {
+        final String digits = Integer.toString(city);
+        final int length = Integer.toString(regions.length - 1).length();
+        return "C" + "0".repeat(length - digits.length()) + digits;
+    }
+
+    /**
+     * Baut einen offenen Spielplan mit allen Staedten und Verbindungen.
+     * Die Verbindungen jeder Stadt entstehen parallel, weil jede Stadt nur ihre eigenen Verbindungen veraendert.
+     * @return Spielplan. Noch nicht geschlossen.
+     */
+    public Board toBoard() {
+        final CityGenerator[] cities = new CityGenerator[regions.length];
+        Arrays.parallelSetAll(cities, city -> new CityGenerator(getName(city), regions[city]));
+        IntStream.range(0, cities.length).parallel().forEach(city -> {
+            for (int edge = offsets[city]; edge < offsets[city + 1]; edge++)
+                cities[city].connect(cities[targets[edge]], costs[edge]);
+        });
+        final Board board = new BoardGenerator();
+        board.getCities().addAll(Arrays.asList(cities));
+        return board;
+    }
+
+    /**
+     * Eine Ausgabe mit den Standardregeln und diesem Spielplan.
+     * Jede Verbindung steht nur bei der Stadt, von der sie ausgeht.
+     * Die Texte entstehen erst beim Aufruf von getCitySpecifications().
+     * Gueltig fuer Factory und GameEngine ist sie nur mit so vielen Gebieten, wie die Standardregeln verlangen.
+     * @return Ausgabe.
+     */
+    public Edition toEdition() {
+        return new EditionStandard() {
+            @Override
+            public List<String> getCitySpecifications() {
+                final List<String> specifications = new ArrayList<>(regions.length);
+                for (int city = 0; city < regions.length; city++) {
+                    final StringBuilder specification = new StringBuilder(getName(city)).append(' ').append(regions[city]);
+                    for (int direction = 0; direction < OWN_EDGES; direction++) {
+                        final int cost = ownCosts[city * OWN_EDGES + direction];
+                        if (cost != NONE)
+                            specification.append(' ').append(getName(city + step(direction))).append(' ').append(cost);
+                    }
+                    specifications.add(specification.toString());
+                }
+                return specifications;
+            }
+        };
+    }
+
+    /**
+     * Hilfsmethode, die den Abstand zum Nachbarn in einer Richtung berechnet.
+     * @param direction Richtung: 0 rechts, 1 unten, 2 rechts unten.
+     * @return Abstand der Nummern.
+     */
+    private int step(int direction) {
+        return direction == 0 ? 1 : direction == 1 ? width : width + 1;
+    }
+
+    /**
+     * Hilfsmethode, die die Stadt sucht, deren eigene Verbindung in einer Richtung bei einer Stadt ankommt.
+     * @param city Nummer der Stadt.
+     * @param direction Richtung: 0 rechts, 1 unten, 2 rechts unten.
+     * @return Nummer der Stadt oder -1, wenn es sie nicht gibt.
+     */
+    private int source(int city, int direction) {
+        final int from = city - step(direction);
+        if (from < 0 || direction != 1 && city % width == 0)
+            return -1;
+        return from;
+    }
+}
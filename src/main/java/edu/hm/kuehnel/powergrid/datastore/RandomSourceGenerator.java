@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2020 Stefan Kuehnel - All Rights Reserved
+ * Unauthorized copying of this file, via any medium is strictly prohibited
+ * Proprietary and confidential
+ * Written by Stefan Kuehnel <stefan.kuehnel@hm.edu>, May 2020
+ *
+ * DISCLAIMER. THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OR CONDITION,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. THE AUTHOR HEREBY DISCLAIMS
+ * ALL LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE.
+ */
+
+package edu.hm.kuehnel.powergrid.datastore;
+
+import edu.hm.cs.rs.powergrid.RandomSource;
+
+import java.util.SplittableRandom;
+
+/** Eine Zufallsquelle auf Basis von SplittableRandom.
+ * Jede Instanz hat ihren eigenen Zustand, es gibt keinen gemeinsamen Random-Zustand
+ * und damit keine Konkurrenz zwischen Threads.
+ * @author Stefan Kuehnel, stefan.kuehnel@hm.edu
+ * @version last-modified 2026-10-19
+ */
+class RandomSourceGenerator implements RandomSource {
+    /**
+     * Multiplikator zum Verteilen der Stream-Nummern (goldener Schnitt, wie in SplitMix64).
+     */
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    /**
+     * Startwert dieser Quelle.
+     */
+    private final long seed;
+
+    /**
+     * Der eigentliche Generator.
+     */
+    private final SplittableRandom random;
+
+    /**
+     * Initialisiert eine neue Zufallsquelle.
+     * @param seed Startwert.
+     */
+    RandomSourceGenerator(final long seed) {
+        this.seed = seed;
+        random = new SplittableRandom(seed);
+    }
+
+    @Override
+    public long getSeed() {
+        return seed;
+    }
+
+    @Override
+    public int nextInt(int bound) {
+        if (bound <= 0)
+            throw new IllegalArgumentException("Die Obergrenze muss echt positiv sein.");
+        return random.nextInt(bound);
+    }
+
+    @Override
+    public long nextLong() {
+        return random.nextLong();
+    }
+
+    /**
+     * Spaltet eine neue Quelle ab. Sie bekommt einen eigenen Startwert aus dieser Quelle,
+     * aus dem ihr Generator und ihre abgeleiteten Quellen entstehen.
+     * Geschwister haben damit verschiedene Startwerte, und getSeed() der neuen Quelle reicht zum Nachspielen.
+     * @return Neue Quelle. Nicht null.
+     */
+    @Override
+    public RandomSource split() {
+        return new RandomSourceGenerator(random.nextLong());
+    }
+
+    @Override
+    public RandomSource derive(long streamId) {
+        return new RandomSourceGenerator(mix(seed ^ mix(streamId * GOLDEN_GAMMA + GOLDEN_GAMMA)));
+    }
+
+    /**
+     * Finalisierer von SplitMix64.
+     * Verteilt benachbarte Werte auf voneinander unabhaengige Startwerte.
+     * @param value Eingabe.
+     * @return Gemischter Wert.
+     */
+    private static long mix(long value) {
+        long mixed = (value ^ (value >>> 30)) * 0xBF58476D1CE4E5B9L;
+        mixed = (mixed ^ (mixed >>> 27)) * 0x94D049BB133111EBL;
+        return mixed ^ (mixed >>> 31);
+    }
+}
@@ -0,0 +1,48 @@
+/*
+ * Copyright (c) 2020 Stefan Kuehnel - All Rights Reserved
+ * Unauthorized copying of this file, via any medium is strictly prohibited
+ * Proprietary and confidential
+ * Written by Stefan Kuehnel <stefan.kuehnel@hm.edu>, May 2020
+ *
+ * DISCLAIMER. THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OR CONDITION,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. THE AUTHOR HEREBY DISCLAIMS
+ * ALL LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE.
+ */
+
+package edu.hm.kuehnel.powergrid.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/** JFR-Ereignis: Ein Spieler hat ein Kraftwerk ersteigert.
+ * @author Stefan Kuehnel, stefan.kuehnel@hm.edu
+ * @version last-modified 2026-10-19
+ */
+@Name("edu.hm.kuehnel.powergrid.Auction")
+@Label("Auction")
+@Category({"Power Grid", "Engine"})
+@Description("Zuschlag fuer ein Kraftwerk")
+public final class AuctionEvent extends Event {
+    /**
+     * Spieler.
+     */
+    @Label("Player")
+    public int player;
+
+    /**
+     * Nummer des Kraftwerks.
+     */
+    @Label("Plant")
+    public int plant;
+
+    /**
+     * Preis in Elektro.
+     */
+    @Label("Price")
+    public int price;
+}
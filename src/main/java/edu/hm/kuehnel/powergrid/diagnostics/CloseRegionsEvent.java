@@ -0,0 +1,48 @@
+/*
+ * Copyright (c) 2020 Stefan Kuehnel - All Rights Reserved
+ * Unauthorized copying of this file, via any medium is strictly prohibited
+ * Proprietary and confidential
+ * Written by Stefan Kuehnel <stefan.kuehnel@hm.edu>, May 2020
+ *
+ * DISCLAIMER. THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OR CONDITION,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. THE AUTHOR HEREBY DISCLAIMS
+ * ALL LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE.
+ */
+
+package edu.hm.kuehnel.powergrid.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/** JFR-Ereignis: Ein Spielplan wurde auf seine Gebiete beschraenkt.
+ * @author Stefan Kuehnel, stefan.kuehnel@hm.edu
+ * @version last-modified 2026-10-19
+ */
+@Name("edu.hm.kuehnel.powergrid.CloseRegions")
+@Label("Close Regions")
+@Category({"Power Grid", "Datastore"})
+@Description("Board.closeRegions")
+public final class CloseRegionsEvent extends Event {
+    /**
+     * Hoechstes verbleibendes Gebiet.
+     */
+    @Label("Remaining")
+    public int remaining;
+
+    /**
+     * Anzahl Staedte vorher.
+     */
+    @Label("Cities Before")
+    public int citiesBefore;
+
+    /**
+     * Anzahl Staedte nachher.
+     */
+    @Label("Cities After")
+    public int citiesAfter;
+}
@@ -0,0 +1,58 @@
+/*
+ * Copyright (c) 2020 Stefan Kuehnel - All Rights Reserved
+ * Unauthorized copying of this file, via any medium is strictly prohibited
+ * Proprietary and confidential
+ * Written by Stefan Kuehnel <stefan.kuehnel@hm.edu>, May 2020
+ *
+ * DISCLAIMER. THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OR CONDITION,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. THE AUTHOR HEREBY DISCLAIMS
+ * ALL LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE.
+ */
+
+package edu.hm.kuehnel.powergrid.diagnostics;
+
+import jdk.jfr.EventType;
+
+/** Die JFR-Ereignisse des Spieles und ihre Schalter.
+ * Aufrufer pruefen vor dem Anlegen eines Ereignisses, ob es eingeschaltet ist:
+ * <pre>
+ * if (FlightEvents.AUCTION.isEnabled()) { ... }
+ * </pre>
+ * Ohne laufende Aufzeichnung kostet das nur einen Lesezugriff, es entstehen keine Objekte.
+ * @author Stefan Kuehnel, stefan.kuehnel@hm.edu
+ * @version last-modified 2026-10-19
+ */
+public final class FlightEvents {
+    /**
+     * Spielplan gebaut.
+     */
+    public static final EventType BOARD_BUILD = EventType.getEventType(BoardBuildEvent.class);
+
+    /**
+     * Spielplan auf Gebiete beschraenkt.
+     */
+    public static final EventType CLOSE_REGIONS = EventType.getEventType(CloseRegionsEvent.class);
+
+    /**
+     * Phase beendet.
+     */
+    public static final EventType PHASE = EventType.getEventType(PhaseEvent.class);
+
+    /**
+     * Kraftwerk ersteigert.
+     */
+    public static final EventType AUCTION = EventType.getEventType(AuctionEvent.class);
+
+    /**
+     * Rohstoffe gekauft.
+     */
+    public static final EventType RESOURCE_PURCHASE = EventType.getEventType(ResourcePurchaseEvent.class);
+
+    /**
+     * Nicht instanziierbar.
+     */
+    private FlightEvents() {
+    }
+}
@@ -0,0 +1,54 @@
+/*
+ * Copyright (c) 2020 Stefan Kuehnel - All Rights Reserved
+ * Unauthorized copying of this file, via any medium is strictly prohibited
+ * Proprietary and confidential
+ * Written by Stefan Kuehnel <stefan.kuehnel@hm.edu>, May 2020
+ *
+ * DISCLAIMER. THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OR CONDITION,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. THE AUTHOR HEREBY DISCLAIMS
+ * ALL LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE.
+ */
+
+package edu.hm.kuehnel.powergrid.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/** JFR-Ereignis: Ein Spieler hat Rohstoffe gekauft.
+ * @author Stefan Kuehnel, stefan.kuehnel@hm.edu
+ * @version last-modified 2026-10-19
+ */
+@Name("edu.hm.kuehnel.powergrid.ResourcePurchase")
+@Label("Resource Purchase")
+@Category({"Power Grid", "Engine"})
+@Description("Kauf von Rohstoffen im Markt")
+public final class ResourcePurchaseEvent extends Event {
+    /**
+     * Spieler.
+     */
+    @Label("Player")
+    public int player;
+
+    /**
+     * Rohstoff.
+     */
+    @Label("Resource")
+    public String resource;
+
+    /**
+     * Anzahl.
+     */
+    @Label("Amount")
+    public int amount;
+
+    /**
+     * Preis in Elektro.
+     */
+    @Label("Cost")
+    public int cost;
+}
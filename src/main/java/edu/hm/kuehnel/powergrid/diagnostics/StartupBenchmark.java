@@ -0,0 +1,67 @@
+/*
+ * Copyright (c) 2020 Stefan Kuehnel - All Rights Reserved
+ * Unauthorized copying of this file, via any medium is strictly prohibited
+ * Proprietary and confidential
+ * Written by Stefan Kuehnel <stefan.kuehnel@hm.edu>, May 2020
+ *
+ * DISCLAIMER. THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OR CONDITION,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. THE AUTHOR HEREBY DISCLAIMS
+ * ALL LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE.
+ */
+
+package edu.hm.kuehnel.powergrid.diagnostics;
+
+import edu.hm.cs.rs.powergrid.Edition;
+import edu.hm.cs.rs.powergrid.EditionGermany;
+import edu.hm.cs.rs.powergrid.datastore.Factory;
+import edu.hm.kuehnel.powergrid.engine.ActionType;
+import edu.hm.kuehnel.powergrid.engine.GameEngine;
+import edu.hm.kuehnel.powergrid.persistence.EditionArtifacts;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/** Misst die Zeit bis zum ersten spielbaren Spiel in einer frisch gestarteten JVM.
+ * Jeder Aufruf misst genau einen Kaltstart, fuer Vergleiche also mehrmals hintereinander starten,
+ * etwa mit und ohne vorberechnete Teile und mit und ohne CDS-Archiv (gradle startupBenchmark).
+ * Ausgegeben werden die Zeit seit dem Start des Prozesses und die Zeit seit dem Eintritt in main().
+ * Das Spiel gilt als spielbar, wenn der erste Zug angewandt ist.
+ * @author Stefan Kuehnel, stefan.kuehnel@hm.edu
+ * @version last-modified 2026-10-19
+ */
+public final class StartupBenchmark {
+    /**
+     * Keine Instanzen.
+     */
+    private StartupBenchmark() {
+    }
+
+    /**
+     * Startet ein Spiel und meldet die Zeiten.
+     * @param args Optional "parse" oder "artifacts" (Standard), danach optional der Klassenname der Ausgabe.
+     * @throws ReflectiveOperationException wenn die Ausgabe nicht erzeugt werden kann.
+     */
+    public static void main(String... args) throws ReflectiveOperationException {
+        final long start = System.nanoTime();
+        final boolean parse = args.length > 0 && "parse".equals(args[0]);
+        final Edition edition = args.length > 1
+                ? (Edition) Class.forName(args[1]).getConstructor().newInstance()
+                : new EditionGermany();
+
+        final Factory factory = Factory.newFactory();
+        final EditionArtifacts artifacts = parse ? EditionArtifacts.build(factory, edition) : EditionArtifacts.load(factory, edition);
+        final int players = artifacts.getTables().getPlayersMinimum();
+        final GameEngine engine = new GameEngine(artifacts.getTables(), artifacts.getBoard(players), players, factory.newRandomSource(1));
+        engine.apply(ActionType.EndPhase, 0, 0, 0);
+        final long ready = System.nanoTime();
+
+        final Duration sinceProcess = ProcessHandle.current().info().startInstant()
+                .map(startInstant -> Duration.between(startInstant, Instant.now()))
+                .orElse(Duration.ZERO);
+        System.out.printf("mode=%s edition=%s main-to-game=%.3fms process-to-game=%dms%n",
+                parse ? "parse" : "artifacts", edition.getClass().getSimpleName(),
+                (ready - start) / 1e6, sinceProcess.toMillis());
+    }
+}
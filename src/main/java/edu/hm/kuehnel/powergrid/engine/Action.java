@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2020 Stefan Kuehnel - All Rights Reserved
+ * Unauthorized copying of this file, via any medium is strictly prohibited
+ * Proprietary and confidential
+ * Written by Stefan Kuehnel <stefan.kuehnel@hm.edu>, May 2020
+ *
+ * DISCLAIMER. THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OR CONDITION,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. THE AUTHOR HEREBY DISCLAIMS
+ * ALL LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE.
+ */
+
+package edu.hm.kuehnel.powergrid.engine;
+
+import java.util.Objects;
+
+/** Ein Spielzug als unveraenderlicher Wert.
+ * Gedacht fuer Zuege, die warten muessen, bevor das Spiel sie anwendet, etwa in einer Warteschlange.
+ * @author Stefan Kuehnel, stefan.kuehnel@hm.edu
+ * @version last-modified 2026-10-19
+ */
+public final class Action {
+    /**
+     * Art des Zuges.
+     */
+    private final ActionType type;
+
+    /**
+     * Spieler, der zieht.
+     */
+    private final int player;
+
+    /**
+     * Erstes und zweites Argument.
+     */
+    private final int first, second;
+
+    /**
+     * Initialisiert einen Zug.
+     * @param type Art des Zuges. Nicht null.
+     * @param player Spieler, der zieht.
+     * @param first Erstes Argument, siehe ActionType.
+     * @param second Zweites Argument, siehe ActionType.
+     * @throws IllegalArgumentException wenn die Art null ist.
+     */
+    public Action(ActionType type, int player, int first, int second) {
+        if (type == null)
+            throw new IllegalArgumentException("Die Art des Zuges darf nicht null sein.");
+        this.type = type;
+        this.player = player;
+        this.first = first;
+        this.second = second;
+    }
+
+    /**
+     * Art des Zuges.
+     * @return Art. Nicht null.
+     */
+    public ActionType getType() {
+        return type;
+    }
+
+    /**
+     * Spieler, der zieht.
+     * @return Spieler.
+     */
+    public int getPlayer() {
+        return player;
+    }
+
+    /**
+     * Erstes Argument.
+     * @return Argument.
+     */
+    public int getFirst() {
+        return first;
+    }
+
+    /**
+     * Zweites Argument.
+     * @return Argument.
+     */
+    public int getSecond() {
+        return second;
+    }
+
+    @Override
+    public boolean equals(Object object) {
+        if (this == object) return true;
+        if (object == null || getClass() != object.getClass()) return false;
+        final Action that = (Action) object;
+        return type == that.type && player == that.player && first == that.first && second == that.second;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(type, player, first, second);
+    }
+
+    @Override
+    public String toString() {
+        return type + "(" + player + ", " + first + ", " + second + ")";
+    }
+}
@@ -0,0 +1,199 @@
+/*
+ * Copyright (c) 2020 Stefan Kuehnel - All Rights Reserved
+ * Unauthorized copying of this file, via any medium is strictly prohibited
+ * Proprietary and confidential
+ * Written by Stefan Kuehnel <stefan.kuehnel@hm.edu>, May 2020
+ *
+ * DISCLAIMER. THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OR CONDITION,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. THE AUTHOR HEREBY DISCLAIMS
+ * ALL LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE.
+ */
+
+package edu.hm.kuehnel.powergrid.engine;
+
+import java.util.Arrays;
+
+/** Eine Folge von Zuegen, die die Engine in einem Durchgang anwendet.
+ * Die Zuege liegen in parallelen Arrays, ohne ein Objekt pro Zug.
+ * Eine Folge kann nach clear() wiederverwendet werden und waechst bei Bedarf.
+ * Nach dem Anwenden enthaelt sie zu jedem Zug die Aenderung des Guthabens.
+ * @author Stefan Kuehnel, stefan.kuehnel@hm.edu
+ * @version last-modified 2026-10-19
+ */
+public class ActionBatch {
+    /**
+     * Arten der Zuege.
+     */
+    private ActionType[] types;
+
+    /**
+     * Spieler der Zuege.
+     */
+    private int[] players;
+
+    /**
+     * Erste Argumente der Zuege.
+     */
+    private int[] firsts;
+
+    /**
+     * Zweite Argumente der Zuege.
+     */
+    private int[] seconds;
+
+    /**
+     * Aenderungen des Guthabens, gesetzt beim Anwenden.
+     */
+    private int[] electros;
+
+    /**
+     * Anzahl Zuege.
+     */
+    private int size;
+
+    /**
+     * Initialisiert eine leere Folge.
+     * @param capacity Anfaengliche Kapazitaet. Echt positiv.
+     * @throws IllegalArgumentException wenn die Kapazitaet nicht positiv ist.
+     */
+    public ActionBatch(int capacity) {
+        if (capacity < 1)
+            throw new IllegalArgumentException("Die Kapazitaet muss echt positiv sein.");
+        types = new ActionType[capacity];
+        players = new int[capacity];
+        firsts = new int[capacity];
+        seconds = new int[capacity];
+        electros = new int[capacity];
+    }
+
+    /**
+     * Haengt einen Zug an.
+     * @param type Art des Zuges. Nicht null.
+     * @param player Spieler, der zieht.
+     * @param first Erstes Argument, siehe ActionType.
+     * @param second Zweites Argument, siehe ActionType.
+     * @return Diese Folge.
+     * @throws IllegalArgumentException wenn die Art null ist.
+     */
+    public ActionBatch add(ActionType type, int player, int first, int second) {
+        if (type == null)
+            throw new IllegalArgumentException("Die Art des Zuges darf nicht null sein.");
+        if (size == types.length)
+            grow();
+        types[size] = type;
+        players[size] = player;
+        firsts[size] = first;
+        seconds[size] = second;
+        electros[size] = 0;
+        size++;
+        return this;
+    }
+
+    /**
+     * Haengt einen Zug an.
+     * @param action Zug. Nicht null.
+     * @return Diese Folge.
+     * @throws IllegalArgumentException wenn der Zug null ist.
+     */
+    public ActionBatch add(Action action) {
+        if (action == null)
+            throw new IllegalArgumentException("Der Zug darf nicht null sein.");
+        return add(action.getType(), action.getPlayer(), action.getFirst(), action.getSecond());
+    }
+
+    /**
+     * Hilfsmethode, die die Kapazitaet verdoppelt.
+     */
+    private void grow() {
+        final int capacity = 2 * types.length;
+        types = Arrays.copyOf(types, capacity);
+        players = Arrays.copyOf(players, capacity);
+        firsts = Arrays.copyOf(firsts, capacity);
+        seconds = Arrays.copyOf(seconds, capacity);
+        electros = Arrays.copyOf(electros, capacity);
+    }
+
+    /**
+     * Entfernt alle Zuege. Die Arrays bleiben erhalten.
+     */
+    public void clear() {
+        Arrays.fill(types, 0, size, null);
+        size = 0;
+    }
+
+    /**
+     * Anzahl Zuege.
+     * @return Anzahl.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Art eines Zuges.
+     * @param index Position des Zuges.
+     * @return Art. Nicht null.
+     */
+    public ActionType getType(int index) {
+        return types[checkIndex(index)];
+    }
+
+    /**
+     * Spieler eines Zuges.
+     * @param index Position des Zuges.
+     * @return Spieler.
+     */
+    public int getPlayer(int index) {
+        return players[checkIndex(index)];
+    }
+
+    /**
+     * Erstes Argument eines Zuges.
+     * @param index Position des Zuges.
+     * @return Argument.
+     */
+    public int getFirst(int index) {
+        return firsts[checkIndex(index)];
+    }
+
+    /**
+     * Zweites Argument eines Zuges.
+     * @param index Position des Zuges.
+     * @return Argument.
+     */
+    public int getSecond(int index) {
+        return seconds[checkIndex(index)];
+    }
+
+    /**
+     * Aenderung des Guthabens durch einen Zug. Erst nach dem Anwenden gueltig.
+     * @param index Position des Zuges.
+     * @return Aenderung.
+     */
+    public int getElectro(int index) {
+        return electros[checkIndex(index)];
+    }
+
+    /**
+     * Setzt die Aenderung des Guthabens durch einen Zug.
+     * @param index Position des Zuges.
+     * @param electro Aenderung.
+     */
+    void setElectro(int index, int electro) {
+        electros[index] = electro;
+    }
+
+    /**
+     * Hilfsmethode, die eine Position prueft.
+     * @param index Position.
+     * @return Die Position.
+     * @throws IllegalArgumentException wenn es keinen Zug an der Position gibt.
+     */
+    private int checkIndex(int index) {
+        if (index < 0 || index >= size)
+            throw new IllegalArgumentException("Kein Zug an Position " + index);
+        return index;
+    }
+}
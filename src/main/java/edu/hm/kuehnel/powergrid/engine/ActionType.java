@@ -0,0 +1,58 @@
+/*
+ * Copyright (c) 2020 Stefan Kuehnel - All Rights Reserved
+ * Unauthorized copying of this file, via any medium is strictly prohibited
+ * Proprietary and confidential
+ * Written by Stefan Kuehnel <stefan.kuehnel@hm.edu>, May 2020
+ *
+ * DISCLAIMER. THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OR CONDITION,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. THE AUTHOR HEREBY DISCLAIMS
+ * ALL LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE.
+ */
+
+package edu.hm.kuehnel.powergrid.engine;
+
+/** Die Arten von Spielzuegen.
+ * Jeder Zug hat einen Spieler und bis zu zwei ganzzahlige Argumente.
+ * @author Stefan Kuehnel, stefan.kuehnel@hm.edu
+ * @version last-modified 2026-10-19
+ */
+public enum ActionType {
+    /** Zuschlag einer Auktion. Argumente: Index des Kraftwerks, Gebot. */
+    Bid(Phase.PlantAuction),
+
+    /** Kauf von Rohstoffen. Argumente: Rohstoff (Ordinalzahl), Anzahl. */
+    BuyResource(Phase.ResourceBuying),
+
+    /** Anschluss einer Stadt. Argumente: Nummer der Stadt, unbenutzt. */
+    BuildCity(Phase.Building),
+
+    /** Betrieb von Kraftwerken. Argumente: Bitmaske der eigenen Kraftwerke, Kohle fuer Hybridkraftwerke. */
+    FirePlants(Phase.Bureaucracy),
+
+    /** Ende der aktuellen Phase. Keine Argumente, der Spieler spielt keine Rolle. */
+    EndPhase(null);
+
+    /**
+     * Phase, in der Zuege dieser Art erlaubt sind. null, wenn sie in jeder Phase erlaubt sind.
+     */
+    private final Phase phase;
+
+    /**
+     * Initialisiert eine Zugart.
+     * @param phase Phase, in der Zuege dieser Art erlaubt sind.
+     */
+    ActionType(Phase phase) {
+        this.phase = phase;
+    }
+
+    /**
+     * Prueft, ob Zuege dieser Art in einer Phase erlaubt sind.
+     * @param current Aktuelle Phase.
+     * @return true, wenn der Zug erlaubt ist.
+     */
+    public boolean isAllowedIn(Phase current) {
+        return current != Phase.Terminated && (phase == null || phase == current);
+    }
+}
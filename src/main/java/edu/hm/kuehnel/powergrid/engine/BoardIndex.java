@@ -0,0 +1,308 @@
+/*
+ * Copyright (c) 2020 Stefan Kuehnel - All Rights Reserved
+ * Unauthorized copying of this file, via any medium is strictly prohibited
+ * Proprietary and confidential
+ * Written by Stefan Kuehnel <stefan.kuehnel@hm.edu>, May 2020
+ *
+ * DISCLAIMER. THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OR CONDITION,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. THE AUTHOR HEREBY DISCLAIMS
+ * ALL LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE.
+ */
+
+package edu.hm.kuehnel.powergrid.engine;
+
+import edu.hm.cs.rs.powergrid.datastore.Board;
+import edu.hm.cs.rs.powergrid.datastore.City;
+import edu.hm.kuehnel.powergrid.datastore.FrozenBoard;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Map;
+
+/** Dichte Nummern fuer die Staedte eines Spielplans.
+ * Die Staedte sind nach Namen sortiert und von 0 an durchnummeriert.
+ * Die Verbindungen liegen im CSR-Format vor: die Nachbarn der Stadt c stehen in
+ * targets und costs an den Positionen offsets[c] bis offsets[c + 1] - 1, aufsteigend nach Nachbarstadt.
+ * Auch die Nachbarn ganzer Mengen von Staedten (CitySet) entstehen aus diesen Arrays, ohne Speicher pro Stadtpaar.
+ * Nach dem Aufbau unveraenderlich. Mit writeTo und readFrom laesst sich ein fertiger Index speichern und laden.
+ * @author Stefan Kuehnel, stefan.kuehnel@hm.edu
+ * @version last-modified 2026-10-19
+ */
+public class BoardIndex {
+    /**
+     * Die Staedte, Index = Nummer der Stadt.
+     */
+    private final City[] cities;
+
+    /**
+     * Die Namen der Staedte, aufsteigend sortiert.
+     */
+    private final String[] names;
+
+    /**
+     * Die Gebiete der Staedte.
+     */
+    private final int[] regions;
+
+    /**
+     * Beginn der Nachbarn jeder Stadt in targets und costs. Eine Position mehr als Staedte.
+     */
+    private final int[] offsets;
+
+    /**
+     * Nummern der Nachbarstaedte.
+     */
+    private final int[] targets;
+
+    /**
+     * Verbindungskosten zu den Nachbarstaedten.
+     */
+    private final int[] costs;
+
+    /**
+     * Fingerabdruck ueber Namen, Gebiete und Verbindungen.
+     */
+    private final long fingerprint;
+
+    /**
+     * Nummeriert die Staedte eines Spielplans.
+     * @param board Spielplan. Nicht null. Die Gebiete sollten schon festgelegt sein.
+     * @throws IllegalArgumentException wenn der Spielplan null ist.
+     */
+    public BoardIndex(Board board) {
+        if (board == null)
+            throw new IllegalArgumentException("Der Spielplan darf nicht null sein.");
+
+        cities = board.getCities().toArray(City[]::new);
+        Arrays.sort(cities, Comparator.comparing(City::getName));
+
+        names = new String[cities.length];
+        regions = new int[cities.length];
+        offsets = new int[cities.length + 1];
+        for (int city = 0; city < cities.length; city++) {
+            names[city] = cities[city].getName();
+            regions[city] = cities[city].getRegion();
+            offsets[city + 1] = offsets[city] + cities[city].getConnections().size();
+        }
+
+        targets = new int[offsets[cities.length]];
+        costs = new int[offsets[cities.length]];
+        for (int city = 0; city < cities.length; city++) {
+            int edge = offsets[city];
+            for (Map.Entry<City, Integer> connection : cities[city].getConnections().entrySet()) {
+                targets[edge] = indexOf(connection.getKey().getName());
+                costs[edge] = connection.getValue();
+                edge++;
+            }
+            sortEdges(offsets[city], edge);
+        }
+        fingerprint = computeFingerprint();
+    }
+
+    /**
+     * Hilfsmethode, die die Verbindungen einer Stadt nach Nachbarstadt sortiert (Einfuegesortieren).
+     * Die Reihenfolge der Verbindungen haengt dann nicht von der Map der Stadt ab.
+     * @param from Erste Verbindung.
+     * @param to Position hinter der letzten Verbindung.
+     */
+    private void sortEdges(int from, int to) {
+        for (int next = from + 1; next < to; next++) {
+            final int target = targets[next];
+            final int cost = costs[next];
+            int position = next;
+            while (position > from && targets[position - 1] > target) {
+                targets[position] = targets[position - 1];
+                costs[position] = costs[position - 1];
+                position--;
+            }
+            targets[position] = target;
+            costs[position] = cost;
+        }
+    }
+
+    /**
+     * Uebernimmt fertige Arrays.
+     * @param board Spielplan mit genau den Staedten in names. Nicht null.
+     * @param names Namen, aufsteigend sortiert.
+     * @param regions Gebiete.
+     * @param offsets Beginn der Verbindungen.
+     * @param targets Nachbarstaedte.
+     * @param costs Verbindungskosten.
+     */
+    private BoardIndex(Board board, String[] names, int[] regions, int[] offsets, int[] targets, int[] costs) {
+        cities = new City[names.length];
+        for (int city = 0; city < names.length; city++)
+            cities[city] = board.findCity(names[city]);
+        this.names = names;
+        this.regions = regions;
+        this.offsets = offsets;
+        this.targets = targets;
+        this.costs = costs;
+        fingerprint = computeFingerprint();
+    }
+
+    /**
+     * Liest einen Index, den writeTo geschrieben hat.
+     * Die Staedte entstehen als unveraenderlicher FrozenBoard, ohne Factory und ohne Zerlegen der Ausgabe.
+     * @param in Quelle. Nicht null.
+     * @return Index.
+     * @throws IOException wenn die Quelle nicht lesbar ist.
+     * @throws IllegalArgumentException wenn die gelesenen Daten nicht zusammenpassen.
+     */
+    public static BoardIndex readFrom(DataInput in) throws IOException {
+        final String[] names = new String[in.readInt()];
+        for (int city = 0; city < names.length; city++)
+            names[city] = in.readUTF();
+        final int[] regions = EditionTables.readInts(in);
+        final int[] offsets = EditionTables.readInts(in);
+        final int[] targets = EditionTables.readInts(in);
+        final int[] costs = EditionTables.readInts(in);
+        final Board board = new FrozenBoard(names, regions, offsets, targets, costs);
+        return new BoardIndex(board, names, regions, offsets, targets, costs);
+    }
+
+    /**
+     * Schreibt Namen, Gebiete und Verbindungen.
+     * @param out Ziel. Nicht null.
+     * @throws IOException wenn das Schreiben scheitert.
+     */
+    public void writeTo(DataOutput out) throws IOException {
+        out.writeInt(names.length);
+        for (String name : names)
+            out.writeUTF(name);
+        EditionTables.writeInts(out, regions);
+        EditionTables.writeInts(out, offsets);
+        EditionTables.writeInts(out, targets);
+        EditionTables.writeInts(out, costs);
+    }
+
+    /**
+     * Fingerabdruck ueber Namen, Gebiete und Verbindungen (FNV-1a ueber ints).
+     * Gleiche Spielplaene haben gleiche Fingerabdruecke, verschiedene mit grosser Wahrscheinlichkeit verschiedene.
+     * @return Fingerabdruck.
+     */
+    public long getFingerprint() {
+        return fingerprint;
+    }
+
+    /**
+     * Hilfsmethode, die den Fingerabdruck aus den fertigen Arrays berechnet.
+     * @return Fingerabdruck.
+     */
+    private long computeFingerprint() {
+        long hash = 0xCBF29CE484222325L;
+        for (String name : names)
+            hash = (hash ^ name.hashCode()) * 0x100000001B3L;
+        for (int[] column : new int[][] {regions, offsets, targets, costs})
+            for (int value : column)
+                hash = (hash ^ value) * 0x100000001B3L;
+        return hash;
+    }
+
+    /**
+     * Anzahl Staedte.
+     * @return Anzahl.
+     */
+    public int size() {
+        return cities.length;
+    }
+
+    /**
+     * Sucht die Nummer einer Stadt.
+     * @param name Name der Stadt.
+     * @return Nummer oder -1, wenn es keine Stadt mit diesem Namen gibt.
+     */
+    public int indexOf(String name) {
+        final int city = Arrays.binarySearch(names, name);
+        return city < 0 ? -1 : city;
+    }
+
+    /**
+     * Eine Stadt.
+     * @param city Nummer der Stadt.
+     * @return Stadt. Nicht null.
+     */
+    public City getCity(int city) {
+        return cities[city];
+    }
+
+    /**
+     * Name einer Stadt.
+     * @param city Nummer der Stadt.
+     * @return Name. Nicht null.
+     */
+    public String getName(int city) {
+        return names[city];
+    }
+
+    /**
+     * Gebiet einer Stadt.
+     * @param city Nummer der Stadt.
+     * @return Gebiet.
+     */
+    public int getRegion(int city) {
+        return regions[city];
+    }
+
+    /**
+     * Anzahl aller Verbindungen, jede Richtung einzeln gezaehlt.
+     * @return Anzahl.
+     */
+    public int getEdges() {
+        return targets.length;
+    }
+
+    /**
+     * Position der ersten Verbindung einer Stadt.
+     * @param city Nummer der Stadt. Hoechstens size().
+     * @return Position in getTarget und getCost.
+     */
+    public int getOffset(int city) {
+        return offsets[city];
+    }
+
+    /**
+     * Ziel einer Verbindung.
+     * @param edge Position der Verbindung.
+     * @return Nummer der Nachbarstadt.
+     */
+    public int getTarget(int edge) {
+        return targets[edge];
+    }
+
+    /**
+     * Kosten einer Verbindung.
+     * @param edge Position der Verbindung.
+     * @return Verbindungskosten.
+     */
+    public int getCost(int edge) {
+        return costs[edge];
+    }
+
+    /**
+     * Fuegt alle Nachbarn eines Netzes zu einer Menge hinzu.
+     * Laeuft ueber die gesetzten Bits des Netzes und deren Verbindungen, der Aufwand waechst mit den Kanten des Netzes.
+     * Das Netz selbst wird nicht abgezogen.
+     * @param network Staedte des Netzes. Nicht null, Kapazitaet size().
+     * @param result Menge, zu der die Nachbarn kommen. Nicht null, Kapazitaet size(), nicht das Netz.
+     * @throws IllegalArgumentException wenn eine Menge nicht zum Spielplan passt oder beide dieselbe sind.
+     */
+    public void addNeighbours(CitySet network, CitySet result) {
+        if (network == null || result == null || network == result
+                || network.getCapacity() != size() || result.getCapacity() != size())
+            throw new IllegalArgumentException("Die Mengen passen nicht zum Spielplan.");
+        final long[] from = network.getWords();
+        final long[] into = result.getWords();
+        for (int word = 0; word < from.length; word++)
+            for (long rest = from[word]; rest != 0; rest &= rest - 1) {
+                final int city = word * Long.SIZE + Long.numberOfTrailingZeros(rest);
+                for (int edge = offsets[city]; edge < offsets[city + 1]; edge++)
+                    into[targets[edge] >>> 6] |= 1L << targets[edge];
+            }
+    }
+}
@@ -0,0 +1,308 @@
+/*
+ * Copyright (c) 2020 Stefan Kuehnel - All Rights Reserved
+ * Unauthorized copying of this file, via any medium is strictly prohibited
+ * Proprietary and confidential
+ * Written by Stefan Kuehnel <stefan.kuehnel@hm.edu>, May 2020
+ *
+ * DISCLAIMER. THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OR CONDITION,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. THE AUTHOR HEREBY DISCLAIMS
+ * ALL LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE.
+ */
+
+package edu.hm.kuehnel.powergrid.engine;
+
+import edu.hm.cs.rs.powergrid.datastore.City;
+
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/** Eine Menge von Staedten als Bitmaske ueber die Nummern aus BoardIndex.
+ * Stadt c steht in Bit c % 64 von Wort c / 64. Das Format passt zu den Bitmasken von GraphAnalytics.
+ * Vereinigung, Schnitt und Differenz arbeiten wortweise und veraendern diese Menge.
+ * Fuer bestehenden Code mit Set&lt;City&gt; gibt es die Sicht asSet().
+ * Nicht threadsicher.
+ * @author Stefan Kuehnel, stefan.kuehnel@hm.edu
+ * @version last-modified 2026-10-19
+ */
+public class CitySet {
+    /**
+     * Die Bitmaske.
+     */
+    private final long[] words;
+
+    /**
+     * Anzahl moeglicher Staedte.
+     */
+    private final int capacity;
+
+    /**
+     * Initialisiert eine leere Menge.
+     * @param capacity Anzahl moeglicher Staedte, etwa BoardIndex.size(). Nicht negativ.
+     * @throws IllegalArgumentException wenn die Anzahl negativ ist.
+     */
+    public CitySet(int capacity) {
+        if (capacity < 0)
+            throw new IllegalArgumentException("Die Anzahl Staedte darf nicht negativ sein: " + capacity);
+        this.capacity = capacity;
+        words = new long[(capacity + Long.SIZE - 1) / Long.SIZE];
+    }
+
+    /**
+     * Anzahl moeglicher Staedte.
+     * @return Anzahl.
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Die Bitmaske selbst, nicht kopiert. Etwa fuer GraphAnalytics.
+     * @return Bitmaske. Bits ab getCapacity() muessen 0 bleiben.
+     */
+    public long[] getWords() {
+        return words;
+    }
+
+    /**
+     * Prueft, ob eine Stadt in der Menge liegt.
+     * @param city Nummer der Stadt.
+     * @return true, wenn ja.
+     */
+    public boolean contains(int city) {
+        return (words[city >>> 6] & 1L << city) != 0;
+    }
+
+    /**
+     * Fuegt eine Stadt hinzu.
+     * @param city Nummer der Stadt. Kleiner als getCapacity().
+     * @return true, wenn die Stadt neu ist.
+     */
+    public boolean add(int city) {
+        final long before = words[city >>> 6];
+        words[city >>> 6] = before | 1L << city;
+        return (before & 1L << city) == 0;
+    }
+
+    /**
+     * Entfernt eine Stadt.
+     * @param city Nummer der Stadt.
+     * @return true, wenn die Stadt in der Menge lag.
+     */
+    public boolean remove(int city) {
+        final long before = words[city >>> 6];
+        words[city >>> 6] = before & ~(1L << city);
+        return (before & 1L << city) != 0;
+    }
+
+    /**
+     * Leert die Menge.
+     */
+    public void clear() {
+        Arrays.fill(words, 0);
+    }
+
+    /**
+     * Anzahl Staedte in der Menge.
+     * @return Anzahl.
+     */
+    public int cardinality() {
+        int count = 0;
+        for (long word : words)
+            count += Long.bitCount(word);
+        return count;
+    }
+
+    /**
+     * Prueft, ob die Menge leer ist.
+     * @return true, wenn ja.
+     */
+    public boolean isEmpty() {
+        for (long word : words)
+            if (word != 0)
+                return false;
+        return true;
+    }
+
+    /**
+     * Prueft, ob zwei Mengen eine gemeinsame Stadt haben.
+     * @param that Andere Menge gleicher Kapazitaet.
+     * @return true, wenn ja.
+     * @throws IllegalArgumentException wenn die Kapazitaeten verschieden sind.
+     */
+    public boolean intersects(CitySet that) {
+        requireSameCapacity(that);
+        for (int word = 0; word < words.length; word++)
+            if ((words[word] & that.words[word]) != 0)
+                return true;
+        return false;
+    }
+
+    /**
+     * Ersetzt den Inhalt durch den einer anderen Menge.
+     * @param that Andere Menge gleicher Kapazitaet.
+     * @return Diese Menge.
+     * @throws IllegalArgumentException wenn die Kapazitaeten verschieden sind.
+     */
+    public CitySet copyFrom(CitySet that) {
+        requireSameCapacity(that);
+        System.arraycopy(that.words, 0, words, 0, words.length);
+        return this;
+    }
+
+    /**
+     * Vereinigung: fuegt alle Staedte einer anderen Menge hinzu.
+     * @param that Andere Menge gleicher Kapazitaet.
+     * @return Diese Menge.
+     * @throws IllegalArgumentException wenn die Kapazitaeten verschieden sind.
+     */
+    public CitySet or(CitySet that) {
+        requireSameCapacity(that);
+        for (int word = 0; word < words.length; word++)
+            words[word] |= that.words[word];
+        return this;
+    }
+
+    /**
+     * Schnitt: behaelt nur Staedte, die auch in einer anderen Menge liegen.
+     * @param that Andere Menge gleicher Kapazitaet.
+     * @return Diese Menge.
+     * @throws IllegalArgumentException wenn die Kapazitaeten verschieden sind.
+     */
+    public CitySet and(CitySet that) {
+        requireSameCapacity(that);
+        for (int word = 0; word < words.length; word++)
+            words[word] &= that.words[word];
+        return this;
+    }
+
+    /**
+     * Differenz: entfernt alle Staedte einer anderen Menge.
+     * @param that Andere Menge gleicher Kapazitaet.
+     * @return Diese Menge.
+     * @throws IllegalArgumentException wenn die Kapazitaeten verschieden sind.
+     */
+    public CitySet andNot(CitySet that) {
+        requireSameCapacity(that);
+        for (int word = 0; word < words.length; word++)
+            words[word] &= ~that.words[word];
+        return this;
+    }
+
+    /**
+     * Die naechste Stadt in der Menge.
+     * @param from Erste Nummer, die in Frage kommt. Nicht negativ.
+     * @return Nummer der Stadt oder -1, wenn es keine mehr gibt.
+     */
+    public int nextCity(int from) {
+        int word = from >>> 6;
+        if (word >= words.length)
+            return -1;
+        long rest = words[word] & -1L << from;
+        while (rest == 0) {
+            if (++word == words.length)
+                return -1;
+            rest = words[word];
+        }
+        return word * Long.SIZE + Long.numberOfTrailingZeros(rest);
+    }
+
+    /**
+     * Eine veraenderliche Sicht als Set&lt;City&gt; fuer bestehenden Code.
+     * Aenderungen an der Sicht veraendern diese Menge und umgekehrt.
+     * @param board Spielplan, dessen Nummern die Menge verwendet. Nicht null.
+     * @return Sicht.
+     * @throws IllegalArgumentException wenn der Spielplan null ist oder nicht zur Kapazitaet passt.
+     */
+    public Set<City> asSet(BoardIndex board) {
+        if (board == null || board.size() != capacity)
+            throw new IllegalArgumentException("Der Spielplan passt nicht zur Menge.");
+        return new AbstractSet<>() {
+            @Override
+            public int size() {
+                return cardinality();
+            }
+
+            @Override
+            public boolean contains(Object object) {
+                final int city = indexOf(object);
+                return city >= 0 && CitySet.this.contains(city);
+            }
+
+            @Override
+            public boolean add(City city) {
+                final int index = indexOf(city);
+                if (index < 0)
+                    throw new IllegalArgumentException("Die Stadt liegt nicht auf dem Spielplan: " + city);
+                return CitySet.this.add(index);
+            }
+
+            @Override
+            public boolean remove(Object object) {
+                final int city = indexOf(object);
+                return city >= 0 && CitySet.this.remove(city);
+            }
+
+            @Override
+            public void clear() {
+                CitySet.this.clear();
+            }
+
+            @Override
+            public Iterator<City> iterator() {
+                return new Iterator<>() {
+                    private int next = nextCity(0);
+                    private int last = -1;
+
+                    @Override
+                    public boolean hasNext() {
+                        return next >= 0;
+                    }
+
+                    @Override
+                    public City next() {
+                        if (next < 0)
+                            throw new NoSuchElementException();
+                        last = next;
+                        next = next + 1 < capacity ? nextCity(next + 1) : -1;
+                        return board.getCity(last);
+                    }
+
+                    @Override
+                    public void remove() {
+                        if (last < 0)
+                            throw new IllegalStateException("Keine Stadt zum Entfernen.");
+                        CitySet.this.remove(last);
+                        last = -1;
+                    }
+                };
+            }
+
+            /**
+             * Hilfsmethode, die die Nummer einer Stadt sucht.
+             * @param object Stadt oder etwas anderes.
+             * @return Nummer oder -1.
+             */
+            private int indexOf(Object object) {
+                if (!(object instanceof City))
+                    return -1;
+                final int city = board.indexOf(((City) object).getName());
+                return city >= 0 && board.getCity(city).equals(object) ? city : -1;
+            }
+        };
+    }
+
+    /**
+     * Hilfsmethode, die prueft, ob eine andere Menge gleich gross ist.
+     * @param that Andere Menge.
+     * @throws IllegalArgumentException wenn die Menge null ist oder eine andere Kapazitaet hat.
+     */
+    private void requireSameCapacity(CitySet that) {
+        if (that == null || that.capacity != capacity)
+            throw new IllegalArgumentException("Die Mengen muessen gleich gross sein.");
+    }
+}
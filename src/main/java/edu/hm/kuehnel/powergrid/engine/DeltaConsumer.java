@@ -0,0 +1,30 @@
+/*
+ * Copyright (c) 2020 Stefan Kuehnel - All Rights Reserved
+ * Unauthorized copying of this file, via any medium is strictly prohibited
+ * Proprietary and confidential
+ * Written by Stefan Kuehnel <stefan.kuehnel@hm.edu>, May 2020
+ *
+ * DISCLAIMER. THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OR CONDITION,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. THE AUTHOR HEREBY DISCLAIMS
+ * ALL LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE.
+ */
+
+package edu.hm.kuehnel.powergrid.engine;
+
+/** Empfaenger von Aenderungen aus einem DeltaRing.
+ * Die Aenderungen kommen mit primitiven Argumenten, ohne Objekte zu erzeugen.
+ * @author Stefan Kuehnel, stefan.kuehnel@hm.edu
+ * @version last-modified 2026-10-19
+ */
+@FunctionalInterface
+public interface DeltaConsumer {
+    /**
+     * Eine Aenderung des Spielzustands.
+     * @param kind Art der Aenderung, eine der Konstanten aus DeltaRing.
+     * @param key Betroffener Eintrag, Bedeutung je nach Art.
+     * @param value Differenz oder neuer Wert, je nach Art.
+     */
+    void accept(int kind, int key, int value);
+}
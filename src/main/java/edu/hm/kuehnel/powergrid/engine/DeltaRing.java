@@ -0,0 +1,185 @@
+/*
+ * Copyright (c) 2020 Stefan Kuehnel - All Rights Reserved
+ * Unauthorized copying of this file, via any medium is strictly prohibited
+ * Proprietary and confidential
+ * Written by Stefan Kuehnel <stefan.kuehnel@hm.edu>, May 2020
+ *
+ * DISCLAIMER. THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OR CONDITION,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. THE AUTHOR HEREBY DISCLAIMS
+ * ALL LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE.
+ */
+
+package edu.hm.kuehnel.powergrid.engine;
+
+import java.lang.invoke.VarHandle;
+
+/** Ringpuffer mit feinen Aenderungen eines Spielzustands.
+ * Der Zustand schreibt jede Aenderung als einen long-Eintrag, etwa "Stadt X hat Besitzer Y" oder "Kohle -3".
+ * Beobachter lesen die Eintraege mit eigener Leseposition, ohne den ganzen Zustand zu kopieren.
+ * Es gibt genau einen Schreiber, den Thread des Spieles. Leser duerfen in anderen Threads laufen.
+ * Ist ein Leser so weit zurueck, dass der Schreiber seine Eintraege schon ueberschrieben hat,
+ * muss er den ganzen Zustand neu lesen und mit getHead() weitermachen.
+ * @author Stefan Kuehnel, stefan.kuehnel@hm.edu
+ * @version last-modified 2026-10-19
+ */
+public class DeltaRing {
+    /**
+     * Guthaben. Schluessel = Spieler, Wert = Differenz.
+     */
+    public static final int MONEY = 0;
+
+    /**
+     * Rohstoffe eines Spielers. Schluessel = Spieler * RESOURCES + Rohstoff, Wert = Differenz.
+     */
+    public static final int PLAYER_RESOURCE = 1;
+
+    /**
+     * Rohstoffe im Markt. Schluessel = Rohstoff, Wert = Differenz.
+     */
+    public static final int MARKET = 2;
+
+    /**
+     * Rohstoffe im Vorrat. Schluessel = Rohstoff, Wert = Differenz.
+     */
+    public static final int SUPPLY = 3;
+
+    /**
+     * Besitzer eines Bauplatzes. Schluessel = Stadt * SLOTS + Bauplatz, Wert = neuer Besitzer.
+     */
+    public static final int CITY_OWNER = 4;
+
+    /**
+     * Anzahl angeschlossener Staedte. Schluessel = Spieler, Wert = Differenz.
+     */
+    public static final int CITIES_BUILT = 5;
+
+    /**
+     * Ort eines Kraftwerks. Schluessel = Kraftwerk, Wert = neuer Ort.
+     */
+    public static final int PLANT_LOCATION = 6;
+
+    /**
+     * Betrieb von Kraftwerken in dieser Runde. Schluessel = Spieler, Wert = 1 fuer betrieben, 0 fuer zurueckgesetzt.
+     */
+    public static final int FIRED = 7;
+
+    /**
+     * Phase. Schluessel = 0, Wert = Ordinalzahl der neuen Phase.
+     */
+    public static final int PHASE = 8;
+
+    /**
+     * Runde. Schluessel = 0, Wert = neue Runde.
+     */
+    public static final int ROUND = 9;
+
+    /**
+     * Spielstufe. Schluessel = 0, Wert = neue Stufe.
+     */
+    public static final int LEVEL = 10;
+
+    /**
+     * Der Zustand wurde als Ganzes ersetzt, etwa beim Laden eines Sicherungspunkts.
+     * Leser muessen den ganzen Zustand neu lesen. Schluessel und Wert = 0.
+     */
+    public static final int RESET = 11;
+
+    /**
+     * Position des naechsten Kraftwerks im Stapel. Schluessel = 0, Wert = neue Position.
+     */
+    public static final int DECK_TOP = 12;
+
+    /**
+     * Die Eintraege: Art in den obersten 8 Bits, Schluessel in den naechsten 24, Wert in den unteren 32.
+     */
+    private final long[] entries;
+
+    /**
+     * Maske fuer die Position im Array.
+     */
+    private final int mask;
+
+    /**
+     * Anzahl jemals geschriebener Eintraege. Nur der Schreiber veraendert sie.
+     */
+    private volatile long head;
+
+    /**
+     * Initialisiert einen leeren Ring.
+     * @param capacity Anzahl Eintraege, die ein Leser hoechstens zurueckliegen darf. Eine Zweierpotenz.
+     * @throws IllegalArgumentException wenn die Kapazitaet keine positive Zweierpotenz ist.
+     */
+    public DeltaRing(int capacity) {
+        if (capacity < 1 || Integer.bitCount(capacity) != 1)
+            throw new IllegalArgumentException("Die Kapazitaet muss eine positive Zweierpotenz sein: " + capacity);
+        entries = new long[capacity];
+        mask = capacity - 1;
+    }
+
+    /**
+     * Prueft, ob eine Art von Aenderung als Differenz statt als neuer Wert im Ring steht.
+     * @param kind Art der Aenderung.
+     * @return true fuer Mengen: Guthaben, Rohstoffe, Markt, Vorrat und angeschlossene Staedte.
+     */
+    public static boolean isDifference(int kind) {
+        return kind == MONEY || kind == PLAYER_RESOURCE || kind == MARKET || kind == SUPPLY || kind == CITIES_BUILT;
+    }
+
+    /**
+     * Anzahl Eintraege, die ein Leser hoechstens zurueckliegen darf.
+     * @return Kapazitaet.
+     */
+    public int getCapacity() {
+        return entries.length;
+    }
+
+    /**
+     * Position hinter dem juengsten Eintrag. Ein neuer Leser beginnt hier.
+     * @return Position.
+     */
+    public long getHead() {
+        return head;
+    }
+
+    /**
+     * Schreibt eine Aenderung. Nur fuer den Thread des Spieles.
+     * @param kind Art der Aenderung.
+     * @param key Betroffener Eintrag. Nicht negativ, kleiner als 2^24.
+     * @param value Differenz oder neuer Wert.
+     */
+    void record(int kind, int key, int value) {
+        final long position = head;
+        // Der Platz gehoert noch dem Eintrag position - Kapazitaet. Ein Leser dieses Eintrags muss den Stand von head,
+        // der ihn fuer ungueltig erklaert, sehen, bevor er den neuen Wert sehen kann.
+        // Das Schreiben von head darf also nicht hinter das Ueberschreiben des Platzes rutschen.
+        VarHandle.storeStoreFence();
+        entries[(int) position & mask] = (long) kind << 56 | (key & 0xFFFFFFL) << 32 | value & 0xFFFFFFFFL;
+        head = position + 1;
+    }
+
+    /**
+     * Liefert alle Eintraege ab einer Leseposition an einen Empfaenger.
+     * @param from Leseposition, die der letzte Aufruf geliefert hat, oder getHead() fuer einen neuen Leser.
+     * @param consumer Empfaenger. Nicht null.
+     * @return Neue Leseposition.
+     * @throws IllegalArgumentException wenn die Leseposition hinter dem juengsten Eintrag liegt.
+     * @throws IllegalStateException wenn der Leser so weit zurueckliegt, dass Eintraege ueberschrieben sind.
+     */
+    public long drain(long from, DeltaConsumer consumer) {
+        final long until = head;
+        if (from > until)
+            throw new IllegalArgumentException("Die Leseposition liegt hinter dem juengsten Eintrag: " + from);
+        for (long position = from; position < until; position++) {
+            final long entry = entries[(int) position & mask];
+            // Der Schreiber koennte den Eintrag waehrend des Lesens ueberschrieben haben.
+            // Wie bei StampedLock.validate darf das Lesen des Eintrags nicht hinter das Lesen von head rutschen.
+            VarHandle.acquireFence();
+            if (head - position >= entries.length)
+                throw new IllegalStateException("Der Leser ist zu weit zurueck, Eintraege sind ueberschrieben.");
+            consumer.accept((int) (entry >>> 56), (int) (entry >>> 32) & 0xFFFFFF, (int) entry);
+        }
+        return until;
+    }
+}
@@ -0,0 +1,502 @@
+/*
+ * Copyright (c) 2020 Stefan Kuehnel - All Rights Reserved
+ * Unauthorized copying of this file, via any medium is strictly prohibited
+ * Proprietary and confidential
+ * Written by Stefan Kuehnel <stefan.kuehnel@hm.edu>, May 2020
+ *
+ * DISCLAIMER. THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OR CONDITION,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. THE AUTHOR HEREBY DISCLAIMS
+ * ALL LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE.
+ */
+
+package edu.hm.kuehnel.powergrid.engine;
+
+import edu.hm.cs.rs.powergrid.Edition;
+import edu.hm.cs.rs.powergrid.datastore.Resource;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/** Die Tabellen einer Ausgabe in primitiven Arrays.
+ * Die Ausgabe liefert ihre Daten als Listen und Maps, die bei jedem Aufruf neu entstehen.
+ * Diese Klasse liest sie einmal aus und ist danach unveraenderlich.
+ * Eine Instanz kann deshalb von beliebig vielen Spielen gemeinsam benutzt werden.
+ * Mit writeTo und readFrom lassen sich die fertigen Tabellen speichern und ohne erneutes Zerlegen laden.
+ * @author Stefan Kuehnel, stefan.kuehnel@hm.edu
+ * @version last-modified 2026-10-19
+ */
+public class EditionTables {
+    /**
+     * Anzahl Rohstoff-Arten.
+     */
+    public static final int RESOURCES = Resource.values().length;
+
+    /**
+     * Kraftwerkstyp Oeko (E), braucht keine Rohstoffe.
+     * Die Typen 0 bis RESOURCES - 1 entsprechen den Ordinalzahlen der Rohstoffe.
+     */
+    public static final int PLANT_ECO = RESOURCES;
+
+    /**
+     * Kraftwerkstyp Fusion (F), braucht keine Rohstoffe.
+     */
+    public static final int PLANT_FUSION = RESOURCES + 1;
+
+    /**
+     * Kraftwerkstyp Hybrid (H), verbraucht Kohle oder Oel.
+     */
+    public static final int PLANT_HYBRID = RESOURCES + 2;
+
+    /**
+     * Buchstaben der Kraftwerkstypen, Index = Typ.
+     */
+    static final String PLANT_TYPE_LETTERS = "COGUEFH";
+
+    /**
+     * Die Ausgabe, aus der die Tabellen stammen.
+     */
+    private final Edition edition;
+
+    /**
+     * Mindestanzahl, Hoechstanzahl Spieler und Startkapital.
+     */
+    private final int playersMinimum, playersMaximum, initialElectro;
+
+    /**
+     * Kosten des billigsten Rohstoffs im Markt. Erster Index Rohstoff, zweiter Index Anzahl im Markt minus 1.
+     */
+    private final int[][] resourceCost;
+
+    /**
+     * Gesamtzahl und anfaenglich verfuegbare Anzahl pro Rohstoff.
+     */
+    private final int[] resourceTotal, resourceInitial;
+
+    /**
+     * Nachschub pro Rohstoff, Spieleranzahl und Stufe.
+     */
+    private final int[][][] resourceSupply;
+
+    /**
+     * Kosten eines Anschlusses pro Stufe und Einkommen pro versorgter Stadtanzahl.
+     */
+    private final int[] cityCost, poweredCitiesIncome;
+
+    /**
+     * Tabellen mit Index = Spieleranzahl.
+     */
+    private final int[] plantsInitiallyRemoved, plantsLimit, level2Cities, endgameCities, regionsUsed;
+
+    /**
+     * Kraftwerke im aktuellen und zukuenftigen Markt pro Stufe.
+     */
+    private final int[] actualPlants, futurePlants;
+
+    /**
+     * Die Kraftwerke, aufsteigend nach Nummer. Index = Kraftwerksindex.
+     */
+    private final int[] plantNumber, plantType, plantResources, plantCities;
+
+    /**
+     * Liest die Tabellen einer Ausgabe aus.
+     * @param edition Ausgabe. Nicht null.
+     * @throws IllegalArgumentException wenn die Ausgabe null ist oder ein Kraftwerk nicht lesbar ist.
+     */
+    public EditionTables(Edition edition) {
+        if (edition == null)
+            throw new IllegalArgumentException("Die Edition darf nicht null sein.");
+        this.edition = edition;
+
+        playersMinimum = edition.getPlayersMinimum();
+        playersMaximum = edition.getPlayersMaximum();
+        initialElectro = edition.getInitialElectro();
+
+        resourceCost = new int[RESOURCES][];
+        resourceTotal = new int[RESOURCES];
+        resourceInitial = new int[RESOURCES];
+        resourceSupply = new int[RESOURCES][][];
+        for (Resource resource : Resource.values()) {
+            final int ordinal = resource.ordinal();
+            resourceCost[ordinal] = toArray(edition.getResourceAvailableToCost().get(resource));
+            resourceTotal[ordinal] = edition.getResourceToNumber().get(resource);
+            resourceInitial[ordinal] = edition.getResourcesInitiallyAvailable().get(resource);
+            resourceSupply[ordinal] = edition.getResourcePlayersToSupply().get(resource).stream()
+                    .map(EditionTables::toArray)
+                    .toArray(int[][]::new);
+        }
+
+        cityCost = toArray(edition.levelToCityCost());
+        poweredCitiesIncome = toArray(edition.getPoweredCitiesIncome());
+        plantsInitiallyRemoved = toArray(edition.getPlayersPlantsInitiallyRemoved());
+        plantsLimit = toArray(edition.getPlayersPlantsLimit());
+        level2Cities = toArray(edition.getPlayersLevel2Cities());
+        endgameCities = toArray(edition.getPlayersEndgameCities());
+        regionsUsed = toArray(edition.getRegionsUsed());
+
+        actualPlants = new int[cityCost.length];
+        futurePlants = new int[cityCost.length];
+        for (int level = 0; level < cityCost.length; level++) {
+            actualPlants[level] = edition.getActualPlants(level);
+            futurePlants[level] = edition.getFuturePlants(level);
+        }
+
+        // Zerlegt die Kraftwerke "Nummer Typ Staedte" und sortiert sie nach Nummer.
+        final String[][] plantSpecs = edition.getPlantSpecifications().stream()
+                .map(String::strip)
+                .map(spec -> spec.split("\\s+"))
+                .sorted(Comparator.comparingInt(spec -> Integer.parseInt(spec[0])))
+                .toArray(String[][]::new);
+        plantNumber = new int[plantSpecs.length];
+        plantType = new int[plantSpecs.length];
+        plantResources = new int[plantSpecs.length];
+        plantCities = new int[plantSpecs.length];
+        for (int plant = 0; plant < plantSpecs.length; plant++) {
+            final String[] spec = plantSpecs[plant];
+            if (spec.length != 3 || PLANT_TYPE_LETTERS.indexOf(spec[1].charAt(0)) < 0)
+                throw new IllegalArgumentException("Unlesbares Kraftwerk: " + String.join(" ", spec));
+            plantNumber[plant] = Integer.parseInt(spec[0]);
+            plantType[plant] = PLANT_TYPE_LETTERS.indexOf(spec[1].charAt(0));
+            plantResources[plant] = plantType[plant] == PLANT_ECO || plantType[plant] == PLANT_FUSION ? 0 : spec[1].length();
+            plantCities[plant] = Integer.parseInt(spec[2]);
+        }
+    }
+
+    /**
+     * Liest Tabellen, die writeTo geschrieben hat.
+     * @param edition Ausgabe, aus der die Tabellen stammen. Nicht null.
+     * @param in Quelle. Nicht null.
+     * @throws IOException wenn die Quelle nicht lesbar ist.
+     */
+    private EditionTables(Edition edition, DataInput in) throws IOException {
+        this.edition = edition;
+        playersMinimum = in.readInt();
+        playersMaximum = in.readInt();
+        initialElectro = in.readInt();
+        resourceCost = new int[RESOURCES][];
+        resourceTotal = readInts(in);
+        resourceInitial = readInts(in);
+        resourceSupply = new int[RESOURCES][][];
+        for (int resource = 0; resource < RESOURCES; resource++) {
+            resourceCost[resource] = readInts(in);
+            resourceSupply[resource] = new int[in.readInt()][];
+            for (int players = 0; players < resourceSupply[resource].length; players++)
+                resourceSupply[resource][players] = readInts(in);
+        }
+        cityCost = readInts(in);
+        poweredCitiesIncome = readInts(in);
+        plantsInitiallyRemoved = readInts(in);
+        plantsLimit = readInts(in);
+        level2Cities = readInts(in);
+        endgameCities = readInts(in);
+        regionsUsed = readInts(in);
+        actualPlants = readInts(in);
+        futurePlants = readInts(in);
+        plantNumber = readInts(in);
+        plantType = readInts(in);
+        plantResources = readInts(in);
+        plantCities = readInts(in);
+    }
+
+    /**
+     * Liest Tabellen, die writeTo geschrieben hat.
+     * Die Ausgabe wird dabei nicht mehr befragt, es entstehen nur die Arrays.
+     * @param edition Ausgabe, aus der die Tabellen stammen. Nicht null.
+     * @param in Quelle. Nicht null.
+     * @return Tabellen.
+     * @throws IOException wenn die Quelle nicht lesbar ist.
+     * @throws IllegalArgumentException wenn die Ausgabe null ist.
+     */
+    public static EditionTables readFrom(Edition edition, DataInput in) throws IOException {
+        if (edition == null)
+            throw new IllegalArgumentException("Die Edition darf nicht null sein.");
+        return new EditionTables(edition, in);
+    }
+
+    /**
+     * Schreibt die Tabellen, ohne die Ausgabe selbst.
+     * @param out Ziel. Nicht null.
+     * @throws IOException wenn das Schreiben scheitert.
+     */
+    public void writeTo(DataOutput out) throws IOException {
+        out.writeInt(playersMinimum);
+        out.writeInt(playersMaximum);
+        out.writeInt(initialElectro);
+        writeInts(out, resourceTotal);
+        writeInts(out, resourceInitial);
+        for (int resource = 0; resource < RESOURCES; resource++) {
+            writeInts(out, resourceCost[resource]);
+            out.writeInt(resourceSupply[resource].length);
+            for (int[] supply : resourceSupply[resource])
+                writeInts(out, supply);
+        }
+        for (int[] table : new int[][] {cityCost, poweredCitiesIncome, plantsInitiallyRemoved, plantsLimit,
+                level2Cities, endgameCities, regionsUsed, actualPlants, futurePlants,
+                plantNumber, plantType, plantResources, plantCities})
+            writeInts(out, table);
+    }
+
+    /**
+     * Hilfsmethode, die ein Array mit vorangestellter Laenge liest.
+     * @param in Quelle.
+     * @return Array.
+     * @throws IOException wenn die Quelle nicht lesbar ist.
+     */
+    static int[] readInts(DataInput in) throws IOException {
+        final int[] values = new int[in.readInt()];
+        for (int index = 0; index < values.length; index++)
+            values[index] = in.readInt();
+        return values;
+    }
+
+    /**
+     * Hilfsmethode, die ein Array mit vorangestellter Laenge schreibt.
+     * @param out Ziel.
+     * @param values Array.
+     * @throws IOException wenn das Schreiben scheitert.
+     */
+    static void writeInts(DataOutput out, int[] values) throws IOException {
+        out.writeInt(values.length);
+        for (int value : values)
+            out.writeInt(value);
+    }
+
+    /**
+     * Hilfsmethode, die eine Liste von Zahlen in ein Array kopiert.
+     * @param list Liste. Nicht null.
+     * @return Array mit den gleichen Zahlen.
+     */
+    private static int[] toArray(List<Integer> list) {
+        return list.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    /**
+     * Die Ausgabe, aus der die Tabellen stammen.
+     * @return Ausgabe. Nicht null.
+     */
+    public Edition getEdition() {
+        return edition;
+    }
+
+    /**
+     * Mindestanzahl Spieler.
+     * @return Mindestanzahl.
+     */
+    public int getPlayersMinimum() {
+        return playersMinimum;
+    }
+
+    /**
+     * Hoechstanzahl Spieler.
+     * @return Hoechstanzahl.
+     */
+    public int getPlayersMaximum() {
+        return playersMaximum;
+    }
+
+    /**
+     * Startkapital eines Spielers.
+     * @return Elektro.
+     */
+    public int getInitialElectro() {
+        return initialElectro;
+    }
+
+    /**
+     * Gesamtzahl eines Rohstoffs im Spiel.
+     * @param resource Ordinalzahl des Rohstoffs.
+     * @return Anzahl.
+     */
+    public int getResourceTotal(int resource) {
+        return resourceTotal[resource];
+    }
+
+    /**
+     * Anzahl eines Rohstoffs, die bei Spielbeginn im Markt verfuegbar ist.
+     * @param resource Ordinalzahl des Rohstoffs.
+     * @return Anzahl.
+     */
+    public int getResourceInitial(int resource) {
+        return resourceInitial[resource];
+    }
+
+    /**
+     * Kosten einer Menge von Rohstoffen, die zusammen aus dem Markt gekauft werden.
+     * Die billigsten Rohstoffe gehen zuerst weg.
+     * @param resource Ordinalzahl des Rohstoffs.
+     * @param available Anzahl im Markt vor dem Kauf.
+     * @param amount Anzahl gekaufter Rohstoffe. Hoechstens available.
+     * @return Kosten in Elektro.
+     */
+    public int getResourceCost(int resource, int available, int amount) {
+        int cost = 0;
+        for (int bought = 0; bought < amount; bought++)
+            cost += resourceCost[resource][available - 1 - bought];
+        return cost;
+    }
+
+    /**
+     * Anzahl neuer Rohstoffe am Rundenende.
+     * @param resource Ordinalzahl des Rohstoffs.
+     * @param players Anzahl Spieler.
+     * @param level Index der Spielstufe.
+     * @return Anzahl.
+     */
+    public int getResourceSupply(int resource, int players, int level) {
+        return resourceSupply[resource][players][level];
+    }
+
+    /**
+     * Anzahl Spielstufen.
+     * @return Anzahl.
+     */
+    public int getLevels() {
+        return cityCost.length;
+    }
+
+    /**
+     * Kosten des Anschlusses einer Stadt ohne Verbindungskosten.
+     * @param slot Index des Bauplatzes in der Stadt (0 = erster Anschluss).
+     * @return Kosten in Elektro.
+     */
+    public int getCityCost(int slot) {
+        return cityCost[slot];
+    }
+
+    /**
+     * Einkommen fuer eine Anzahl versorgter Staedte.
+     * Mehr versorgte Staedte als die Tabelle kennt bringen nicht mehr ein.
+     * @param poweredCities Anzahl versorgter Staedte. Nicht negativ.
+     * @return Einkommen in Elektro.
+     */
+    public int getIncome(int poweredCities) {
+        return poweredCitiesIncome[Math.min(poweredCities, poweredCitiesIncome.length - 1)];
+    }
+
+    /**
+     * Anzahl Kraftwerke, die zu Spielbeginn aus dem Spiel genommen werden.
+     * @param players Anzahl Spieler.
+     * @return Anzahl.
+     */
+    public int getPlantsInitiallyRemoved(int players) {
+        return plantsInitiallyRemoved[players];
+    }
+
+    /**
+     * Hoechstanzahl Kraftwerke pro Spieler.
+     * @param players Anzahl Spieler.
+     * @return Anzahl.
+     */
+    public int getPlantsLimit(int players) {
+        return plantsLimit[players];
+    }
+
+    /**
+     * Anzahl Staedte eines Spielers, die Stufe 2 ausloest.
+     * @param players Anzahl Spieler.
+     * @return Anzahl.
+     */
+    public int getLevel2Cities(int players) {
+        return level2Cities[players];
+    }
+
+    /**
+     * Anzahl Staedte eines Spielers, die das Spielende ausloest.
+     * @param players Anzahl Spieler.
+     * @return Anzahl.
+     */
+    public int getEndgameCities(int players) {
+        return endgameCities[players];
+    }
+
+    /**
+     * Anzahl Gebiete im Spiel.
+     * @param players Anzahl Spieler.
+     * @return Anzahl.
+     */
+    public int getRegionsUsed(int players) {
+        return regionsUsed[players];
+    }
+
+    /**
+     * Anzahl Kraftwerke im aktuellen Markt.
+     * @param level Index der Spielstufe.
+     * @return Anzahl.
+     */
+    public int getActualPlants(int level) {
+        return actualPlants[level];
+    }
+
+    /**
+     * Anzahl Kraftwerke im zukuenftigen Markt.
+     * @param level Index der Spielstufe.
+     * @return Anzahl.
+     */
+    public int getFuturePlants(int level) {
+        return futurePlants[level];
+    }
+
+    /**
+     * Anzahl Kraftwerke der Ausgabe.
+     * @return Anzahl.
+     */
+    public int getPlants() {
+        return plantNumber.length;
+    }
+
+    /**
+     * Nummer eines Kraftwerks.
+     * @param plant Kraftwerksindex.
+     * @return Nummer.
+     */
+    public int getPlantNumber(int plant) {
+        return plantNumber[plant];
+    }
+
+    /**
+     * Typ eines Kraftwerks.
+     * @param plant Kraftwerksindex.
+     * @return Ordinalzahl des Rohstoffs oder PLANT_ECO, PLANT_FUSION, PLANT_HYBRID.
+     */
+    public int getPlantType(int plant) {
+        return plantType[plant];
+    }
+
+    /**
+     * Anzahl Rohstoffe, die ein Kraftwerk verbraucht.
+     * @param plant Kraftwerksindex.
+     * @return Anzahl. 0 bei Oeko- und Fusionskraftwerken.
+     */
+    public int getPlantResources(int plant) {
+        return plantResources[plant];
+    }
+
+    /**
+     * Anzahl Staedte, die ein Kraftwerk versorgt.
+     * @param plant Kraftwerksindex.
+     * @return Anzahl.
+     */
+    public int getPlantCities(int plant) {
+        return plantCities[plant];
+    }
+
+    /**
+     * Sucht den Index eines Kraftwerks.
+     * @param number Nummer des Kraftwerks.
+     * @return Kraftwerksindex oder -1, wenn es kein Kraftwerk mit dieser Nummer gibt.
+     */
+    public int findPlant(int number) {
+        final int plant = Arrays.binarySearch(plantNumber, number);
+        return plant < 0 ? -1 : plant;
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "{" + edition + "}";
+    }
+}
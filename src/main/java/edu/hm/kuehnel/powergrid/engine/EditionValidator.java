@@ -0,0 +1,454 @@
+/*
+ * Copyright (c) 2020 Stefan Kuehnel - All Rights Reserved
+ * Unauthorized copying of this file, via any medium is strictly prohibited
+ * Proprietary and confidential
+ * Written by Stefan Kuehnel <stefan.kuehnel@hm.edu>, May 2020
+ *
+ * DISCLAIMER. THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OR CONDITION,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. THE AUTHOR HEREBY DISCLAIMS
+ * ALL LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE.
+ */
+
+package edu.hm.kuehnel.powergrid.engine;
+
+import edu.hm.cs.rs.powergrid.Edition;
+import edu.hm.cs.rs.powergrid.datastore.Resource;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/** Prueft eine Ausgabe vollstaendig, bevor Tabellen oder Spielplaene aus ihr entstehen.
+ * Edition.assertValid() prueft nur einige Rohstofftabellen und nur mit eingeschalteten Assertions.
+ * Der Validator prueft zusaetzlich die Laengen aller Tabellen gegen getPlayersMaximum(),
+ * die Kraftwerke, die Staedte mit ihren Verbindungen in beiden Richtungen und fuer jeden Wert
+ * aus getRegionsUsed(), ob die verbleibenden Gebiete zusammenhaengen.
+ * Die Regeln laufen parallel und sammeln alle Probleme in einem Bericht, statt beim ersten abzubrechen.
+ * Eine Regel, bei der die Ausgabe selbst eine Ausnahme wirft, meldet das als Problem.
+ * @author Stefan Kuehnel, stefan.kuehnel@hm.edu
+ * @version last-modified 2026-10-19
+ */
+public final class EditionValidator {
+    /**
+     * Die Regeln des Validators.
+     */
+    public enum Rule {
+        /** Laengen und Werte der Tabellen. */
+        TABLES,
+        /** Aufbau der Kraftwerke. */
+        PLANTS,
+        /** Aufbau der Staedte und ihrer Verbindungen. */
+        CITIES,
+        /** Zusammenhang der Gebiete fuer jede Spieleranzahl. */
+        CONNECTIVITY
+    }
+
+    /**
+     * Die Ausgabe.
+     */
+    private final Edition edition;
+
+    /**
+     * Ausgaben, die requireValid schon fuer gueltig befunden hat. Die Schluessel sind schwach,
+     * damit der Validator keine Ausgabe im Speicher festhaelt.
+     */
+    private static final Map<Edition, Boolean> VALIDATED = Collections.synchronizedMap(new WeakHashMap<>());
+
+    /**
+     * Die zerlegten Staedte. Gemeinsam fuer CITIES und CONNECTIVITY, nach dem Zerlegen unveraendert.
+     */
+    private final CityGraph graph;
+
+    /**
+     * Hilfskonstruktor.
+     * @param edition Ausgabe.
+     */
+    private EditionValidator(Edition edition) {
+        this.edition = edition;
+        graph = new CityGraph(edition);
+    }
+
+    /**
+     * Prueft eine Ausgabe.
+     * @param edition Ausgabe. Nicht null.
+     * @return Bericht mit allen Problemen.
+     * @throws IllegalArgumentException wenn die Ausgabe null ist.
+     */
+    public static Report validate(Edition edition) {
+        if (edition == null)
+            throw new IllegalArgumentException("Die Edition darf nicht null sein.");
+        final EditionValidator validator = new EditionValidator(edition);
+        final Map<Rule, List<String>> problems = Arrays.stream(Rule.values())
+                .parallel()
+                .collect(Collectors.toMap(Function.identity(), validator::check,
+                        (first, second) -> first, () -> new EnumMap<>(Rule.class)));
+        return new Report(edition.getClass().getName(), problems);
+    }
+
+    /**
+     * Stellt sicher, dass eine Ausgabe gueltig ist. Prueft jede Ausgabe nur beim ersten Aufruf,
+     * danach kostet der Aufruf nur eine Abfrage. Fuer die Stellen, an denen Ausgaben geladen werden,
+     * etwa Factory, SnapshotStore und GameEngine. Eine Ausgabe darf sich nach der Pruefung nicht mehr aendern.
+     * @param edition Ausgabe. Nicht null.
+     * @throws IllegalArgumentException wenn die Ausgabe null ist, oder mit dem ganzen Bericht, wenn sie ungueltig ist.
+     */
+    public static void requireValid(Edition edition) {
+        if (edition == null)
+            throw new IllegalArgumentException("Die Edition darf nicht null sein.");
+        if (!VALIDATED.containsKey(edition)) {
+            validate(edition).requireValid();
+            VALIDATED.put(edition, Boolean.TRUE);
+        }
+    }
+
+    /**
+     * Hilfsmethode, die eine Regel prueft.
+     * @param rule Regel.
+     * @return Probleme. Leer, wenn die Regel erfuellt ist.
+     */
+    private List<String> check(Rule rule) {
+        final List<String> problems = new ArrayList<>();
+        try {
+            switch (rule) {
+                case TABLES -> checkTables(problems);
+                case PLANTS -> checkPlants(problems);
+                case CITIES -> problems.addAll(graph.problems);
+                case CONNECTIVITY -> checkConnectivity(problems);
+                default -> throw new AssertionError(rule);
+            }
+        } catch (RuntimeException exception) {
+            problems.add("Die Ausgabe wirft " + exception);
+        }
+        return problems;
+    }
+
+    /**
+     * Hilfsmethode, die die Tabellen prueft.
+     * @param problems Sammelt die Probleme.
+     */
+    private void checkTables(List<String> problems) {
+        final int minimum = edition.getPlayersMinimum();
+        final int maximum = edition.getPlayersMaximum();
+        if (minimum < 1 || minimum > maximum)
+            problems.add("Ungueltige Spieleranzahlen: " + minimum + " bis " + maximum);
+        if (edition.getInitialElectro() < 0)
+            problems.add("Negatives Startkapital: " + edition.getInitialElectro());
+        if (edition.getPlayerColors().size() < maximum)
+            problems.add("Weniger Farben als Spieler: " + edition.getPlayerColors().size());
+
+        final Map<String, List<Integer>> perPlayers = new LinkedHashMap<>();
+        perPlayers.put("getPlayersPlantsInitiallyRemoved", edition.getPlayersPlantsInitiallyRemoved());
+        perPlayers.put("getPlayersPlantsLimit", edition.getPlayersPlantsLimit());
+        perPlayers.put("getPlayersLevel2Cities", edition.getPlayersLevel2Cities());
+        perPlayers.put("getPlayersEndgameCities", edition.getPlayersEndgameCities());
+        perPlayers.put("getRegionsUsed", edition.getRegionsUsed());
+        for (Map.Entry<String, List<Integer>> table : perPlayers.entrySet())
+            if (table.getValue().size() <= maximum)
+                problems.add(table.getKey() + " hat " + table.getValue().size() + " statt " + (maximum + 1) + " Eintraege");
+            else
+                for (int players = Math.max(0, minimum); players <= maximum; players++)
+                    if (table.getValue().get(players) < 0)
+                        problems.add(table.getKey() + " ist negativ fuer " + players + " Spieler");
+
+        final int levels = edition.levelToCityCost().size();
+        if (levels < GameState.SLOTS)
+            problems.add("levelToCityCost hat " + levels + " statt " + GameState.SLOTS + " Eintraege");
+        if (edition.getPoweredCitiesIncome().isEmpty())
+            problems.add("getPoweredCitiesIncome ist leer");
+        for (int level = 0; level < levels; level++)
+            if (edition.getActualPlants(level) < 0 || edition.getFuturePlants(level) < 0)
+                problems.add("Negative Marktgroesse auf Stufe " + level);
+
+        for (Resource resource : Resource.values()) {
+            final Integer total = edition.getResourceToNumber().get(resource);
+            final Integer initial = edition.getResourcesInitiallyAvailable().get(resource);
+            final List<Integer> cost = edition.getResourceAvailableToCost().get(resource);
+            final List<List<Integer>> supply = edition.getResourcePlayersToSupply().get(resource);
+            if (total == null || initial == null || cost == null || supply == null) {
+                problems.add("Rohstoff fehlt in einer Tabelle: " + resource);
+                continue;
+            }
+            if (total < 0 || initial < 0 || initial > total)
+                problems.add("Ungueltige Anzahlen fuer " + resource + ": " + initial + " von " + total);
+            if (cost.size() != total)
+                problems.add("Die Preise von " + resource + " decken " + cost.size() + " statt " + total + " Rohstoffe ab");
+            if (supply.size() <= maximum)
+                problems.add("Der Nachschub von " + resource + " hat " + supply.size() + " statt " + (maximum + 1) + " Eintraege");
+            else
+                for (int players = Math.max(0, minimum); players <= maximum; players++)
+                    if (supply.get(players).size() < levels)
+                        problems.add("Der Nachschub von " + resource + " fuer " + players + " Spieler deckt nicht alle Stufen ab");
+        }
+    }
+
+    /**
+     * Hilfsmethode, die die Kraftwerke prueft.
+     * @param problems Sammelt die Probleme.
+     */
+    private void checkPlants(List<String> problems) {
+        final Set<Integer> numbers = new HashSet<>();
+        for (String spec : edition.getPlantSpecifications()) {
+            final String[] tokens = spec.strip().split("\\s+");
+            if (tokens.length != 3) {
+                problems.add("Unlesbares Kraftwerk: " + spec);
+                continue;
+            }
+            final int number = parse(tokens[0]);
+            final int cities = parse(tokens[2]);
+            final char type = tokens[1].charAt(0);
+            if (number < 1)
+                problems.add("Ungueltige Nummer des Kraftwerks: " + spec);
+            else if (!numbers.add(number))
+                problems.add("Doppelte Nummer des Kraftwerks: " + spec);
+            if (EditionTables.PLANT_TYPE_LETTERS.indexOf(type) < 0 || tokens[1].chars().anyMatch(letter -> letter != type))
+                problems.add("Ungueltiger Typ des Kraftwerks: " + spec);
+            if (cities < 1)
+                problems.add("Ungueltige Anzahl Staedte des Kraftwerks: " + spec);
+        }
+
+        final int market = edition.getActualPlants(0) + edition.getFuturePlants(0);
+        final List<Integer> removed = edition.getPlayersPlantsInitiallyRemoved();
+        for (int players = edition.getPlayersMinimum(); players <= edition.getPlayersMaximum() && players < removed.size(); players++)
+            if (market + removed.get(players) > numbers.size())
+                problems.add("Zu wenige Kraftwerke fuer " + players + " Spieler: " + numbers.size());
+    }
+
+    /**
+     * Hilfsmethode, die den Zusammenhang der Gebiete fuer jede Spieleranzahl prueft.
+     * @param problems Sammelt die Probleme.
+     */
+    private void checkConnectivity(List<String> problems) {
+        final List<Integer> regionsUsed = edition.getRegionsUsed();
+        final int maximum = Math.min(edition.getPlayersMaximum(), regionsUsed.size() - 1);
+        final List<String> found = regionsUsed.subList(Math.max(0, edition.getPlayersMinimum()), maximum + 1).stream()
+                .distinct()
+                .parallel()
+                .map(graph::checkConnected)
+                .filter(problem -> problem != null)
+                .collect(Collectors.toList());
+        problems.addAll(found);
+    }
+
+    /**
+     * Hilfsmethode, die eine Zahl liest.
+     * @param token Text.
+     * @return Zahl oder -1, wenn der Text keine Zahl ist.
+     */
+    private static int parse(String token) {
+        try {
+            return Integer.parseInt(token);
+        } catch (NumberFormatException exception) {
+            return -1;
+        }
+    }
+
+    /** Der Bericht des Validators.
+     * Die Probleme sind nach Regeln getrennt, jedes Problem ist ein lesbarer Satz.
+     */
+    public static final class Report {
+        /**
+         * Klassenname der Ausgabe.
+         */
+        private final String edition;
+
+        /**
+         * Die Probleme pro Regel.
+         */
+        private final Map<Rule, List<String>> problems;
+
+        /**
+         * Initialisiert einen Bericht.
+         * @param edition Klassenname der Ausgabe.
+         * @param problems Die Probleme pro Regel.
+         */
+        private Report(String edition, Map<Rule, List<String>> problems) {
+            this.edition = edition;
+            this.problems = problems;
+            problems.replaceAll((rule, list) -> Collections.unmodifiableList(list));
+        }
+
+        /**
+         * Prueft, ob die Ausgabe alle Regeln erfuellt.
+         * @return true, wenn es keine Probleme gibt.
+         */
+        public boolean isValid() {
+            return problems.values().stream().allMatch(List::isEmpty);
+        }
+
+        /**
+         * Die Probleme einer Regel.
+         * @param rule Regel. Nicht null.
+         * @return Probleme. Unveraenderlich, leer wenn die Regel erfuellt ist.
+         */
+        public List<String> getProblems(Rule rule) {
+            return problems.get(rule);
+        }
+
+        /**
+         * Stellt sicher, dass die Ausgabe gueltig ist.
+         * @throws IllegalArgumentException mit dem ganzen Bericht, wenn es Probleme gibt.
+         */
+        public void requireValid() {
+            if (!isValid())
+                throw new IllegalArgumentException(toString());
+        }
+
+        @Override
+        public String toString() {
+            final StringBuilder builder = new StringBuilder("Edition ").append(edition);
+            if (isValid())
+                return builder.append(": gueltig").toString();
+            builder.append(": ungueltig");
+            for (Map.Entry<Rule, List<String>> entry : problems.entrySet())
+                for (String problem : entry.getValue())
+                    builder.append(System.lineSeparator()).append(entry.getKey()).append(": ").append(problem);
+            return builder.toString();
+        }
+    }
+
+    /** Die Staedte einer Ausgabe mit ihren Verbindungen in beiden Richtungen.
+     * Zerlegt die Beschreibungen so weit wie moeglich und merkt sich dabei alle Probleme.
+     */
+    private static final class CityGraph {
+        /**
+         * Probleme beim Zerlegen.
+         */
+        private final List<String> problems = new ArrayList<>();
+
+        /**
+         * Nummern der Staedte nach Namen.
+         */
+        private final Map<String, Integer> index = new HashMap<>();
+
+        /**
+         * Namen der Staedte.
+         */
+        private final List<String> names = new ArrayList<>();
+
+        /**
+         * Gebiet pro Stadt.
+         */
+        private final List<Integer> regions = new ArrayList<>();
+
+        /**
+         * Nachbarn pro Stadt mit Kosten, in beiden Richtungen.
+         */
+        private final List<Map<Integer, Integer>> neighbours = new ArrayList<>();
+
+        /**
+         * Zerlegt die Staedte einer Ausgabe.
+         * @param edition Ausgabe.
+         */
+        private CityGraph(Edition edition) {
+            final List<String> specs;
+            try {
+                specs = edition.getCitySpecifications();
+            } catch (RuntimeException exception) {
+                problems.add("Die Ausgabe wirft " + exception);
+                return;
+            }
+
+            // Erster Durchgang: Namen und Gebiete.
+            final List<String[]> tokens = new ArrayList<>();
+            for (String spec : specs) {
+                final String[] split = spec.strip().split("\\s+");
+                if (split.length < 2 || split.length % 2 != 0) {
+                    problems.add("Unlesbare Stadt: " + spec);
+                    continue;
+                }
+                if (index.containsKey(split[0])) {
+                    problems.add("Doppelte Stadt: " + split[0]);
+                    continue;
+                }
+                final int region = parse(split[1]);
+                if (region < 1)
+                    problems.add("Ungueltiges Gebiet der Stadt " + split[0] + ": " + split[1]);
+                index.put(split[0], names.size());
+                names.add(split[0]);
+                regions.add(region);
+                neighbours.add(new HashMap<>());
+                tokens.add(split);
+            }
+
+            final int highest = regions.stream().mapToInt(Integer::intValue).max().orElse(0);
+            final Set<Integer> present = new HashSet<>(regions);
+            for (int region = 1; region <= highest; region++)
+                if (!present.contains(region))
+                    problems.add("Gebiet ohne Staedte: " + region);
+
+            // Zweiter Durchgang: Verbindungen in beiden Richtungen. Jedes Paar darf nur einmal vorkommen,
+            // egal von welcher Seite und zu welchen Kosten, sonst scheitert connect beim Bau des Spielplans.
+            for (String[] split : tokens) {
+                final int city = index.get(split[0]);
+                for (int pair = 2; pair < split.length; pair += 2) {
+                    final Integer target = index.get(split[pair]);
+                    final int cost = parse(split[pair + 1]);
+                    if (target == null)
+                        problems.add("Verbindung von " + split[0] + " zu unbekannter Stadt " + split[pair]);
+                    else if (target == city)
+                        problems.add("Verbindung von " + split[0] + " zu sich selbst");
+                    else if (cost < 0)
+                        problems.add("Ungueltige Kosten von " + split[0] + " nach " + split[pair] + ": " + split[pair + 1]);
+                    else if (neighbours.get(city).containsKey(target))
+                        problems.add("Doppelte Verbindung zwischen " + split[0] + " und " + split[pair]);
+                    else {
+                        neighbours.get(city).put(target, cost);
+                        neighbours.get(target).put(city, cost);
+                    }
+                }
+            }
+            for (int city = 0; city < names.size(); city++)
+                if (neighbours.get(city).isEmpty())
+                    problems.add("Stadt ohne Verbindungen: " + names.get(city));
+        }
+
+        /**
+         * Prueft, ob die Staedte der Gebiete 1 bis remaining zusammenhaengen.
+         * @param remaining Anzahl verbleibender Gebiete.
+         * @return Problem oder null, wenn sie zusammenhaengen.
+         */
+        private String checkConnected(int remaining) {
+            final int highest = regions.stream().mapToInt(Integer::intValue).max().orElse(0);
+            if (remaining < 1 || remaining > highest)
+                return "getRegionsUsed verlangt " + remaining + " von " + highest + " Gebieten";
+
+            final boolean[] reached = new boolean[names.size()];
+            final int[] stack = new int[names.size()];
+            int top = 0;
+            int count = 0;
+            int inside = 0;
+            for (int city = 0; city < names.size(); city++)
+                if (regions.get(city) >= 1 && regions.get(city) <= remaining) {
+                    inside++;
+                    if (top == 0 && count == 0) {
+                        reached[city] = true;
+                        stack[top++] = city;
+                        count++;
+                    }
+                }
+            while (top > 0) {
+                final int city = stack[--top];
+                for (int neighbour : neighbours.get(city).keySet())
+                    if (!reached[neighbour] && regions.get(neighbour) >= 1 && regions.get(neighbour) <= remaining) {
+                        reached[neighbour] = true;
+                        stack[top++] = neighbour;
+                        count++;
+                    }
+            }
+            return count == inside ? null
+                    : "Die Gebiete 1 bis " + remaining + " zerfallen: nur " + count + " von " + inside + " Staedten erreichbar";
+        }
+    }
+}
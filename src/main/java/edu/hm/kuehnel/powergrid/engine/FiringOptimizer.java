@@ -0,0 +1,195 @@
+/*
+ * Copyright (c) 2020 Stefan Kuehnel - All Rights Reserved
+ * Unauthorized copying of this file, via any medium is strictly prohibited
+ * Proprietary and confidential
+ * Written by Stefan Kuehnel <stefan.kuehnel@hm.edu>, May 2020
+ *
+ * DISCLAIMER. THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OR CONDITION,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. THE AUTHOR HEREBY DISCLAIMS
+ * ALL LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE.
+ */
+
+package edu.hm.kuehnel.powergrid.engine;
+
+import edu.hm.cs.rs.powergrid.datastore.Resource;
+
+import java.util.Arrays;
+
+/** Sucht fuer die Buerokratie die beste Auswahl an Kraftwerken, die ein Spieler betreibt.
+ * Die Suche ist exakt: Sie probiert alle Teilmengen der Kraftwerke des Spielers durch, bei n Kraftwerken 2^n.
+ * Im Spiel sind das wegen getPlantsLimit hoechstens 16 Teilmengen. Die Bitmaske erlaubt bis zu MAX_PLANTS
+ * Kraftwerke, also bis zu 65536 Teilmengen, der Aufwand waechst dann entsprechend.
+ * Fuer Hybridkraftwerke genuegt eine Pruefung, ob Kohle und Oel zusammen reichen,
+ * statt alle Aufteilungen einzeln zu probieren.
+ * Bewertet wird zuerst das Einkommen, dann die Anzahl verbrauchter Rohstoffe.
+ * Eine Instanz erzeugt beim Suchen keine Objekte und ist nicht threadsicher.
+ * @author Stefan Kuehnel, stefan.kuehnel@hm.edu
+ * @version last-modified 2026-10-19
+ */
+public class FiringOptimizer {
+    /**
+     * Hoechstanzahl Kraftwerke eines Spielers, die die Bitmaske abdeckt.
+     */
+    public static final int MAX_PLANTS = 16;
+
+    /**
+     * Rohstoff Kohle, neben Oel der Brennstoff der Hybridkraftwerke.
+     */
+    private static final int COAL = Resource.Coal.ordinal();
+
+    /**
+     * Rohstoff Oel.
+     */
+    private static final int OIL = Resource.Oil.ordinal();
+
+    /**
+     * Tabellen der Ausgabe.
+     */
+    private final EditionTables tables;
+
+    /**
+     * Zwischenspeicher fuer die Kraftwerke eines Spielers.
+     */
+    private final int[] plants = new int[MAX_PLANTS];
+
+    /**
+     * Zwischenspeicher fuer die Rohstoffe eines Spielers.
+     */
+    private final int[] stock = new int[EditionTables.RESOURCES];
+
+    /**
+     * Zwischenspeicher fuer den Bedarf einer Teilmenge, Index = Rohstoff.
+     */
+    private final int[] needed = new int[EditionTables.RESOURCES];
+
+    /**
+     * Ergebnis der letzten Suche: Bitmaske, Kohle fuer Hybridkraftwerke, Einkommen und verbrauchte Rohstoffe.
+     */
+    private int mask, hybridCoal, income, resourcesUsed;
+
+    /**
+     * Initialisiert einen Optimierer fuer eine Ausgabe.
+     * @param tables Tabellen der Ausgabe. Nicht null.
+     * @throws IllegalArgumentException wenn die Tabellen null sind.
+     */
+    public FiringOptimizer(EditionTables tables) {
+        if (tables == null)
+            throw new IllegalArgumentException("Die Tabellen duerfen nicht null sein.");
+        this.tables = tables;
+    }
+
+    /**
+     * Bitmaske der besten Auswahl, wie sie ActionType.FirePlants erwartet.
+     * @return Bitmaske ueber die Kraftwerke in aufsteigender Reihenfolge.
+     */
+    public int getMask() {
+        return mask;
+    }
+
+    /**
+     * Kohle, die die Hybridkraftwerke der besten Auswahl verbrauchen. Den Rest decken sie mit Oel.
+     * @return Kohle.
+     */
+    public int getHybridCoal() {
+        return hybridCoal;
+    }
+
+    /**
+     * Einkommen der besten Auswahl.
+     * @return Einkommen in Elektro.
+     */
+    public int getIncome() {
+        return income;
+    }
+
+    /**
+     * Anzahl Rohstoffe, die die beste Auswahl verbraucht.
+     * @return Anzahl.
+     */
+    public int getResourcesUsed() {
+        return resourcesUsed;
+    }
+
+    /**
+     * Sucht die beste Auswahl fuer einen Spieler im aktuellen Zustand.
+     * @param state Spielzustand. Nicht null.
+     * @param player Spieler.
+     * @return Einkommen der besten Auswahl.
+     */
+    public int optimize(GameState state, int player) {
+        int count = 0;
+        for (int plant = state.getPlayerPlant(player, 0); plant >= 0 && count < MAX_PLANTS; plant = state.getPlayerPlant(player, count))
+            plants[count++] = plant;
+        for (int resource = 0; resource < EditionTables.RESOURCES; resource++)
+            stock[resource] = state.getResources(player, resource);
+        return optimize(plants, count, stock, state.getCitiesBuilt(player));
+    }
+
+    /**
+     * Sucht die beste Auswahl fuer einen gedachten Spieler, etwa beim Vorausdenken eines Bots.
+     * @param plants Kraftwerksindizes in aufsteigender Reihenfolge. Nicht null.
+     * @param count Anzahl Kraftwerke. Hoechstens MAX_PLANTS.
+     * @param stock Rohstoffe des Spielers, Index = Rohstoff. Nicht null.
+     * @param cities Anzahl angeschlossener Staedte.
+     * @return Einkommen der besten Auswahl.
+     * @throws IllegalArgumentException wenn es zu viele Kraftwerke sind.
+     */
+    public int optimize(int[] plants, int count, int[] stock, int cities) {
+        if (count < 0 || count > MAX_PLANTS || count > plants.length)
+            throw new IllegalArgumentException("Unpassende Anzahl Kraftwerke: " + count);
+
+        // Ohne Kraftwerk gibt es das Grundeinkommen.
+        mask = 0;
+        hybridCoal = 0;
+        income = tables.getIncome(0);
+        resourcesUsed = 0;
+
+        for (int candidate = 1; candidate < 1 << count; candidate++) {
+            Arrays.fill(needed, 0);
+            int hybrid = 0;
+            int capacity = 0;
+            for (int position = 0; position < count; position++)
+                if ((candidate & 1 << position) != 0) {
+                    final int plant = plants[position];
+                    final int type = tables.getPlantType(plant);
+                    if (type < EditionTables.RESOURCES)
+                        needed[type] += tables.getPlantResources(plant);
+                    else if (type == EditionTables.PLANT_HYBRID)
+                        hybrid += tables.getPlantResources(plant);
+                    capacity += tables.getPlantCities(plant);
+                }
+
+            final int candidateUsed = consumption(stock, hybrid);
+            if (candidateUsed < 0)
+                continue;
+
+            final int candidateIncome = tables.getIncome(Math.min(capacity, cities));
+            if (candidateIncome > income || candidateIncome == income && candidateUsed < resourcesUsed) {
+                mask = candidate;
+                // Hybridkraftwerke verbrennen zuerst Oel, Kohle nur fuer den Rest.
+                hybridCoal = Math.max(0, hybrid - (stock[OIL] - needed[OIL]));
+                income = candidateIncome;
+                resourcesUsed = candidateUsed;
+            }
+        }
+        return income;
+    }
+
+    /**
+     * Hilfsmethode, die prueft, ob die Rohstoffe fuer den Bedarf in needed und die Hybridkraftwerke reichen.
+     * @param stock Rohstoffe des Spielers, Index = Rohstoff.
+     * @param hybrid Bedarf der Hybridkraftwerke an Kohle und Oel zusammen.
+     * @return Anzahl verbrauchter Rohstoffe oder -1, wenn die Rohstoffe nicht reichen.
+     */
+    private int consumption(int[] stock, int hybrid) {
+        int used = hybrid;
+        for (int resource = 0; resource < EditionTables.RESOURCES; resource++) {
+            if (needed[resource] > stock[resource])
+                return -1;
+            used += needed[resource];
+        }
+        return hybrid > stock[COAL] - needed[COAL] + stock[OIL] - needed[OIL] ? -1 : used;
+    }
+}
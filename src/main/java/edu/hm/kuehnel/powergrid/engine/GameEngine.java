@@ -0,0 +1,706 @@
+/*
+ * Copyright (c) 2020 Stefan Kuehnel - All Rights Reserved
+ * Unauthorized copying of this file, via any medium is strictly prohibited
+ * Proprietary and confidential
+ * Written by Stefan Kuehnel <stefan.kuehnel@hm.edu>, May 2020
+ *
+ * DISCLAIMER. THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OR CONDITION,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. THE AUTHOR HEREBY DISCLAIMS
+ * ALL LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE.
+ */
+
+package edu.hm.kuehnel.powergrid.engine;
+
+import edu.hm.cs.rs.powergrid.Edition;
+import edu.hm.cs.rs.powergrid.RandomSource;
+import edu.hm.cs.rs.powergrid.datastore.Board;
+import edu.hm.cs.rs.powergrid.datastore.Factory;
+import edu.hm.cs.rs.powergrid.datastore.Resource;
+import edu.hm.kuehnel.powergrid.datastore.FrozenBoard;
+import edu.hm.kuehnel.powergrid.diagnostics.AuctionEvent;
+import edu.hm.kuehnel.powergrid.diagnostics.FlightEvents;
+import edu.hm.kuehnel.powergrid.diagnostics.PhaseEvent;
+import edu.hm.kuehnel.powergrid.diagnostics.ResourcePurchaseEvent;
+import edu.hm.kuehnel.powergrid.metrics.Counter;
+import edu.hm.kuehnel.powergrid.metrics.LatencyHistogram;
+import edu.hm.kuehnel.powergrid.metrics.MetricsRegistry;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/** Die Spielregeln.
+ * Prueft Zuege, berechnet ihre Kosten und Ertraege und wendet sie auf den Spielzustand an.
+ * Eine Engine ist nicht threadsicher und gehoert zu genau einem Spiel.
+ * @author Stefan Kuehnel, stefan.kuehnel@hm.edu
+ * @version last-modified 2026-10-19
+ */
+public class GameEngine {
+    /**
+     * Nummer des Zufallsstreams, mit dem der Kraftwerksstapel gemischt wird.
+     */
+    public static final long SETUP_STREAM = 0;
+
+    /**
+     * Die Rohstoffe in der Reihenfolge ihrer Ordinalzahlen.
+     */
+    private static final Resource[] RESOURCES = Resource.values();
+
+    /**
+     * Anzahl begonnener Spiele aller Engines. Wiederhergestellte Spiele und Kopien fuer die Suche zaehlen nicht.
+     */
+    private static final Counter GAMES_STARTED = MetricsRegistry.getDefault()
+            .counter("powergrid_games_started_total", "Begonnene Spiele.");
+
+    /**
+     * Anzahl angewandter Zuege aller Engines, ohne make().
+     */
+    private static final Counter ACTIONS_APPLIED = MetricsRegistry.getDefault()
+            .counter("powergrid_actions_applied_total", "Angewandte Zuege ohne Suchzuege der Bots.");
+
+    /**
+     * Dauer der Phasen aller Engines in Nanosekunden.
+     */
+    private static final LatencyHistogram PHASE_LATENCY = MetricsRegistry.getDefault()
+            .histogram("powergrid_phase_seconds", "Dauer einer Phase vom ersten Zug bis EndPhase.");
+
+    /**
+     * Tabellen der Ausgabe.
+     */
+    private final EditionTables tables;
+
+    /**
+     * Der Spielplan.
+     */
+    private final BoardIndex board;
+
+    /**
+     * Zufallsquelle des Spieles.
+     */
+    private final RandomSource random;
+
+    /**
+     * Der Spielzustand.
+     */
+    private final GameState state;
+
+    /**
+     * Beobachter der Zuege.
+     */
+    private final List<GameListener> listeners = new ArrayList<>();
+
+    /**
+     * Zwischenspeicher fuer die Suche nach den billigsten Verbindungen.
+     */
+    private final int[] distance;
+
+    /**
+     * Zwischenspeicher fuer die schon abgeschlossenen Staedte der Suche.
+     */
+    private final boolean[] settled;
+
+    /**
+     * Zwischenspeicher fuer Mengen pro Rohstoff.
+     */
+    private final int[] perResource = new int[EditionTables.RESOURCES];
+
+    /**
+     * JFR-Ereignis der laufenden Phase. Null, solange keine Aufzeichnung laeuft.
+     */
+    private PhaseEvent phaseEvent;
+
+    /**
+     * Beginn der laufenden Phase nach System.nanoTime().
+     */
+    private long phaseStart;
+
+    /**
+     * Initialisiert ein neues Spiel.
+     * Prueft die Ausgabe mit dem EditionValidator, bevor Tabellen entstehen, baut den Spielplan mit der Factory,
+     * beschraenkt ihn auf die Gebiete fuer die Spieleranzahl und schliesst ihn.
+     * Zaehlt das Spiel als begonnen.
+     * @param factory Factory fuer Spielplan und Zufallsquelle. Nicht null.
+     * @param edition Ausgabe des Spieles. Nicht null.
+     * @param players Anzahl Spieler. Im Bereich der Ausgabe.
+     * @param seed Startwert der Zufallsquelle.
+     * @throws IllegalArgumentException wenn die Ausgabe nicht gueltig ist oder die Spieleranzahl nicht zu ihr passt.
+     */
+    public GameEngine(Factory factory, Edition edition, int players, long seed) {
+        this(factory, newTables(edition), players, seed);
+        GAMES_STARTED.increment();
+    }
+
+    /**
+     * Hilfskonstruktor, der Tabellen und Spielplan aus denselben, schon gebauten Tabellen nimmt.
+     * @param factory Factory fuer Spielplan und Zufallsquelle. Nicht null.
+     * @param tables Tabellen einer gueltigen Ausgabe. Nicht null.
+     * @param players Anzahl Spieler. Im Bereich der Ausgabe.
+     * @param seed Startwert der Zufallsquelle.
+     */
+    private GameEngine(Factory factory, EditionTables tables, int players, long seed) {
+        this(tables, newBoard(factory, tables, players), players, factory.newRandomSource(seed));
+    }
+
+    /**
+     * Initialisiert ein neues Spiel mit schon aufbereiteten Tabellen und Spielplan.
+     * Tabellen und Spielplan sind unveraenderlich und koennen von vielen Spielen gemeinsam benutzt werden.
+     * Zaehlt das Spiel nicht als begonnen, denn so entstehen auch wiederhergestellte Spiele und Kopien fuer die Suche.
+     * Wer damit ein neues Spiel eroeffnet, ruft countStarted() auf.
+     * @param tables Tabellen der Ausgabe. Nicht null.
+     * @param board Der geschlossene Spielplan. Nicht null.
+     * @param players Anzahl Spieler. Im Bereich der Ausgabe.
+     * @param random Zufallsquelle des Spieles. Nicht null.
+     * @throws IllegalArgumentException wenn die Spieleranzahl nicht zur Ausgabe passt.
+     */
+    public GameEngine(EditionTables tables, BoardIndex board, int players, RandomSource random) {
+        requirePlayers(tables, players);
+        this.tables = tables;
+        this.board = board;
+        this.random = random;
+        state = new GameState(tables, board, players, random.derive(SETUP_STREAM));
+        distance = new int[board.size()];
+        settled = new boolean[board.size()];
+        phaseStart = System.nanoTime();
+    }
+
+    /**
+     * Zaehlt ein neues Spiel, das mit Tabellen und Spielplan statt mit der Factory entstanden ist.
+     */
+    public static void countStarted() {
+        GAMES_STARTED.increment();
+    }
+
+    /**
+     * Hilfsmethode, die eine Ausgabe prueft und ihre Tabellen baut.
+     * Der Validator laeuft vor den Tabellen, damit eine kaputte Ausgabe mit seinem Bericht scheitert.
+     * @param edition Ausgabe. Nicht null.
+     * @return Tabellen.
+     * @throws IllegalArgumentException wenn die Ausgabe null oder nicht gueltig ist.
+     */
+    private static EditionTables newTables(Edition edition) {
+        EditionValidator.requireValid(edition);
+        return new EditionTables(edition);
+    }
+
+    /**
+     * Hilfsmethode, die einen geschlossenen Spielplan fuer eine Spieleranzahl baut.
+     * @param factory Factory. Nicht null.
+     * @param tables Tabellen einer gueltigen Ausgabe. Nicht null.
+     * @param players Anzahl Spieler.
+     * @return Nummerierter Spielplan.
+     */
+    private static BoardIndex newBoard(Factory factory, EditionTables tables, int players) {
+        requirePlayers(tables, players);
+        final Board board = factory.newBoard(tables.getEdition());
+        board.closeRegions(tables.getRegionsUsed(players));
+        board.close();
+        return new BoardIndex(new FrozenBoard(board));
+    }
+
+    /**
+     * Hilfsmethode, die prueft, ob eine Spieleranzahl zur Ausgabe passt.
+     * @param tables Tabellen der Ausgabe.
+     * @param players Anzahl Spieler.
+     * @throws IllegalArgumentException wenn die Spieleranzahl nicht passt.
+     */
+    private static void requirePlayers(EditionTables tables, int players) {
+        if (players < tables.getPlayersMinimum() || players > tables.getPlayersMaximum())
+            throw new IllegalArgumentException("Die Anzahl Spieler passt nicht zur Edition: " + players);
+    }
+
+    /**
+     * Tabellen der Ausgabe.
+     * @return Tabellen. Nicht null.
+     */
+    public EditionTables getTables() {
+        return tables;
+    }
+
+    /**
+     * Der Spielplan.
+     * @return Spielplan. Nicht null.
+     */
+    public BoardIndex getBoard() {
+        return board;
+    }
+
+    /**
+     * Zufallsquelle des Spieles.
+     * @return Zufallsquelle. Nicht null.
+     */
+    public RandomSource getRandom() {
+        return random;
+    }
+
+    /**
+     * Der Spielzustand.
+     * @return Zustand. Nicht null.
+     */
+    public GameState getState() {
+        return state;
+    }
+
+    /**
+     * Setzt den Ring, in den der Spielzustand jede Aenderung schreibt.
+     * Beobachter lesen daraus feine Aenderungen, statt den ganzen Zustand zu kopieren oder zu vergleichen.
+     * Zuege aus make() und ihre Ruecknahme erscheinen nicht im Ring.
+     * @param deltas Ring oder null, um das Aufzeichnen abzuschalten.
+     */
+    public void setDeltaRing(DeltaRing deltas) {
+        state.setDeltas(deltas);
+    }
+
+    /**
+     * Meldet einen Beobachter an.
+     * @param listener Beobachter. Nicht null.
+     */
+    public void addListener(GameListener listener) {
+        if (listener == null)
+            throw new IllegalArgumentException("Der Beobachter darf nicht null sein.");
+        listeners.add(listener);
+    }
+
+    /**
+     * Meldet einen Beobachter ab.
+     * @param listener Beobachter.
+     */
+    public void removeListener(GameListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Prueft einen Zug und wendet ihn an.
+     * @param type Art des Zuges. Nicht null.
+     * @param player Spieler, der zieht. Bei EndPhase ohne Bedeutung.
+     * @param first Erstes Argument, siehe ActionType.
+     * @param second Zweites Argument, siehe ActionType.
+     * @return Aenderung des Guthabens des Spielers.
+     * @throws IllegalStateException wenn der Zug in der aktuellen Phase nicht erlaubt ist.
+     * @throws IllegalArgumentException wenn der Zug gegen die Regeln verstoesst.
+     */
+    public int apply(ActionType type, int player, int first, int second) {
+        final int electro = resolve(type, player, first, second);
+        record(type, player, first, second, electro);
+        replay(type, player, first, second, electro);
+        if (type == ActionType.Bid)
+            recordAuction(player, first, second);
+        return electro;
+    }
+
+    /**
+     * Prueft einen Zug und wendet ihn an.
+     * @param action Zug. Nicht null.
+     * @return Aenderung des Guthabens des Spielers.
+     * @throws IllegalStateException wenn der Zug in der aktuellen Phase nicht erlaubt ist.
+     * @throws IllegalArgumentException wenn der Zug gegen die Regeln verstoesst.
+     */
+    public int apply(Action action) {
+        if (action == null)
+            throw new IllegalArgumentException("Der Zug darf nicht null sein.");
+        return apply(action.getType(), action.getPlayer(), action.getFirst(), action.getSecond());
+    }
+
+    /**
+     * Wendet einen schon geprueften Zug an, ohne ihn erneut zu pruefen.
+     * Gedacht fuer das Nachspielen protokollierter Spiele. Beobachter erfahren von dem Zug,
+     * Zaehler und JFR-Ereignisse aber nicht, sonst saehe das Nachspielen wie ein laufendes Spiel aus.
+     * @param type Art des Zuges. Nicht null.
+     * @param player Spieler, der zieht.
+     * @param first Erstes Argument.
+     * @param second Zweites Argument.
+     * @param electro Aenderung des Guthabens, die die Pruefung ergeben hat.
+     */
+    public void replay(ActionType type, int player, int first, int second, int electro) {
+        mutate(type, player, first, second, electro);
+        for (int index = 0; index < listeners.size(); index++)
+            listeners.get(index).applied(type, player, first, second, electro);
+    }
+
+    /**
+     * Prueft einen Zug und wendet ihn so an, dass undo() ihn wieder zuruecknehmen kann.
+     * Gedacht fuer Suchverfahren, die Zuege probieren, statt das Spiel zu kopieren.
+     * Weder Beobachter noch der DeltaRing erfahren von dem Zug oder seiner Ruecknahme.
+     * @param type Art des Zuges. Nicht null.
+     * @param player Spieler, der zieht.
+     * @param first Erstes Argument, siehe ActionType.
+     * @param second Zweites Argument, siehe ActionType.
+     * @return Aenderung des Guthabens des Spielers.
+     * @throws IllegalStateException wenn der Zug in der aktuellen Phase nicht erlaubt ist.
+     * @throws IllegalArgumentException wenn der Zug gegen die Regeln verstoesst.
+     */
+    public int make(ActionType type, int player, int first, int second) {
+        final int electro = resolve(type, player, first, second);
+        state.mark();
+        mutate(type, player, first, second, electro);
+        return electro;
+    }
+
+    /**
+     * Nimmt den juengsten mit make() angewandten Zug zurueck.
+     * Der Aufwand haengt nur von der Anzahl Aenderungen des Zuges ab.
+     * @throws IllegalStateException wenn es keinen Zug zum Zuruecknehmen gibt.
+     */
+    public void undo() {
+        if (state.getUndoDepth() == 0)
+            throw new IllegalStateException("Es gibt keinen Zug zum Zuruecknehmen.");
+        state.undo();
+    }
+
+    /**
+     * Prueft eine Folge von Zuegen und wendet sie in einem Durchgang an.
+     * Jeder Zug wird gegen den Zustand geprueft, den seine Vorgaenger in der Folge hinterlassen.
+     * Die Folge gilt ganz oder gar nicht: Verstoesst ein Zug gegen die Regeln, stellt die Engine
+     * den Zustand vor der Folge ueber das Journal wieder her, wie undo(). Mit make() angewandte Zuege
+     * bleiben dabei offen und lassen sich danach noch zuruecknehmen. Beobachter erfahren nur von vollstaendig angewandten Folgen,
+     * und zwar mit einem einzigen Aufruf pro Beobachter.
+     * @param batch Die Zuege. Nach dem Aufruf enthaelt sie die Aenderungen des Guthabens. Nicht null.
+     * @throws IllegalStateException wenn ein Zug in seiner Phase nicht erlaubt ist.
+     * @throws IllegalArgumentException wenn ein Zug gegen die Regeln verstoesst oder die Folge null ist.
+     */
+    public void applyAll(ActionBatch batch) {
+        if (batch == null)
+            throw new IllegalArgumentException("Die Folge von Zuegen darf nicht null sein.");
+        if (batch.size() == 0)
+            return;
+
+        state.begin();
+        try {
+            for (int index = 0; index < batch.size(); index++) {
+                final ActionType type = batch.getType(index);
+                final int player = batch.getPlayer(index);
+                final int first = batch.getFirst(index);
+                final int second = batch.getSecond(index);
+                final int electro = resolve(type, player, first, second);
+                record(type, player, first, second, electro);
+                mutate(type, player, first, second, electro);
+                batch.setElectro(index, electro);
+            }
+        } catch (RuntimeException exception) {
+            state.undo();
+            throw exception;
+        }
+        state.commit();
+
+        for (int index = 0; index < batch.size(); index++)
+            if (batch.getType(index) == ActionType.Bid)
+                recordAuction(batch.getPlayer(index), batch.getFirst(index), batch.getSecond(index));
+        for (int index = 0; index < listeners.size(); index++)
+            listeners.get(index).appliedAll(batch);
+    }
+
+    /**
+     * Hilfsmethode, die einen Zug vor dem Anwenden zaehlt und als JFR-Ereignis aufzeichnet.
+     * Ohne laufende Aufzeichnung kostet das nur die Zaehler und die Abfrage der Schalter.
+     * Zuege einer zurueckgenommenen Folge erscheinen trotzdem, die Arbeit ist ja angefallen.
+     * Nur der Zuschlag einer Auktion wartet, bis der Zug gilt, siehe recordAuction().
+     * Zuege aus make() und replay() zeichnet die Engine nicht auf, sonst ginge die Suche der Bots in der Aufzeichnung unter
+     * und nachgespielte Protokolle saehen wie laufende Spiele aus.
+     * @param type Art.
+     * @param player Spieler.
+     * @param first Erstes Argument.
+     * @param second Zweites Argument.
+     * @param electro Aenderung des Guthabens.
+     */
+    private void record(ActionType type, int player, int first, int second, int electro) {
+        ACTIONS_APPLIED.increment();
+        if (type == ActionType.EndPhase) {
+            final long now = System.nanoTime();
+            PHASE_LATENCY.record(now - phaseStart);
+            phaseStart = now;
+        }
+
+        if (FlightEvents.PHASE.isEnabled()) {
+            if (phaseEvent == null) {
+                phaseEvent = new PhaseEvent();
+                phaseEvent.begin();
+            }
+            phaseEvent.moves++;
+            if (type == ActionType.EndPhase) {
+                phaseEvent.phase = state.getPhase().name();
+                phaseEvent.round = state.getRound();
+                phaseEvent.commit();
+                phaseEvent = new PhaseEvent();
+                phaseEvent.begin();
+            }
+        } else
+            phaseEvent = null;
+
+        if (type == ActionType.BuyResource && FlightEvents.RESOURCE_PURCHASE.isEnabled()) {
+            final ResourcePurchaseEvent event = new ResourcePurchaseEvent();
+            event.player = player;
+            event.resource = RESOURCES[first].name();
+            event.amount = second;
+            event.cost = -electro;
+            event.commit();
+        }
+    }
+
+    /**
+     * Hilfsmethode, die einen Zuschlag als JFR-Ereignis aufzeichnet.
+     * Erst nach dem Anwenden, damit Gebote einer zurueckgenommenen Folge nicht als ersteigert erscheinen.
+     * @param player Spieler, der das Kraftwerk ersteigert hat.
+     * @param plant Kraftwerksindex.
+     * @param price Gebot.
+     */
+    private void recordAuction(int player, int plant, int price) {
+        if (FlightEvents.AUCTION.isEnabled() && state.getPlantLocation(plant) == player) {
+            final AuctionEvent event = new AuctionEvent();
+            event.player = player;
+            event.plant = tables.getPlantNumber(plant);
+            event.price = price;
+            event.commit();
+        }
+    }
+
+    /**
+     * Hilfsmethode, die einen Zug ohne Pruefung und ohne Meldung auf den Zustand anwendet.
+     * @param type Art des Zuges.
+     * @param player Spieler.
+     * @param first Erstes Argument.
+     * @param second Zweites Argument.
+     * @param electro Aenderung des Guthabens.
+     */
+    private void mutate(ActionType type, int player, int first, int second, int electro) {
+        switch (type) {
+            case Bid -> state.acquirePlant(player, first, electro);
+            case BuyResource -> state.buyResource(player, first, second, electro);
+            case BuildCity -> state.buildCity(player, first, electro);
+            case FirePlants -> state.firePlants(player, first, second, electro);
+            case EndPhase -> state.endPhase();
+            default -> throw new AssertionError(type);
+        }
+    }
+
+    /**
+     * Prueft einen Zug und berechnet die Aenderung des Guthabens.
+     * Veraendert den Zustand nicht.
+     * @param type Art des Zuges.
+     * @param player Spieler.
+     * @param first Erstes Argument.
+     * @param second Zweites Argument.
+     * @return Aenderung des Guthabens.
+     * @throws IllegalStateException wenn der Zug in der aktuellen Phase nicht erlaubt ist.
+     * @throws IllegalArgumentException wenn der Zug gegen die Regeln verstoesst.
+     */
+    public int resolve(ActionType type, int player, int first, int second) {
+        if (type == null)
+            throw new IllegalArgumentException("Die Art des Zuges darf nicht null sein.");
+        if (!type.isAllowedIn(state.getPhase()))
+            throw new IllegalStateException("Der Zug " + type + " ist in der Phase " + state.getPhase() + " nicht erlaubt.");
+        if (type != ActionType.EndPhase && (player < 0 || player >= state.getPlayers()))
+            throw new IllegalArgumentException("Unbekannter Spieler: " + player);
+
+        return switch (type) {
+            case Bid -> resolveBid(player, first, second);
+            case BuyResource -> resolveBuyResource(player, first, second);
+            case BuildCity -> resolveBuildCity(player, first);
+            case FirePlants -> resolveFirePlants(player, first, second);
+            case EndPhase -> 0;
+        };
+    }
+
+    /**
+     * Hilfsmethode, die ein Gebot prueft.
+     * @param player Spieler.
+     * @param plant Kraftwerksindex.
+     * @param price Gebot.
+     * @return minus Gebot.
+     */
+    private int resolveBid(int player, int plant, int price) {
+        if (plant < 0 || plant >= tables.getPlants() || state.getPlantLocation(plant) != GameState.IN_MARKET)
+            throw new IllegalArgumentException("Das Kraftwerk liegt nicht im Markt.");
+        int position = 0;
+        while (state.getMarketPlant(position) != plant)
+            position++;
+        if (position >= tables.getActualPlants(state.getLevel()))
+            throw new IllegalArgumentException("Das Kraftwerk liegt nicht im aktuellen Markt.");
+        if (price < tables.getPlantNumber(plant))
+            throw new IllegalArgumentException("Das Gebot liegt unter der Nummer des Kraftwerks.");
+        requireMoney(player, price);
+        return -price;
+    }
+
+    /**
+     * Hilfsmethode, die einen Rohstoffkauf prueft.
+     * @param player Spieler.
+     * @param resource Rohstoff.
+     * @param amount Anzahl.
+     * @return minus Kosten.
+     */
+    private int resolveBuyResource(int player, int resource, int amount) {
+        if (resource < 0 || resource >= EditionTables.RESOURCES)
+            throw new IllegalArgumentException("Unbekannter Rohstoff: " + resource);
+        if (amount < 1 || amount > state.getMarket(resource))
+            throw new IllegalArgumentException("So viele Rohstoffe gibt es nicht im Markt: " + amount);
+        if (!canStore(player, resource, amount))
+            throw new IllegalArgumentException("Die Kraftwerke des Spielers fassen die Rohstoffe nicht.");
+        final int cost = tables.getResourceCost(resource, state.getMarket(resource), amount);
+        requireMoney(player, cost);
+        return -cost;
+    }
+
+    /**
+     * Hilfsmethode, die einen Anschluss prueft.
+     * @param player Spieler.
+     * @param city Stadt.
+     * @return minus Kosten.
+     */
+    private int resolveBuildCity(int player, int city) {
+        if (city < 0 || city >= board.size())
+            throw new IllegalArgumentException("Unbekannte Stadt: " + city);
+        if (state.isOwner(player, city))
+            throw new IllegalArgumentException("Der Spieler hat die Stadt schon angeschlossen.");
+        final int slot = state.getFreeSlot(city);
+        if (slot < 0 || slot > state.getLevel())
+            throw new IllegalArgumentException("In der Stadt ist auf dieser Stufe kein Bauplatz frei.");
+        final int connection = getConnectionCost(player, city);
+        if (connection == Integer.MAX_VALUE)
+            throw new IllegalArgumentException("Die Stadt ist vom Netz des Spielers nicht erreichbar.");
+        final int cost = state.getCityCost(city) + connection;
+        requireMoney(player, cost);
+        return -cost;
+    }
+
+    /**
+     * Hilfsmethode, die den Betrieb von Kraftwerken prueft.
+     * @param player Spieler.
+     * @param mask Bitmaske ueber die Kraftwerke des Spielers.
+     * @param hybridCoal Kohle fuer Hybridkraftwerke.
+     * @return Einkommen.
+     */
+    private int resolveFirePlants(int player, int mask, int hybridCoal) {
+        if (state.hasFired(player))
+            throw new IllegalStateException("Der Spieler hat in dieser Runde schon Kraftwerke betrieben.");
+        if (mask < 0 || mask >= 1 << state.getPlantCount(player))
+            throw new IllegalArgumentException("Die Bitmaske passt nicht zu den Kraftwerken des Spielers.");
+
+        final int[] need = perResource;
+        Arrays.fill(need, 0);
+        int hybrid = 0;
+        int capacity = 0;
+        for (int position = 0; mask >> position != 0; position++)
+            if ((mask & 1 << position) != 0) {
+                final int plant = state.getPlayerPlant(player, position);
+                final int type = tables.getPlantType(plant);
+                if (type < EditionTables.RESOURCES)
+                    need[type] += tables.getPlantResources(plant);
+                else if (type == EditionTables.PLANT_HYBRID)
+                    hybrid += tables.getPlantResources(plant);
+                capacity += tables.getPlantCities(plant);
+            }
+        if (hybridCoal < 0 || hybridCoal > hybrid)
+            throw new IllegalArgumentException("Die Hybridkraftwerke brauchen nicht so viel Kohle.");
+        need[0] += hybridCoal;
+        need[1] += hybrid - hybridCoal;
+        for (int resource = 0; resource < EditionTables.RESOURCES; resource++)
+            if (need[resource] > state.getResources(player, resource))
+                throw new IllegalArgumentException("Der Spieler hat nicht genug Rohstoffe.");
+
+        return tables.getIncome(Math.min(capacity, state.getCitiesBuilt(player)));
+    }
+
+    /**
+     * Prueft, ob die Kraftwerke eines Spielers zusaetzliche Rohstoffe fassen.
+     * Jedes Kraftwerk fasst doppelt so viele Rohstoffe, wie es verbraucht.
+     * Hybridkraftwerke fassen Kohle und Oel gemischt.
+     * @param player Spieler.
+     * @param resource Rohstoff.
+     * @param amount Anzahl zusaetzlicher Rohstoffe.
+     * @return true, wenn die Rohstoffe Platz finden.
+     */
+    public boolean canStore(int player, int resource, int amount) {
+        final int[] capacity = perResource;
+        Arrays.fill(capacity, 0);
+        int hybrid = 0;
+        for (int position = 0, plant = state.getPlayerPlant(player, 0); plant >= 0; plant = state.getPlayerPlant(player, ++position)) {
+            final int type = tables.getPlantType(plant);
+            if (type < EditionTables.RESOURCES)
+                capacity[type] += 2 * tables.getPlantResources(plant);
+            else if (type == EditionTables.PLANT_HYBRID)
+                hybrid += 2 * tables.getPlantResources(plant);
+        }
+
+        int overflow = 0;
+        for (int type = 0; type < EditionTables.RESOURCES; type++) {
+            final int held = state.getResources(player, type) + (type == resource ? amount : 0);
+            if (held > capacity[type]) {
+                // Nur Kohle und Oel duerfen in Hybridkraftwerke ausweichen.
+                if (type > 1)
+                    return false;
+                overflow += held - capacity[type];
+            }
+        }
+        return overflow <= hybrid;
+    }
+
+    /**
+     * Kosten der billigsten Verbindung vom Netz eines Spielers zu einer Stadt.
+     * Ein Spieler ohne Staedte zahlt keine Verbindungskosten.
+     * @param player Spieler.
+     * @param city Zielstadt.
+     * @return Verbindungskosten oder Integer.MAX_VALUE, wenn die Stadt nicht erreichbar ist.
+     */
+    public int getConnectionCost(int player, int city) {
+        if (state.getCitiesBuilt(player) == 0)
+            return 0;
+        search(player, city);
+        return distance[city];
+    }
+
+    /**
+     * Kosten der billigsten Verbindungen vom Netz eines Spielers zu allen Staedten, mit einer einzigen Suche.
+     * Ein Spieler ohne Staedte zahlt keine Verbindungskosten.
+     * @param player Spieler.
+     * @param costs Array mit wenigstens so vielen Elementen wie Staedten.
+     *              Bekommt pro Stadt die Verbindungskosten oder Integer.MAX_VALUE, wenn sie nicht erreichbar ist.
+     */
+    public void getConnectionCosts(int player, int[] costs) {
+        if (state.getCitiesBuilt(player) == 0)
+            Arrays.fill(costs, 0, board.size(), 0);
+        else {
+            search(player, -1);
+            System.arraycopy(distance, 0, costs, 0, board.size());
+        }
+    }
+
+    /**
+     * Hilfsmethode, die mit Dijkstra die billigsten Verbindungen vom Netz eines Spielers sucht.
+     * Alle Staedte des Spielers sind Startpunkte. Das Ergebnis steht in distance.
+     * @param player Spieler mit wenigstens einer Stadt.
+     * @param city Stadt, bei der die Suche aufhoeren darf, oder -1 fuer alle Staedte.
+     */
+    private void search(int player, int city) {
+        Arrays.fill(distance, Integer.MAX_VALUE);
+        Arrays.fill(settled, false);
+        for (int node = 0; node < board.size(); node++)
+            if (state.isOwner(player, node))
+                distance[node] = 0;
+
+        while (true) {
+            int nearest = -1;
+            for (int node = 0; node < board.size(); node++)
+                if (!settled[node] && distance[node] != Integer.MAX_VALUE && (nearest < 0 || distance[node] < distance[nearest]))
+                    nearest = node;
+            if (nearest < 0 || nearest == city)
+                return;
+            settled[nearest] = true;
+            for (int edge = board.getOffset(nearest); edge < board.getOffset(nearest + 1); edge++) {
+                final int target = board.getTarget(edge);
+                distance[target] = Math.min(distance[target], distance[nearest] + board.getCost(edge));
+            }
+        }
+    }
+
+    /**
+     * Hilfsmethode, die prueft, ob ein Spieler genug Elektro hat.
+     * @param player Spieler.
+     * @param cost Kosten.
+     * @throws IllegalArgumentException wenn das Guthaben nicht reicht.
+     */
+    private void requireMoney(int player, int cost) {
+        if (cost > state.getMoney(player))
+            throw new IllegalArgumentException("Der Spieler hat nicht genug Elektro: " + cost);
+    }
+}
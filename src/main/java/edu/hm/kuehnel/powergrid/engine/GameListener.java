@@ -0,0 +1,44 @@
+/*
+ * Copyright (c) 2020 Stefan Kuehnel - All Rights Reserved
+ * Unauthorized copying of this file, via any medium is strictly prohibited
+ * Proprietary and confidential
+ * Written by Stefan Kuehnel <stefan.kuehnel@hm.edu>, May 2020
+ *
+ * DISCLAIMER. THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OR CONDITION,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. THE AUTHOR HEREBY DISCLAIMS
+ * ALL LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE.
+ */
+
+package edu.hm.kuehnel.powergrid.engine;
+
+/** Beobachter der Zuege eines Spieles.
+ * Die Engine meldet jeden angewandten Zug mit primitiven Argumenten, ohne Objekte zu erzeugen.
+ * @author Stefan Kuehnel, stefan.kuehnel@hm.edu
+ * @version last-modified 2026-10-19
+ */
+@FunctionalInterface
+public interface GameListener {
+    /**
+     * Ein Zug wurde angewandt.
+     * @param type Art des Zuges. Nicht null.
+     * @param player Spieler, der gezogen hat.
+     * @param first Erstes Argument des Zuges.
+     * @param second Zweites Argument des Zuges.
+     * @param electro Aenderung des Guthabens des Spielers.
+     */
+    void applied(ActionType type, int player, int first, int second, int electro);
+
+    /**
+     * Eine Folge von Zuegen wurde vollstaendig angewandt.
+     * Die Engine meldet die ganze Folge mit einem Aufruf.
+     * Ohne Ueberschreiben wird jeder Zug der Folge einzeln an applied gemeldet.
+     * @param batch Die angewandten Zuege mit ihren Aenderungen des Guthabens. Nur waehrend des Aufrufs gueltig.
+     */
+    default void appliedAll(ActionBatch batch) {
+        for (int index = 0; index < batch.size(); index++)
+            applied(batch.getType(index), batch.getPlayer(index), batch.getFirst(index), batch.getSecond(index),
+                    batch.getElectro(index));
+    }
+}
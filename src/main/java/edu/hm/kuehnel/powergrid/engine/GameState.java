@@ -0,0 +1,948 @@
+/*
+ * Copyright (c) 2020 Stefan Kuehnel - All Rights Reserved
+ * Unauthorized copying of this file, via any medium is strictly prohibited
+ * Proprietary and confidential
+ * Written by Stefan Kuehnel <stefan.kuehnel@hm.edu>, May 2020
+ *
+ * DISCLAIMER. THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OR CONDITION,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. THE AUTHOR HEREBY DISCLAIMS
+ * ALL LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE.
+ */
+
+package edu.hm.kuehnel.powergrid.engine;
+
+import edu.hm.cs.rs.powergrid.RandomSource;
+
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.util.Arrays;
+
+/** Der Zustand eines laufenden Spieles in primitiven Arrays.
+ * Spieler, Staedte, Rohstoffe und Kraftwerke sind durch Nummern vertreten:
+ * Spieler von 0 an, Staedte gemaess BoardIndex, Rohstoffe gemaess Ordinalzahl,
+ * Kraftwerke gemaess EditionTables.
+ * Die veraendernden Methoden pruefen nichts. Die Regeln prueft die GameEngine,
+ * bevor sie einen Zug hier anwendet.
+ * Jede Aenderung laeuft ueber eine Stelle, die den Zobrist-Hash nachfuehrt, sie bei Bedarf in einen DeltaRing
+ * schreibt und fuer offene Zuege den alten Wert im Journal festhaelt.
+ * @author Stefan Kuehnel, stefan.kuehnel@hm.edu
+ * @version last-modified 2026-10-19
+ */
+public class GameState {
+    /**
+     * Anzahl Bauplaetze pro Stadt.
+     */
+    public static final int SLOTS = 3;
+
+    /**
+     * Hoechstanzahl Staedte. Journal und DeltaRing halten Schluessel mit 24 Bit,
+     * der groesste Schluessel Stadt * SLOTS + Bauplatz muss hineinpassen.
+     */
+    public static final int CITIES_MAXIMUM = (1 << 24) / SLOTS;
+
+    /**
+     * Eintrag fuer einen freien Bauplatz.
+     */
+    public static final int NO_OWNER = -1;
+
+    /**
+     * Ort eines Kraftwerks, das noch im verdeckten Stapel liegt.
+     * Nicht negative Orte sind die Nummern der Besitzer.
+     */
+    public static final int IN_DECK = -1;
+
+    /**
+     * Ort eines Kraftwerks im aktuellen oder zukuenftigen Markt.
+     */
+    public static final int IN_MARKET = -2;
+
+    /**
+     * Ort eines Kraftwerks, das aus dem Spiel genommen ist.
+     */
+    public static final int REMOVED = -3;
+
+    /**
+     * Die Phasen in der Reihenfolge ihrer Ordinalzahlen.
+     */
+    private static final Phase[] PHASES = Phase.values();
+
+    /**
+     * Tabellen der Ausgabe.
+     */
+    private final EditionTables tables;
+
+    /**
+     * Der Spielplan.
+     */
+    private final BoardIndex board;
+
+    /**
+     * Anzahl Spieler.
+     */
+    private final int players;
+
+    /**
+     * Aktuelle Phase.
+     */
+    private Phase phase = Phase.Opening;
+
+    /**
+     * Nummer der Runde und Index der Spielstufe.
+     */
+    private int round, level;
+
+    /**
+     * Elektro pro Spieler.
+     */
+    private final int[] money;
+
+    /**
+     * Rohstoffe im Markt und im Vorrat, Index = Rohstoff.
+     */
+    private final int[] market, supply;
+
+    /**
+     * Rohstoffe der Spieler, Index = Spieler * RESOURCES + Rohstoff.
+     */
+    private final int[] playerResources;
+
+    /**
+     * Besitzer der Bauplaetze als Matrix, Index = Stadt * SLOTS + Bauplatz.
+     * Ein Byte pro Bauplatz genuegt fuer die Spielernummern, die Bauplaetze einer Stadt liegen nebeneinander.
+     * Die Staedte des gemeinsamen Spielplans bleiben unveraendert, der Besitz gehoert nur zu diesem Spiel.
+     */
+    private final byte[] cityOwners;
+
+    /**
+     * Pro Spieler die Staedte, die er angeschlossen hat. Folgt cityOwners.
+     */
+    private final CitySet[] owned;
+
+    /**
+     * Pro Bauplatz die Staedte, in denen er belegt ist. Folgt cityOwners.
+     */
+    private final CitySet[] occupied;
+
+    /**
+     * Anzahl angeschlossener Staedte pro Spieler.
+     */
+    private final int[] citiesBuilt;
+
+    /**
+     * Ort jedes Kraftwerks: Besitzer oder IN_DECK, IN_MARKET, REMOVED.
+     */
+    private final int[] plantLocation;
+
+    /**
+     * Reihenfolge der Kraftwerke im verdeckten Stapel.
+     */
+    private final int[] deck;
+
+    /**
+     * Position des naechsten Kraftwerks im Stapel.
+     */
+    private int deckTop;
+
+    /**
+     * Bitmaske der Spieler, die in dieser Runde schon Kraftwerke betrieben haben.
+     */
+    private int firedPlayers;
+
+    /**
+     * Ring, in den die veraendernden Methoden ihre Aenderungen schreiben. Null ohne Beobachter.
+     */
+    private DeltaRing deltas;
+
+    /**
+     * Alte Werte aller Aenderungen seit dem ersten offenen Zug, gepackt wie im DeltaRing.
+     */
+    private long[] journal = new long[64];
+
+    /**
+     * Anzahl Eintraege im Journal.
+     */
+    private int journalSize;
+
+    /**
+     * Journalpositionen, an denen die offenen Zuege beginnen.
+     */
+    private int[] markPositions = new int[16];
+
+    /**
+     * Anzahl offener Zuege. Solange es welche gibt, schreibt jede Aenderung ins Journal.
+     */
+    private int marks;
+
+    /**
+     * Anzahl offener Zuege unter dem aeltesten offenen Zug aus mark(), ohne solchen Zug Integer.MAX_VALUE.
+     * Solange mehr Zuege offen sind, schreibt der Zustand nichts in den Ring.
+     */
+    private int quietDepth = Integer.MAX_VALUE;
+
+    /**
+     * Zobrist-Hash des Zustands, mit jeder Aenderung nachgefuehrt.
+     */
+    private long hash;
+
+    /**
+     * Zwischenspeicher fuer die Schluessel der Spielerreihenfolge, Index = Spieler.
+     */
+    private final long[] orderKeys;
+
+    /**
+     * Initialisiert den Zustand bei Spielbeginn.
+     * Die billigsten Kraftwerke bilden den Markt, die uebrigen liegen gemischt im Stapel.
+     * Vom Stapel verschwinden so viele Kraftwerke, wie die Ausgabe fuer die Spieleranzahl vorschreibt.
+     * @param tables Tabellen der Ausgabe. Nicht null.
+     * @param board Der Spielplan. Nicht null.
+     * @param players Anzahl Spieler.
+     * @param random Zufallsquelle zum Mischen des Stapels. Nicht null.
+     * @throws IllegalArgumentException wenn der Spielplan mehr als CITIES_MAXIMUM Staedte hat.
+     */
+    GameState(EditionTables tables, BoardIndex board, int players, RandomSource random) {
+        if (board.size() > CITIES_MAXIMUM)
+            throw new IllegalArgumentException("Der Spielplan hat zu viele Staedte: " + board.size());
+        this.tables = tables;
+        this.board = board;
+        this.players = players;
+
+        money = new int[players];
+        Arrays.fill(money, tables.getInitialElectro());
+
+        market = new int[EditionTables.RESOURCES];
+        supply = new int[EditionTables.RESOURCES];
+        for (int resource = 0; resource < EditionTables.RESOURCES; resource++) {
+            market[resource] = tables.getResourceInitial(resource);
+            supply[resource] = tables.getResourceTotal(resource) - market[resource];
+        }
+        playerResources = new int[players * EditionTables.RESOURCES];
+
+        cityOwners = new byte[board.size() * SLOTS];
+        Arrays.fill(cityOwners, (byte) NO_OWNER);
+        citiesBuilt = new int[players];
+        orderKeys = new long[players];
+        owned = new CitySet[players];
+        Arrays.setAll(owned, player -> new CitySet(board.size()));
+        occupied = new CitySet[SLOTS];
+        Arrays.setAll(occupied, slot -> new CitySet(board.size()));
+
+        plantLocation = new int[tables.getPlants()];
+        final int marketSize = Math.min(plantLocation.length, tables.getActualPlants(0) + tables.getFuturePlants(0));
+        Arrays.fill(plantLocation, 0, marketSize, IN_MARKET);
+        Arrays.fill(plantLocation, marketSize, plantLocation.length, IN_DECK);
+
+        deck = new int[plantLocation.length - marketSize];
+        for (int position = 0; position < deck.length; position++)
+            deck[position] = marketSize + position;
+        random.shuffle(deck);
+
+        // Nimmt Kraftwerke vom Stapel aus dem Spiel.
+        final int removed = Math.min(deck.length, Math.max(0, tables.getPlantsInitiallyRemoved(players)));
+        while (deckTop < removed)
+            plantLocation[deck[deckTop++]] = REMOVED;
+        hash = Zobrist.hash(this);
+    }
+
+    /**
+     * Tabellen der Ausgabe.
+     * @return Tabellen. Nicht null.
+     */
+    public EditionTables getTables() {
+        return tables;
+    }
+
+    /**
+     * Der Spielplan.
+     * @return Spielplan. Nicht null.
+     */
+    public BoardIndex getBoard() {
+        return board;
+    }
+
+    /**
+     * Anzahl Spieler.
+     * @return Anzahl.
+     */
+    public int getPlayers() {
+        return players;
+    }
+
+    /**
+     * Aktuelle Phase.
+     * @return Phase. Nicht null.
+     */
+    public Phase getPhase() {
+        return phase;
+    }
+
+    /**
+     * Nummer der Runde, beginnend mit 0.
+     * @return Runde.
+     */
+    public int getRound() {
+        return round;
+    }
+
+    /**
+     * Index der Spielstufe (0 = Stufe 1).
+     * @return Stufe.
+     */
+    public int getLevel() {
+        return level;
+    }
+
+    /**
+     * Elektro eines Spielers.
+     * @param player Spieler.
+     * @return Elektro.
+     */
+    public int getMoney(int player) {
+        return money[player];
+    }
+
+    /**
+     * Anzahl eines Rohstoffs im Markt.
+     * @param resource Rohstoff.
+     * @return Anzahl.
+     */
+    public int getMarket(int resource) {
+        return market[resource];
+    }
+
+    /**
+     * Anzahl eines Rohstoffs im Vorrat, der weder im Markt noch bei Spielern liegt.
+     * @param resource Rohstoff.
+     * @return Anzahl.
+     */
+    public int getSupply(int resource) {
+        return supply[resource];
+    }
+
+    /**
+     * Anzahl eines Rohstoffs bei einem Spieler.
+     * @param player Spieler.
+     * @param resource Rohstoff.
+     * @return Anzahl.
+     */
+    public int getResources(int player, int resource) {
+        return playerResources[player * EditionTables.RESOURCES + resource];
+    }
+
+    /**
+     * Besitzer eines Bauplatzes.
+     * @param city Stadt.
+     * @param slot Bauplatz.
+     * @return Spieler oder NO_OWNER.
+     */
+    public int getCityOwner(int city, int slot) {
+        return cityOwners[city * SLOTS + slot];
+    }
+
+    /**
+     * Erster freier Bauplatz einer Stadt.
+     * @param city Stadt.
+     * @return Bauplatz oder -1, wenn alle belegt sind.
+     */
+    public int getFreeSlot(int city) {
+        final int count = getOwnerCount(city);
+        return count == SLOTS ? -1 : count;
+    }
+
+    /**
+     * Anzahl Spieler, die eine Stadt angeschlossen haben.
+     * Die Bauplaetze werden der Reihe nach belegt, die Anzahl ist also der erste freie Bauplatz.
+     * @param city Stadt.
+     * @return Anzahl belegter Bauplaetze.
+     */
+    public int getOwnerCount(int city) {
+        final int first = city * SLOTS;
+        int count = 0;
+        while (count < SLOTS && cityOwners[first + count] != NO_OWNER)
+            count++;
+        return count;
+    }
+
+    /**
+     * Kosten des naechsten Bauplatzes einer Stadt nach levelToCityCost() der Ausgabe, ohne Verbindungskosten.
+     * @param city Stadt.
+     * @return Kosten oder -1, wenn alle Bauplaetze belegt sind.
+     */
+    public int getCityCost(int city) {
+        final int slot = getFreeSlot(city);
+        return slot < 0 ? -1 : tables.getCityCost(slot);
+    }
+
+    /**
+     * Kopiert die Staedte, die ein Spieler angeschlossen hat, in eine Menge des Aufrufers.
+     * Die Menge des Zustands selbst bleibt verborgen, damit niemand an Journal und Hash vorbei schreibt.
+     * @param player Spieler.
+     * @param into Ziel mit Kapazitaet getBoard().size(). Nicht null.
+     * @return Das Ziel.
+     * @throws IllegalArgumentException wenn das Ziel null ist oder nicht zum Spielplan passt.
+     */
+    public CitySet copyOwned(int player, CitySet into) {
+        return copy(owned[player], into);
+    }
+
+    /**
+     * Kopiert die Staedte, in denen ein Bauplatz belegt ist, in eine Menge des Aufrufers.
+     * Die Bauplaetze werden der Reihe nach belegt,
+     * eine Stadt mit belegtem Bauplatz s ist also auch in allen Bauplaetzen davor belegt.
+     * @param slot Bauplatz.
+     * @param into Ziel mit Kapazitaet getBoard().size(). Nicht null.
+     * @return Das Ziel.
+     * @throws IllegalArgumentException wenn das Ziel null ist oder nicht zum Spielplan passt.
+     */
+    public CitySet copyOccupied(int slot, CitySet into) {
+        return copy(occupied[slot], into);
+    }
+
+    /**
+     * Prueft, ob ein Bauplatz einer Stadt belegt ist.
+     * @param slot Bauplatz.
+     * @param city Stadt.
+     * @return true, wenn der Bauplatz einen Besitzer hat.
+     */
+    public boolean isOccupied(int slot, int city) {
+        return occupied[slot].contains(city);
+    }
+
+    /**
+     * Hilfsmethode, die eine Menge des Zustands in eine Menge des Aufrufers kopiert.
+     * @param from Menge des Zustands.
+     * @param into Ziel.
+     * @return Das Ziel.
+     */
+    private static CitySet copy(CitySet from, CitySet into) {
+        if (into == null || into.getCapacity() != from.getCapacity())
+            throw new IllegalArgumentException("Die Menge passt nicht zum Spielplan.");
+        return into.copyFrom(from);
+    }
+
+    /**
+     * Prueft, ob ein Spieler eine Stadt angeschlossen hat.
+     * @param player Spieler.
+     * @param city Stadt.
+     * @return true, wenn ein Bauplatz der Stadt dem Spieler gehoert.
+     */
+    public boolean isOwner(int player, int city) {
+        return owned[player].contains(city);
+    }
+
+    /**
+     * Anzahl angeschlossener Staedte eines Spielers.
+     * @param player Spieler.
+     * @return Anzahl.
+     */
+    public int getCitiesBuilt(int player) {
+        return citiesBuilt[player];
+    }
+
+    /**
+     * Ort eines Kraftwerks.
+     * @param plant Kraftwerksindex.
+     * @return Besitzer oder IN_DECK, IN_MARKET, REMOVED.
+     */
+    public int getPlantLocation(int plant) {
+        return plantLocation[plant];
+    }
+
+    /**
+     * Anzahl Kraftwerke eines Spielers.
+     * @param player Spieler.
+     * @return Anzahl.
+     */
+    public int getPlantCount(int player) {
+        int count = 0;
+        for (int location : plantLocation)
+            if (location == player)
+                count++;
+        return count;
+    }
+
+    /**
+     * Ein Kraftwerk eines Spielers. Die Kraftwerke eines Spielers sind aufsteigend nach Nummer geordnet.
+     * @param player Spieler.
+     * @param position Position unter den Kraftwerken des Spielers, beginnend mit 0.
+     * @return Kraftwerksindex oder -1, wenn der Spieler weniger Kraftwerke hat.
+     */
+    public int getPlayerPlant(int player, int position) {
+        int remaining = position;
+        for (int plant = 0; plant < plantLocation.length; plant++)
+            if (plantLocation[plant] == player && remaining-- == 0)
+                return plant;
+        return -1;
+    }
+
+    /**
+     * Die Spielerreihenfolge: mehr angeschlossene Staedte zuerst, bei Gleichstand das groessere Kraftwerk,
+     * danach die kleinere Spielernummer. Jeder Spieler bekommt einen long-Schluessel aus Staedten,
+     * Nummer des groessten Kraftwerks und Spielernummer, die Schluessel sortiert ein Einfuegesortieren.
+     * Legt keine Objekte an.
+     * @param order Empfaengt die Spieler, erster zuerst. Wenigstens getPlayers() Eintraege.
+     * @return Das Array order.
+     * @throws IllegalArgumentException wenn das Array zu kurz ist.
+     */
+    public int[] getPlayerOrder(int[] order) {
+        if (order == null || order.length < players)
+            throw new IllegalArgumentException("Das Array fuer die Spielerreihenfolge ist zu kurz.");
+        // Bits 32 bis 62 Staedte, 8 bis 31 groesstes Kraftwerk plus 1, 0 bis 7 invertierte Spielernummer.
+        for (int player = 0; player < players; player++)
+            orderKeys[player] = (long) citiesBuilt[player] << 32 | 0xFF - player;
+        // Die Kraftwerke sind nach Nummer geordnet, rueckwaerts gelesen kommt das groesste eines Spielers zuerst.
+        for (int plant = plantLocation.length - 1; plant >= 0; plant--) {
+            final int owner = plantLocation[plant];
+            if (owner >= 0 && (orderKeys[owner] & 0xFFFFFF00L) == 0)
+                orderKeys[owner] |= (long) (tables.getPlantNumber(plant) + 1) << 8;
+        }
+        for (int next = 1; next < players; next++) {
+            final long key = orderKeys[next];
+            int position = next;
+            while (position > 0 && orderKeys[position - 1] < key) {
+                orderKeys[position] = orderKeys[position - 1];
+                position--;
+            }
+            orderKeys[position] = key;
+        }
+        for (int rank = 0; rank < players; rank++)
+            order[rank] = 0xFF - (int) (orderKeys[rank] & 0xFF);
+        return order;
+    }
+
+    /**
+     * Ein Kraftwerk im Markt. Der Markt ist aufsteigend nach Nummer geordnet,
+     * die ersten getActualPlants(level) Kraftwerke bilden den aktuellen Markt.
+     * @param position Position im Markt, beginnend mit 0.
+     * @return Kraftwerksindex oder -1, wenn der Markt weniger Kraftwerke hat.
+     */
+    public int getMarketPlant(int position) {
+        return getPlayerPlant(IN_MARKET, position);
+    }
+
+    /**
+     * Anzahl Kraftwerke im verdeckten Stapel.
+     * @return Anzahl.
+     */
+    public int getDeckSize() {
+        return deck.length - deckTop;
+    }
+
+    /**
+     * Prueft, ob ein Spieler in dieser Runde schon Kraftwerke betrieben hat.
+     * @param player Spieler.
+     * @return true, wenn der Spieler schon Kraftwerke betrieben hat.
+     */
+    public boolean hasFired(int player) {
+        return (firedPlayers & 1 << player) != 0;
+    }
+
+    /**
+     * Anzahl Bytes, die writeTo fuer einen Zustand dieser Groesse braucht.
+     * @param players Anzahl Spieler.
+     * @param cities Anzahl Staedte.
+     * @param plants Anzahl Kraftwerke.
+     * @return Anzahl Bytes.
+     */
+    public static int getByteSize(int players, int cities, int plants) {
+        final int scalars = 5; // Phase, Runde, Stufe, Stapelposition, Bitmaske der Betreiber
+        final int perPlayer = 2 + EditionTables.RESOURCES; // Elektro, Staedte, Rohstoffe
+        return Integer.BYTES * (scalars + 2 * EditionTables.RESOURCES + players * perPlayer + cities * SLOTS + 2 * plants);
+    }
+
+    /**
+     * Anzahl Bytes, die writeTo fuer diesen Zustand braucht.
+     * @return Anzahl Bytes.
+     */
+    public int getByteSize() {
+        return getByteSize(players, board.size(), plantLocation.length);
+    }
+
+    /**
+     * Schreibt diesen Zustand in festem Aufbau in einen Puffer.
+     * Alle Werte sind ints. Die Arrays gehen in einem Stueck in den Puffer, nur die Besitzer der Bauplaetze
+     * werden einzeln auf ints erweitert.
+     * Der Stapel ist auf die Laenge aller Kraftwerke aufgefuellt, damit der Aufbau nur von den Groessen abhaengt.
+     * @param buffer Puffer mit wenigstens getByteSize() freien Bytes. Die Position rueckt entsprechend vor.
+     */
+    public void writeTo(ByteBuffer buffer) {
+        final IntBuffer ints = buffer.asIntBuffer();
+        ints.put(phase.ordinal()).put(round).put(level).put(deckTop).put(firedPlayers)
+                .put(money)
+                .put(market)
+                .put(supply)
+                .put(playerResources)
+                .put(citiesBuilt);
+        for (byte owner : cityOwners)
+            ints.put(owner);
+        ints.put(plantLocation)
+                .put(deck);
+        ints.position(ints.position() + plantLocation.length - deck.length);
+        buffer.position(buffer.position() + Integer.BYTES * ints.position());
+    }
+
+    /**
+     * Schreibt die Besitzer aller Bauplaetze in einem Stueck in einen Puffer, ein Byte pro Platz.
+     * Der Platz slot der Stadt city steht an Position city * SLOTS + slot, NO_OWNER fuer einen freien Platz.
+     * @param buffer Puffer mit wenigstens getBoard().size() * SLOTS freien Bytes. Die Position rueckt entsprechend vor.
+     */
+    public void writeOwnersTo(ByteBuffer buffer) {
+        buffer.put(cityOwners);
+    }
+
+    /**
+     * Liest einen Zustand, den writeTo geschrieben hat, in diesen Zustand ein.
+     * Spieleranzahl, Spielplan und Ausgabe muessen zu den geschriebenen Daten passen.
+     * Die Methode fuellt die vorhandenen Arrays und erzeugt keine neuen.
+     * Im Ring der Aenderungen steht danach RESET, die Zuege zum Zuruecknehmen sind vergessen.
+     * @param buffer Puffer mit den Daten. Die Position rueckt entsprechend vor.
+     */
+    public void readFrom(ByteBuffer buffer) {
+        final IntBuffer ints = buffer.asIntBuffer();
+        phase = PHASES[ints.get()];
+        round = ints.get();
+        level = ints.get();
+        deckTop = ints.get();
+        firedPlayers = ints.get();
+        ints.get(money)
+                .get(market)
+                .get(supply)
+                .get(playerResources)
+                .get(citiesBuilt);
+        for (int key = 0; key < cityOwners.length; key++)
+            cityOwners[key] = (byte) ints.get();
+        ints.get(plantLocation)
+                .get(deck);
+        ints.position(ints.position() + plantLocation.length - deck.length);
+        buffer.position(buffer.position() + Integer.BYTES * ints.position());
+        for (CitySet set : owned)
+            set.clear();
+        for (CitySet set : occupied)
+            set.clear();
+        for (int key = 0; key < cityOwners.length; key++)
+            if (cityOwners[key] != NO_OWNER) {
+                owned[cityOwners[key]].add(key / SLOTS);
+                occupied[key % SLOTS].add(key / SLOTS);
+            }
+        journalSize = 0;
+        marks = 0;
+        quietDepth = Integer.MAX_VALUE;
+        hash = Zobrist.hash(this);
+        if (deltas != null)
+            deltas.record(DeltaRing.RESET, 0, 0);
+    }
+
+    /**
+     * Setzt den Ring, in den dieser Zustand seine Aenderungen schreibt.
+     * @param deltas Ring oder null, um keine Aenderungen mehr aufzuzeichnen.
+     */
+    void setDeltas(DeltaRing deltas) {
+        this.deltas = deltas;
+    }
+
+    /**
+     * Zobrist-Hash des Zustands. Gleiche Stellungen haben gleiche Hashes, egal auf welchem Weg sie entstanden.
+     * @return Hash.
+     */
+    public long getHash() {
+        return hash;
+    }
+
+    /**
+     * Anzahl offener Zuege, die undo() noch zuruecknehmen kann.
+     * @return Anzahl.
+     */
+    public int getUndoDepth() {
+        return marks;
+    }
+
+    /**
+     * Beginnt einen Zug zum Ausprobieren, den undo() spaeter zuruecknehmen kann.
+     * Bis dahin schreibt jede Aenderung ihren alten Wert ins Journal und nichts in den Ring,
+     * Beobachter sehen also weder den Zug noch seine Ruecknahme.
+     */
+    void mark() {
+        if (quietDepth == Integer.MAX_VALUE)
+            quietDepth = marks;
+        open();
+    }
+
+    /**
+     * Beginnt eine Folge von Zuegen, die undo() zuruecknehmen oder commit() abschliessen kann.
+     * Anders als bei mark() gehen die Aenderungen in den Ring, ausser es ist schon ein Zug aus mark() offen.
+     */
+    void begin() {
+        open();
+    }
+
+    /**
+     * Nimmt den juengsten offenen Zug zurueck.
+     * Schreibt die alten Werte in umgekehrter Reihenfolge zurueck, der Aufwand haengt nur von der Anzahl Aenderungen ab.
+     */
+    void undo() {
+        final int start = markPositions[marks - 1];
+        while (journalSize > start) {
+            final long entry = journal[--journalSize];
+            final int kind = (int) (entry >>> 56);
+            final int key = (int) (entry >>> 32) & 0xFFFFFF;
+            final int old = (int) entry;
+            assign(kind, key, read(kind, key), old);
+        }
+        close();
+    }
+
+    /**
+     * Schliesst den juengsten offenen Zug ab, ohne ihn zurueckzunehmen.
+     * Ist noch ein aelterer Zug offen, bleiben die alten Werte im Journal und gehoeren zu diesem.
+     */
+    void commit() {
+        close();
+        if (marks == 0)
+            journalSize = 0;
+    }
+
+    /**
+     * Hilfsmethode, die einen Zug im Journal eroeffnet.
+     */
+    private void open() {
+        if (marks == markPositions.length)
+            markPositions = Arrays.copyOf(markPositions, 2 * marks);
+        markPositions[marks++] = journalSize;
+    }
+
+    /**
+     * Hilfsmethode, die den juengsten offenen Zug schliesst.
+     */
+    private void close() {
+        if (--marks == quietDepth)
+            quietDepth = Integer.MAX_VALUE;
+    }
+
+    /**
+     * Hilfsmethode, die einen Wert aendert.
+     * Alle veraendernden Methoden gehen hier durch, damit Journal und Ring jede Aenderung sehen.
+     * @param kind Art des Wertes, eine der Konstanten aus DeltaRing.
+     * @param key Eintrag, siehe DeltaRing.
+     * @param value Neuer Wert.
+     */
+    private void change(int kind, int key, int value) {
+        final int old = read(kind, key);
+        if (marks > 0) {
+            if (journalSize == journal.length)
+                journal = Arrays.copyOf(journal, 2 * journalSize);
+            journal[journalSize++] = (long) kind << 56 | (key & 0xFFFFFFL) << 32 | old & 0xFFFFFFFFL;
+        }
+        assign(kind, key, old, value);
+    }
+
+    /**
+     * Hilfsmethode, die einen Wert schreibt, den Hash nachfuehrt und die Aenderung in den Ring schreibt.
+     * Mengen gehen als Differenz in den Ring, alles andere als neuer Wert. Waehrend eines Zuges aus mark() bleibt der Ring leer.
+     * @param kind Art des Wertes.
+     * @param key Eintrag.
+     * @param old Alter Wert.
+     * @param value Neuer Wert.
+     */
+    private void assign(int kind, int key, int old, int value) {
+        write(kind, key, value);
+        if (Zobrist.isHashed(kind))
+            hash ^= Zobrist.key(kind, key, old) ^ Zobrist.key(kind, key, value);
+        if (deltas != null && marks <= quietDepth)
+            deltas.record(kind, key, DeltaRing.isDifference(kind) ? value - old : value);
+    }
+
+    /**
+     * Hilfsmethode, die einen Wert liest.
+     * @param kind Art des Wertes.
+     * @param key Eintrag.
+     * @return Wert.
+     */
+    private int read(int kind, int key) {
+        return switch (kind) {
+            case DeltaRing.MONEY -> money[key];
+            case DeltaRing.PLAYER_RESOURCE -> playerResources[key];
+            case DeltaRing.MARKET -> market[key];
+            case DeltaRing.SUPPLY -> supply[key];
+            case DeltaRing.CITY_OWNER -> cityOwners[key];
+            case DeltaRing.CITIES_BUILT -> citiesBuilt[key];
+            case DeltaRing.PLANT_LOCATION -> plantLocation[key];
+            case DeltaRing.FIRED -> hasFired(key) ? 1 : 0;
+            case DeltaRing.PHASE -> phase.ordinal();
+            case DeltaRing.ROUND -> round;
+            case DeltaRing.LEVEL -> level;
+            case DeltaRing.DECK_TOP -> deckTop;
+            default -> throw new AssertionError(kind);
+        };
+    }
+
+    /**
+     * Hilfsmethode, die einen Wert schreibt.
+     * @param kind Art des Wertes.
+     * @param key Eintrag.
+     * @param value Neuer Wert.
+     */
+    private void write(int kind, int key, int value) {
+        switch (kind) {
+            case DeltaRing.MONEY -> money[key] = value;
+            case DeltaRing.PLAYER_RESOURCE -> playerResources[key] = value;
+            case DeltaRing.MARKET -> market[key] = value;
+            case DeltaRing.SUPPLY -> supply[key] = value;
+            case DeltaRing.CITY_OWNER -> writeOwner(key, value);
+            case DeltaRing.CITIES_BUILT -> citiesBuilt[key] = value;
+            case DeltaRing.PLANT_LOCATION -> plantLocation[key] = value;
+            case DeltaRing.FIRED -> firedPlayers = value == 0 ? firedPlayers & ~(1 << key) : firedPlayers | 1 << key;
+            case DeltaRing.PHASE -> phase = PHASES[value];
+            case DeltaRing.ROUND -> round = value;
+            case DeltaRing.LEVEL -> level = value;
+            case DeltaRing.DECK_TOP -> deckTop = value;
+            default -> throw new AssertionError(kind);
+        }
+    }
+
+    /**
+     * Hilfsmethode, die den Besitzer eines Bauplatzes schreibt und die Mengen nachfuehrt.
+     * @param key Stadt * SLOTS + Bauplatz.
+     * @param value Spieler oder NO_OWNER.
+     */
+    private void writeOwner(int key, int value) {
+        final int city = key / SLOTS;
+        if (cityOwners[key] != NO_OWNER)
+            owned[cityOwners[key]].remove(city);
+        cityOwners[key] = (byte) value;
+        if (value == NO_OWNER)
+            occupied[key % SLOTS].remove(city);
+        else {
+            owned[value].add(city);
+            occupied[key % SLOTS].add(city);
+        }
+    }
+
+    /**
+     * Ein Spieler ersteigert ein Kraftwerk.
+     * Wenn er schon die Hoechstanzahl besitzt, verschwindet sein kleinstes Kraftwerk.
+     * Ein Kraftwerk aus dem Stapel ersetzt das ersteigerte im Markt.
+     * @param player Spieler.
+     * @param plant Kraftwerksindex.
+     * @param electro Aenderung des Guthabens (minus Gebot).
+     */
+    void acquirePlant(int player, int plant, int electro) {
+        change(DeltaRing.MONEY, player, money[player] + electro);
+        if (getPlantCount(player) >= tables.getPlantsLimit(players))
+            change(DeltaRing.PLANT_LOCATION, getPlayerPlant(player, 0), REMOVED);
+        change(DeltaRing.PLANT_LOCATION, plant, player);
+        if (deckTop < deck.length) {
+            change(DeltaRing.PLANT_LOCATION, deck[deckTop], IN_MARKET);
+            change(DeltaRing.DECK_TOP, 0, deckTop + 1);
+        }
+    }
+
+    /**
+     * Ein Spieler kauft Rohstoffe aus dem Markt.
+     * @param player Spieler.
+     * @param resource Rohstoff.
+     * @param amount Anzahl.
+     * @param electro Aenderung des Guthabens (minus Kosten).
+     */
+    void buyResource(int player, int resource, int amount, int electro) {
+        final int held = player * EditionTables.RESOURCES + resource;
+        change(DeltaRing.MONEY, player, money[player] + electro);
+        change(DeltaRing.MARKET, resource, market[resource] - amount);
+        change(DeltaRing.PLAYER_RESOURCE, held, playerResources[held] + amount);
+    }
+
+    /**
+     * Ein Spieler schliesst eine Stadt auf dem ersten freien Bauplatz an.
+     * @param player Spieler.
+     * @param city Stadt.
+     * @param electro Aenderung des Guthabens (minus Kosten).
+     */
+    void buildCity(int player, int city, int electro) {
+        change(DeltaRing.MONEY, player, money[player] + electro);
+        change(DeltaRing.CITY_OWNER, city * SLOTS + getFreeSlot(city), player);
+        change(DeltaRing.CITIES_BUILT, player, citiesBuilt[player] + 1);
+    }
+
+    /**
+     * Ein Spieler betreibt Kraftwerke und kassiert sein Einkommen.
+     * Die verbrauchten Rohstoffe wandern in den Vorrat.
+     * @param player Spieler.
+     * @param mask Bitmaske ueber die Kraftwerke des Spielers (Bit i = Position i).
+     * @param hybridCoal Kohle, die Hybridkraftwerke verbrauchen. Den Rest decken sie mit Oel.
+     * @param electro Aenderung des Guthabens (Einkommen).
+     */
+    void firePlants(int player, int mask, int hybridCoal, int electro) {
+        change(DeltaRing.MONEY, player, money[player] + electro);
+        change(DeltaRing.FIRED, player, 1);
+        int hybrid = 0;
+        int position = 0;
+        for (int plant = 0; plant < plantLocation.length; plant++)
+            if (plantLocation[plant] == player) {
+                if ((mask & 1 << position) != 0) {
+                    final int type = tables.getPlantType(plant);
+                    if (type < EditionTables.RESOURCES)
+                        consume(player, type, tables.getPlantResources(plant));
+                    else if (type == EditionTables.PLANT_HYBRID)
+                        hybrid += tables.getPlantResources(plant);
+                }
+                position++;
+            }
+        consume(player, 0, hybridCoal);
+        consume(player, 1, hybrid - hybridCoal);
+    }
+
+    /**
+     * Hilfsmethode, die Rohstoffe eines Spielers in den Vorrat legt.
+     * @param player Spieler.
+     * @param resource Rohstoff.
+     * @param amount Anzahl.
+     */
+    private void consume(int player, int resource, int amount) {
+        if (amount == 0)
+            return;
+        final int held = player * EditionTables.RESOURCES + resource;
+        change(DeltaRing.PLAYER_RESOURCE, held, playerResources[held] - amount);
+        change(DeltaRing.SUPPLY, resource, supply[resource] + amount);
+    }
+
+    /**
+     * Beendet die aktuelle Phase.
+     * Nach der Buerokratie beginnt eine neue Runde, oder das Spiel endet.
+     */
+    void endPhase() {
+        if (phase == Phase.Bureaucracy)
+            endRound();
+        else
+            change(DeltaRing.PHASE, 0, phase.ordinal() + 1);
+    }
+
+    /**
+     * Hilfsmethode, die eine Runde abschliesst.
+     * Prueft Stufe 2 und das Spielende und fuellt den Rohstoffmarkt aus dem Vorrat auf.
+     */
+    private void endRound() {
+        int mostCities = 0;
+        for (int cities : citiesBuilt)
+            mostCities = Math.max(mostCities, cities);
+        if (level == 0 && mostCities >= tables.getLevel2Cities(players))
+            change(DeltaRing.LEVEL, 0, 1);
+
+        for (int resource = 0; resource < EditionTables.RESOURCES; resource++) {
+            final int added = Math.min(supply[resource], tables.getResourceSupply(resource, players, level));
+            if (added > 0) {
+                change(DeltaRing.MARKET, resource, market[resource] + added);
+                change(DeltaRing.SUPPLY, resource, supply[resource] - added);
+            }
+        }
+
+        for (int player = 0; player < players; player++)
+            if (hasFired(player))
+                change(DeltaRing.FIRED, player, 0);
+        if (mostCities >= tables.getEndgameCities(players))
+            change(DeltaRing.PHASE, 0, Phase.Terminated.ordinal());
+        else {
+            change(DeltaRing.ROUND, 0, round + 1);
+            change(DeltaRing.PHASE, 0, Phase.PlayerOrder.ordinal());
+        }
+    }
+}
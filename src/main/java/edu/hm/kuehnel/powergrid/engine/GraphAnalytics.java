@@ -0,0 +1,432 @@
+/*
+ * Copyright (c) 2020 Stefan Kuehnel - All Rights Reserved
+ * Unauthorized copying of this file, via any medium is strictly prohibited
+ * Proprietary and confidential
+ * Written by Stefan Kuehnel <stefan.kuehnel@hm.edu>, May 2020
+ *
+ * DISCLAIMER. THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OR CONDITION,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. THE AUTHOR HEREBY DISCLAIMS
+ * ALL LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE.
+ */
+
+package edu.hm.kuehnel.powergrid.engine;
+
+import java.util.Arrays;
+
+/** Spannbaeume und Steinerbaum-Schranken auf einem nummerierten Spielplan.
+ * Eine Menge von Staedten ist eine Bitmaske aus getMaskWords() longs, Stadt c steht in Bit c % 64 von Wort c / 64.
+ * Fuer eine Menge von Zielstaedten schaetzt die Klasse, was es kostet, sie alle zu verbinden:
+ * Die obere Schranke ist das Gewicht eines echten Baums nach Takahashi-Matsuyama
+ * (immer die naechste Zielstadt ueber den kuerzesten Weg an den bisherigen Baum haengen).
+ * Dieser Baum ist hoechstens 2 (1 - 1/t) mal so schwer wie der beste Steinerbaum mit t Zielstaedten.
+ * Die untere Schranke ist das Maximum aus dieser Garantie und der halben Summe der Abstaende
+ * jeder Zielstadt zur naechsten anderen.
+ * Ergebnisse landen in einem direkt abgebildeten Cache, Schluessel ist die Bitmaske.
+ * Alle Zwischenspeicher werden wiederverwendet. Nicht threadsicher, etwa ein Objekt pro Such-Thread.
+ * @author Stefan Kuehnel, stefan.kuehnel@hm.edu
+ * @version last-modified 2026-10-19
+ */
+public class GraphAnalytics {
+    /**
+     * Ergebnis, wenn die Staedte nicht verbunden werden koennen.
+     */
+    public static final long UNREACHABLE = Long.MAX_VALUE;
+
+    /**
+     * Der Spielplan.
+     */
+    private final BoardIndex board;
+
+    /**
+     * Anzahl longs einer Bitmaske.
+     */
+    private final int words;
+
+    /**
+     * Abstand jeder Stadt zum bisherigen Baum.
+     */
+    private final long[] distance;
+
+    /**
+     * Vorgaenger auf dem kuerzesten Weg und Kosten der Verbindung dorthin.
+     */
+    private final int[] predecessor, predecessorCost;
+
+    /**
+     * Runde, in der eine Stadt in den Baum kam. Erspart das Loeschen zwischen zwei Rechnungen.
+     */
+    private final int[] inTree;
+
+    /**
+     * Staedte, deren Abstand in der laufenden Suche gesetzt wurde.
+     */
+    private final int[] touched;
+
+    /**
+     * Anzahl Eintraege in touched.
+     */
+    private int touchedCount;
+
+    /**
+     * Aktuelle Runde fuer inTree.
+     */
+    private int epoch;
+
+    /**
+     * Binaerer Heap aus Abstand << 32 | Stadt. Waechst bei Bedarf.
+     */
+    private long[] heap;
+
+    /**
+     * Anzahl Eintraege im Heap.
+     */
+    private int heapSize;
+
+    /**
+     * Zwischenspeicher fuer die Zielstaedte einer Rechnung.
+     */
+    private final int[] terminals;
+
+    /**
+     * Cache: Bitmasken, words longs pro Platz.
+     */
+    private final long[] cacheKeys;
+
+    /**
+     * Cache: untere und obere Schranke.
+     */
+    private final long[] cacheLower, cacheUpper;
+
+    /**
+     * Cache: belegte Plaetze.
+     */
+    private final boolean[] cacheUsed;
+
+    /**
+     * Anzahl Treffer im Cache.
+     */
+    private long cacheHits;
+
+    /**
+     * Untere und obere Schranke der letzten Rechnung.
+     */
+    private long lower, upper;
+
+    /**
+     * Initialisiert die Analyse fuer einen Spielplan.
+     * @param board Spielplan. Nicht null.
+     * @param cacheCapacity Anzahl Plaetze im Cache. Eine positive Zweierpotenz.
+     * @throws IllegalArgumentException wenn der Spielplan null oder die Anzahl keine positive Zweierpotenz ist.
+     */
+    public GraphAnalytics(BoardIndex board, int cacheCapacity) {
+        if (board == null)
+            throw new IllegalArgumentException("Der Spielplan darf nicht null sein.");
+        if (cacheCapacity < 1 || Integer.bitCount(cacheCapacity) != 1)
+            throw new IllegalArgumentException("Die Anzahl Plaetze muss eine positive Zweierpotenz sein: " + cacheCapacity);
+        this.board = board;
+        final int cities = board.size();
+        words = (cities + Long.SIZE - 1) / Long.SIZE;
+        distance = new long[cities];
+        Arrays.fill(distance, UNREACHABLE);
+        predecessor = new int[cities];
+        predecessorCost = new int[cities];
+        inTree = new int[cities];
+        touched = new int[cities];
+        terminals = new int[cities];
+        heap = new long[Math.max(16, cities)];
+        cacheKeys = new long[cacheCapacity * words];
+        cacheLower = new long[cacheCapacity];
+        cacheUpper = new long[cacheCapacity];
+        cacheUsed = new boolean[cacheCapacity];
+    }
+
+    /**
+     * Anzahl longs einer Bitmaske.
+     * @return Anzahl.
+     */
+    public int getMaskWords() {
+        return words;
+    }
+
+    /**
+     * Anzahl Treffer im Cache seit dem Anlegen.
+     * @return Anzahl.
+     */
+    public long getCacheHits() {
+        return cacheHits;
+    }
+
+    /**
+     * Gewicht des minimalen Spannbaums ueber genau den Staedten einer Menge,
+     * nur ueber Verbindungen zwischen diesen Staedten (Prim).
+     * @param mask Bitmaske der Staedte. Nicht null.
+     * @return Gewicht, 0 fuer hoechstens eine Stadt, UNREACHABLE wenn die Staedte unter sich nicht zusammenhaengen.
+     * @throws IllegalArgumentException wenn die Bitmaske nicht zum Spielplan passt.
+     */
+    public long getSpanningTreeWeight(long[] mask) {
+        final int count = collect(mask);
+        if (count < 2)
+            return 0;
+        epoch++;
+        long weight = 0;
+        int reached = 0;
+        push(terminals[0], 0);
+        while (heapSize > 0) {
+            final long top = pop();
+            final int city = (int) top;
+            if (inTree[city] == epoch)
+                continue;
+            inTree[city] = epoch;
+            weight += top >>> 32;
+            reached++;
+            for (int edge = board.getOffset(city); edge < board.getOffset(city + 1); edge++) {
+                final int target = board.getTarget(edge);
+                if (inTree[target] != epoch && contains(mask, target) && board.getCost(edge) < distance[target]) {
+                    touch(target, board.getCost(edge));
+                    push(target, board.getCost(edge));
+                }
+            }
+        }
+        reset();
+        return reached == count ? weight : UNREACHABLE;
+    }
+
+    /**
+     * Untere Schranke fuer die Kosten, alle Zielstaedte ueber beliebige Staedte zu verbinden.
+     * @param mask Bitmaske der Zielstaedte. Nicht null.
+     * @return Schranke oder UNREACHABLE.
+     * @throws IllegalArgumentException wenn die Bitmaske nicht zum Spielplan passt.
+     */
+    public long getSteinerLowerBound(long[] mask) {
+        analyze(mask);
+        return lower;
+    }
+
+    /**
+     * Gewicht eines Baums, der alle Zielstaedte verbindet, und damit eine obere Schranke.
+     * @param mask Bitmaske der Zielstaedte. Nicht null.
+     * @return Gewicht oder UNREACHABLE.
+     * @throws IllegalArgumentException wenn die Bitmaske nicht zum Spielplan passt.
+     */
+    public long getSteinerUpperBound(long[] mask) {
+        analyze(mask);
+        return upper;
+    }
+
+    /**
+     * Hilfsmethode, die beide Schranken aus dem Cache holt oder berechnet und in lower und upper ablegt.
+     * @param mask Bitmaske der Zielstaedte.
+     */
+    private void analyze(long[] mask) {
+        final int count = collect(mask);
+        final int slot = slot(mask);
+        if (cacheUsed[slot] && Arrays.equals(cacheKeys, slot * words, (slot + 1) * words, mask, 0, words)) {
+            cacheHits++;
+            lower = cacheLower[slot];
+            upper = cacheUpper[slot];
+            return;
+        }
+        if (count < 2) {
+            lower = 0;
+            upper = 0;
+        } else {
+            upper = shortestPathTree(mask, count);
+            if (upper == UNREACHABLE)
+                lower = UNREACHABLE;
+            else
+                lower = Math.max((upper * count + 2L * (count - 1) - 1) / (2L * (count - 1)),
+                        (nearestSum(mask, count) + 1) / 2);
+        }
+        System.arraycopy(mask, 0, cacheKeys, slot * words, words);
+        cacheLower[slot] = lower;
+        cacheUpper[slot] = upper;
+        cacheUsed[slot] = true;
+    }
+
+    /**
+     * Hilfsmethode fuer Takahashi-Matsuyama: Dijkstra vom Baum aus, jede erreichte Zielstadt
+     * kommt samt Weg mit Abstand 0 in den Baum, dann geht die Suche weiter.
+     * @param mask Bitmaske der Zielstaedte.
+     * @param count Anzahl Zielstaedte in terminals.
+     * @return Gewicht des Baums oder UNREACHABLE.
+     */
+    private long shortestPathTree(long[] mask, int count) {
+        epoch++;
+        long weight = 0;
+        int remaining = count - 1;
+        inTree[terminals[0]] = epoch;
+        touch(terminals[0], 0);
+        push(terminals[0], 0);
+        while (heapSize > 0 && remaining > 0) {
+            final long top = pop();
+            final int city = (int) top;
+            if (top >>> 32 != distance[city])
+                continue;
+            if (inTree[city] != epoch && contains(mask, city)) {
+                remaining--;
+                for (int path = city; inTree[path] != epoch; path = predecessor[path]) {
+                    inTree[path] = epoch;
+                    weight += predecessorCost[path];
+                    distance[path] = 0;
+                    push(path, 0);
+                }
+                continue;
+            }
+            for (int edge = board.getOffset(city); edge < board.getOffset(city + 1); edge++) {
+                final int target = board.getTarget(edge);
+                final long candidate = distance[city] + board.getCost(edge);
+                if (candidate < distance[target]) {
+                    touch(target, candidate);
+                    predecessor[target] = city;
+                    predecessorCost[target] = board.getCost(edge);
+                    push(target, candidate);
+                }
+            }
+        }
+        reset();
+        return remaining == 0 ? weight : UNREACHABLE;
+    }
+
+    /**
+     * Hilfsmethode, die fuer jede Zielstadt den Abstand zur naechsten anderen Zielstadt summiert.
+     * @param mask Bitmaske der Zielstaedte.
+     * @param count Anzahl Zielstaedte in terminals, wenigstens 2, alle untereinander erreichbar.
+     * @return Summe.
+     */
+    private long nearestSum(long[] mask, int count) {
+        long sum = 0;
+        for (int index = 0; index < count; index++) {
+            final int start = terminals[index];
+            touch(start, 0);
+            push(start, 0);
+            while (heapSize > 0) {
+                final long top = pop();
+                final int city = (int) top;
+                if (top >>> 32 != distance[city])
+                    continue;
+                if (city != start && contains(mask, city)) {
+                    sum += distance[city];
+                    break;
+                }
+                for (int edge = board.getOffset(city); edge < board.getOffset(city + 1); edge++) {
+                    final int target = board.getTarget(edge);
+                    final long candidate = distance[city] + board.getCost(edge);
+                    if (candidate < distance[target]) {
+                        touch(target, candidate);
+                        push(target, candidate);
+                    }
+                }
+            }
+            reset();
+        }
+        return sum;
+    }
+
+    /**
+     * Hilfsmethode, die die Staedte einer Bitmaske nach terminals schreibt.
+     * @param mask Bitmaske.
+     * @return Anzahl Staedte.
+     * @throws IllegalArgumentException wenn die Bitmaske nicht zum Spielplan passt.
+     */
+    private int collect(long[] mask) {
+        if (mask == null || mask.length != words)
+            throw new IllegalArgumentException("Die Bitmaske muss " + words + " longs haben.");
+        int count = 0;
+        for (int word = 0; word < words; word++)
+            for (long rest = mask[word]; rest != 0; rest &= rest - 1) {
+                final int city = word * Long.SIZE + Long.numberOfTrailingZeros(rest);
+                if (city >= board.size())
+                    throw new IllegalArgumentException("Keine Stadt mit Nummer " + city);
+                terminals[count++] = city;
+            }
+        return count;
+    }
+
+    /**
+     * Hilfsmethode, die den Platz einer Bitmaske im Cache berechnet.
+     * @param mask Bitmaske.
+     * @return Platz.
+     */
+    private int slot(long[] mask) {
+        long hash = 0;
+        for (long word : mask)
+            hash = (hash ^ word) * 0x9E37_79B9_7F4A_7C15L;
+        return (int) (hash >>> 32 ^ hash) & cacheUsed.length - 1;
+    }
+
+    /**
+     * Hilfsmethode, die prueft, ob eine Stadt in einer Bitmaske liegt.
+     * @param mask Bitmaske.
+     * @param city Stadt.
+     * @return true, wenn ja.
+     */
+    private static boolean contains(long[] mask, int city) {
+        return (mask[city >>> 6] & 1L << city) != 0;
+    }
+
+    /**
+     * Hilfsmethode, die einen Abstand setzt und sich die Stadt fuer reset() merkt.
+     * @param city Stadt.
+     * @param value Abstand.
+     */
+    private void touch(int city, long value) {
+        if (distance[city] == UNREACHABLE)
+            touched[touchedCount++] = city;
+        distance[city] = value;
+    }
+
+    /**
+     * Hilfsmethode, die alle gesetzten Abstaende und den Heap leert.
+     */
+    private void reset() {
+        for (int index = 0; index < touchedCount; index++)
+            distance[touched[index]] = UNREACHABLE;
+        touchedCount = 0;
+        heapSize = 0;
+    }
+
+    /**
+     * Hilfsmethode, die eine Stadt in den Heap legt.
+     * @param city Stadt.
+     * @param key Abstand. Passt in 31 Bit.
+     */
+    private void push(int city, long key) {
+        if (heapSize == heap.length)
+            heap = Arrays.copyOf(heap, heap.length * 2);
+        final long entry = key << 32 | city;
+        int index = heapSize++;
+        while (index > 0) {
+            final int parent = (index - 1) / 2;
+            if (heap[parent] <= entry)
+                break;
+            heap[index] = heap[parent];
+            index = parent;
+        }
+        heap[index] = entry;
+    }
+
+    /**
+     * Hilfsmethode, die den kleinsten Eintrag aus dem Heap nimmt.
+     * @return Eintrag: Abstand << 32 | Stadt.
+     */
+    private long pop() {
+        final long top = heap[0];
+        final long last = heap[--heapSize];
+        int index = 0;
+        while (true) {
+            int child = 2 * index + 1;
+            if (child >= heapSize)
+                break;
+            if (child + 1 < heapSize && heap[child + 1] < heap[child])
+                child++;
+            if (heap[child] >= last)
+                break;
+            heap[index] = heap[child];
+            index = child;
+        }
+        heap[index] = last;
+        return top;
+    }
+}
@@ -0,0 +1,243 @@
+/*
+ * Copyright (c) 2020 Stefan Kuehnel - All Rights Reserved
+ * Unauthorized copying of this file, via any medium is strictly prohibited
+ * Proprietary and confidential
+ * Written by Stefan Kuehnel <stefan.kuehnel@hm.edu>, May 2020
+ *
+ * DISCLAIMER. THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OR CONDITION,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. THE AUTHOR HEREBY DISCLAIMS
+ * ALL LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE.
+ */
+
+package edu.hm.kuehnel.powergrid.engine;
+
+import java.util.Arrays;
+
+/** Geld, Staedte und Kraftwerke aller Spieler eines Spieles in parallelen int-Arrays, Index = Spieler.
+ * Gedacht fuer die Abrechnung der Buerokratie in einem Durchgang und fuer die Wertung am Spielende,
+ * etwa ueber viele simulierte Spiele hinweg: Ein Ledger wird einmal angelegt und mit load()
+ * fuer jedes Spiel neu gefuellt. Danach legen weder Abrechnung noch Rangfolge Objekte an.
+ * Alle Aenderungen am Geld pruefen auf Ueberlauf.
+ * Die Rangfolge sortiert nach versorgten Staedten, dann Geld, dann angeschlossenen Staedten,
+ * bei Gleichstand gewinnt die kleinere Spielernummer. Sortiert wird ein long[] mit gepackten Schluesseln.
+ * Nicht threadsicher.
+ * @author Stefan Kuehnel, stefan.kuehnel@hm.edu
+ * @version last-modified 2026-10-19
+ */
+public class PlayerLedger {
+    /**
+     * Hoechstanzahl Spieler, die die gepackten Schluessel abdecken.
+     */
+    public static final int MAX_PLAYERS = 16;
+
+    /**
+     * Tabellen der Ausgabe.
+     */
+    private final EditionTables tables;
+
+    /**
+     * Anzahl Spieler.
+     */
+    private final int players;
+
+    /**
+     * Geld pro Spieler.
+     */
+    private final int[] money;
+
+    /**
+     * Angeschlossene Staedte pro Spieler.
+     */
+    private final int[] citiesBuilt;
+
+    /**
+     * Anzahl Kraftwerke pro Spieler.
+     */
+    private final int[] plantsOwned;
+
+    /**
+     * Summe der Staedte, die die Kraftwerke eines Spielers versorgen koennen.
+     */
+    private final int[] capacity;
+
+    /**
+     * Versorgte Staedte pro Spieler nach der letzten Abrechnung.
+     */
+    private final int[] citiesPowered;
+
+    /**
+     * Zwischenspeicher fuer die Schluessel der Rangfolge.
+     */
+    private final long[] keys;
+
+    /**
+     * Initialisiert ein leeres Ledger.
+     * @param tables Tabellen der Ausgabe. Nicht null.
+     * @param players Anzahl Spieler. Zwischen 1 und MAX_PLAYERS.
+     * @throws IllegalArgumentException wenn die Tabellen null sind oder die Spieleranzahl nicht passt.
+     */
+    public PlayerLedger(EditionTables tables, int players) {
+        if (tables == null)
+            throw new IllegalArgumentException("Die Tabellen duerfen nicht null sein.");
+        if (players < 1 || players > MAX_PLAYERS)
+            throw new IllegalArgumentException("Die Anzahl Spieler muss zwischen 1 und " + MAX_PLAYERS + " liegen: " + players);
+        this.tables = tables;
+        this.players = players;
+        money = new int[players];
+        citiesBuilt = new int[players];
+        plantsOwned = new int[players];
+        capacity = new int[players];
+        citiesPowered = new int[players];
+        keys = new long[players];
+    }
+
+    /**
+     * Fuellt das Ledger aus einem Spielzustand.
+     * Als versorgt gelten danach so viele Staedte, wie Kraftwerke und Anschluesse hoechstens zulassen.
+     * @param state Spielzustand mit der Spieleranzahl des Ledgers. Nicht null.
+     * @throws IllegalArgumentException wenn der Zustand null ist oder nicht passt.
+     */
+    public void load(GameState state) {
+        if (state == null || state.getPlayers() != players)
+            throw new IllegalArgumentException("Der Spielzustand passt nicht zum Ledger.");
+        Arrays.fill(plantsOwned, 0);
+        Arrays.fill(capacity, 0);
+        for (int plant = 0; plant < tables.getPlants(); plant++) {
+            final int owner = state.getPlantLocation(plant);
+            if (owner >= 0) {
+                plantsOwned[owner]++;
+                capacity[owner] += tables.getPlantCities(plant);
+            }
+        }
+        for (int player = 0; player < players; player++) {
+            money[player] = state.getMoney(player);
+            citiesBuilt[player] = state.getCitiesBuilt(player);
+            citiesPowered[player] = Math.min(capacity[player], citiesBuilt[player]);
+        }
+    }
+
+    /**
+     * Anzahl Spieler.
+     * @return Anzahl.
+     */
+    public int getPlayers() {
+        return players;
+    }
+
+    /**
+     * Geld eines Spielers.
+     * @param player Spieler.
+     * @return Elektro.
+     */
+    public int getMoney(int player) {
+        return money[player];
+    }
+
+    /**
+     * Angeschlossene Staedte eines Spielers.
+     * @param player Spieler.
+     * @return Anzahl.
+     */
+    public int getCitiesBuilt(int player) {
+        return citiesBuilt[player];
+    }
+
+    /**
+     * Anzahl Kraftwerke eines Spielers.
+     * @param player Spieler.
+     * @return Anzahl.
+     */
+    public int getPlantsOwned(int player) {
+        return plantsOwned[player];
+    }
+
+    /**
+     * Summe der Staedte, die die Kraftwerke eines Spielers versorgen koennen.
+     * @param player Spieler.
+     * @return Anzahl.
+     */
+    public int getCapacity(int player) {
+        return capacity[player];
+    }
+
+    /**
+     * Versorgte Staedte eines Spielers nach load() oder der letzten Abrechnung.
+     * @param player Spieler.
+     * @return Anzahl.
+     */
+    public int getCitiesPowered(int player) {
+        return citiesPowered[player];
+    }
+
+    /**
+     * Aendert das Geld eines Spielers.
+     * @param player Spieler.
+     * @param amount Betrag, negativ fuer Ausgaben.
+     * @throws IllegalArgumentException wenn der Spieler nicht genug Geld hat.
+     * @throws IllegalStateException wenn das Geld ueberlaeuft.
+     */
+    public void addMoney(int player, int amount) {
+        final long result = (long) money[player] + amount;
+        if (result < 0)
+            throw new IllegalArgumentException("Der Spieler hat nicht genug Geld.");
+        if (result > Integer.MAX_VALUE)
+            throw new IllegalStateException("Das Geld des Spielers laeuft ueber.");
+        money[player] = (int) result;
+    }
+
+    /**
+     * Rechnet die Buerokratie fuer alle Spieler in einem Durchgang ab.
+     * Jeder Spieler versorgt hoechstens so viele Staedte, wie Kraftwerke und Anschluesse zulassen,
+     * und erhaelt das Einkommen dafuer. Prueft erst alle Spieler und aendert dann das Geld,
+     * bei einem Ueberlauf bleibt das Ledger also unveraendert.
+     * @param powered Staedte, die jeder Spieler versorgen will. Wenigstens getPlayers() Eintraege, nicht negativ.
+     * @throws IllegalArgumentException wenn das Array zu kurz ist oder negative Eintraege hat.
+     * @throws IllegalStateException wenn das Geld eines Spielers ueberlaeuft.
+     */
+    public void settle(int[] powered) {
+        if (powered == null || powered.length < players)
+            throw new IllegalArgumentException("Es fehlen versorgte Staedte fuer einige Spieler.");
+        for (int player = 0; player < players; player++) {
+            if (powered[player] < 0)
+                throw new IllegalArgumentException("Negative Anzahl versorgter Staedte: " + powered[player]);
+            if ((long) money[player] + income(player, powered[player]) > Integer.MAX_VALUE)
+                throw new IllegalStateException("Das Geld des Spielers laeuft ueber: " + player);
+        }
+        for (int player = 0; player < players; player++) {
+            citiesPowered[player] = Math.min(powered[player], Math.min(capacity[player], citiesBuilt[player]));
+            money[player] += tables.getIncome(citiesPowered[player]);
+        }
+    }
+
+    /**
+     * Die Rangfolge der Spieler: versorgte Staedte, dann Geld, dann angeschlossene Staedte.
+     * @param order Empfaengt die Spieler, bester zuerst. Wenigstens getPlayers() Eintraege.
+     * @throws IllegalArgumentException wenn das Array zu kurz ist.
+     */
+    public void rank(int[] order) {
+        if (order == null || order.length < players)
+            throw new IllegalArgumentException("Das Array fuer die Rangfolge ist zu kurz.");
+        // Bits 46 bis 62 versorgte Staedte, 14 bis 45 Geld, 4 bis 13 angeschlossene Staedte, 0 bis 3 Spieler.
+        // Die Spielernummer ist invertiert, damit bei Gleichstand die kleinere Nummer vorne steht.
+        for (int player = 0; player < players; player++)
+            keys[player] = (long) Math.min(citiesPowered[player], 0x1FFFF) << 46
+                    | (long) Math.max(money[player], 0) << 14
+                    | (long) Math.min(citiesBuilt[player], 0x3FF) << 4
+                    | MAX_PLAYERS - 1 - player;
+        Arrays.sort(keys);
+        for (int rank = 0; rank < players; rank++)
+            order[rank] = MAX_PLAYERS - 1 - (int) (keys[players - 1 - rank] & MAX_PLAYERS - 1);
+    }
+
+    /**
+     * Hilfsmethode, die das Einkommen eines Spielers fuer eine Abrechnung berechnet.
+     * @param player Spieler.
+     * @param powered Gewuenschte versorgte Staedte.
+     * @return Einkommen.
+     */
+    private int income(int player, int powered) {
+        return tables.getIncome(Math.min(powered, Math.min(capacity[player], citiesBuilt[player])));
+    }
+}
@@ -0,0 +1,287 @@
+/*
+ * Copyright (c) 2020 Stefan Kuehnel - All Rights Reserved
+ * Unauthorized copying of this file, via any medium is strictly prohibited
+ * Proprietary and confidential
+ * Written by Stefan Kuehnel <stefan.kuehnel@hm.edu>, May 2020
+ *
+ * DISCLAIMER. THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OR CONDITION,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. THE AUTHOR HEREBY DISCLAIMS
+ * ALL LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE.
+ */
+
+package edu.hm.kuehnel.powergrid.engine;
+
+import edu.hm.cs.rs.powergrid.datastore.Board;
+import edu.hm.cs.rs.powergrid.datastore.City;
+
+import java.util.Arrays;
+import java.util.function.LongConsumer;
+
+/** Waehlt die Gebiete aus, auf denen ein Spiel ablaeuft.
+ * Board.closeRegions() behaelt immer die Gebiete mit den kleinsten Nummern.
+ * Der RegionSelector dagegen zaehlt alle zusammenhaengenden Auswahlen von Gebieten auf und bewertet sie.
+ * Eine Menge von Gebieten ist ein long, Gebiet r steht in Bit r - 1. Es gibt hoechstens MAX_REGIONS Gebiete.
+ * Die Bewertung ist eine Abschaetzung des minimalen Spannbaums der ausgewaehlten Staedte:
+ * die Summe der Spannbaeume der einzelnen Gebiete plus ein Spannbaum ueber die billigsten
+ * Verbindungen zwischen den Gebieten. Kleiner ist besser.
+ * Spannbaeume und Grenzkosten entstehen einmal im Konstruktor. Danach arbeitet die Auswahl nur noch
+ * auf Bitmasken und kleinen Arrays und legt keine Objekte an.
+ * @author Stefan Kuehnel, stefan.kuehnel@hm.edu
+ * @version last-modified 2026-10-19
+ */
+public class RegionSelector {
+    /**
+     * Hoechstanzahl Gebiete. Zwei Bits bleiben frei, damit die Aufzaehlung nicht ueberlaeuft.
+     */
+    public static final int MAX_REGIONS = Long.SIZE - 2;
+
+    /**
+     * Eintrag fuer "keine Verbindung" in den Grenzkosten.
+     */
+    private static final int NONE = Integer.MAX_VALUE;
+
+    /**
+     * Anzahl Gebiete, also die groesste Nummer eines Gebiets.
+     */
+    private final int regions;
+
+    /**
+     * Pro Gebiet (Index = Nummer - 1): die benachbarten Gebiete als Bitmaske.
+     */
+    private final long[] adjacent;
+
+    /**
+     * Pro Gebiet: Gewicht des minimalen Spannbaums (bzw. Spannwalds) seiner Staedte.
+     */
+    private final long[] internal;
+
+    /**
+     * Billigste Verbindung zwischen zwei Gebieten, Index regions * a + b, NONE ohne Verbindung.
+     */
+    private final int[] border;
+
+    /**
+     * Zwischenspeicher fuer den Spannbaum ueber Gebiete: billigste Anbindung an den Baum.
+     */
+    private final int[] attach;
+
+    /**
+     * Analysiert einen Spielplan.
+     * @param board Spielplan mit allen Gebieten. Nicht null.
+     * @throws IllegalArgumentException wenn der Spielplan null ist oder zu viele Gebiete hat.
+     */
+    public RegionSelector(BoardIndex board) {
+        if (board == null)
+            throw new IllegalArgumentException("Der Spielplan darf nicht null sein.");
+        int highest = 0;
+        for (int city = 0; city < board.size(); city++)
+            highest = Math.max(highest, board.getRegion(city));
+        if (highest > MAX_REGIONS)
+            throw new IllegalArgumentException("Hoechstens " + MAX_REGIONS + " Gebiete erlaubt: " + highest);
+        regions = highest;
+        adjacent = new long[regions];
+        internal = new long[regions];
+        border = new int[regions * regions];
+        attach = new int[regions];
+        Arrays.fill(border, NONE);
+
+        // Grenzen und Verbindungen innerhalb der Gebiete, jede Verbindung nur in einer Richtung.
+        final long[] inner = new long[board.getEdges()];
+        final int[] from = new int[board.getEdges()];
+        int innerCount = 0;
+        for (int city = 0; city < board.size(); city++) {
+            final int region = board.getRegion(city) - 1;
+            for (int edge = board.getOffset(city); edge < board.getOffset(city + 1); edge++) {
+                final int target = board.getTarget(edge);
+                final int other = board.getRegion(target) - 1;
+                if (other != region) {
+                    adjacent[region] |= 1L << other;
+                    border[regions * region + other] = Math.min(border[regions * region + other], board.getCost(edge));
+                } else if (city < target) {
+                    from[edge] = city;
+                    inner[innerCount++] = (long) board.getCost(edge) << 32 | edge;
+                }
+            }
+        }
+
+        // Kruskal ueber alle inneren Verbindungen ergibt die Spannbaeume aller Gebiete auf einmal.
+        Arrays.sort(inner, 0, innerCount);
+        final int[] parent = new int[board.size()];
+        Arrays.setAll(parent, city -> city);
+        for (int index = 0; index < innerCount; index++) {
+            final int edge = (int) inner[index];
+            final int first = find(parent, from[edge]);
+            final int second = find(parent, board.getTarget(edge));
+            if (first != second) {
+                parent[first] = second;
+                internal[board.getRegion(second) - 1] += board.getCost(edge);
+            }
+        }
+    }
+
+    /**
+     * Anzahl Gebiete auf dem Spielplan.
+     * @return Anzahl.
+     */
+    public int getRegions() {
+        return regions;
+    }
+
+    /**
+     * Benachbarte Gebiete.
+     * @param region Nummer des Gebiets, ab 1.
+     * @return Bitmaske der Nachbarn.
+     */
+    public long getAdjacent(int region) {
+        return adjacent[region - 1];
+    }
+
+    /**
+     * Prueft, ob eine Menge von Gebieten zusammenhaengt.
+     * @param selection Bitmaske der Gebiete. Nicht leer.
+     * @return true, wenn jedes Gebiet von jedem anderen ueber Nachbarn in der Menge erreichbar ist.
+     */
+    public boolean isConnected(long selection) {
+        long reached = Long.lowestOneBit(selection);
+        long frontier = reached;
+        while (frontier != 0) {
+            long next = 0;
+            for (long rest = frontier; rest != 0; rest &= rest - 1)
+                next |= adjacent[Long.numberOfTrailingZeros(rest)];
+            frontier = next & selection & ~reached;
+            reached |= frontier;
+        }
+        return reached == selection;
+    }
+
+    /**
+     * Zaehlt alle zusammenhaengenden Mengen mit einer Anzahl Gebiete in aufsteigender Reihenfolge auf.
+     * @param count Anzahl Gebiete. Zwischen 1 und getRegions().
+     * @param consumer Empfaenger der Bitmasken. Nicht null.
+     * @throws IllegalArgumentException wenn die Anzahl nicht passt.
+     */
+    public void forEachConnected(int count, LongConsumer consumer) {
+        requireCount(count);
+        final long limit = 1L << regions;
+        // Gosper: naechste Bitmaske mit gleich vielen Einsen.
+        for (long selection = (1L << count) - 1; selection < limit; ) {
+            if (isConnected(selection))
+                consumer.accept(selection);
+            final long lowest = selection & -selection;
+            final long ripple = selection + lowest;
+            selection = ((ripple ^ selection) >>> 2) / lowest | ripple;
+        }
+    }
+
+    /**
+     * Bewertet eine Menge von Gebieten.
+     * @param selection Bitmaske der Gebiete. Nicht leer.
+     * @return Geschaetztes Gewicht des Spannbaums, Long.MAX_VALUE wenn die Menge nicht zusammenhaengt.
+     */
+    public long score(long selection) {
+        long score = 0;
+        for (long rest = selection; rest != 0; rest &= rest - 1)
+            score += internal[Long.numberOfTrailingZeros(rest)];
+
+        // Prim ueber die Gebiete der Menge.
+        long inTree = Long.lowestOneBit(selection);
+        for (long rest = selection; rest != 0; rest &= rest - 1) {
+            final int region = Long.numberOfTrailingZeros(rest);
+            attach[region] = border[regions * Long.numberOfTrailingZeros(inTree) + region];
+        }
+        while (inTree != selection) {
+            int best = -1;
+            for (long rest = selection & ~inTree; rest != 0; rest &= rest - 1) {
+                final int region = Long.numberOfTrailingZeros(rest);
+                if (best < 0 || attach[region] < attach[best])
+                    best = region;
+            }
+            if (attach[best] == NONE)
+                return Long.MAX_VALUE;
+            score += attach[best];
+            inTree |= 1L << best;
+            for (long rest = selection & ~inTree; rest != 0; rest &= rest - 1) {
+                final int region = Long.numberOfTrailingZeros(rest);
+                attach[region] = Math.min(attach[region], border[regions * best + region]);
+            }
+        }
+        return score;
+    }
+
+    /**
+     * Sucht die am besten bewertete zusammenhaengende Menge von Gebieten.
+     * Bei gleicher Bewertung gewinnt die Menge mit den kleineren Nummern.
+     * @param count Anzahl Gebiete, etwa aus Edition.getRegionsUsed(). Zwischen 1 und getRegions().
+     * @return Bitmaske der Gebiete oder 0, wenn es keine zusammenhaengende Menge gibt.
+     * @throws IllegalArgumentException wenn die Anzahl nicht passt.
+     */
+    public long select(int count) {
+        requireCount(count);
+        long best = 0;
+        long bestScore = Long.MAX_VALUE;
+        final long limit = 1L << regions;
+        for (long selection = (1L << count) - 1; selection < limit; ) {
+            final long score = score(selection);
+            if (score < bestScore) {
+                bestScore = score;
+                best = selection;
+            }
+            final long lowest = selection & -selection;
+            final long ripple = selection + lowest;
+            selection = ((ripple ^ selection) >>> 2) / lowest | ripple;
+        }
+        return best;
+    }
+
+    /**
+     * Entfernt in einem Durchgang alle Staedte ausserhalb einer Menge von Gebieten
+     * samt allen Verbindungen zu ihnen. Das Gegenstueck zu Board.closeRegions() fuer beliebige Mengen.
+     * @param board Offener Spielplan. Nicht null.
+     * @param selection Bitmaske der Gebiete, die bleiben.
+     * @throws IllegalArgumentException wenn der Spielplan null ist.
+     */
+    public static void keep(Board board, long selection) {
+        if (board == null)
+            throw new IllegalArgumentException("Der Spielplan darf nicht null sein.");
+        board.getCities().removeIf(city -> !contains(selection, city.getRegion()));
+        for (City city : board.getCities())
+            city.getConnections().keySet().removeIf(other -> !contains(selection, other.getRegion()));
+    }
+
+    /**
+     * Hilfsmethode, die prueft, ob ein Gebiet in einer Menge liegt.
+     * @param selection Bitmaske.
+     * @param region Nummer des Gebiets, ab 1.
+     * @return true, wenn ja.
+     */
+    private static boolean contains(long selection, int region) {
+        return region >= 1 && region <= MAX_REGIONS && (selection >>> region - 1 & 1) != 0;
+    }
+
+    /**
+     * Hilfsmethode, die den Vertreter einer Stadt im Union-Find sucht und den Pfad dabei halbiert.
+     * @param parent Vorgaenger.
+     * @param city Stadt.
+     * @return Vertreter.
+     */
+    private static int find(int[] parent, int city) {
+        int current = city;
+        while (parent[current] != current) {
+            parent[current] = parent[parent[current]];
+            current = parent[current];
+        }
+        return current;
+    }
+
+    /**
+     * Hilfsmethode, die eine Anzahl Gebiete prueft.
+     * @param count Anzahl.
+     * @throws IllegalArgumentException wenn die Anzahl nicht zwischen 1 und getRegions() liegt.
+     */
+    private void requireCount(int count) {
+        if (count < 1 || count > regions)
+            throw new IllegalArgumentException("Die Anzahl Gebiete muss zwischen 1 und " + regions + " liegen: " + count);
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2020 Stefan Kuehnel - All Rights Reserved
+ * Unauthorized copying of this file, via any medium is strictly prohibited
+ * Proprietary and confidential
+ * Written by Stefan Kuehnel <stefan.kuehnel@hm.edu>, May 2020
+ *
+ * DISCLAIMER. THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OR CONDITION,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. THE AUTHOR HEREBY DISCLAIMS
+ * ALL LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE.
+ */
+
+package edu.hm.kuehnel.powergrid.engine;
+
+/** Zobrist-Schluessel fuer Spielzustaende.
+ * Jeder Wert im Zustand (Art, Eintrag, Wert) bekommt einen 64-Bit-Schluessel.
+ * Der Hash eines Zustands ist das XOR aller Schluessel.
+ * Aendert sich ein Wert, genuegen zwei XOR, um den Hash nachzufuehren.
+ * Statt einer Tabelle mit Zufallszahlen mischt eine SplitMix64-Funktion die Schluessel aus Art, Eintrag und Wert.
+ * So bekommen auch unbeschraenkte Werte wie das Guthaben einen Schluessel.
+ * Das Guthaben geht nur grob in Stufen von MONEY_BUCKET Elektro ein,
+ * damit Stellungen mit fast gleichem Guthaben zusammenfallen.
+ * Abgeleitete Werte (angeschlossene Staedte, Position im Stapel) gehen nicht ein.
+ * @author Stefan Kuehnel, stefan.kuehnel@hm.edu
+ * @version last-modified 2026-10-19
+ */
+public final class Zobrist {
+    /**
+     * Breite der Stufen, in denen das Guthaben in den Hash eingeht.
+     */
+    public static final int MONEY_BUCKET = 5;
+
+    /**
+     * Fester Startwert fuer das Mischen, damit Hashes ueber Laeufe hinweg gleich bleiben.
+     */
+    private static final long SEED = 0x5A0B_2157_C0FF_EE11L;
+
+    /**
+     * Nicht instanziierbar.
+     */
+    private Zobrist() {
+    }
+
+    /**
+     * Prueft, ob eine Art von Wert in den Hash eingeht.
+     * @param kind Art, eine der Konstanten aus DeltaRing.
+     * @return true, wenn ja.
+     */
+    public static boolean isHashed(int kind) {
+        return kind != DeltaRing.CITIES_BUILT && kind != DeltaRing.DECK_TOP && kind != DeltaRing.RESET;
+    }
+
+    /**
+     * Schluessel eines Wertes.
+     * @param kind Art, eine der Konstanten aus DeltaRing.
+     * @param key Eintrag.
+     * @param value Wert.
+     * @return Schluessel.
+     */
+    public static long key(int kind, int key, int value) {
+        final int bucket = kind == DeltaRing.MONEY ? Math.floorDiv(value, MONEY_BUCKET) : value;
+        return mix(SEED ^ ((long) kind << 56 | (key & 0xFFFFFFL) << 32 | bucket & 0xFFFFFFFFL));
+    }
+
+    /**
+     * Berechnet den Hash eines Zustands von Grund auf.
+     * @param state Zustand. Nicht null.
+     * @return Hash.
+     */
+    public static long hash(GameState state) {
+        final int players = state.getPlayers();
+        long hash = key(DeltaRing.PHASE, 0, state.getPhase().ordinal())
+                ^ key(DeltaRing.ROUND, 0, state.getRound())
+                ^ key(DeltaRing.LEVEL, 0, state.getLevel());
+        for (int player = 0; player < players; player++) {
+            hash ^= key(DeltaRing.MONEY, player, state.getMoney(player))
+                    ^ key(DeltaRing.FIRED, player, state.hasFired(player) ? 1 : 0);
+            for (int resource = 0; resource < EditionTables.RESOURCES; resource++)
+                hash ^= key(DeltaRing.PLAYER_RESOURCE, player * EditionTables.RESOURCES + resource,
+                        state.getResources(player, resource));
+        }
+        for (int resource = 0; resource < EditionTables.RESOURCES; resource++)
+            hash ^= key(DeltaRing.MARKET, resource, state.getMarket(resource))
+                    ^ key(DeltaRing.SUPPLY, resource, state.getSupply(resource));
+        for (int city = 0; city < state.getBoard().size(); city++)
+            for (int slot = 0; slot < GameState.SLOTS; slot++)
+                hash ^= key(DeltaRing.CITY_OWNER, city * GameState.SLOTS + slot, state.getCityOwner(city, slot));
+        for (int plant = 0; plant < state.getTables().getPlants(); plant++)
+            hash ^= key(DeltaRing.PLANT_LOCATION, plant, state.getPlantLocation(plant));
+        return hash;
+    }
+
+    /**
+     * Hilfsmethode, die 64 Bit nach SplitMix64 durchmischt.
+     * @param value Eingabe.
+     * @return Gemischter Wert.
+     */
+    private static long mix(long value) {
+        long mixed = (value ^ value >>> 30) * 0xBF58_476D_1CE4_E5B9L;
+        mixed = (mixed ^ mixed >>> 27) * 0x94D0_49BB_1331_11EBL;
+        return mixed ^ mixed >>> 31;
+    }
+}
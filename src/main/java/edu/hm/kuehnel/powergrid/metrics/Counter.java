@@ -0,0 +1,61 @@
+/*
+ * Copyright (c) 2020 Stefan Kuehnel - All Rights Reserved
+ * Unauthorized copying of this file, via any medium is strictly prohibited
+ * Proprietary and confidential
+ * Written by Stefan Kuehnel <stefan.kuehnel@hm.edu>, May 2020
+ *
+ * DISCLAIMER. THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OR CONDITION,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. THE AUTHOR HEREBY DISCLAIMS
+ * ALL LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE.
+ */
+
+package edu.hm.kuehnel.powergrid.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/** Ein Zaehler, der nur waechst.
+ * Verteilt die Zugriffe intern auf mehrere Zellen (LongAdder), damit Threads sich nicht behindern.
+ * Zaehlen legt keine Objekte an.
+ * @author Stefan Kuehnel, stefan.kuehnel@hm.edu
+ * @version last-modified 2026-10-19
+ */
+public final class Counter {
+    /**
+     * Die Zellen.
+     */
+    private final LongAdder cells = new LongAdder();
+
+    /**
+     * Nur ueber MetricsRegistry anzulegen.
+     */
+    Counter() {
+    }
+
+    /**
+     * Zaehlt um eins weiter.
+     */
+    public void increment() {
+        cells.increment();
+    }
+
+    /**
+     * Zaehlt um einen Betrag weiter.
+     * @param amount Betrag. Nicht negativ.
+     * @throws IllegalArgumentException wenn der Betrag negativ ist.
+     */
+    public void add(long amount) {
+        if (amount < 0)
+            throw new IllegalArgumentException("Ein Zaehler kann nicht sinken: " + amount);
+        cells.add(amount);
+    }
+
+    /**
+     * Aktueller Stand. Nicht atomar gegenueber gleichzeitigem Zaehlen.
+     * @return Stand.
+     */
+    public long get() {
+        return cells.sum();
+    }
+}
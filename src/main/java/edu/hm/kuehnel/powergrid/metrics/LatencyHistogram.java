@@ -0,0 +1,148 @@
+/*
+ * Copyright (c) 2020 Stefan Kuehnel - All Rights Reserved
+ * Unauthorized copying of this file, via any medium is strictly prohibited
+ * Proprietary and confidential
+ * Written by Stefan Kuehnel <stefan.kuehnel@hm.edu>, May 2020
+ *
+ * DISCLAIMER. THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OR CONDITION,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. THE AUTHOR HEREBY DISCLAIMS
+ * ALL LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE.
+ */
+
+package edu.hm.kuehnel.powergrid.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/** Ein Histogramm fuer Dauern in Nanosekunden mit logarithmischen Klassen, aehnlich HdrHistogram.
+ * Werte unter 2^SUB_BITS haben je eine eigene Klasse. Darueber teilt sich jede Zweierpotenz
+ * in 2^SUB_BITS gleich breite Klassen, der relative Fehler liegt also unter 1/2^SUB_BITS.
+ * Die Klassen liegen in mehreren Streifen aus AtomicLongArray. Jeder Thread schreibt fest in einen Streifen,
+ * so behindern sich Spiele in verschiedenen Threads kaum. Erst Auswertungen fassen die Streifen zusammen.
+ * Aufzeichnen legt keine Objekte an und kommt ohne Sperren aus.
+ * @author Stefan Kuehnel, stefan.kuehnel@hm.edu
+ * @version last-modified 2026-10-19
+ */
+public final class LatencyHistogram {
+    /**
+     * Bits fuer die Unterteilung einer Zweierpotenz.
+     */
+    public static final int SUB_BITS = 4;
+
+    /**
+     * Klassen pro Zweierpotenz.
+     */
+    private static final int SUB_BUCKETS = 1 << SUB_BITS;
+
+    /**
+     * Anzahl Klassen fuer alle nicht negativen longs.
+     */
+    static final int BUCKETS = (Long.SIZE - SUB_BITS) * SUB_BUCKETS;
+
+    /**
+     * Die Streifen.
+     */
+    private final AtomicLongArray[] stripes;
+
+    /**
+     * Summe aller Werte.
+     */
+    private final LongAdder sum = new LongAdder();
+
+    /**
+     * Nur ueber MetricsRegistry anzulegen.
+     */
+    LatencyHistogram() {
+        final int count = Integer.highestOneBit(Math.max(1, Runtime.getRuntime().availableProcessors()) * 2 - 1);
+        stripes = new AtomicLongArray[count];
+        for (int stripe = 0; stripe < count; stripe++)
+            stripes[stripe] = new AtomicLongArray(BUCKETS);
+    }
+
+    /**
+     * Zeichnet eine Dauer auf.
+     * @param nanos Dauer in Nanosekunden. Negative Werte zaehlen als 0.
+     */
+    public void record(long nanos) {
+        final long value = Math.max(0, nanos);
+        final int stripe = (int) (Thread.currentThread().getId() * 0x9E37_79B9L >>> 16) & stripes.length - 1;
+        stripes[stripe].incrementAndGet(bucket(value));
+        sum.add(value);
+    }
+
+    /**
+     * Anzahl aufgezeichneter Werte.
+     * @return Anzahl.
+     */
+    public long getCount() {
+        long count = 0;
+        for (AtomicLongArray stripe : stripes)
+            for (int bucket = 0; bucket < BUCKETS; bucket++)
+                count += stripe.get(bucket);
+        return count;
+    }
+
+    /**
+     * Summe aller aufgezeichneten Werte.
+     * @return Summe in Nanosekunden.
+     */
+    public long getSum() {
+        return sum.sum();
+    }
+
+    /**
+     * Ein Quantil.
+     * @param quantile Anteil zwischen 0 und 1, etwa 0.99.
+     * @return Groesster Wert der Klasse, in die das Quantil faellt, in Nanosekunden. 0 ohne Werte.
+     * @throws IllegalArgumentException wenn der Anteil nicht zwischen 0 und 1 liegt.
+     */
+    public long getQuantile(double quantile) {
+        if (!(quantile >= 0 && quantile <= 1))
+            throw new IllegalArgumentException("Das Quantil muss zwischen 0 und 1 liegen: " + quantile);
+        final long[] counts = new long[BUCKETS];
+        long total = 0;
+        for (AtomicLongArray stripe : stripes)
+            for (int bucket = 0; bucket < BUCKETS; bucket++) {
+                counts[bucket] += stripe.get(bucket);
+                total += stripe.get(bucket);
+            }
+        if (total == 0)
+            return 0;
+        final long rank = Math.max(1, (long) Math.ceil(quantile * total));
+        long seen = 0;
+        for (int bucket = 0; bucket < BUCKETS; bucket++) {
+            seen += counts[bucket];
+            if (seen >= rank)
+                return highest(bucket);
+        }
+        return highest(BUCKETS - 1);
+    }
+
+    /**
+     * Klasse eines Wertes.
+     * @param value Wert. Nicht negativ.
+     * @return Klasse.
+     */
+    static int bucket(long value) {
+        if (value < SUB_BUCKETS)
+            return (int) value;
+        final int exponent = Long.SIZE - 1 - Long.numberOfLeadingZeros(value);
+        final int sub = (int) (value >>> exponent - SUB_BITS) & SUB_BUCKETS - 1;
+        return (exponent - SUB_BITS + 1) * SUB_BUCKETS + sub;
+    }
+
+    /**
+     * Groesster Wert einer Klasse.
+     * @param bucket Klasse.
+     * @return Wert.
+     */
+    static long highest(int bucket) {
+        if (bucket < SUB_BUCKETS)
+            return bucket;
+        final int exponent = bucket / SUB_BUCKETS + SUB_BITS - 1;
+        final long lowest = (long) (SUB_BUCKETS + bucket % SUB_BUCKETS) << exponent - SUB_BITS;
+        return lowest + (1L << exponent - SUB_BITS) - 1;
+    }
+}
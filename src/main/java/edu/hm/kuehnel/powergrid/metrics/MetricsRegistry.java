@@ -0,0 +1,161 @@
+/*
+ * Copyright (c) 2020 Stefan Kuehnel - All Rights Reserved
+ * Unauthorized copying of this file, via any medium is strictly prohibited
+ * Proprietary and confidential
+ * Written by Stefan Kuehnel <stefan.kuehnel@hm.edu>, May 2020
+ *
+ * DISCLAIMER. THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OR CONDITION,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. THE AUTHOR HEREBY DISCLAIMS
+ * ALL LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE.
+ */
+
+package edu.hm.kuehnel.powergrid.metrics;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/** Eine Sammlung benannter Zaehler und Histogramme mit Ausgabe im Textformat von Prometheus.
+ * Zaehler und Histogramme werden einmal angelegt, am besten in static final Feldern,
+ * und danach ohne Sperren und ohne neue Objekte fortgeschrieben.
+ * Histogramme erscheinen in der Ausgabe als Summary mit Quantilen in Sekunden.
+ * Die Engine und die Factory schreiben in die gemeinsame Sammlung getDefault().
+ * @author Stefan Kuehnel, stefan.kuehnel@hm.edu
+ * @version last-modified 2026-10-19
+ */
+public class MetricsRegistry {
+    /**
+     * Quantile, die fuer jedes Histogramm ausgegeben werden.
+     */
+    private static final double[] QUANTILES = {0.5, 0.9, 0.99, 0.999};
+
+    /**
+     * Erlaubte Namen nach Prometheus.
+     */
+    private static final Pattern NAME = Pattern.compile("[a-zA-Z_:][a-zA-Z0-9_:]*");
+
+    /**
+     * Die gemeinsame Sammlung.
+     */
+    private static final MetricsRegistry DEFAULT = new MetricsRegistry();
+
+    /**
+     * Die Metriken nach Namen: Counter oder LatencyHistogram.
+     */
+    private final Map<String, Object> metrics = new ConcurrentHashMap<>();
+
+    /**
+     * Die Beschreibungen nach Namen.
+     */
+    private final Map<String, String> helps = new ConcurrentHashMap<>();
+
+    /**
+     * Die gemeinsame Sammlung fuer Engine, Factory und Server.
+     * @return Sammlung.
+     */
+    public static MetricsRegistry getDefault() {
+        return DEFAULT;
+    }
+
+    /**
+     * Liefert einen Zaehler und legt ihn beim ersten Aufruf an.
+     * @param name Name nach Prometheus, etwa "powergrid_games_started_total".
+     * @param help Beschreibung. Nicht null.
+     * @return Zaehler.
+     * @throws IllegalArgumentException wenn der Name ungueltig ist oder schon ein Histogramm bezeichnet.
+     */
+    public Counter counter(String name, String help) {
+        return register(name, help, Counter.class);
+    }
+
+    /**
+     * Liefert ein Histogramm fuer Dauern in Nanosekunden und legt es beim ersten Aufruf an.
+     * @param name Name nach Prometheus, etwa "powergrid_phase_seconds".
+     * @param help Beschreibung. Nicht null.
+     * @return Histogramm.
+     * @throws IllegalArgumentException wenn der Name ungueltig ist oder schon einen Zaehler bezeichnet.
+     */
+    public LatencyHistogram histogram(String name, String help) {
+        return register(name, help, LatencyHistogram.class);
+    }
+
+    /**
+     * Schreibt alle Metriken im Textformat von Prometheus, nach Namen sortiert.
+     * @param writer Ziel. Nicht null.
+     * @throws IOException wenn das Schreiben scheitert.
+     */
+    public void writePrometheus(Writer writer) throws IOException {
+        for (Map.Entry<String, Object> entry : new TreeMap<>(metrics).entrySet()) {
+            final String name = entry.getKey();
+            writer.write("# HELP " + name + ' ' + helps.get(name) + '\n');
+            if (entry.getValue() instanceof Counter) {
+                writer.write("# TYPE " + name + " counter\n");
+                writer.write(name + ' ' + ((Counter) entry.getValue()).get() + '\n');
+            } else {
+                final LatencyHistogram histogram = (LatencyHistogram) entry.getValue();
+                writer.write("# TYPE " + name + " summary\n");
+                for (double quantile : QUANTILES)
+                    writer.write(name + "{quantile=\"" + quantile + "\"} " + seconds(histogram.getQuantile(quantile)) + '\n');
+                writer.write(name + "_sum " + seconds(histogram.getSum()) + '\n');
+                writer.write(name + "_count " + histogram.getCount() + '\n');
+            }
+        }
+        writer.flush();
+    }
+
+    /**
+     * Schreibt alle Metriken in eine Datei, etwa fuer den Textfile-Collector von Prometheus.
+     * Die Datei wird ueber eine temporaere Datei ersetzt, Leser sehen nie eine halbe Ausgabe.
+     * @param file Datei. Nicht null.
+     * @throws IOException wenn das Schreiben scheitert.
+     */
+    public void writePrometheus(Path file) throws IOException {
+        final Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+        try (Writer writer = Files.newBufferedWriter(temporary, StandardCharsets.UTF_8)) {
+            writePrometheus(writer);
+        }
+        Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Hilfsmethode, die eine Metrik sucht oder anlegt.
+     * @param name Name.
+     * @param help Beschreibung.
+     * @param type Erwartete Klasse.
+     * @param <T> Erwarteter Typ.
+     * @return Metrik.
+     * @throws IllegalArgumentException wenn der Name ungueltig ist oder eine Metrik anderer Art bezeichnet.
+     */
+    private <T> T register(String name, String help, Class<T> type) {
+        if (name == null || !NAME.matcher(name).matches())
+            throw new IllegalArgumentException("Ungueltiger Name: " + name);
+        if (help == null)
+            throw new IllegalArgumentException("Die Beschreibung darf nicht null sein.");
+        final Object metric = metrics.computeIfAbsent(name, key -> {
+            helps.put(key, help.replace('\n', ' '));
+            return type == Counter.class ? new Counter() : new LatencyHistogram();
+        });
+        if (!type.isInstance(metric))
+            throw new IllegalArgumentException("Der Name bezeichnet schon eine andere Metrik: " + name);
+        return type.cast(metric);
+    }
+
+    /**
+     * Hilfsmethode, die Nanosekunden als Sekunden formatiert.
+     * @param nanos Nanosekunden.
+     * @return Text.
+     */
+    private static String seconds(long nanos) {
+        return String.format(Locale.ROOT, "%.9f", nanos / 1e9);
+    }
+}
@@ -0,0 +1,306 @@
+/*
+ * Copyright (c) 2020 Stefan Kuehnel - All Rights Reserved
+ * Unauthorized copying of this file, via any medium is strictly prohibited
+ * Proprietary and confidential
+ * Written by Stefan Kuehnel <stefan.kuehnel@hm.edu>, May 2020
+ *
+ * DISCLAIMER. THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OR CONDITION,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. THE AUTHOR HEREBY DISCLAIMS
+ * ALL LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE.
+ */
+
+package edu.hm.kuehnel.powergrid.persistence;
+
+import edu.hm.kuehnel.powergrid.engine.BoardIndex;
+import edu.hm.kuehnel.powergrid.engine.GameState;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/** Ein Spielplan und die Besitzer seiner Bauplaetze in vielen Spielen als Spalten primitiver Werte.
+ * Fuer Auswertungen ausserhalb der Bibliothek, die sonst Staedte, Verbindungen und Maps durchlaufen muessten.
+ * Die Datei ist little-endian wie Apache Arrow und jede Spalte beginnt auf einer durch 8 teilbaren Position,
+ * ein Werkzeug kann sie also direkt einblenden und der Reihe nach lesen.
+ * Aufbau der Datei: Kopf (Kennung, Version, 2 Byte frei, Anzahl Zeilen als long), Spielplan, dann die Zeilen.
+ * Aufbau des Spielplans: Anzahl Staedte n, Anzahl Verbindungen m, Laenge der Namen in Byte, Bauplaetze pro Stadt,
+ * dann die Spalten Namensanfaenge (int[n + 1]), Namen (UTF-8), Gebiete (int[n]), Verbindungsanfaenge (int[n + 1]),
+ * Ziele (int[m]) und Kosten (int[m]). Die Verbindungen sind im CSR-Format des BoardIndex.
+ * Eine Zeile haelt die Besitzer aller Bauplaetze eines Spieles wie GameState.writeOwnersTo, aufgefuellt auf 8 Byte.
+ * @author Stefan Kuehnel, stefan.kuehnel@hm.edu
+ * @version last-modified 2026-10-19
+ */
+public class BoardExport implements Closeable {
+    /**
+     * Kennung am Dateianfang ("PGBX").
+     */
+    static final int MAGIC = 0x50474258;
+
+    /**
+     * Version des Dateiformats.
+     */
+    static final short VERSION = 1;
+
+    /**
+     * Laenge des Dateikopfes in Byte.
+     */
+    static final int HEADER_SIZE = 16;
+
+    /**
+     * Position der Anzahl Zeilen im Kopf.
+     */
+    static final int ROWS_POSITION = 8;
+
+    /**
+     * Anzahl Zeilen, die sich im Puffer sammeln, bevor er in die Datei geht.
+     */
+    static final int ROWS_PER_FLUSH = 256;
+
+    /**
+     * Der exportierte Spielplan.
+     */
+    private final BoardIndex board;
+
+    /**
+     * Der Kanal zur Datei.
+     */
+    private final FileChannel channel;
+
+    /**
+     * Laenge einer Zeile in Byte.
+     */
+    private final int rowSize;
+
+    /**
+     * Puffer fuer die noch nicht geschriebenen Zeilen.
+     */
+    private final ByteBuffer buffer;
+
+    /**
+     * Anzahl angehaengter Zeilen.
+     */
+    private long rows;
+
+    /**
+     * Legt eine neue Datei an und schreibt Kopf und Spielplan.
+     * @param path Pfad der Datei. Die Datei darf noch nicht existieren.
+     * @param board Spielplan aller Zeilen. Nicht null.
+     * Scheitert das Schreiben, schliesst der Konstruktor die Datei und loescht sie wieder.
+     * @throws IOException wenn die Datei nicht angelegt oder Kopf und Spielplan nicht geschrieben werden koennen.
+     */
+    public BoardExport(Path path, BoardIndex board) throws IOException {
+        if (board == null)
+            throw new IllegalArgumentException("Der Spielplan darf nicht null sein.");
+        this.board = board;
+        rowSize = getRowSize(board);
+        buffer = ByteBuffer.allocateDirect(Math.max(HEADER_SIZE + getByteSize(board), rowSize * ROWS_PER_FLUSH))
+                .order(ByteOrder.LITTLE_ENDIAN);
+        channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        try {
+            buffer.putInt(MAGIC)
+                    .putShort(VERSION)
+                    .putShort((short) 0)
+                    .putLong(0);
+            writeBoard(board, buffer);
+            flush();
+        } catch (UncheckedIOException exception) {
+            throw abandon(path, exception.getCause());
+        } catch (RuntimeException exception) {
+            throw abandon(path, exception);
+        }
+    }
+
+    /**
+     * Hilfsmethode, die eine halb geschriebene Datei schliesst und loescht.
+     * Scheitert auch das, haengt der Fehler unterdrueckt an der urspruenglichen Ausnahme.
+     * @param path Pfad der Datei.
+     * @param failure Ausnahme, an der das Schreiben gescheitert ist.
+     * @param <T> Typ der Ausnahme.
+     * @return Die urspruengliche Ausnahme zum Werfen.
+     */
+    private <T extends Exception> T abandon(Path path, T failure) {
+        try {
+            channel.close();
+            Files.deleteIfExists(path);
+        } catch (IOException exception) {
+            failure.addSuppressed(exception);
+        }
+        return failure;
+    }
+
+    /**
+     * Haengt die Besitzer der Bauplaetze eines Spieles als Zeile an.
+     * @param state Spielzustand auf dem Spielplan dieser Datei. Nicht null.
+     * @throws IllegalArgumentException wenn der Zustand null ist oder einen anderen Spielplan hat.
+     * @throws UncheckedIOException wenn das Schreiben scheitert.
+     */
+    public void append(GameState state) {
+        if (state == null || state.getBoard() != board)
+            throw new IllegalArgumentException("Der Spielzustand gehoert nicht zum Spielplan der Datei.");
+        if (buffer.remaining() < rowSize)
+            flush();
+        writeOwners(state, buffer);
+        rows++;
+    }
+
+    /**
+     * Anzahl angehaengter Zeilen.
+     * @return Anzahl.
+     */
+    public long getRows() {
+        return rows;
+    }
+
+    /**
+     * Schreibt alle gepufferten Zeilen in die Datei.
+     * @throws UncheckedIOException wenn das Schreiben scheitert.
+     */
+    public void flush() {
+        buffer.flip();
+        try {
+            while (buffer.hasRemaining())
+                channel.write(buffer);
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        } finally {
+            buffer.clear();
+        }
+    }
+
+    /**
+     * Schreibt den Puffer, traegt die Anzahl Zeilen in den Kopf ein und schliesst die Datei.
+     * @throws IOException wenn das Schreiben scheitert.
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+            buffer.putLong(rows).flip();
+            while (buffer.hasRemaining())
+                channel.write(buffer, ROWS_POSITION + buffer.position());
+            channel.force(false);
+        } catch (UncheckedIOException exception) {
+            throw exception.getCause();
+        } finally {
+            channel.close();
+        }
+    }
+
+    /**
+     * Anzahl Bytes, die writeBoard fuer einen Spielplan braucht.
+     * @param board Spielplan. Nicht null.
+     * @return Anzahl Bytes, durch 8 teilbar.
+     */
+    public static int getByteSize(BoardIndex board) {
+        final int cities = board.size();
+        return 4 * Integer.BYTES
+                + align(Integer.BYTES * (cities + 1))
+                + align(getNameBytes(board))
+                + align(Integer.BYTES * cities)
+                + align(Integer.BYTES * (cities + 1))
+                + 2 * align(Integer.BYTES * board.getEdges());
+    }
+
+    /**
+     * Schreibt einen Spielplan als Spalten in einen Puffer. Die Reihenfolge der Bytes bestimmt der Puffer.
+     * @param board Spielplan. Nicht null.
+     * @param buffer Puffer mit wenigstens getByteSize(board) freien Bytes. Die Position rueckt entsprechend vor.
+     */
+    public static void writeBoard(BoardIndex board, ByteBuffer buffer) {
+        final int start = buffer.position();
+        final int cities = board.size();
+        final byte[][] names = new byte[cities][];
+        int nameBytes = 0;
+        for (int city = 0; city < cities; city++) {
+            names[city] = board.getName(city).getBytes(StandardCharsets.UTF_8);
+            nameBytes += names[city].length;
+        }
+        buffer.putInt(cities)
+                .putInt(board.getEdges())
+                .putInt(nameBytes)
+                .putInt(GameState.SLOTS);
+
+        int nameOffset = 0;
+        for (byte[] name : names) {
+            buffer.putInt(nameOffset);
+            nameOffset += name.length;
+        }
+        buffer.putInt(nameOffset);
+        pad(buffer, start);
+        for (byte[] name : names)
+            buffer.put(name);
+        pad(buffer, start);
+        for (int city = 0; city < cities; city++)
+            buffer.putInt(board.getRegion(city));
+        pad(buffer, start);
+        for (int city = 0; city <= cities; city++)
+            buffer.putInt(board.getOffset(city));
+        pad(buffer, start);
+        for (int edge = 0; edge < board.getEdges(); edge++)
+            buffer.putInt(board.getTarget(edge));
+        pad(buffer, start);
+        for (int edge = 0; edge < board.getEdges(); edge++)
+            buffer.putInt(board.getCost(edge));
+        pad(buffer, start);
+    }
+
+    /**
+     * Laenge einer Zeile fuer einen Spielplan.
+     * @param board Spielplan. Nicht null.
+     * @return Anzahl Bytes, durch 8 teilbar.
+     */
+    public static int getRowSize(BoardIndex board) {
+        return align(board.size() * GameState.SLOTS);
+    }
+
+    /**
+     * Schreibt die Besitzer der Bauplaetze eines Spieles als Zeile in einen Puffer.
+     * @param state Spielzustand. Nicht null.
+     * @param buffer Puffer mit wenigstens getRowSize(state.getBoard()) freien Bytes. Die Position rueckt entsprechend vor.
+     */
+    public static void writeOwners(GameState state, ByteBuffer buffer) {
+        final int start = buffer.position();
+        state.writeOwnersTo(buffer);
+        pad(buffer, start);
+    }
+
+    /**
+     * Hilfsmethode, die die Laenge der Namen aller Staedte in UTF-8 berechnet.
+     * @param board Spielplan.
+     * @return Anzahl Bytes.
+     */
+    private static int getNameBytes(BoardIndex board) {
+        int bytes = 0;
+        for (int city = 0; city < board.size(); city++)
+            bytes += board.getName(city).getBytes(StandardCharsets.UTF_8).length;
+        return bytes;
+    }
+
+    /**
+     * Hilfsmethode, die eine Laenge auf ein Vielfaches von 8 aufrundet.
+     * @param bytes Laenge.
+     * @return Aufgerundete Laenge.
+     */
+    private static int align(int bytes) {
+        return bytes + 7 & ~7;
+    }
+
+    /**
+     * Hilfsmethode, die einen Puffer mit Nullen auffuellt, bis er vom Start aus auf einer durch 8 teilbaren Position steht.
+     * @param buffer Puffer.
+     * @param start Startposition.
+     */
+    private static void pad(ByteBuffer buffer, int start) {
+        while ((buffer.position() - start) % 8 != 0)
+            buffer.put((byte) 0);
+    }
+}
@@ -0,0 +1,343 @@
+/*
+ * Copyright (c) 2020 Stefan Kuehnel - All Rights Reserved
+ * Unauthorized copying of this file, via any medium is strictly prohibited
+ * Proprietary and confidential
+ * Written by Stefan Kuehnel <stefan.kuehnel@hm.edu>, May 2020
+ *
+ * DISCLAIMER. THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OR CONDITION,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. THE AUTHOR HEREBY DISCLAIMS
+ * ALL LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE.
+ */
+
+package edu.hm.kuehnel.powergrid.persistence;
+
+import edu.hm.cs.rs.powergrid.Edition;
+import edu.hm.cs.rs.powergrid.datastore.Board;
+import edu.hm.cs.rs.powergrid.datastore.Factory;
+import edu.hm.cs.rs.powergrid.datastore.Resource;
+import edu.hm.kuehnel.powergrid.datastore.FrozenBoard;
+import edu.hm.kuehnel.powergrid.engine.BoardIndex;
+import edu.hm.kuehnel.powergrid.engine.EditionTables;
+import edu.hm.kuehnel.powergrid.engine.EditionValidator;
+import edu.hm.kuehnel.powergrid.metrics.Counter;
+import edu.hm.kuehnel.powergrid.metrics.MetricsRegistry;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/** Die vorberechneten Teile einer Ausgabe: Tabellen und geschlossene Spielplaene fuer jede Spieleranzahl.
+ * Der Build legt sie mit main() als Ressource ab. Ein frisch gestarteter Server laedt sie mit load()
+ * in einem Lesevorgang, statt die Texte der Ausgabe zu zerlegen und die Spielplaene ueber die Factory zu bauen.
+ * Fehlt die Ressource oder passt sie nicht, baut load() die Teile wie bisher.
+ * Eine verworfene Ressource zaehlt der Zaehler powergrid_edition_artifacts_rejected_total.
+ * Das Format: Kennung, Version, Fingerabdruck der Ausgabe, Klassenname der Ausgabe, Klassenname der Factory,
+ * Tabellen, Spielplaene, dann pro Spieleranzahl die Nummer ihres Spielplans.
+ * Gleiche Gebietsanzahlen teilen sich einen Spielplan.
+ * Der Fingerabdruck laeuft ueber alle Angaben der Ausgabe. Aendert sich die Ausgabe nach dem Build
+ * oder kommt eine andere Factory, gilt die Ressource als veraltet und load() baut die Teile neu.
+ * @author Stefan Kuehnel, stefan.kuehnel@hm.edu
+ * @version last-modified 2026-10-19
+ */
+public class EditionArtifacts {
+    /**
+     * Kennung am Dateianfang ("PGEA").
+     */
+    static final int MAGIC = 0x50474541;
+
+    /**
+     * Version des Formats.
+     */
+    static final short VERSION = 2;
+
+    /**
+     * Verzeichnis der Ressourcen im Klassenpfad.
+     */
+    private static final String RESOURCE_DIRECTORY = "edu/hm/kuehnel/powergrid/editions/";
+
+    /**
+     * Anzahl vorhandener, aber veralteter oder kaputter Ressourcen, fuer die load() die Teile selbst gebaut hat.
+     */
+    private static final Counter RESOURCES_REJECTED = MetricsRegistry.getDefault()
+            .counter("powergrid_edition_artifacts_rejected_total",
+                    "Verworfene vorberechnete Ausgaben, deren Teile beim Start neu gebaut wurden.");
+
+    /**
+     * Klassenname der Factory, die die Spielplaene gebaut hat.
+     */
+    private final String factoryName;
+
+    /**
+     * Tabellen der Ausgabe.
+     */
+    private final EditionTables tables;
+
+    /**
+     * Nummerierte Spielplaene, Index = Spieleranzahl.
+     */
+    private final BoardIndex[] boards;
+
+    /**
+     * Uebernimmt fertige Teile.
+     * @param factoryName Klassenname der Factory der Spielplaene.
+     * @param tables Tabellen.
+     * @param boards Spielplaene, Index = Spieleranzahl.
+     */
+    private EditionArtifacts(String factoryName, EditionTables tables, BoardIndex[] boards) {
+        this.factoryName = factoryName;
+        this.tables = tables;
+        this.boards = boards;
+    }
+
+    /**
+     * Baut die Teile aus der Ausgabe und der Factory.
+     * @param factory Factory fuer die Spielplaene. Nicht null.
+     * @param edition Ausgabe. Nicht null.
+     * @return Teile.
+     * @throws IllegalArgumentException wenn ein Argument null ist oder die Ausgabe nicht gueltig ist.
+     */
+    public static EditionArtifacts build(Factory factory, Edition edition) {
+        if (factory == null || edition == null)
+            throw new IllegalArgumentException("Factory und Edition duerfen nicht null sein.");
+        EditionValidator.requireValid(edition);
+        final EditionTables tables = new EditionTables(edition);
+        final BoardIndex[] boards = new BoardIndex[tables.getPlayersMaximum() + 1];
+        for (int players = tables.getPlayersMinimum(); players <= tables.getPlayersMaximum(); players++) {
+            if (players > tables.getPlayersMinimum() && tables.getRegionsUsed(players) == tables.getRegionsUsed(players - 1)) {
+                boards[players] = boards[players - 1];
+                continue;
+            }
+            final Board board = factory.newBoard(edition);
+            board.closeRegions(tables.getRegionsUsed(players));
+            board.close();
+            boards[players] = new BoardIndex(new FrozenBoard(board));
+        }
+        return new EditionArtifacts(factory.getClass().getName(), tables, boards);
+    }
+
+    /**
+     * Laedt die Teile aus der Ressource der Ausgabe oder baut sie, wenn es keine passende Ressource gibt.
+     * Passend ist eine Ressource mit dem Fingerabdruck der Ausgabe, deren Spielplaene dieselbe Factory gebaut hat.
+     * @param factory Factory fuer die Spielplaene, falls gebaut werden muss. Nicht null.
+     * @param edition Ausgabe. Nicht null.
+     * @return Teile.
+     * @throws IllegalArgumentException wenn ein Argument null ist.
+     */
+    public static EditionArtifacts load(Factory factory, Edition edition) {
+        if (factory == null || edition == null)
+            throw new IllegalArgumentException("Factory und Edition duerfen nicht null sein.");
+        final ClassLoader loader = EditionArtifacts.class.getClassLoader();
+        try (InputStream in = loader.getResourceAsStream(getResourceName(edition.getClass().getName()))) {
+            if (in != null)
+                return read(in.readAllBytes(), factory, edition);
+        } catch (IOException | RuntimeException exception) {
+            // Eine veraltete oder kaputte Ressource bremst nur den Start, das Spiel baut die Teile selbst.
+            // Der Zaehler macht sichtbar, dass der Build die Ressource erneuern sollte.
+            RESOURCES_REJECTED.increment();
+        }
+        return build(factory, edition);
+    }
+
+    /**
+     * Liest Teile, die writeTo geschrieben hat. Die Ausgabe entsteht ueber ihren Klassennamen.
+     * @param in Quelle. Wird ganz gelesen, aber nicht geschlossen. Nicht null.
+     * @return Teile.
+     * @throws IOException wenn die Quelle nicht lesbar ist, nicht passt oder die Ausgabe unbekannt ist.
+     */
+    public static EditionArtifacts readFrom(InputStream in) throws IOException {
+        return read(in.readAllBytes(), null, null);
+    }
+
+    /**
+     * Schreibt die Teile.
+     * @param out Ziel. Wird nicht geschlossen. Nicht null.
+     * @throws IOException wenn das Schreiben scheitert.
+     */
+    public void writeTo(OutputStream out) throws IOException {
+        final DataOutputStream data = new DataOutputStream(out);
+        data.writeInt(MAGIC);
+        data.writeShort(VERSION);
+        data.writeLong(fingerprint(tables.getEdition()));
+        data.writeUTF(tables.getEdition().getClass().getName());
+        data.writeUTF(factoryName);
+        tables.writeTo(data);
+
+        final List<BoardIndex> distinct = new ArrayList<>();
+        for (BoardIndex board : boards)
+            if (board != null && !distinct.contains(board))
+                distinct.add(board);
+        data.writeInt(distinct.size());
+        for (BoardIndex board : distinct)
+            board.writeTo(data);
+        for (int players = tables.getPlayersMinimum(); players <= tables.getPlayersMaximum(); players++)
+            data.writeInt(distinct.indexOf(boards[players]));
+        data.flush();
+    }
+
+    /**
+     * Tabellen der Ausgabe.
+     * @return Tabellen. Nicht null.
+     */
+    public EditionTables getTables() {
+        return tables;
+    }
+
+    /**
+     * Der geschlossene Spielplan fuer eine Spieleranzahl.
+     * @param players Anzahl Spieler. Im Bereich der Ausgabe.
+     * @return Spielplan. Nicht null.
+     * @throws IllegalArgumentException wenn die Spieleranzahl nicht zur Ausgabe passt.
+     */
+    public BoardIndex getBoard(int players) {
+        if (players < tables.getPlayersMinimum() || players > tables.getPlayersMaximum())
+            throw new IllegalArgumentException("Die Anzahl Spieler passt nicht zur Edition: " + players);
+        return boards[players];
+    }
+
+    /**
+     * Name der Ressource einer Ausgabe im Klassenpfad.
+     * @param edition Klassenname der Ausgabe.
+     * @return Name der Ressource.
+     */
+    public static String getResourceName(String edition) {
+        return RESOURCE_DIRECTORY + edition + ".bin";
+    }
+
+    /**
+     * Build-Schritt: schreibt die Teile von Ausgaben als Ressourcen.
+     * Die Factory kommt wie ueblich aus der Systemeigenschaft powergrid.factory.
+     * @param args Zielverzeichnis, danach die Klassennamen der Ausgaben.
+     * @throws IOException wenn das Schreiben scheitert.
+     * @throws ReflectiveOperationException wenn eine Ausgabe nicht erzeugt werden kann.
+     */
+    public static void main(String... args) throws IOException, ReflectiveOperationException {
+        if (args.length < 2)
+            throw new IllegalArgumentException("Aufruf: EditionArtifacts Zielverzeichnis Ausgabe...");
+        final Factory factory = Factory.newFactory();
+        for (int index = 1; index < args.length; index++) {
+            final Edition edition = newEdition(args[index]);
+            final Path target = Path.of(args[0], getResourceName(args[index]));
+            Files.createDirectories(target.getParent());
+            try (OutputStream out = Files.newOutputStream(target)) {
+                build(factory, edition).writeTo(out);
+            }
+        }
+    }
+
+    /**
+     * Hilfsmethode, die Teile aus einem Byte-Array liest.
+     * @param bytes Inhalt der Ressource.
+     * @param factory Erwartete Factory oder null fuer jede.
+     * @param edition Erwartete Ausgabe oder null, um sie ueber den Klassennamen zu erzeugen.
+     * @return Teile.
+     * @throws IOException wenn der Inhalt nicht passt oder veraltet ist.
+     */
+    private static EditionArtifacts read(byte[] bytes, Factory factory, Edition edition) throws IOException {
+        final DataInputStream data = new DataInputStream(new ByteArrayInputStream(bytes));
+        if (data.readInt() != MAGIC || data.readShort() != VERSION)
+            throw new IOException("Unbekanntes Format der vorberechneten Ausgabe.");
+        final long fingerprint = data.readLong();
+        final String name = data.readUTF();
+        final String factoryName = data.readUTF();
+        if (factory != null && !factory.getClass().getName().equals(factoryName))
+            throw new IOException("Die vorberechneten Spielplaene stammen von einer anderen Factory: " + factoryName);
+        final Edition actual;
+        if (edition == null)
+            try {
+                actual = newEdition(name);
+            } catch (ReflectiveOperationException | ClassCastException exception) {
+                throw new IOException("Die Edition der vorberechneten Teile ist unbekannt: " + name, exception);
+            }
+        else if (edition.getClass().getName().equals(name))
+            actual = edition;
+        else
+            throw new IOException("Die vorberechneten Teile gehoeren zu einer anderen Edition: " + name);
+        if (fingerprint(actual) != fingerprint)
+            throw new IOException("Die vorberechneten Teile sind veraltet: " + name);
+        try {
+            EditionValidator.requireValid(actual);
+        } catch (IllegalArgumentException exception) {
+            throw new IOException(exception.getMessage(), exception);
+        }
+
+        final EditionTables tables = EditionTables.readFrom(actual, data);
+        final BoardIndex[] distinct = new BoardIndex[data.readInt()];
+        for (int board = 0; board < distinct.length; board++)
+            distinct[board] = BoardIndex.readFrom(data);
+        final BoardIndex[] boards = new BoardIndex[tables.getPlayersMaximum() + 1];
+        for (int players = tables.getPlayersMinimum(); players <= tables.getPlayersMaximum(); players++) {
+            final int board = data.readInt();
+            if (board < 0 || board >= distinct.length)
+                throw new IOException("Unbekannter Spielplan in den vorberechneten Teilen: " + board);
+            boards[players] = distinct[board];
+        }
+        return new EditionArtifacts(factoryName, tables, boards);
+    }
+
+    /**
+     * Fingerabdruck ueber alle Angaben einer Ausgabe (FNV-1a ueber die Hashes ihrer Texte).
+     * Maps ueber Rohstoffe gehen in der Reihenfolge der Rohstoffe ein, damit der Wert nicht von der Map abhaengt.
+     * @param edition Ausgabe. Nicht null.
+     * @return Fingerabdruck.
+     */
+    static long fingerprint(Edition edition) {
+        long hash = 0xCBF29CE484222325L;
+        hash = mix(hash, edition.getPlayersMinimum());
+        hash = mix(hash, edition.getPlayersMaximum());
+        hash = mix(hash, edition.getInitialElectro());
+        for (Resource resource : Resource.values()) {
+            hash = mix(hash, edition.getResourceToNumber().get(resource));
+            hash = mix(hash, edition.getResourceAvailableToCost().get(resource));
+            hash = mix(hash, edition.getResourcesInitiallyAvailable().get(resource));
+            hash = mix(hash, edition.getResourcePlayersToSupply().get(resource));
+        }
+        hash = mix(hash, edition.levelToCityCost());
+        for (int level = 0; level < edition.levelToCityCost().size(); level++) {
+            hash = mix(hash, edition.getActualPlants(level));
+            hash = mix(hash, edition.getFuturePlants(level));
+        }
+        hash = mix(hash, edition.getPoweredCitiesIncome());
+        hash = mix(hash, edition.getPlayerColors());
+        hash = mix(hash, edition.getPlayersPlantsInitiallyRemoved());
+        hash = mix(hash, edition.getPlayersPlantsLimit());
+        hash = mix(hash, edition.getPlayersLevel2Cities());
+        hash = mix(hash, edition.getPlayersEndgameCities());
+        hash = mix(hash, edition.getRegionsUsed());
+        hash = mix(hash, edition.getPlantSpecifications());
+        return mix(hash, edition.getCitySpecifications());
+    }
+
+    /**
+     * Hilfsmethode, die eine Angabe in den Fingerabdruck einrechnet.
+     * @param hash Bisheriger Fingerabdruck.
+     * @param value Angabe. Zahlen, Texte und Listen davon haben einen festen Text.
+     * @return Neuer Fingerabdruck.
+     */
+    private static long mix(long hash, Object value) {
+        return (hash ^ String.valueOf(value).hashCode()) * 0x100000001B3L;
+    }
+
+    /**
+     * Hilfsmethode, die eine Ausgabe ueber ihren Klassennamen erzeugt.
+     * @param name Klassenname.
+     * @return Ausgabe.
+     * @throws ReflectiveOperationException wenn die Klasse fehlt oder keinen oeffentlichen Konstruktor hat.
+     * @throws ClassCastException wenn die Klasse keine Edition ist.
+     */
+    private static Edition newEdition(String name) throws ReflectiveOperationException {
+        // Erst pruefen, dass die Klasse eine Edition ist, dann erzeugen. Sonst liefe ein beliebiger Konstruktor.
+        return Class.forName(name, false, EditionArtifacts.class.getClassLoader())
+                .asSubclass(Edition.class)
+                .getConstructor()
+                .newInstance();
+    }
+}
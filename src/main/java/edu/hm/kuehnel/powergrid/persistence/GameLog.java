@@ -0,0 +1,146 @@
+/*
+ * Copyright (c) 2020 Stefan Kuehnel - All Rights Reserved
+ * Unauthorized copying of this file, via any medium is strictly prohibited
+ * Proprietary and confidential
+ * Written by Stefan Kuehnel <stefan.kuehnel@hm.edu>, May 2020
+ *
+ * DISCLAIMER. THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OR CONDITION,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. THE AUTHOR HEREBY DISCLAIMS
+ * ALL LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE.
+ */
+
+package edu.hm.kuehnel.powergrid.persistence;
+
+import edu.hm.kuehnel.powergrid.engine.ActionType;
+import edu.hm.kuehnel.powergrid.engine.GameEngine;
+import edu.hm.kuehnel.powergrid.engine.GameListener;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/** Ein binaeres Protokoll aller Zuege eines Spieles.
+ * Die Datei beginnt mit einem Kopf (Kennung, Version, Startwert, Fingerabdruck des Spielplans, Spieleranzahl,
+ * Klasse der Ausgabe). Danach folgt jeder Zug als Satz fester Laenge:
+ * Art (1 Byte), Spieler (1 Byte), erstes und zweites Argument (je 4 Byte), Aenderung des Guthabens (4 Byte).
+ * Die Argumente sind volle ints, damit auch Stadtnummern grosser erzeugter Spielplaene passen.
+ * Die Saetze sammeln sich in einem Puffer und gehen blockweise in die Datei.
+ * @author Stefan Kuehnel, stefan.kuehnel@hm.edu
+ * @version last-modified 2026-10-19
+ */
+public class GameLog implements GameListener, Closeable {
+    /**
+     * Kennung am Dateianfang ("PGLG").
+     */
+    static final int MAGIC = 0x50474C47;
+
+    /**
+     * Version des Dateiformats.
+     */
+    static final short VERSION = 2;
+
+    /**
+     * Laenge eines Satzes in Byte.
+     */
+    static final int RECORD_SIZE = 14;
+
+    /**
+     * Anzahl Saetze, die sich im Puffer sammeln, bevor er in die Datei geht.
+     */
+    static final int RECORDS_PER_FLUSH = 512;
+
+    /**
+     * Die Arten der Zuege, Index = Code in der Datei.
+     */
+    static final ActionType[] TYPES = ActionType.values();
+
+    /**
+     * Das protokollierte Spiel.
+     */
+    private final GameEngine engine;
+
+    /**
+     * Der Kanal zur Datei.
+     */
+    private final FileChannel channel;
+
+    /**
+     * Puffer fuer die noch nicht geschriebenen Saetze.
+     */
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(RECORD_SIZE * RECORDS_PER_FLUSH);
+
+    /**
+     * Legt ein neues Protokoll an und meldet es als Beobachter beim Spiel an.
+     * @param path Pfad der Datei. Die Datei darf noch nicht existieren.
+     * @param engine Das protokollierte Spiel, noch ohne Zuege. Nicht null.
+     * @throws IOException wenn die Datei nicht angelegt werden kann.
+     */
+    public GameLog(Path path, GameEngine engine) throws IOException {
+        if (engine == null)
+            throw new IllegalArgumentException("Das Spiel darf nicht null sein.");
+        this.engine = engine;
+        channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+
+        final byte[] edition = engine.getTables().getEdition().getClass().getName().getBytes(StandardCharsets.UTF_8);
+        buffer.putInt(MAGIC)
+                .putShort(VERSION)
+                .putLong(engine.getRandom().getSeed())
+                .putLong(engine.getBoard().getFingerprint())
+                .put((byte) engine.getState().getPlayers())
+                .putShort((short) edition.length)
+                .put(edition);
+        flush();
+        engine.addListener(this);
+    }
+
+    @Override
+    public void applied(ActionType type, int player, int first, int second, int electro) {
+        if (buffer.remaining() < RECORD_SIZE)
+            flush();
+        buffer.put((byte) type.ordinal())
+                .put((byte) player)
+                .putInt(first)
+                .putInt(second)
+                .putInt(electro);
+    }
+
+    /**
+     * Schreibt alle gepufferten Saetze in die Datei.
+     * @throws UncheckedIOException wenn das Schreiben scheitert.
+     */
+    public void flush() {
+        buffer.flip();
+        try {
+            while (buffer.hasRemaining())
+                channel.write(buffer);
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        } finally {
+            buffer.clear();
+        }
+    }
+
+    /**
+     * Meldet das Protokoll ab, schreibt den Puffer und schliesst die Datei.
+     * @throws IOException wenn das Schreiben scheitert.
+     */
+    @Override
+    public void close() throws IOException {
+        engine.removeListener(this);
+        try {
+            flush();
+            channel.force(false);
+        } catch (UncheckedIOException exception) {
+            throw exception.getCause();
+        } finally {
+            channel.close();
+        }
+    }
+}
@@ -0,0 +1,151 @@
+/*
+ * Copyright (c) 2020 Stefan Kuehnel - All Rights Reserved
+ * Unauthorized copying of this file, via any medium is strictly prohibited
+ * Proprietary and confidential
+ * Written by Stefan Kuehnel <stefan.kuehnel@hm.edu>, May 2020
+ *
+ * DISCLAIMER. THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OR CONDITION,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. THE AUTHOR HEREBY DISCLAIMS
+ * ALL LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE.
+ */
+
+package edu.hm.kuehnel.powergrid.persistence;
+
+import edu.hm.cs.rs.powergrid.Edition;
+import edu.hm.cs.rs.powergrid.datastore.Factory;
+import edu.hm.kuehnel.powergrid.engine.BoardIndex;
+import edu.hm.kuehnel.powergrid.engine.EditionTables;
+import edu.hm.kuehnel.powergrid.engine.EditionValidator;
+import edu.hm.kuehnel.powergrid.engine.GameEngine;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/** Spielt ein binaeres Protokoll nach.
+ * Baut das Spiel aus dem Kopf des Protokolls neu auf und wendet die Zuege der Reihe nach an.
+ * Die Zuege wurden beim Protokollieren schon geprueft. Das Nachspielen prueft sie nicht noch einmal
+ * und berechnet keine Kosten, es uebernimmt die protokollierten Aenderungen der Guthaben.
+ * @author Stefan Kuehnel, stefan.kuehnel@hm.edu
+ * @version last-modified 2026-10-19
+ */
+public class GameLogReplayer {
+    /**
+     * Laenge des Kopfes ohne den Klassennamen: Kennung, Version, Startwert, Fingerabdruck, Spieleranzahl, Namenslaenge.
+     */
+    private static final int HEADER_SIZE = Integer.BYTES + Short.BYTES + 2 * Long.BYTES + Byte.BYTES + Short.BYTES;
+
+    /**
+     * Factory fuer Spielplan und Zufallsquelle.
+     */
+    private final Factory factory;
+
+    /**
+     * Initialisiert einen neuen Replayer.
+     * @param factory Factory fuer Spielplan und Zufallsquelle. Nicht null.
+     */
+    public GameLogReplayer(Factory factory) {
+        if (factory == null)
+            throw new IllegalArgumentException("Die Factory darf nicht null sein.");
+        this.factory = factory;
+    }
+
+    /**
+     * Spielt ein Protokoll nach.
+     * @param path Pfad der Datei. Nicht null.
+     * @return Spiel im Zustand nach dem letzten protokollierten Zug.
+     * @throws IOException wenn die Datei nicht lesbar oder kein Protokoll ist.
+     */
+    public GameEngine replay(Path path) throws IOException {
+        return replay(path, null);
+    }
+
+    /**
+     * Spielt ein Protokoll auf einem vorgegebenen Spielplan nach.
+     * @param path Pfad der Datei. Nicht null.
+     * @param board Spielplan des protokollierten Spieles oder null fuer den Spielplan der Factory.
+     * @return Spiel im Zustand nach dem letzten protokollierten Zug.
+     * @throws IOException wenn die Datei nicht lesbar oder kein Protokoll ist oder der Spielplan nicht passt.
+     */
+    public GameEngine replay(Path path, BoardIndex board) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            final ByteBuffer buffer = ByteBuffer.allocateDirect(GameLog.RECORD_SIZE * GameLog.RECORDS_PER_FLUSH);
+            final GameEngine engine = readHeader(channel, buffer, board);
+
+            // Liest die Saetze blockweise und wendet sie an.
+            boolean end = false;
+            while (!end) {
+                end = channel.read(buffer) < 0;
+                buffer.flip();
+                while (buffer.remaining() >= GameLog.RECORD_SIZE) {
+                    final int type = buffer.get();
+                    if (type < 0 || type >= GameLog.TYPES.length)
+                        throw new IOException("Unbekannte Art von Zug im Protokoll: " + type);
+                    engine.replay(GameLog.TYPES[type], buffer.get(), buffer.getInt(), buffer.getInt(), buffer.getInt());
+                }
+                if (end && buffer.hasRemaining())
+                    throw new IOException("Das Protokoll endet mitten in einem Satz.");
+                buffer.compact();
+            }
+            return engine;
+        }
+    }
+
+    /**
+     * Hilfsmethode, die den Kopf des Protokolls liest und das Spiel neu aufbaut.
+     * Laesst den Puffer im Schreibmodus mit den schon gelesenen Saetzen zurueck.
+     * @param channel Kanal zur Datei.
+     * @param buffer Leerer Puffer.
+     * @param board Spielplan oder null fuer den Spielplan der Factory.
+     * @return Spiel im Anfangszustand.
+     * @throws IOException wenn die Datei kein vollstaendiges Protokoll ist, die Edition unbekannt oder ungueltig ist
+     * oder der Spielplan nicht zum Protokoll passt.
+     */
+    private GameEngine readHeader(FileChannel channel, ByteBuffer buffer, BoardIndex board) throws IOException {
+        channel.read(buffer);
+        buffer.flip();
+        if (buffer.remaining() < HEADER_SIZE || buffer.getInt() != GameLog.MAGIC || buffer.getShort() != GameLog.VERSION)
+            throw new IOException("Die Datei ist kein Spielprotokoll dieser Version.");
+
+        final long seed = buffer.getLong();
+        final long fingerprint = buffer.getLong();
+        final int players = buffer.get();
+        final int length = buffer.getShort();
+        if (length < 0 || length > buffer.remaining())
+            throw new IOException("Der Kopf des Protokolls ist unvollstaendig.");
+        final byte[] name = new byte[length];
+        buffer.get(name);
+        buffer.compact();
+
+        final Edition edition;
+        try {
+            // Erst pruefen, dass die Klasse eine Edition ist, dann erzeugen. Sonst liefe ein beliebiger Konstruktor.
+            edition = Class.forName(new String(name, StandardCharsets.UTF_8), false, getClass().getClassLoader())
+                    .asSubclass(Edition.class)
+                    .getConstructor()
+                    .newInstance();
+        } catch (ReflectiveOperationException | ClassCastException exception) {
+            throw new IOException("Die Edition des Protokolls ist unbekannt.", exception);
+        }
+        final EditionValidator.Report report = EditionValidator.validate(edition);
+        if (!report.isValid())
+            throw new IOException(report.toString());
+
+        final GameEngine engine;
+        try {
+            engine = board == null
+                    ? new GameEngine(factory, edition, players, seed)
+                    : new GameEngine(new EditionTables(edition), board, players, factory.newRandomSource(seed));
+        } catch (IllegalArgumentException exception) {
+            throw new IOException("Das Spiel des Protokolls laesst sich nicht aufbauen.", exception);
+        }
+        if (engine.getBoard().getFingerprint() != fingerprint)
+            throw new IOException("Das Protokoll gehoert zu einem anderen Spielplan.");
+        return engine;
+    }
+}
@@ -0,0 +1,322 @@
+/*
+ * Copyright (c) 2020 Stefan Kuehnel - All Rights Reserved
+ * Unauthorized copying of this file, via any medium is strictly prohibited
+ * Proprietary and confidential
+ * Written by Stefan Kuehnel <stefan.kuehnel@hm.edu>, May 2020
+ *
+ * DISCLAIMER. THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OR CONDITION,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. THE AUTHOR HEREBY DISCLAIMS
+ * ALL LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE.
+ */
+
+package edu.hm.kuehnel.powergrid.persistence;
+
+import edu.hm.cs.rs.powergrid.Edition;
+import edu.hm.cs.rs.powergrid.datastore.Board;
+import edu.hm.cs.rs.powergrid.datastore.Factory;
+import edu.hm.kuehnel.powergrid.datastore.FrozenBoard;
+import edu.hm.kuehnel.powergrid.engine.BoardIndex;
+import edu.hm.kuehnel.powergrid.engine.EditionTables;
+import edu.hm.kuehnel.powergrid.engine.EditionValidator;
+import edu.hm.kuehnel.powergrid.engine.GameEngine;
+import edu.hm.kuehnel.powergrid.engine.GameState;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/** Sicherungspunkte laufender Spiele in einer eingeblendeten Datei (memory-mapped).
+ * Die Datei hat einen Kopf und eine feste Anzahl Plaetze gleicher Groesse, einen Platz pro Spiel.
+ * Jeder Platz besteht aus zwei Seiten, die abwechselnd beschrieben werden.
+ * Eine Seite beginnt und endet mit einem Stempel. Stimmen beide Stempel ueberein, ist die Seite vollstaendig.
+ * Bricht ein Schreibvorgang ab, bleibt die andere Seite mit dem vorigen Sicherungspunkt gueltig.
+ * Spiele auf verschiedenen Plaetzen koennen gleichzeitig aus verschiedenen Threads gesichert werden.
+ * @author Stefan Kuehnel, stefan.kuehnel@hm.edu
+ * @version last-modified 2026-10-19
+ */
+public class SnapshotStore implements Closeable {
+    /**
+     * Kennung am Dateianfang ("PGSN").
+     */
+    static final int MAGIC = 0x5047534E;
+
+    /**
+     * Version des Dateiformats.
+     */
+    static final short VERSION = 1;
+
+    /**
+     * Laenge des Dateikopfes in Byte.
+     */
+    static final int HEADER_SIZE = 512;
+
+    /**
+     * Laenge der Verwaltungsdaten einer Seite: Stempel, Startwert, Spieleranzahl, Stempel.
+     */
+    private static final int PAGE_OVERHEAD = Integer.BYTES + Long.BYTES + Integer.BYTES + Integer.BYTES;
+
+    /**
+     * Factory fuer die Zufallsquellen wiederhergestellter Spiele.
+     */
+    private final Factory factory;
+
+    /**
+     * Tabellen der Ausgabe, gemeinsam fuer alle Spiele.
+     */
+    private final EditionTables tables;
+
+    /**
+     * Nummerierte Spielplaene, Index = Spieleranzahl. Gemeinsam fuer alle Spiele.
+     */
+    private final BoardIndex[] boards;
+
+    /**
+     * Anzahl Plaetze.
+     */
+    private final int slots;
+
+    /**
+     * Laenge einer Seite in Byte.
+     */
+    private final int pageSize;
+
+    /**
+     * Der Kanal zur Datei.
+     */
+    private final FileChannel channel;
+
+    /**
+     * Die eingeblendete Datei.
+     */
+    private final MappedByteBuffer mapped;
+
+    /**
+     * Oeffnet einen Speicher oder legt ihn an.
+     * @param path Pfad der Datei. Eine vorhandene Datei muss zur Ausgabe und Platzanzahl passen.
+     * @param factory Factory fuer Spielplaene und Zufallsquellen. Nicht null.
+     * @param edition Ausgabe der gesicherten Spiele. Nicht null.
+     * @param slots Anzahl Plaetze. Echt positiv.
+     * @throws IOException wenn die Datei nicht lesbar ist oder nicht passt.
+     * @throws IllegalArgumentException wenn die Ausgabe nicht gueltig ist
+     * oder die Anzahl Plaetze nicht positiv ist oder nicht in eine Datei passt.
+     */
+    public SnapshotStore(Path path, Factory factory, Edition edition, int slots) throws IOException {
+        if (factory == null)
+            throw new IllegalArgumentException("Die Factory darf nicht null sein.");
+        if (slots < 1)
+            throw new IllegalArgumentException("Die Anzahl Plaetze muss echt positiv sein.");
+        this.factory = factory;
+        this.slots = slots;
+        EditionValidator.requireValid(edition);
+        tables = new EditionTables(edition);
+        boards = new BoardIndex[tables.getPlayersMaximum() + 1];
+        pageSize = PAGE_OVERHEAD + GameState.getByteSize(tables.getPlayersMaximum(),
+                edition.getCitySpecifications().size(),
+                tables.getPlants());
+
+        final long size = HEADER_SIZE + 2L * pageSize * slots;
+        if (size > Integer.MAX_VALUE)
+            throw new IllegalArgumentException("So viele Plaetze passen nicht in eine Datei: " + slots);
+
+        channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            final boolean created = channel.size() == 0;
+            mapped = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            final byte[] name = edition.getClass().getName().getBytes(StandardCharsets.UTF_8);
+            if (created)
+                mapped.putInt(MAGIC).putShort(VERSION).putInt(slots).putInt(pageSize).putShort((short) name.length).put(name);
+            else
+                checkHeader(name);
+        } catch (IOException | RuntimeException exception) {
+            channel.close();
+            throw exception;
+        }
+    }
+
+    /**
+     * Hilfsmethode, die prueft, ob der Kopf einer vorhandenen Datei zu diesem Speicher passt.
+     * @param name Klassenname der Ausgabe.
+     * @throws IOException wenn der Kopf nicht passt.
+     */
+    private void checkHeader(byte[] name) throws IOException {
+        final ByteBuffer header = mapped.duplicate();
+        final boolean matching = header.getInt() == MAGIC
+                && header.getShort() == VERSION
+                && header.getInt() == slots
+                && header.getInt() == pageSize
+                && header.getShort() == name.length;
+        final byte[] stored = new byte[name.length];
+        if (matching)
+            header.get(stored);
+        if (!matching || !Arrays.equals(stored, name))
+            throw new IOException("Die Datei passt nicht zu diesem Speicher.");
+    }
+
+    /**
+     * Anzahl Plaetze.
+     * @return Anzahl.
+     */
+    public int getSlots() {
+        return slots;
+    }
+
+    /**
+     * Sichert ein Spiel.
+     * Ueberschreibt die aeltere der beiden Seiten des Platzes.
+     * Das Spiel muss die Ausgabe dieses Speichers haben und auf dem Spielplan spielen, den load() wieder aufbaut.
+     * @param slot Platz. Zwischen 0 und getSlots() - 1.
+     * @param engine Spiel mit der Ausgabe dieses Speichers. Nicht null.
+     * @throws IllegalArgumentException wenn der Platz unbekannt ist oder das Spiel nicht zu diesem Speicher passt.
+     */
+    public void save(int slot, GameEngine engine) {
+        save(slot, snapshot(engine));
+    }
+
+    /**
+     * Nimmt den Sicherungspunkt eines Spieles auf, ohne ihn in einen Platz zu schreiben.
+     * Mit save(int, ByteBuffer) kann ein Aufrufer das Spiel ausserhalb einer Sperre lesen
+     * und unter der Sperre nur noch den fertigen Inhalt in den Platz kopieren.
+     * @param engine Spiel mit der Ausgabe dieses Speichers. Nicht null.
+     * @return Inhalt einer Seite ohne Stempel, bereit zum Lesen.
+     * @throws IllegalArgumentException wenn das Spiel nicht zu diesem Speicher passt.
+     */
+    public ByteBuffer snapshot(GameEngine engine) {
+        if (engine == null || engine.getTables().getEdition().getClass() != tables.getEdition().getClass())
+            throw new IllegalArgumentException("Das Spiel hat nicht die Ausgabe dieses Speichers.");
+        final int players = engine.getState().getPlayers();
+        if (players < tables.getPlayersMinimum() || players > tables.getPlayersMaximum()
+                || engine.getBoard().getFingerprint() != getBoard(players).getFingerprint())
+            throw new IllegalArgumentException("Das Spiel spielt nicht auf dem Spielplan dieses Speichers.");
+        if (engine.getState().getByteSize() > pageSize - PAGE_OVERHEAD)
+            throw new IllegalArgumentException("Das Spiel passt nicht auf eine Seite dieses Speichers.");
+        final ByteBuffer body = ByteBuffer.allocate(pageSize - 2 * Integer.BYTES);
+        body.putLong(engine.getRandom().getSeed())
+                .putInt(players);
+        engine.getState().writeTo(body);
+        return body.flip();
+    }
+
+    /**
+     * Schreibt einen Sicherungspunkt, den snapshot() aufgenommen hat.
+     * Ueberschreibt die aeltere der beiden Seiten des Platzes. Der Puffer selbst bleibt unveraendert.
+     * @param slot Platz. Zwischen 0 und getSlots() - 1.
+     * @param snapshot Ergebnis von snapshot(). Nicht null.
+     * @throws IllegalArgumentException wenn der Platz unbekannt ist oder der Inhalt nicht auf eine Seite passt.
+     */
+    public void save(int slot, ByteBuffer snapshot) {
+        if (snapshot == null || snapshot.remaining() > pageSize - 2 * Integer.BYTES)
+            throw new IllegalArgumentException("Der Sicherungspunkt passt nicht auf eine Seite dieses Speichers.");
+        final int first = pageOffset(slot, 0);
+        final int second = pageOffset(slot, 1);
+        final int firstStamp = validStamp(first);
+        final int secondStamp = validStamp(second);
+        final int stamp = Math.max(firstStamp, secondStamp) + 1;
+
+        final ByteBuffer page = mapped.slice(firstStamp <= secondStamp ? first : second, pageSize);
+        page.putInt(stamp)
+                .put(snapshot.duplicate());
+        page.putInt(pageSize - Integer.BYTES, stamp);
+    }
+
+    /**
+     * Stellt ein gesichertes Spiel wieder her.
+     * Ausgabe und Spielplan teilen sich alle Spiele dieses Speichers.
+     * @param slot Platz. Zwischen 0 und getSlots() - 1.
+     * @return Spiel im gesicherten Zustand oder null, wenn der Platz keinen gueltigen Sicherungspunkt hat.
+     * @throws IllegalArgumentException wenn der Platz unbekannt ist.
+     * @throws IllegalStateException wenn der Sicherungspunkt eine unmoegliche Spieleranzahl enthaelt.
+     */
+    public GameEngine load(int slot) {
+        final int first = pageOffset(slot, 0);
+        final int second = pageOffset(slot, 1);
+        final int firstStamp = validStamp(first);
+        final int secondStamp = validStamp(second);
+        if (firstStamp == 0 && secondStamp == 0)
+            return null;
+
+        final ByteBuffer page = mapped.slice(firstStamp > secondStamp ? first : second, pageSize);
+        page.position(Integer.BYTES);
+        final long seed = page.getLong();
+        final int players = page.getInt();
+        if (players < tables.getPlayersMinimum() || players > tables.getPlayersMaximum())
+            throw new IllegalStateException("Der Sicherungspunkt hat eine unmoegliche Spieleranzahl: " + players);
+        final GameEngine engine = new GameEngine(tables, getBoard(players), players, factory.newRandomSource(seed));
+        engine.getState().readFrom(page);
+        return engine;
+    }
+
+    /**
+     * Loescht den Sicherungspunkt eines Platzes.
+     * Loescht beide Stempel jeder Seite. Sonst koennte der naechste Stempel zu einem alten Stempel am Seitenende
+     * passen und eine unvollstaendige Seite als gueltig durchgehen.
+     * @param slot Platz. Zwischen 0 und getSlots() - 1.
+     */
+    public void clear(int slot) {
+        for (int page = 0; page < 2; page++) {
+            final int offset = pageOffset(slot, page);
+            mapped.putInt(offset, 0);
+            mapped.putInt(offset + pageSize - Integer.BYTES, 0);
+        }
+    }
+
+    /**
+     * Schreibt alle Sicherungspunkte auf das Speichermedium.
+     * Erst danach ueberstehen sie auch einen Absturz des Betriebssystems.
+     */
+    public void force() {
+        mapped.force();
+    }
+
+    @Override
+    public void close() throws IOException {
+        force();
+        channel.close();
+    }
+
+    /**
+     * Hilfsmethode, die den nummerierten Spielplan fuer eine Spieleranzahl liefert.
+     * Baut ihn beim ersten Aufruf.
+     * @param players Anzahl Spieler.
+     * @return Spielplan.
+     */
+    private synchronized BoardIndex getBoard(int players) {
+        if (boards[players] == null) {
+            final Board board = factory.newBoard(tables.getEdition());
+            board.closeRegions(tables.getRegionsUsed(players));
+            board.close();
+            boards[players] = new BoardIndex(new FrozenBoard(board));
+        }
+        return boards[players];
+    }
+
+    /**
+     * Hilfsmethode, die den Anfang einer Seite berechnet.
+     * @param slot Platz.
+     * @param page Seite, 0 oder 1.
+     * @return Position in der Datei.
+     * @throws IllegalArgumentException wenn der Platz unbekannt ist.
+     */
+    private int pageOffset(int slot, int page) {
+        if (slot < 0 || slot >= slots)
+            throw new IllegalArgumentException("Unbekannter Platz: " + slot);
+        return HEADER_SIZE + (2 * slot + page) * pageSize;
+    }
+
+    /**
+     * Hilfsmethode, die den Stempel einer vollstaendig geschriebenen Seite liest.
+     * @param offset Anfang der Seite.
+     * @return Stempel oder 0, wenn die Seite leer oder unvollstaendig ist.
+     */
+    private int validStamp(int offset) {
+        final int stamp = mapped.getInt(offset);
+        return stamp == mapped.getInt(offset + pageSize - Integer.BYTES) ? stamp : 0;
+    }
+}
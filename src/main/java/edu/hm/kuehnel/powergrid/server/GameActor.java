@@ -0,0 +1,199 @@
+/*
+ * Copyright (c) 2020 Stefan Kuehnel - All Rights Reserved
+ * Unauthorized copying of this file, via any medium is strictly prohibited
+ * Proprietary and confidential
+ * Written by Stefan Kuehnel <stefan.kuehnel@hm.edu>, May 2020
+ *
+ * DISCLAIMER. THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OR CONDITION,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. THE AUTHOR HEREBY DISCLAIMS
+ * ALL LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE.
+ */
+
+package edu.hm.kuehnel.powergrid.server;
+
+import edu.hm.kuehnel.powergrid.engine.GameEngine;
+import edu.hm.kuehnel.powergrid.metrics.Counter;
+import edu.hm.kuehnel.powergrid.metrics.MetricsRegistry;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/** Ein Spiel mit eigenem Postfach.
+ * Auftraege an das Spiel landen im Postfach. Hat das Postfach Auftraege,
+ * arbeitet ein Thread des gemeinsamen Executors sie der Reihe nach ab.
+ * Zu jedem Zeitpunkt bearbeitet hoechstens ein Thread das Spiel, die Engine braucht deshalb keine Sperren.
+ * Ein Spiel ohne Auftraege belegt keinen Thread.
+ * Ein Auftrag, der mit einer Ausnahme endet, haelt das Postfach nicht an: die Ausnahme wird gezaehlt
+ * und der naechste Auftrag bearbeitet. Ein Error bricht die Bearbeitung ab, die uebrigen Auftraege werden neu eingeplant.
+ * Ein versiegeltes Postfach nimmt keine Auftraege mehr an. Versiegeln geht nur mit leerem Postfach,
+ * so bleibt beim Auslagern kein Auftrag zurueck, der nach neueren Auftraegen an das wiederhergestellte Spiel ginge.
+ * @author Stefan Kuehnel, stefan.kuehnel@hm.edu
+ * @version last-modified 2026-10-19
+ */
+class GameActor {
+    /**
+     * Hoechstanzahl Auftraege, die ein Thread am Stueck bearbeitet, bevor er andere Spiele vorlaesst.
+     */
+    static final int BATCH = 64;
+
+    /**
+     * Anzahl Auftraege aller Spiele, die mit einer Ausnahme geendet haben.
+     */
+    private static final Counter TASKS_FAILED = MetricsRegistry.getDefault()
+            .counter("powergrid_actor_tasks_failed_total", "Auftraege im Postfach, die mit einer Ausnahme geendet haben.");
+
+    /**
+     * Das Spiel. Nur aus bearbeitenden Auftraegen heraus benutzen.
+     */
+    private final GameEngine engine;
+
+    /**
+     * Das Postfach mit begrenzter Kapazitaet.
+     */
+    private final BlockingQueue<Runnable> mailbox;
+
+    /**
+     * Executor, der die Auftraege bearbeitet.
+     */
+    private final Executor executor;
+
+    /**
+     * true, solange ein Thread das Postfach bearbeitet oder dafuer eingeplant ist.
+     */
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+
+    /**
+     * Bearbeitet das Postfach. Einmal erzeugt, damit das Einplanen nichts allokiert.
+     */
+    private final Runnable drainer = this::drain;
+
+    /**
+     * Zeitpunkt des letzten Auftrags von aussen in Nanosekunden (System.nanoTime()).
+     */
+    private volatile long lastAccess = System.nanoTime();
+
+    /**
+     * true, sobald das Postfach versiegelt ist. Geschrieben nur unter der Sperre dieses Objekts.
+     */
+    private volatile boolean sealed;
+
+    /**
+     * Initialisiert ein Spiel mit Postfach.
+     * @param engine Das Spiel. Nicht null.
+     * @param executor Executor, der die Auftraege bearbeitet. Nicht null.
+     * @param capacity Kapazitaet des Postfachs. Echt positiv.
+     */
+    GameActor(GameEngine engine, Executor executor, int capacity) {
+        this.engine = engine;
+        this.executor = executor;
+        mailbox = new ArrayBlockingQueue<>(capacity);
+    }
+
+    /**
+     * Das Spiel. Nur aus bearbeitenden Auftraegen heraus benutzen.
+     * @return Spiel.
+     */
+    GameEngine getEngine() {
+        return engine;
+    }
+
+    /**
+     * Legt einen Auftrag in das Postfach und plant die Bearbeitung ein.
+     * @param task Auftrag. Nicht null.
+     * @throws IllegalStateException wenn das Postfach voll oder versiegelt ist.
+     */
+    void post(Runnable task) {
+        if (!offer(task))
+            throw new IllegalStateException("Das Postfach des Spiels ist voll.");
+    }
+
+    /**
+     * Legt einen Auftrag in das Postfach und plant die Bearbeitung ein, falls Platz ist.
+     * @param task Auftrag. Nicht null.
+     * @return true, wenn der Auftrag im Postfach liegt, false bei vollem oder versiegeltem Postfach.
+     */
+    boolean offer(Runnable task) {
+        synchronized (this) {
+            if (sealed || !mailbox.offer(task))
+                return false;
+        }
+        schedule();
+        return true;
+    }
+
+    /**
+     * Vermerkt einen Auftrag von aussen. Ein Spiel ist untaetig, solange es keine solchen Auftraege bekommt.
+     */
+    void touch() {
+        lastAccess = System.nanoTime();
+    }
+
+    /**
+     * Zeitpunkt des letzten Auftrags von aussen.
+     * @return Zeitpunkt in Nanosekunden (System.nanoTime()).
+     */
+    long getLastAccess() {
+        return lastAccess;
+    }
+
+    /**
+     * Prueft, ob das Postfach versiegelt ist. Auftraege gehoeren dann an das wiederhergestellte Spiel.
+     * @return true, wenn das Postfach keine Auftraege mehr annimmt.
+     */
+    boolean isSealed() {
+        return sealed;
+    }
+
+    /**
+     * Versiegelt das Postfach, falls es leer ist. Nur aus bearbeitenden Auftraegen heraus aufrufen,
+     * dann bearbeitet danach niemand mehr das Spiel.
+     * @return true, wenn das Postfach jetzt versiegelt ist, false, wenn noch Auftraege warten.
+     */
+    synchronized boolean seal() {
+        if (!mailbox.isEmpty())
+            return false;
+        sealed = true;
+        return true;
+    }
+
+    /**
+     * Hilfsmethode, die die Bearbeitung einplant, falls sie nicht schon eingeplant ist.
+     * Lehnt der Executor ab, ist die Bearbeitung wieder frei fuer den naechsten Versuch.
+     */
+    private void schedule() {
+        if (scheduled.compareAndSet(false, true))
+            try {
+                executor.execute(drainer);
+            } catch (RuntimeException exception) {
+                scheduled.set(false);
+                throw exception;
+            }
+    }
+
+    /**
+     * Hilfsmethode, die Auftraege aus dem Postfach bearbeitet.
+     * Plant sich neu ein, wenn danach noch Auftraege warten, auch wenn ein Auftrag mit einem Error endet.
+     */
+    private void drain() {
+        try {
+            for (int done = 0; done < BATCH; done++) {
+                final Runnable task = mailbox.poll();
+                if (task == null)
+                    break;
+                try {
+                    task.run();
+                } catch (RuntimeException exception) {
+                    TASKS_FAILED.increment();
+                }
+            }
+        } finally {
+            scheduled.set(false);
+            if (!mailbox.isEmpty())
+                schedule();
+        }
+    }
+}
@@ -0,0 +1,308 @@
+/*
+ * Copyright (c) 2020 Stefan Kuehnel - All Rights Reserved
+ * Unauthorized copying of this file, via any medium is strictly prohibited
+ * Proprietary and confidential
+ * Written by Stefan Kuehnel <stefan.kuehnel@hm.edu>, May 2020
+ *
+ * DISCLAIMER. THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OR CONDITION,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. THE AUTHOR HEREBY DISCLAIMS
+ * ALL LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE.
+ */
+
+package edu.hm.kuehnel.powergrid.server;
+
+import edu.hm.kuehnel.powergrid.engine.GameEngine;
+import edu.hm.kuehnel.powergrid.metrics.Counter;
+import edu.hm.kuehnel.powergrid.metrics.MetricsRegistry;
+import edu.hm.kuehnel.powergrid.persistence.SnapshotStore;
+
+import java.nio.ByteBuffer;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+
+/** Die Spiele eines Servers, verteilt auf mehrere ConcurrentHashMaps (Shards).
+ * Das Nachschlagen eines Spieles im Arbeitsspeicher kommt ohne Sperren aus.
+ * Mit einem SnapshotStore lagert die Registry Spiele, die laenger als die Lebensdauer keine Auftraege bekommen haben,
+ * als Sicherungspunkt in den Speicher aus und stellt sie beim naechsten Auftrag wieder her.
+ * Im Arbeitsspeicher liegen dann nur die aktiven Spiele. Ein ausgelagertes Spiel kostet nur seinen Platz im Speicher
+ * und einen Zaehler pro Platz, der mit der Kapazitaet des Speichers waechst, nicht mit der Anzahl Spiele.
+ * Die Nummer eines Spieles mit Speicher ist (Generation des Platzes << 32) | Platz. Die Generation ist ungerade,
+ * solange der Platz belegt ist, und waechst beim Belegen und Freigeben. So trifft eine alte Nummer nie ein neues Spiel.
+ * Sperren gibt es nur auf den seltenen Wegen: Auslagern, Wiederherstellen und Entfernen eines Spieles
+ * laufen unter der Sperre seines Eintrags in der Map und sind damit gegeneinander geordnet.
+ * Den Sicherungspunkt liest das Auslagern vorher im Thread des Spieles, unter der Sperre wird er nur noch kopiert.
+ * Das Auslagern versiegelt das Postfach und gelingt nur, wenn keine Auftraege mehr warten.
+ * So gehen alle Auftraege entweder vollstaendig an das alte Spiel oder an das wiederhergestellte, in ihrer Reihenfolge.
+ * Das wiederhergestellte Spiel hat eine neue Engine: Beobachter und DeltaRing der alten Engine gehen nicht mit.
+ * Die Generationen leben nur im Arbeitsspeicher, nach einem Neustart gelten alte Nummern nicht mehr.
+ * @author Stefan Kuehnel, stefan.kuehnel@hm.edu
+ * @version last-modified 2026-10-19
+ */
+class GameRegistry {
+    /**
+     * Anzahl Shards, wenn nichts anderes angegeben ist.
+     */
+    static final int DEFAULT_SHARDS = 16;
+
+    /**
+     * Anzahl ausgelagerter Spiele aller Registries.
+     */
+    private static final Counter GAMES_EVICTED = MetricsRegistry.getDefault()
+            .counter("powergrid_games_evicted_total", "In den Speicher ausgelagerte Spiele.");
+
+    /**
+     * Anzahl wiederhergestellter Spiele aller Registries.
+     */
+    private static final Counter GAMES_REHYDRATED = MetricsRegistry.getDefault()
+            .counter("powergrid_games_rehydrated_total", "Aus dem Speicher wiederhergestellte Spiele.");
+
+    /**
+     * Die Shards, Index = Nummer des Spieles & mask.
+     */
+    private final ConcurrentHashMap<Long, GameActor>[] shards;
+
+    /**
+     * Maske fuer den Index der Shards. Die Anzahl Shards ist eine Zweierpotenz.
+     */
+    private final int mask;
+
+    /**
+     * Executor, der die Postfaecher bearbeitet.
+     */
+    private final Executor executor;
+
+    /**
+     * Kapazitaet der Postfaecher.
+     */
+    private final int mailboxCapacity;
+
+    /**
+     * Speicher fuer ausgelagerte Spiele oder null, wenn alle Spiele im Arbeitsspeicher bleiben.
+     */
+    private final SnapshotStore store;
+
+    /**
+     * Lebensdauer untaetiger Spiele in Nanosekunden.
+     */
+    private final long timeToLive;
+
+    /**
+     * Generation jedes Platzes im Speicher. Ungerade = belegt. Null ohne Speicher.
+     */
+    private final AtomicIntegerArray generations;
+
+    /**
+     * Platz, ab dem die naechste Suche nach einem freien Platz beginnt.
+     */
+    private final AtomicInteger nextSlot = new AtomicInteger();
+
+    /**
+     * Nummer des naechsten neuen Spieles ohne Speicher.
+     */
+    private final AtomicLong nextGame = new AtomicLong();
+
+    /**
+     * Initialisiert eine leere Registry.
+     * @param executor Executor, der die Auftraege der Spiele bearbeitet. Nicht null.
+     * @param mailboxCapacity Kapazitaet des Postfachs jedes Spieles. Echt positiv.
+     * @param shards Anzahl Shards. Echt positiv, wird auf eine Zweierpotenz aufgerundet.
+     * @param store Speicher fuer ausgelagerte Spiele oder null, um nie auszulagern.
+     * @param timeToLive Lebensdauer untaetiger Spiele in Nanosekunden. Nicht negativ.
+     * @throws IllegalArgumentException wenn die Anzahl Shards nicht positiv oder die Lebensdauer negativ ist.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    GameRegistry(Executor executor, int mailboxCapacity, int shards, SnapshotStore store, long timeToLive) {
+        if (shards < 1 || shards > 1 << 16)
+            throw new IllegalArgumentException("Die Anzahl Shards muss zwischen 1 und 65536 liegen: " + shards);
+        if (timeToLive < 0)
+            throw new IllegalArgumentException("Die Lebensdauer darf nicht negativ sein.");
+        this.executor = executor;
+        this.mailboxCapacity = mailboxCapacity;
+        this.store = store;
+        this.timeToLive = timeToLive;
+        // Rundet auf die naechste Zweierpotenz auf.
+        final int count = Integer.highestOneBit((shards - 1) << 1 | 1);
+        this.shards = new ConcurrentHashMap[count];
+        for (int shard = 0; shard < count; shard++)
+            this.shards[shard] = new ConcurrentHashMap<>();
+        mask = count - 1;
+        generations = store == null ? null : new AtomicIntegerArray(store.getSlots());
+    }
+
+    /**
+     * Nimmt ein neues Spiel auf.
+     * @param engine Das Spiel. Nicht null.
+     * @return Nummer des Spieles.
+     * @throws IllegalStateException wenn alle Plaetze des Speichers belegt sind.
+     */
+    long add(GameEngine engine) {
+        final long game;
+        if (store == null)
+            game = nextGame.getAndIncrement();
+        else {
+            game = allocate();
+            store.clear(slot(game));
+        }
+        shard(game).put(game, new GameActor(engine, executor, mailboxCapacity));
+        return game;
+    }
+
+    /**
+     * Das Spiel zu einer Nummer fuer einen Auftrag von aussen.
+     * Stellt ein ausgelagertes Spiel wieder her. Ein Treffer im Arbeitsspeicher kommt ohne Sperren aus.
+     * @param game Nummer des Spieles.
+     * @return Spiel oder null, wenn es das Spiel nicht gibt.
+     */
+    GameActor get(long game) {
+        final Map<Long, GameActor> shard = shard(game);
+        GameActor actor = shard.get(game);
+        if (actor == null && store != null && isLive(game))
+            actor = shard.computeIfAbsent(game, this::rehydrate);
+        if (actor != null)
+            actor.touch();
+        return actor;
+    }
+
+    /**
+     * Entfernt ein Spiel samt Sicherungspunkt.
+     * Auftraege, die schon im Postfach liegen, werden noch bearbeitet.
+     * @param game Nummer des Spieles.
+     * @return true, wenn es das Spiel gab.
+     */
+    boolean remove(long game) {
+        if (store == null)
+            return shard(game).remove(game) != null;
+        final AtomicBoolean removed = new AtomicBoolean();
+        shard(game).compute(game, (key, actor) -> {
+            // Erst den Sicherungspunkt loeschen, dann den Platz freigeben, sonst koennte ein neues Spiel
+            // auf dem Platz schon gesichert sein.
+            if (isLive(key)) {
+                store.clear(slot(key));
+                generations.incrementAndGet(slot(key));
+                removed.set(true);
+            }
+            return null;
+        });
+        return removed.get();
+    }
+
+    /**
+     * Lagert alle Spiele aus, die laenger als die Lebensdauer keine Auftraege von aussen bekommen haben.
+     * Das Auslagern selbst laeuft als Auftrag im Postfach des Spieles. Spiele mit vollem Postfach sind nicht untaetig.
+     * @return Anzahl Spiele, bei denen das Auslagern eingeplant ist.
+     */
+    int evictIdle() {
+        if (store == null)
+            return 0;
+        final long now = System.nanoTime();
+        int scheduled = 0;
+        for (ConcurrentHashMap<Long, GameActor> shard : shards)
+            for (Map.Entry<Long, GameActor> entry : shard.entrySet()) {
+                final long game = entry.getKey();
+                final GameActor actor = entry.getValue();
+                if (now - actor.getLastAccess() >= timeToLive && actor.offer(() -> evict(game, actor)))
+                    scheduled++;
+            }
+        return scheduled;
+    }
+
+    /**
+     * Anzahl Spiele im Arbeitsspeicher. Ausgelagerte Spiele zaehlen nicht.
+     * @return Anzahl.
+     */
+    int getResident() {
+        int resident = 0;
+        for (Map<Long, GameActor> shard : shards)
+            resident += shard.size();
+        return resident;
+    }
+
+    /**
+     * Hilfsmethode, die ein Spiel im Thread des Spieles auslagert, falls es noch untaetig ist.
+     * Nimmt den Sicherungspunkt ausserhalb der Sperre auf. Kommt bis zum Versiegeln ein Auftrag,
+     * bleibt das Spiel im Arbeitsspeicher.
+     * @param game Nummer des Spieles.
+     * @param actor Das Spiel.
+     */
+    private void evict(long game, GameActor actor) {
+        if (System.nanoTime() - actor.getLastAccess() < timeToLive)
+            return;
+        final ByteBuffer snapshot = store.snapshot(actor.getEngine());
+        shard(game).computeIfPresent(game, (key, current) -> {
+            if (current != actor || !actor.seal())
+                return current;
+            store.save(slot(key), snapshot);
+            GAMES_EVICTED.increment();
+            return null;
+        });
+    }
+
+    /**
+     * Hilfsmethode, die ein ausgelagertes Spiel wiederherstellt.
+     * @param game Nummer des Spieles.
+     * @return Spiel oder null, wenn der Platz keinen Sicherungspunkt hat.
+     */
+    private GameActor rehydrate(Long game) {
+        if (!isLive(game))
+            return null;
+        final GameEngine engine = store.load(slot(game));
+        if (engine == null)
+            return null;
+        GAMES_REHYDRATED.increment();
+        return new GameActor(engine, executor, mailboxCapacity);
+    }
+
+    /**
+     * Hilfsmethode, die einen freien Platz im Speicher belegt.
+     * @return Nummer des neuen Spieles.
+     * @throws IllegalStateException wenn alle Plaetze belegt sind.
+     */
+    private long allocate() {
+        final int slots = generations.length();
+        final int start = nextSlot.getAndIncrement();
+        for (int probe = 0; probe < slots; probe++) {
+            final int slot = Math.floorMod(start + probe, slots);
+            final int generation = generations.get(slot);
+            if ((generation & 1) == 0 && generations.compareAndSet(slot, generation, generation + 1))
+                return (long) (generation + 1) << 32 | slot;
+        }
+        throw new IllegalStateException("Alle Plaetze des Speichers sind belegt.");
+    }
+
+    /**
+     * Hilfsmethode, die prueft, ob eine Nummer zu einem Spiel auf einem belegten Platz gehoert.
+     * @param game Nummer des Spieles.
+     * @return true, wenn Platz und Generation passen.
+     */
+    private boolean isLive(long game) {
+        final int slot = slot(game);
+        return slot >= 0 && slot < generations.length() && generations.get(slot) == (int) (game >>> 32)
+                && (game >>> 32 & 1) != 0;
+    }
+
+    /**
+     * Hilfsmethode, die den Platz eines Spieles liefert.
+     * @param game Nummer des Spieles.
+     * @return Platz.
+     */
+    private static int slot(long game) {
+        return (int) game;
+    }
+
+    /**
+     * Hilfsmethode, die den Shard eines Spieles liefert.
+     * Die Nummern sind fortlaufend, die unteren Bits verteilen die Spiele also gleichmaessig.
+     * @param game Nummer des Spieles.
+     * @return Shard.
+     */
+    private ConcurrentHashMap<Long, GameActor> shard(long game) {
+        return shards[Long.hashCode(game) & mask];
+    }
+}
@@ -0,0 +1,256 @@
+/*
+ * Copyright (c) 2020 Stefan Kuehnel - All Rights Reserved
+ * Unauthorized copying of this file, via any medium is strictly prohibited
+ * Proprietary and confidential
+ * Written by Stefan Kuehnel <stefan.kuehnel@hm.edu>, May 2020
+ *
+ * DISCLAIMER. THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OR CONDITION,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. THE AUTHOR HEREBY DISCLAIMS
+ * ALL LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE.
+ */
+
+package edu.hm.kuehnel.powergrid.server;
+
+import edu.hm.cs.rs.powergrid.Edition;
+import edu.hm.cs.rs.powergrid.datastore.Factory;
+import edu.hm.kuehnel.powergrid.engine.Action;
+import edu.hm.kuehnel.powergrid.engine.ActionBatch;
+import edu.hm.kuehnel.powergrid.engine.BoardIndex;
+import edu.hm.kuehnel.powergrid.engine.EditionTables;
+import edu.hm.kuehnel.powergrid.engine.GameEngine;
+import edu.hm.kuehnel.powergrid.engine.GameState;
+import edu.hm.kuehnel.powergrid.persistence.EditionArtifacts;
+import edu.hm.kuehnel.powergrid.persistence.SnapshotStore;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+
+/** Beherbergt viele gleichzeitige Spiele einer Ausgabe.
+ * Jedes Spiel hat ein eigenes, begrenztes Postfach und wird immer nur von einem Thread bearbeitet.
+ * Alle Spiele teilen sich einen Executor, die Tabellen der Ausgabe und die nummerierten Spielplaene.
+ * Diese gemeinsamen Daten sind unveraenderlich und kommen ohne Sperren aus.
+ * Ein Spiel ohne Auftraege belegt nur seinen Zustand und sein Postfach, aber keinen Thread.
+ * Mit einem SnapshotStore lagert evictIdle() untaetige Spiele aus, der naechste Auftrag stellt sie wieder her.
+ * Das wiederhergestellte Spiel hat eine neue Engine ohne die Beobachter und den DeltaRing der alten.
+ * @author Stefan Kuehnel, stefan.kuehnel@hm.edu
+ * @version last-modified 2026-10-19
+ */
+public class GameServer {
+    /**
+     * Factory fuer Spielplaene und Zufallsquellen.
+     */
+    private final Factory factory;
+
+    /**
+     * Tabellen der Ausgabe, gemeinsam fuer alle Spiele.
+     */
+    private final EditionTables tables;
+
+    /**
+     * Nummerierte Spielplaene, Index = Spieleranzahl. Gemeinsam fuer alle Spiele.
+     */
+    private final BoardIndex[] boards;
+
+    /**
+     * Die Spiele.
+     */
+    private final GameRegistry games;
+
+    /**
+     * Initialisiert einen neuen Server.
+     * Baut die Spielplaene fuer alle erlaubten Spieleranzahlen im Voraus.
+     * @param factory Factory fuer Spielplaene und Zufallsquellen. Nicht null.
+     * @param edition Ausgabe aller Spiele. Nicht null.
+     * @param executor Executor, der die Auftraege der Spiele bearbeitet. Nicht null.
+     * @param mailboxCapacity Kapazitaet des Postfachs jedes Spieles. Echt positiv.
+     * @throws IllegalArgumentException wenn ein Argument null oder die Kapazitaet nicht positiv ist.
+     */
+    public GameServer(Factory factory, Edition edition, Executor executor, int mailboxCapacity) {
+        this(factory, EditionArtifacts.build(factory, edition), executor, mailboxCapacity);
+    }
+
+    /**
+     * Initialisiert einen neuen Server mit vorberechneten Tabellen und Spielplaenen.
+     * Fuer einen schnellen Start etwa mit EditionArtifacts.load().
+     * @param factory Factory fuer Zufallsquellen. Nicht null.
+     * @param artifacts Tabellen und Spielplaene der Ausgabe aller Spiele. Nicht null.
+     * @param executor Executor, der die Auftraege der Spiele bearbeitet. Nicht null.
+     * @param mailboxCapacity Kapazitaet des Postfachs jedes Spieles. Echt positiv.
+     * @throws IllegalArgumentException wenn ein Argument null oder die Kapazitaet nicht positiv ist.
+     */
+    public GameServer(Factory factory, EditionArtifacts artifacts, Executor executor, int mailboxCapacity) {
+        this(factory, artifacts, executor, mailboxCapacity, null, Duration.ZERO);
+    }
+
+    /**
+     * Initialisiert einen neuen Server, der untaetige Spiele in einen Speicher auslagert.
+     * Die Nummern der Spiele sind dann Plaetze im Speicher samt Generation, es gibt hoechstens so viele Spiele wie Plaetze.
+     * @param factory Factory fuer Zufallsquellen. Nicht null.
+     * @param artifacts Tabellen und Spielplaene der Ausgabe aller Spiele. Nicht null.
+     * @param executor Executor, der die Auftraege der Spiele bearbeitet. Nicht null.
+     * @param mailboxCapacity Kapazitaet des Postfachs jedes Spieles. Echt positiv.
+     * @param store Speicher mit derselben Ausgabe oder null, um alle Spiele im Arbeitsspeicher zu halten.
+     * @param timeToLive Zeit ohne Auftraege, nach der evictIdle() ein Spiel auslagert. Nicht null, nicht negativ.
+     * @throws IllegalArgumentException wenn ein Argument null, die Kapazitaet nicht positiv
+     * oder die Lebensdauer negativ ist.
+     */
+    public GameServer(Factory factory, EditionArtifacts artifacts, Executor executor, int mailboxCapacity,
+                      SnapshotStore store, Duration timeToLive) {
+        if (factory == null || artifacts == null || executor == null || timeToLive == null)
+            throw new IllegalArgumentException("Factory, Teile der Ausgabe, Executor und Lebensdauer duerfen nicht null sein.");
+        if (mailboxCapacity < 1)
+            throw new IllegalArgumentException("Die Kapazitaet der Postfaecher muss echt positiv sein.");
+        this.factory = factory;
+        tables = artifacts.getTables();
+        games = new GameRegistry(executor, mailboxCapacity, GameRegistry.DEFAULT_SHARDS, store, timeToLive.toNanos());
+
+        boards = new BoardIndex[tables.getPlayersMaximum() + 1];
+        for (int players = tables.getPlayersMinimum(); players <= tables.getPlayersMaximum(); players++)
+            boards[players] = artifacts.getBoard(players);
+    }
+
+    /**
+     * Tabellen der Ausgabe.
+     * @return Tabellen. Nicht null.
+     */
+    public EditionTables getTables() {
+        return tables;
+    }
+
+    /**
+     * Anzahl beherbergter Spiele im Arbeitsspeicher. Ausgelagerte Spiele zaehlen nicht.
+     * @return Anzahl.
+     */
+    public int getGames() {
+        return games.getResident();
+    }
+
+    /**
+     * Eroeffnet ein neues Spiel.
+     * @param players Anzahl Spieler. Im Bereich der Ausgabe.
+     * @param seed Startwert der Zufallsquelle des Spieles.
+     * @return Nummer des Spieles.
+     * @throws IllegalArgumentException wenn die Spieleranzahl nicht zur Ausgabe passt.
+     * @throws IllegalStateException wenn alle Plaetze des Speichers belegt sind.
+     */
+    public long newGame(int players, long seed) {
+        if (players < tables.getPlayersMinimum() || players > tables.getPlayersMaximum())
+            throw new IllegalArgumentException("Die Anzahl Spieler passt nicht zur Edition: " + players);
+        final GameEngine engine = new GameEngine(tables, boards[players], players, factory.newRandomSource(seed));
+        final long game = games.add(engine);
+        GameEngine.countStarted();
+        return game;
+    }
+
+    /**
+     * Beendet ein Spiel, auch ein ausgelagertes. Auftraege, die schon im Postfach liegen, werden noch bearbeitet.
+     * @param game Nummer des Spieles.
+     * @return true, wenn es das Spiel gab.
+     */
+    public boolean removeGame(long game) {
+        return games.remove(game);
+    }
+
+    /**
+     * Lagert alle Spiele aus, die laenger als die Lebensdauer keine Auftraege bekommen haben.
+     * Zum regelmaessigen Aufruf, etwa aus einem ScheduledExecutorService. Ohne Speicher geschieht nichts.
+     * @return Anzahl Spiele, bei denen das Auslagern eingeplant ist.
+     */
+    public int evictIdle() {
+        return games.evictIdle();
+    }
+
+    /**
+     * Schickt einem Spiel einen Zug.
+     * @param game Nummer des Spieles.
+     * @param action Zug. Nicht null.
+     * @return Ergebnis: die Aenderung des Guthabens oder die Ausnahme, mit der die Engine den Zug abgelehnt hat.
+     * @throws IllegalArgumentException wenn es das Spiel nicht gibt oder der Zug null ist.
+     * @throws IllegalStateException wenn das Postfach des Spieles voll ist.
+     */
+    public CompletableFuture<Integer> submit(long game, Action action) {
+        if (action == null)
+            throw new IllegalArgumentException("Der Zug darf nicht null sein.");
+        return run(game, engine -> engine.apply(action));
+    }
+
+    /**
+     * Schickt einem Spiel eine Folge von Zuegen, die es ganz oder gar nicht anwendet.
+     * Die Folge belegt nur einen Platz im Postfach.
+     * Der Aufrufer darf die Folge erst nach Abschluss des Ergebnisses wieder anfassen.
+     * @param game Nummer des Spieles.
+     * @param batch Zuege. Nicht null.
+     * @return Ergebnis: die Folge mit den Aenderungen des Guthabens oder die Ausnahme,
+     * mit der die Engine einen Zug abgelehnt hat.
+     * @throws IllegalArgumentException wenn es das Spiel nicht gibt oder die Folge null ist.
+     * @throws IllegalStateException wenn das Postfach des Spieles voll ist.
+     */
+    public CompletableFuture<ActionBatch> submit(long game, ActionBatch batch) {
+        if (batch == null)
+            throw new IllegalArgumentException("Die Folge von Zuegen darf nicht null sein.");
+        return run(game, engine -> {
+            engine.applyAll(batch);
+            return batch;
+        });
+    }
+
+    /**
+     * Liest den Zustand eines Spieles im Thread des Spieles.
+     * @param game Nummer des Spieles.
+     * @param query Abfrage. Darf den Zustand nicht aendern und nicht nach aussen reichen. Nicht null.
+     * @param <T> Typ des Ergebnisses.
+     * @return Ergebnis der Abfrage.
+     * @throws IllegalArgumentException wenn es das Spiel nicht gibt.
+     * @throws IllegalStateException wenn das Postfach des Spieles voll ist.
+     */
+    public <T> CompletableFuture<T> query(long game, Function<GameState, T> query) {
+        return run(game, engine -> query.apply(engine.getState()));
+    }
+
+    /**
+     * Hilfsmethode, die einen Auftrag in das Postfach eines Spieles legt.
+     * @param game Nummer des Spieles.
+     * @param task Auftrag an die Engine.
+     * @param <T> Typ des Ergebnisses.
+     * @return Ergebnis des Auftrags.
+     */
+    private <T> CompletableFuture<T> run(long game, Function<GameEngine, T> task) {
+        final CompletableFuture<T> result = new CompletableFuture<>();
+        post(game, task, result);
+        return result;
+    }
+
+    /**
+     * Hilfsmethode, die einen Auftrag in das Postfach eines Spieles legt.
+     * Ist das Postfach versiegelt, wird das Spiel gerade ausgelagert. Dann geht der Auftrag an das
+     * wiederhergestellte Spiel, sobald die Registry das alte nicht mehr liefert.
+     * @param game Nummer des Spieles.
+     * @param task Auftrag an die Engine.
+     * @param result Ergebnis des Auftrags.
+     * @param <T> Typ des Ergebnisses.
+     * @throws IllegalArgumentException wenn es das Spiel nicht gibt.
+     * @throws IllegalStateException wenn das Postfach des Spieles voll ist.
+     */
+    private <T> void post(long game, Function<GameEngine, T> task, CompletableFuture<T> result) {
+        while (true) {
+            final GameActor actor = games.get(game);
+            if (actor == null)
+                throw new IllegalArgumentException("Unbekanntes Spiel: " + game);
+            if (actor.offer(() -> {
+                try {
+                    result.complete(task.apply(actor.getEngine()));
+                } catch (RuntimeException exception) {
+                    result.completeExceptionally(exception);
+                }
+            }))
+                return;
+            if (!actor.isSealed())
+                throw new IllegalStateException("Das Postfach des Spiels ist voll.");
+            Thread.onSpinWait();
+        }
+    }
+}
@@ -0,0 +1,171 @@
+/*
+ * Copyright (c) 2020 Stefan Kuehnel - All Rights Reserved
+ * Unauthorized copying of this file, via any medium is strictly prohibited
+ * Proprietary and confidential
+ * Written by Stefan Kuehnel <stefan.kuehnel@hm.edu>, May 2020
+ *
+ * DISCLAIMER. THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OR CONDITION,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. THE AUTHOR HEREBY DISCLAIMS
+ * ALL LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE.
+ */
+
+package edu.hm.kuehnel.powergrid.bot;
+
+import edu.hm.cs.rs.powergrid.Edition;
+import edu.hm.cs.rs.powergrid.EditionGermany;
+import edu.hm.cs.rs.powergrid.datastore.Factory;
+import edu.hm.cs.rs.powergrid.datastore.Resource;
+import edu.hm.kuehnel.powergrid.engine.Action;
+import edu.hm.kuehnel.powergrid.engine.ActionBatch;
+import edu.hm.kuehnel.powergrid.engine.ActionType;
+import edu.hm.kuehnel.powergrid.engine.GameEngine;
+import edu.hm.kuehnel.powergrid.engine.Phase;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/** Die Testklasse fuer den MctsBot.
+ * @author Stefan Kuehnel, stefan.kuehnel@hm.edu
+ * @version last-modified 2026-10-19
+ */
+public class MctsBotTest {
+    /** Verhindert unendliche Schleifen. */
+    @Rule
+    public final Timeout globalTimeout = Timeout.seconds(1); // Maximale Anzahl an Sekunden pro Testfall.
+
+    /** Factory. */
+    private final Factory factory;
+
+    /** Edition. */
+    private final Edition edition;
+
+    /** Initialisiert die Factory. */
+    public MctsBotTest() {
+        factory = Factory.newFactory();
+        edition = new EditionGermany();
+    }
+
+    /** Instanziiert einen neuen Bot mit einem Worker, der im aufrufenden Thread sucht.
+     * @return Bot.
+     */
+    public MctsBot getSUT() {
+        return new MctsBot(Runnable::run, 1, 10_000, factory.newRandomSource(1));
+    }
+
+    /** Beendet Phasen, bis das Spiel in der gewuenschten Phase ist.
+     * @param game Spiel.
+     * @param phase Gewuenschte Phase.
+     */
+    private static void advanceTo(GameEngine game, Phase phase) {
+        while (game.getState().getPhase() != phase)
+            game.apply(ActionType.EndPhase, 0, 0, 0);
+    }
+
+    @Test
+    public void testDecideVerifyFunctionalityFiresPlantsForIncome() {
+        final GameEngine game = new GameEngine(factory, edition, 2, 42);
+        advanceTo(game, Phase.PlantAuction);
+        game.apply(ActionType.Bid, 0, game.getTables().findPlant(3), 3);
+        advanceTo(game, Phase.ResourceBuying);
+        game.apply(ActionType.BuyResource, 0, Resource.Oil.ordinal(), 2);
+        advanceTo(game, Phase.Building);
+        game.apply(ActionType.BuildCity, 0, game.getBoard().indexOf("Hamburg"), 0);
+        advanceTo(game, Phase.Bureaucracy);
+
+        final Action action = getSUT().decide(game, 0, 1000, 200);
+
+        assertEquals(ActionType.FirePlants, action.getType());
+        assertEquals(1, action.getFirst());
+    }
+
+    @Test
+    public void testDecideVerifyFunctionalityEngineAcceptsMove() {
+        final GameEngine game = new GameEngine(factory, edition, 3, 7);
+        advanceTo(game, Phase.PlantAuction);
+        final MctsBot sut = getSUT();
+
+        final Action action = sut.decide(game, 1, 1000, 100);
+
+        assertEquals(1, action.getPlayer());
+        game.apply(action);
+        assertEquals(100, sut.getLastIterations());
+    }
+
+    @Test
+    public void testDecideVerifyFunctionalityRootParallelWorkers() throws InterruptedException {
+        final GameEngine game = new GameEngine(factory, edition, 4, 3);
+        advanceTo(game, Phase.Building);
+        final ExecutorService executor = Executors.newFixedThreadPool(3);
+        try {
+            final MctsBot sut = new MctsBot(executor, 3, 10_000, factory.newRandomSource(5));
+
+            final Action action = sut.decide(game, 2, 1000, 50);
+
+            assertEquals(150, sut.getLastIterations());
+            game.apply(action);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testDecideVerifyFunctionalityTooSmallPoolFallsBackToLegalMove() {
+        final GameEngine game = new GameEngine(factory, edition, 2, 42);
+        advanceTo(game, Phase.PlantAuction);
+        final MctsBot sut = new MctsBot(Runnable::run, 1, 1, factory.newRandomSource(1));
+
+        final Action action = sut.decide(game, 0, 1000, 10);
+
+        assertEquals(ActionType.Bid, action.getType());
+        game.apply(action);
+    }
+
+    @Test
+    public void testDecideVerifyFunctionalityStopsAtDeadline() {
+        final GameEngine game = new GameEngine(factory, edition, 2, 9);
+        final MctsBot sut = getSUT();
+
+        sut.decide(game, 0, 0);
+
+        assertTrue(sut.getLastIterations() >= 1);
+        assertTrue(sut.getLastIterations() <= 16);
+    }
+
+    @Test
+    public void testGenerateVerifyFunctionalityOnlyLegalMoves() {
+        final GameEngine game = new GameEngine(factory, edition, 3, 11);
+        final MoveGenerator sut = new MoveGenerator(game);
+        final ActionBatch moves = new ActionBatch(8);
+
+        for (Phase phase : new Phase[] {Phase.PlantAuction, Phase.ResourceBuying, Phase.Building}) {
+            advanceTo(game, phase);
+            sut.generate(0, moves);
+            for (int index = 0; index < moves.size(); index++)
+                if (moves.getType(index) != ActionType.EndPhase)
+                    game.resolve(moves.getType(index), 0, moves.getFirst(index), moves.getSecond(index));
+            assertEquals(ActionType.EndPhase, moves.getType(moves.size() - 1));
+        }
+    }
+
+    @Test (expected = IllegalStateException.class)
+    public void testDecideDenyActionTerminatedGame() {
+        final GameEngine game = new GameEngine(factory, edition, 2, 42);
+        final GameEngine done = new GameEngine(game.getTables(), game.getBoard(), 2, factory.newRandomSource(1));
+        // Kuenstliches Spielende: Ein Zustand mit Phase Terminated wird eingelesen.
+        final ByteBuffer buffer = ByteBuffer.allocate(done.getState().getByteSize());
+        done.getState().writeTo(buffer);
+        buffer.putInt(0, Phase.Terminated.ordinal());
+        done.getState().readFrom(buffer.clear());
+
+        getSUT().decide(done, 0, 10);
+    }
+}
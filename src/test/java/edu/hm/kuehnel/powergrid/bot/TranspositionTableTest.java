@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2020 Stefan Kuehnel - All Rights Reserved
+ * Unauthorized copying of this file, via any medium is strictly prohibited
+ * Proprietary and confidential
+ * Written by Stefan Kuehnel <stefan.kuehnel@hm.edu>, May 2020
+ *
+ * DISCLAIMER. THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OR CONDITION,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. THE AUTHOR HEREBY DISCLAIMS
+ * ALL LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE.
+ */
+
+package edu.hm.kuehnel.powergrid.bot;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/** Die Testklasse fuer die TranspositionTable.
+ * @author Stefan Kuehnel, stefan.kuehnel@hm.edu
+ * @version last-modified 2026-10-19
+ */
+public class TranspositionTableTest {
+    /** Verhindert unendliche Schleifen. */
+    @Rule
+    public final Timeout globalTimeout = Timeout.seconds(1); // Maximale Anzahl an Sekunden pro Testfall.
+
+    @Test
+    public void testProbeVerifyFunctionalityStoredValueFound() {
+        final TranspositionTable sut = new TranspositionTable(16);
+        sut.store(0x1234_5678_9ABC_DEF0L, 42);
+
+        assertEquals(42, sut.probe(0x1234_5678_9ABC_DEF0L));
+    }
+
+    @Test
+    public void testProbeVerifyFunctionalityUnknownHashMissing() {
+        final TranspositionTable sut = new TranspositionTable(16);
+        sut.store(7, 42);
+
+        assertEquals(TranspositionTable.MISSING, sut.probe(8));
+        assertEquals(TranspositionTable.MISSING, sut.probe(7 + 16)); // gleicher Platz, anderer Hash
+    }
+
+    @Test
+    public void testProbeVerifyFunctionalityConcurrentWritersNeverMixEntries() throws Exception {
+        final TranspositionTable sut = new TranspositionTable(64);
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            final List<Future<Integer>> results = new ArrayList<>();
+            for (int thread = 0; thread < 4; thread++) {
+                final long offset = thread;
+                results.add(executor.submit(() -> {
+                    int wrong = 0;
+                    for (long hash = offset; hash < 20_000; hash += 4) {
+                        sut.store(hash, ~hash);
+                        final long other = sut.probe(hash ^ 1);
+                        if (other != TranspositionTable.MISSING && other != ~(hash ^ 1))
+                            wrong++;
+                    }
+                    return wrong;
+                }));
+            }
+            for (Future<Integer> result : results)
+                assertEquals(0, (int) result.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testClearVerifyFunctionalityEmptiesTable() {
+        final TranspositionTable sut = new TranspositionTable(4);
+        sut.store(3, 9);
+        sut.clear();
+
+        assertEquals(TranspositionTable.MISSING, sut.probe(3));
+        assertTrue(sut.getCapacity() == 4);
+    }
+
+    @Test (expected = IllegalArgumentException.class)
+    public void testNewTranspositionTableRequireArgumentPowerOfTwo() {
+        new TranspositionTable(10);
+    }
+}
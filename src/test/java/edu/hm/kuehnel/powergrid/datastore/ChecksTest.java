@@ -0,0 +1,177 @@
+/*
+ * Copyright (c) 2020 Stefan Kuehnel - All Rights Reserved
+ * Unauthorized copying of this file, via any medium is strictly prohibited
+ * Proprietary and confidential
+ * Written by Stefan Kuehnel <stefan.kuehnel@hm.edu>, May 2020
+ *
+ * DISCLAIMER. THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OR CONDITION,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. THE AUTHOR HEREBY DISCLAIMS
+ * ALL LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE.
+ */
+
+package edu.hm.kuehnel.powergrid.datastore;
+
+import edu.hm.cs.rs.powergrid.EditionGermany;
+import edu.hm.cs.rs.powergrid.datastore.Board;
+import edu.hm.cs.rs.powergrid.datastore.City;
+import edu.hm.cs.rs.powergrid.datastore.Factory;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/** Die Testklasse fuer Checks.
+ * Die Tests zum Allokieren messen die echten Aufrufer im Spielplan gegen dieselbe Arbeit ohne Pruefungen.
+ * @author Stefan Kuehnel, stefan.kuehnel@hm.edu
+ * @version last-modified 2026-10-19
+ */
+public class ChecksTest {
+    /** Verhindert unendliche Schleifen. */
+    @Rule
+    public final Timeout globalTimeout = Timeout.seconds(1); // Maximale Anzahl an Sekunden pro Testfall.
+
+    /** Anzahl Aufrufe pro Messung. */
+    private static final int CALLS = 10_000;
+
+    /** Misst die Allokationen des eigenen Threads. */
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    /**
+     * Hilfsmethode, die die Bytes misst, die eine Arbeit im eigenen Thread anlegt.
+     * @param work Arbeit.
+     * @return Angelegte Bytes.
+     */
+    private static long allocated(Runnable work) {
+        final long thread = Thread.currentThread().getId();
+        THREADS.getThreadAllocatedBytes(thread);
+        final long before = THREADS.getThreadAllocatedBytes(thread);
+        work.run();
+        return THREADS.getThreadAllocatedBytes(thread) - before;
+    }
+
+    @Test
+    public void testRequireVerifyFunctionalityReturnsValue() {
+        final String name = "Entenhausen";
+
+        assertSame(name, Checks.requireNonBlank(name, "leer"));
+        assertSame(name, Checks.requireArgumentNonNull(name, "null"));
+        assertEquals(3, Checks.requireAtLeast(3, 1, "klein"));
+    }
+
+    /** Eine Stadt mit denselben Feldern wie CityGenerator, aber ohne Pruefungen. */
+    private static final class UncheckedCity {
+        /** Name. */
+        private final String name;
+
+        /** Gebiet. */
+        private final int region;
+
+        /** Geschlossen. */
+        private boolean closed;
+
+        /** Verbindungen. */
+        private final Map<City, Integer> connections = new HashMap<>();
+
+        /**
+         * Initialisiert eine Stadt.
+         * @param name Name.
+         * @param region Gebiet.
+         */
+        UncheckedCity(String name, int region) {
+            this.name = name;
+            this.region = region;
+        }
+    }
+
+    @Test
+    public void testNewCityGeneratorVerifyFunctionalityChecksAllocateNothing() {
+        final Object[] keep = new Object[CALLS];
+        final long plain = allocated(() -> {
+            for (int index = 0; index < CALLS; index++)
+                keep[index] = new UncheckedCity("Entenhausen", 1);
+        });
+        final long cities = allocated(() -> {
+            for (int index = 0; index < CALLS; index++)
+                keep[index] = new CityGenerator("Entenhausen", 1);
+        });
+
+        // Beide legen dieselben Objekte an, die Pruefungen duerfen nichts dazu legen.
+        assertTrue("allocated " + (cities - plain), cities - plain < 1024);
+    }
+
+    @Test
+    public void testConnectVerifyFunctionalityChecksAllocateNothing() {
+        final City other = new CityGenerator("Duckburg", 1);
+        final CityGenerator[] cities = new CityGenerator[CALLS];
+        final List<Map<City, Integer>> maps = new ArrayList<>(CALLS);
+        for (int index = 0; index < CALLS; index++) {
+            cities[index] = new CityGenerator("Entenhausen", 1);
+            maps.add(new HashMap<>());
+        }
+
+        final long puts = allocated(() -> {
+            for (Map<City, Integer> map : maps)
+                if (!map.containsKey(other))
+                    map.put(other, 5);
+        });
+        final long connects = allocated(() -> {
+            for (CityGenerator city : cities)
+                city.connect(other, 5);
+        });
+
+        assertTrue("allocated " + (connects - puts), connects - puts < 1024);
+    }
+
+    @Test
+    public void testFindCityVerifyFunctionalityChecksAllocateNothing() {
+        final Board board = Factory.newFactory().newBoard(new EditionGermany());
+        final Set<City> cities = new HashSet<>(board.getCities());
+        final City[] found = new City[1];
+
+        final long scans = allocated(() -> {
+            for (int index = 0; index < CALLS; index++)
+                for (City city : cities)
+                    if (city.getName().equals("Entenhausen"))
+                        found[0] = city;
+        });
+        final long finds = allocated(() -> {
+            for (int index = 0; index < CALLS; index++)
+                found[0] = board.findCity("Entenhausen");
+        });
+
+        // Beide laufen ueber ein HashSet, nur findCity prueft zusaetzlich den Namen.
+        assertTrue("allocated " + (finds - scans), finds - scans < 16L * CALLS);
+    }
+
+    @Test (expected = IllegalArgumentException.class)
+    public void testRequireNonBlankRequireArgumentNonBlank() {
+        Checks.requireNonBlank(" ", "leer");
+    }
+
+    @Test (expected = IllegalArgumentException.class)
+    public void testRequireArgumentNonNullRequireArgumentNonNull() {
+        Checks.requireArgumentNonNull(null, "null");
+    }
+
+    @Test (expected = IllegalStateException.class)
+    public void testConnectDenyActionClosedCity() {
+        final CityGenerator sut = new CityGenerator("Entenhausen", 1);
+        sut.connect(new CityGenerator("Duckburg", 1), 5);
+        sut.close();
+        sut.connect(new CityGenerator("Gansehausen", 1), 5);
+    }
+}
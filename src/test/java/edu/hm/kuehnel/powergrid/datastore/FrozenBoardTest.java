@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2020 Stefan Kuehnel - All Rights Reserved
+ * Unauthorized copying of this file, via any medium is strictly prohibited
+ * Proprietary and confidential
+ * Written by Stefan Kuehnel <stefan.kuehnel@hm.edu>, May 2020
+ *
+ * DISCLAIMER. THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OR CONDITION,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. THE AUTHOR HEREBY DISCLAIMS
+ * ALL LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE.
+ */
+
+package edu.hm.kuehnel.powergrid.datastore;
+
+import edu.hm.cs.rs.powergrid.Edition;
+import edu.hm.cs.rs.powergrid.EditionGermany;
+import edu.hm.cs.rs.powergrid.datastore.Board;
+import edu.hm.cs.rs.powergrid.datastore.City;
+import edu.hm.cs.rs.powergrid.datastore.Factory;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+/** Die Testklasse fuer FrozenBoard.
+ * @author Stefan Kuehnel, stefan.kuehnel@hm.edu
+ * @version last-modified 2026-10-19
+ */
+public class FrozenBoardTest {
+    /** Verhindert unendliche Schleifen. */
+    @Rule
+    public final Timeout globalTimeout = Timeout.seconds(1); // Maximale Anzahl an Sekunden pro Testfall.
+
+    /** Factory. */
+    private final Factory factory;
+
+    /** Edition. */
+    private final Edition edition;
+
+    /** Initialisiert die Factory. */
+    public FrozenBoardTest() {
+        factory = Factory.newFactory();
+        edition = new EditionGermany();
+    }
+
+    /** Instanziiert einen eingefrorenen deutschen Spielplan mit den Gebieten 1 bis 3.
+     * @return Spielplan.
+     */
+    public Board getSUT() {
+        final Board board = factory.newBoard(edition);
+        board.closeRegions(3);
+        board.close();
+        return new FrozenBoard(board);
+    }
+
+    @Test
+    public void testFrozenBoardVerifyFunctionalitySameCitiesAndConnections() {
+        final Board original = factory.newBoard(edition);
+        original.closeRegions(3);
+        original.close();
+        final Board sut = new FrozenBoard(original);
+
+        assertEquals(original.getCities().size(), sut.getCities().size());
+        for (City city : original.getCities()) {
+            final City frozen = sut.findCity(city.getName());
+            assertEquals(city.getRegion(), frozen.getRegion());
+            assertEquals(city.getConnections().size(), frozen.getConnections().size());
+            for (Map.Entry<City, Integer> connection : frozen.getConnections().entrySet())
+                assertEquals(city.getConnections().get(original.findCity(connection.getKey().getName())),
+                        connection.getValue());
+        }
+        assertNull(sut.findCity("Atlantis"));
+    }
+
+    @Test
+    public void testGetCitiesVerifyFunctionalitySameInstanceEveryCall() {
+        final Board sut = getSUT();
+        final City kiel = sut.findCity("Kiel");
+
+        assertSame(sut.getCities(), sut.getCities());
+        assertSame(kiel.getConnections(), kiel.getConnections());
+        assertSame(kiel, sut.findCity("Kiel"));
+    }
+
+    @Test (expected = UnsupportedOperationException.class)
+    public void testGetCitiesDenyActionModify() {
+        final Board sut = getSUT();
+        sut.getCities().clear();
+    }
+
+    @Test (expected = IllegalStateException.class)
+    public void testConnectDenyActionFrozen() {
+        final Board sut = getSUT();
+        sut.findCity("Kiel").connect(sut.findCity("Berlin"), 1);
+    }
+
+    @Test (expected = IllegalStateException.class)
+    public void testCloseRegionsDenyActionFrozen() {
+        getSUT().closeRegions(1);
+    }
+
+    @Test (expected = IllegalArgumentException.class)
+    public void testNewFrozenBoardRequireArgumentMonotonicOffsets() {
+        // Die Summe stimmt, aber Stadt Aa haette -1 Verbindungen.
+        new FrozenBoard(new String[] {"Aa", "Bb", "Cc"}, new int[] {1, 1, 1}, new int[] {0, 2, 1, 2},
+                new int[] {1, 2}, new int[] {3, 4});
+    }
+
+    @Test (expected = IllegalArgumentException.class)
+    public void testNewFrozenBoardRequireArgumentOffsetsFromZero() {
+        new FrozenBoard(new String[] {"Aa", "Bb"}, new int[] {1, 1}, new int[] {1, 1, 2},
+                new int[] {0, 1}, new int[] {3, 3});
+    }
+}
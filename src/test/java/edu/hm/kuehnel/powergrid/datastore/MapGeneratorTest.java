@@ -0,0 +1,144 @@
+/*
+ * Copyright (c) 2020 Stefan Kuehnel - All Rights Reserved
+ * Unauthorized copying of this file, via any medium is strictly prohibited
+ * Proprietary and confidential
+ * Written by Stefan Kuehnel <stefan.kuehnel@hm.edu>, May 2020
+ *
+ * DISCLAIMER. THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OR CONDITION,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. THE AUTHOR HEREBY DISCLAIMS
+ * ALL LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE.
+ */
+
+package edu.hm.kuehnel.powergrid.datastore;
+
+import edu.hm.cs.rs.powergrid.datastore.Board;
+import edu.hm.cs.rs.powergrid.datastore.City;
+import edu.hm.cs.rs.powergrid.datastore.Factory;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/** Die Testklasse fuer den MapGenerator.
+ * @author Stefan Kuehnel, stefan.kuehnel@hm.edu
+ * @version last-modified 2026-10-19
+ */
+public class MapGeneratorTest {
+    /** Verhindert unendliche Schleifen. */
+    @Rule
+    public final Timeout globalTimeout = Timeout.seconds(1); // Maximale Anzahl an Sekunden pro Testfall.
+
+    /** Instanziiert einen neuen Spielplan mit 1000 Staedten in 6 Gebieten.
+     * @return Spielplan.
+     */
+    public MapGenerator getSUT() {
+        return new MapGenerator(1000, 6, 2, 20, 0.5, 42);
+    }
+
+    @Test
+    public void testMapGeneratorVerifyFunctionalityEveryRegionConnected() {
+        final MapGenerator sut = getSUT();
+
+        for (int region = 1; region <= 6; region++) {
+            // Breitensuche innerhalb des Gebiets ab seiner ersten Stadt.
+            int start = 0;
+            while (sut.getRegion(start) != region)
+                start++;
+            final boolean[] seen = new boolean[sut.size()];
+            final Deque<Integer> open = new ArrayDeque<>();
+            open.add(start);
+            seen[start] = true;
+            int reached = 0;
+            while (!open.isEmpty()) {
+                final int city = open.poll();
+                reached++;
+                for (int edge = sut.getOffset(city); edge < sut.getOffset(city + 1); edge++) {
+                    final int target = sut.getTarget(edge);
+                    if (!seen[target] && sut.getRegion(target) == region) {
+                        seen[target] = true;
+                        open.add(target);
+                    }
+                }
+            }
+
+            int want = 0;
+            for (int city = 0; city < sut.size(); city++)
+                if (sut.getRegion(city) == region)
+                    want++;
+            assertEquals(want, reached);
+        }
+    }
+
+    @Test
+    public void testMapGeneratorVerifyFunctionalityConnectionsSymmetricAndInRange() {
+        final MapGenerator sut = getSUT();
+
+        for (int city = 0; city < sut.size(); city++) {
+            assertTrue(sut.getOffset(city + 1) > sut.getOffset(city));
+            for (int edge = sut.getOffset(city); edge < sut.getOffset(city + 1); edge++) {
+                final int target = sut.getTarget(edge);
+                assertTrue(sut.getCost(edge) >= 2 && sut.getCost(edge) <= 20);
+                boolean back = false;
+                for (int other = sut.getOffset(target); other < sut.getOffset(target + 1); other++)
+                    back |= sut.getTarget(other) == city && sut.getCost(other) == sut.getCost(edge);
+                assertTrue(back);
+            }
+        }
+    }
+
+    @Test
+    public void testMapGeneratorVerifyFunctionalitySameSeedSameMap() {
+        final MapGenerator first = getSUT();
+        final MapGenerator second = getSUT();
+
+        final int[] want = new int[first.getEdges()];
+        final int[] have = new int[second.getEdges()];
+        for (int edge = 0; edge < want.length; edge++) {
+            want[edge] = first.getTarget(edge) * 100 + first.getCost(edge);
+            have[edge] = second.getTarget(edge) * 100 + second.getCost(edge);
+        }
+        assertArrayEquals(want, have);
+    }
+
+    @Test
+    public void testToBoardVerifyFunctionalityBoardClosesAndMatches() {
+        final MapGenerator sut = getSUT();
+        final Board board = sut.toBoard();
+        board.close();
+
+        assertEquals(sut.size(), board.getCities().size());
+        int edges = 0;
+        for (City city : board.getCities())
+            edges += city.getConnections().size();
+        assertEquals(sut.getEdges(), edges);
+    }
+
+    @Test
+    public void testToEditionVerifyFunctionalityFactoryBuildsSameBoard() {
+        // Die Standardregeln verlangen bis zu 6 Gebiete, die Factory prueft die Ausgabe.
+        final MapGenerator sut = new MapGenerator(50, 6, 0, 10, 1, 7);
+        final Board board = Factory.newFactory().newBoard(sut.toEdition());
+
+        assertEquals(sut.size(), board.getCities().size());
+        final City city = board.findCity(sut.getName(0));
+        assertEquals(sut.getOffset(1) - sut.getOffset(0), city.getConnections().size());
+    }
+
+    @Test (expected = IllegalArgumentException.class)
+    public void testMapGeneratorRequireArgumentRegionsFitColumns() {
+        new MapGenerator(9, 4, 0, 10, 0, 0);
+    }
+
+    @Test (expected = IllegalArgumentException.class)
+    public void testMapGeneratorRequireArgumentCostRange() {
+        new MapGenerator(100, 2, 10, 5, 0, 0);
+    }
+}
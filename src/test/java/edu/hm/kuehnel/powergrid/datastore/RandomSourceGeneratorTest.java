@@ -0,0 +1,133 @@
+/*
+ * Copyright (c) 2020 Stefan Kuehnel - All Rights Reserved
+ * Unauthorized copying of this file, via any medium is strictly prohibited
+ * Proprietary and confidential
+ * Written by Stefan Kuehnel <stefan.kuehnel@hm.edu>, May 2020
+ *
+ * DISCLAIMER. THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OR CONDITION,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. THE AUTHOR HEREBY DISCLAIMS
+ * ALL LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE.
+ */
+
+package edu.hm.kuehnel.powergrid.datastore;
+
+import edu.hm.cs.rs.powergrid.RandomSource;
+import edu.hm.cs.rs.powergrid.datastore.Factory;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+/** Die Testklasse fuer den RandomSourceGenerator.
+ * @author Stefan Kuehnel, stefan.kuehnel@hm.edu
+ * @version last-modified 2026-10-19
+ */
+public class RandomSourceGeneratorTest {
+    /** Verhindert unendliche Schleifen. */
+    @Rule
+    public final Timeout globalTimeout = Timeout.seconds(1); // Maximale Anzahl an Sekunden pro Testfall.
+
+    /** Factory. */
+    private final Factory factory;
+
+    /** Initialisiert die Factory. */
+    public RandomSourceGeneratorTest() throws IOException {
+        factory = Factory.newFactory();
+    }
+
+    @Test
+    public void testNewRandomSourceVerifyFunctionalitySameSeedSameSequence() {
+        final RandomSource first = factory.newRandomSource(42);
+        final RandomSource second = factory.newRandomSource(42);
+
+        for (int draw = 0; draw < 100; draw++)
+            assertEquals(first.nextLong(), second.nextLong());
+    }
+
+    @Test
+    public void testGetSeedVerifyFunctionalitySuppliedAndReturnedSeedAreEqual() {
+        final RandomSource sut = factory.newRandomSource(4711);
+
+        assertEquals(4711, sut.getSeed());
+    }
+
+    @Test
+    public void testDeriveVerifyFunctionalityIndependentOfPreviousDraws() {
+        final RandomSource used = factory.newRandomSource(42);
+        final RandomSource fresh = factory.newRandomSource(42);
+
+        // Die erste Quelle wird vor dem Ableiten benutzt, die zweite nicht.
+        used.nextLong();
+        used.nextInt(10);
+
+        assertEquals(fresh.derive(3).nextLong(), used.derive(3).nextLong());
+    }
+
+    @Test
+    public void testDeriveVerifyFunctionalityDifferentStreamsDiffer() {
+        final RandomSource sut = factory.newRandomSource(42);
+
+        assertNotEquals(sut.derive(1).nextLong(), sut.derive(2).nextLong());
+    }
+
+    @Test
+    public void testSplitVerifyFunctionalityReproducible() {
+        final RandomSource first = factory.newRandomSource(42).split();
+        final RandomSource second = factory.newRandomSource(42).split();
+
+        assertEquals(first.nextLong(), second.nextLong());
+    }
+
+    @Test
+    public void testSplitVerifyFunctionalitySiblingsDeriveIndependentStreams() {
+        final RandomSource master = factory.newRandomSource(42);
+        final RandomSource first = master.split();
+        final RandomSource second = master.split();
+
+        assertNotEquals(first.getSeed(), second.getSeed());
+        assertNotEquals(first.derive(1).nextLong(), second.derive(1).nextLong());
+        assertEquals(first.derive(1).nextLong(), factory.newRandomSource(first.getSeed()).derive(1).nextLong());
+    }
+
+    @Test (expected = IllegalArgumentException.class)
+    public void testNextIntRequireArgumentPositiveBound() {
+        final RandomSource sut = factory.newRandomSource(42);
+        sut.nextInt(0);
+    }
+
+    @Test
+    public void testShuffleVerifyFunctionalityArrayIsPermutation() {
+        final RandomSource sut = factory.newRandomSource(42);
+        final int[] have = IntStream.range(0, 42).toArray();
+
+        sut.shuffle(have);
+        Arrays.sort(have);
+
+        assertArrayEquals(IntStream.range(0, 42).toArray(), have);
+    }
+
+    @Test
+    public void testShuffleVerifyFunctionalityListShuffledLikeArray() {
+        final int[] array = IntStream.range(0, 20).toArray();
+        final List<Integer> list = Arrays.stream(array).boxed().collect(Collectors.toCollection(ArrayList::new));
+
+        factory.newRandomSource(42).shuffle(array);
+        factory.newRandomSource(42).shuffle(list);
+
+        final List<Integer> want = Arrays.stream(array).boxed().collect(Collectors.toList());
+
+        assertEquals(want, list);
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) 2020 Stefan Kuehnel - All Rights Reserved
+ * Unauthorized copying of this file, via any medium is strictly prohibited
+ * Proprietary and confidential
+ * Written by Stefan Kuehnel <stefan.kuehnel@hm.edu>, May 2020
+ *
+ * DISCLAIMER. THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OR CONDITION,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. THE AUTHOR HEREBY DISCLAIMS
+ * ALL LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE.
+ */
+
+package edu.hm.kuehnel.powergrid.diagnostics;
+
+import edu.hm.cs.rs.powergrid.EditionGermany;
+import edu.hm.cs.rs.powergrid.datastore.Factory;
+import edu.hm.cs.rs.powergrid.datastore.Resource;
+import edu.hm.kuehnel.powergrid.engine.ActionBatch;
+import edu.hm.kuehnel.powergrid.engine.ActionType;
+import edu.hm.kuehnel.powergrid.engine.GameEngine;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/** Die Testklasse fuer die JFR-Ereignisse.
+ * @author Stefan Kuehnel, stefan.kuehnel@hm.edu
+ * @version last-modified 2026-10-19
+ */
+public class FlightEventsTest {
+    /** Verhindert unendliche Schleifen. JFR braucht beim ersten Start etwas laenger. */
+    @Rule
+    public final Timeout globalTimeout = Timeout.seconds(10); // Maximale Anzahl an Sekunden pro Testfall.
+
+    @Test
+    public void testRecordVerifyFunctionalityGameEventsRecorded() throws IOException {
+        final Path file = Files.createTempFile("powergrid", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(BoardBuildEvent.class);
+            recording.enable(CloseRegionsEvent.class);
+            recording.enable(PhaseEvent.class);
+            recording.enable(AuctionEvent.class);
+            recording.enable(ResourcePurchaseEvent.class);
+            recording.start();
+
+            final GameEngine sut = new GameEngine(Factory.newFactory(), new EditionGermany(), 2, 42);
+            sut.apply(ActionType.EndPhase, 0, 0, 0);
+            sut.apply(ActionType.EndPhase, 0, 0, 0);
+            sut.apply(ActionType.Bid, 0, sut.getTables().findPlant(3), 4);
+            sut.apply(ActionType.EndPhase, 0, 0, 0);
+            sut.apply(ActionType.BuyResource, 0, Resource.Oil.ordinal(), 2);
+
+            recording.stop();
+            recording.dump(file);
+        }
+
+        final List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+        Files.delete(file);
+
+        assertTrue(events.stream().anyMatch(event -> event.getEventType().getName().endsWith("BoardBuild")
+                && event.getInt("cities") == 42));
+        assertTrue(events.stream().anyMatch(event -> event.getEventType().getName().endsWith("CloseRegions")));
+        assertEquals(3, events.stream().filter(event -> event.getEventType().getName().endsWith(".Phase")).count());
+        assertTrue(events.stream().anyMatch(event -> event.getEventType().getName().endsWith("Auction")
+                && event.getInt("plant") == 3 && event.getInt("price") == 4));
+        assertTrue(events.stream().anyMatch(event -> event.getEventType().getName().endsWith("ResourcePurchase")
+                && "Oil".equals(event.getString("resource")) && event.getInt("amount") == 2));
+    }
+
+    @Test
+    public void testRecordVerifyFunctionalityNoAuctionForRolledBackBid() throws IOException {
+        final Path file = Files.createTempFile("powergrid", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(AuctionEvent.class);
+            recording.start();
+
+            final GameEngine sut = new GameEngine(Factory.newFactory(), new EditionGermany(), 2, 42);
+            sut.apply(ActionType.EndPhase, 0, 0, 0);
+            sut.apply(ActionType.EndPhase, 0, 0, 0);
+            final int plant = sut.getTables().findPlant(3);
+            try {
+                // Das zweite Gebot gilt einem Kraftwerk, das schon vergeben ist. Die ganze Folge verfaellt.
+                sut.applyAll(new ActionBatch(2).add(ActionType.Bid, 0, plant, 4).add(ActionType.Bid, 1, plant, 5));
+            } catch (IllegalArgumentException | IllegalStateException exception) {
+                // erwartet
+            }
+
+            recording.stop();
+            recording.dump(file);
+        }
+
+        final List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+        Files.delete(file);
+
+        assertTrue(events.stream().noneMatch(event -> event.getEventType().getName().endsWith("Auction")));
+    }
+
+    @Test
+    public void testIsEnabledVerifyFunctionalityOffWithoutRecording() {
+        assertFalse(FlightEvents.AUCTION.isEnabled());
+        assertFalse(FlightEvents.PHASE.isEnabled());
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2020 Stefan Kuehnel - All Rights Reserved
+ * Unauthorized copying of this file, via any medium is strictly prohibited
+ * Proprietary and confidential
+ * Written by Stefan Kuehnel <stefan.kuehnel@hm.edu>, May 2020
+ *
+ * DISCLAIMER. THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OR CONDITION,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. THE AUTHOR HEREBY DISCLAIMS
+ * ALL LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE.
+ */
+
+package edu.hm.kuehnel.powergrid.engine;
+
+import edu.hm.cs.rs.powergrid.EditionGermany;
+import edu.hm.cs.rs.powergrid.datastore.City;
+import edu.hm.cs.rs.powergrid.datastore.Factory;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+import java.util.Iterator;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/** Die Testklasse fuer CitySet.
+ * @author Stefan Kuehnel, stefan.kuehnel@hm.edu
+ * @version last-modified 2026-10-19
+ */
+public class CitySetTest {
+    /** Verhindert unendliche Schleifen. */
+    @Rule
+    public final Timeout globalTimeout = Timeout.seconds(1); // Maximale Anzahl an Sekunden pro Testfall.
+
+    /** Der ganze deutsche Spielplan. */
+    private final BoardIndex board;
+
+    /** Initialisiert den Spielplan. */
+    public CitySetTest() {
+        board = new BoardIndex(Factory.newFactory().newBoard(new EditionGermany()));
+    }
+
+    /** Instanziiert eine neue Menge mit Platz fuer 200 Staedte, also ueber mehrere Woerter.
+     * @return Menge.
+     */
+    public CitySet getSUT() {
+        return new CitySet(200);
+    }
+
+    @Test
+    public void testAddVerifyFunctionalityAcrossWords() {
+        final CitySet sut = getSUT();
+
+        assertTrue(sut.add(3));
+        assertTrue(sut.add(64));
+        assertTrue(sut.add(199));
+        assertFalse(sut.add(64));
+        assertEquals(3, sut.cardinality());
+        assertEquals(64, sut.nextCity(4));
+        assertEquals(199, sut.nextCity(65));
+        assertEquals(-1, sut.nextCity(200));
+        assertTrue(sut.remove(64));
+        assertFalse(sut.contains(64));
+    }
+
+    @Test
+    public void testOrVerifyFunctionalityBulkOperations() {
+        final CitySet first = getSUT();
+        final CitySet second = getSUT();
+        first.add(1);
+        first.add(100);
+        second.add(100);
+        second.add(150);
+
+        assertTrue(first.intersects(second));
+        assertEquals(1, new CitySet(200).copyFrom(first).and(second).cardinality());
+        assertEquals(3, new CitySet(200).copyFrom(first).or(second).cardinality());
+        assertEquals(1, new CitySet(200).copyFrom(first).andNot(second).nextCity(0));
+    }
+
+    @Test
+    public void testAsSetVerifyFunctionalityViewWritesThrough() {
+        final CitySet sut = new CitySet(board.size());
+        final Set<City> view = sut.asSet(board);
+        final City kiel = board.getCity(board.indexOf("Kiel"));
+
+        assertTrue(view.add(kiel));
+        assertTrue(sut.contains(board.indexOf("Kiel")));
+        assertTrue(view.contains(kiel));
+        assertEquals(1, view.size());
+
+        final Iterator<City> iterator = view.iterator();
+        assertEquals(kiel, iterator.next());
+        iterator.remove();
+        assertTrue(sut.isEmpty());
+    }
+
+    @Test
+    public void testAddNeighboursVerifyFunctionalityNetworkFrontier() {
+        final CitySet network = new CitySet(board.size());
+        network.add(board.indexOf("Flensburg"));
+        network.add(board.indexOf("Kiel"));
+        final CitySet frontier = new CitySet(board.size());
+
+        board.addNeighbours(network, frontier);
+        frontier.andNot(network);
+
+        assertEquals(2, frontier.cardinality());
+        assertTrue(frontier.contains(board.indexOf("Hamburg")));
+        assertTrue(frontier.contains(board.indexOf("Lübeck")));
+    }
+
+    @Test (expected = IllegalArgumentException.class)
+    public void testOrRequireArgumentSameCapacity() {
+        getSUT().or(new CitySet(10));
+    }
+}
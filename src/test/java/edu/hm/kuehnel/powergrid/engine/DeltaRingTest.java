@@ -0,0 +1,147 @@
+/*
+ * Copyright (c) 2020 Stefan Kuehnel - All Rights Reserved
+ * Unauthorized copying of this file, via any medium is strictly prohibited
+ * Proprietary and confidential
+ * Written by Stefan Kuehnel <stefan.kuehnel@hm.edu>, May 2020
+ *
+ * DISCLAIMER. THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OR CONDITION,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. THE AUTHOR HEREBY DISCLAIMS
+ * ALL LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE.
+ */
+
+package edu.hm.kuehnel.powergrid.engine;
+
+import edu.hm.cs.rs.powergrid.Edition;
+import edu.hm.cs.rs.powergrid.EditionGermany;
+import edu.hm.cs.rs.powergrid.datastore.Factory;
+import edu.hm.cs.rs.powergrid.datastore.Resource;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/** Die Testklasse fuer den DeltaRing.
+ * @author Stefan Kuehnel, stefan.kuehnel@hm.edu
+ * @version last-modified 2026-10-19
+ */
+public class DeltaRingTest {
+    /** Verhindert unendliche Schleifen. */
+    @Rule
+    public final Timeout globalTimeout = Timeout.seconds(1); // Maximale Anzahl an Sekunden pro Testfall.
+
+    /** Factory. */
+    private final Factory factory;
+
+    /** Edition. */
+    private final Edition edition;
+
+    /** Initialisiert die Factory. */
+    public DeltaRingTest() {
+        factory = Factory.newFactory();
+        edition = new EditionGermany();
+    }
+
+    @Test
+    public void testDrainVerifyFunctionalityMirrorFollowsState() {
+        final GameEngine engine = new GameEngine(factory, edition, 2, 42);
+        final DeltaRing sut = new DeltaRing(64);
+        engine.setDeltaRing(sut);
+        final GameState state = engine.getState();
+
+        // Spiegel eines Zuschauers, einmal vollstaendig gelesen und dann nur noch aus den Aenderungen gepflegt.
+        final int[] money = {state.getMoney(0), state.getMoney(1)};
+        final int[] market = new int[EditionTables.RESOURCES];
+        for (int resource = 0; resource < market.length; resource++)
+            market[resource] = state.getMarket(resource);
+        final int[] owners = new int[engine.getBoard().size() * GameState.SLOTS];
+        Arrays.fill(owners, GameState.NO_OWNER);
+        final int[] phase = {state.getPhase().ordinal()};
+        long position = sut.getHead();
+
+        engine.apply(ActionType.EndPhase, 0, 0, 0);
+        engine.apply(ActionType.EndPhase, 0, 0, 0);
+        engine.apply(ActionType.Bid, 0, engine.getTables().findPlant(3), 4);
+        engine.apply(ActionType.EndPhase, 0, 0, 0);
+        engine.apply(ActionType.BuyResource, 0, Resource.Oil.ordinal(), 2);
+        engine.apply(ActionType.EndPhase, 0, 0, 0);
+        engine.apply(ActionType.BuildCity, 1, engine.getBoard().indexOf("Kiel"), 0);
+
+        position = sut.drain(position, (kind, key, value) -> {
+            switch (kind) {
+                case DeltaRing.MONEY -> money[key] += value;
+                case DeltaRing.MARKET -> market[key] += value;
+                case DeltaRing.CITY_OWNER -> owners[key] = value;
+                case DeltaRing.PHASE -> phase[0] = value;
+                default -> { }
+            }
+        });
+
+        assertEquals(sut.getHead(), position);
+        assertEquals(state.getMoney(0), money[0]);
+        assertEquals(state.getMoney(1), money[1]);
+        assertEquals(state.getMarket(Resource.Oil.ordinal()), market[Resource.Oil.ordinal()]);
+        assertEquals(1, owners[engine.getBoard().indexOf("Kiel") * GameState.SLOTS]);
+        assertEquals(state.getPhase().ordinal(), phase[0]);
+    }
+
+    @Test
+    public void testDrainVerifyFunctionalityRollbackRecordsInverseChanges() {
+        final GameEngine engine = new GameEngine(factory, edition, 2, 42);
+        final DeltaRing sut = new DeltaRing(16);
+        engine.setDeltaRing(sut);
+        final int[] phase = {engine.getState().getPhase().ordinal()};
+        final int[] resets = new int[1];
+
+        try {
+            engine.applyAll(new ActionBatch(2).add(ActionType.EndPhase, 0, 0, 0).add(ActionType.BuildCity, 0, 0, 0));
+        } catch (IllegalStateException exception) {
+            // erwartet, in PlayerOrder darf niemand bauen.
+        }
+        sut.drain(0, (kind, key, value) -> {
+            if (kind == DeltaRing.PHASE)
+                phase[0] = value;
+            resets[0] += kind == DeltaRing.RESET ? 1 : 0;
+        });
+
+        assertEquals(0, resets[0]);
+        assertEquals(engine.getState().getPhase().ordinal(), phase[0]);
+    }
+
+    @Test
+    public void testDrainVerifyFunctionalityMakeAndUndoStayOutOfRing() {
+        final GameEngine engine = new GameEngine(factory, edition, 2, 42);
+        final DeltaRing sut = new DeltaRing(16);
+        engine.setDeltaRing(sut);
+
+        engine.make(ActionType.EndPhase, 0, 0, 0);
+        engine.applyAll(new ActionBatch(1).add(ActionType.EndPhase, 0, 0, 0));
+        engine.undo();
+        assertEquals(0, sut.getHead());
+
+        engine.apply(ActionType.EndPhase, 0, 0, 0);
+        assertTrue(sut.getHead() > 0);
+    }
+
+    @Test (expected = IllegalStateException.class)
+    public void testDrainDenyActionReaderOverrun() {
+        final GameEngine engine = new GameEngine(factory, edition, 2, 42);
+        final DeltaRing sut = new DeltaRing(2);
+        engine.setDeltaRing(sut);
+
+        for (int phase = 0; phase < 3; phase++)
+            engine.apply(ActionType.EndPhase, 0, 0, 0);
+
+        sut.drain(0, (kind, key, value) -> { });
+    }
+
+    @Test (expected = IllegalArgumentException.class)
+    public void testNewDeltaRingRequireArgumentPowerOfTwo() {
+        new DeltaRing(12);
+    }
+}
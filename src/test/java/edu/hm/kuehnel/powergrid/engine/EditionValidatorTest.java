@@ -0,0 +1,146 @@
+/*
+ * Copyright (c) 2020 Stefan Kuehnel - All Rights Reserved
+ * Unauthorized copying of this file, via any medium is strictly prohibited
+ * Proprietary and confidential
+ * Written by Stefan Kuehnel <stefan.kuehnel@hm.edu>, May 2020
+ *
+ * DISCLAIMER. THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OR CONDITION,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. THE AUTHOR HEREBY DISCLAIMS
+ * ALL LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE.
+ */
+
+package edu.hm.kuehnel.powergrid.engine;
+
+import edu.hm.cs.rs.powergrid.Edition;
+import edu.hm.cs.rs.powergrid.EditionGermany;
+import edu.hm.cs.rs.powergrid.datastore.Factory;
+import edu.hm.kuehnel.powergrid.datastore.MapGenerator;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/** Die Testklasse fuer den EditionValidator.
+ * @author Stefan Kuehnel, stefan.kuehnel@hm.edu
+ * @version last-modified 2026-10-19
+ */
+public class EditionValidatorTest {
+    @Rule public final Timeout globalTimeout = Timeout.seconds(1); // Maximale Anzahl an Sekunden pro Testfall.
+
+    /**
+     * Hilfsmethode, die eine Ausgabe mit eigenen Staedten baut.
+     * @param cities Staedte.
+     * @return Ausgabe.
+     */
+    private static Edition withCities(String... cities) {
+        return new EditionGermany() {
+            @Override public List<String> getCitySpecifications() {
+                return List.of(cities);
+            }
+
+            @Override public List<Integer> getRegionsUsed() {
+                return List.of(-1, -1, 1, 1, 2, 2, 2);
+            }
+        };
+    }
+
+    @Test
+    public void testValidateVerifyFunctionalityShippedEditionsAreValid() {
+        assertTrue(EditionValidator.validate(new EditionGermany()).isValid());
+        assertTrue(EditionValidator.validate(new MapGenerator(100, 6, 5, 20, 0.3, 1).toEdition()).isValid());
+    }
+
+    @Test
+    public void testValidateVerifyFunctionalityCityProblems() {
+        final Edition edition = withCities("A 1 B 3 X 4", "B 1 A 5", "C 2 C 1", "D 2 B -2");
+
+        final EditionValidator.Report sut = EditionValidator.validate(edition);
+
+        final List<String> problems = sut.getProblems(EditionValidator.Rule.CITIES);
+        assertFalse(sut.isValid());
+        assertTrue(problems.stream().anyMatch(problem -> problem.contains("unbekannter Stadt X")));
+        assertTrue(problems.stream().anyMatch(problem -> problem.contains("Doppelte Verbindung zwischen B und A")));
+        assertTrue(problems.stream().anyMatch(problem -> problem.contains("C zu sich selbst")));
+        assertTrue(problems.stream().anyMatch(problem -> problem.contains("Ungueltige Kosten von D")));
+    }
+
+    @Test
+    public void testValidateVerifyFunctionalityDuplicatePairWithSameCost() {
+        // Beide Seiten nennen jede Verbindung mit denselben Kosten, newBoard wuerde zweimal verbinden.
+        final Edition edition = withCities("Aa 1 Bb 3", "Bb 1 Aa 3 Cc 2", "Cc 1 Bb 2");
+
+        final EditionValidator.Report sut = EditionValidator.validate(edition);
+
+        assertFalse(sut.isValid());
+        assertEquals(List.of("Doppelte Verbindung zwischen Bb und Aa", "Doppelte Verbindung zwischen Cc und Bb"),
+                sut.getProblems(EditionValidator.Rule.CITIES));
+    }
+
+    @Test
+    public void testValidateVerifyFunctionalityDisconnectedRegions() {
+        final Edition edition = withCities("A 1 B 3", "C 1 D 3", "D 2 A 2", "B 2 E 1", "E 3 A 1");
+
+        final EditionValidator.Report sut = EditionValidator.validate(edition);
+
+        assertEquals(1, sut.getProblems(EditionValidator.Rule.CONNECTIVITY).size());
+        assertTrue(sut.getProblems(EditionValidator.Rule.CONNECTIVITY).get(0).contains("Gebiete 1 bis 1"));
+        assertTrue(sut.getProblems(EditionValidator.Rule.CITIES).isEmpty());
+    }
+
+    @Test
+    public void testValidateVerifyFunctionalityPlantsAndTables() {
+        final Edition edition = new EditionGermany() {
+            @Override public List<String> getPlantSpecifications() {
+                return List.of("3 OO 1", "3 CC 2", "4 CX 1", "five G 2");
+            }
+
+            @Override public List<Integer> getPlayersEndgameCities() {
+                return List.of(-1, -1, 21);
+            }
+        };
+
+        final EditionValidator.Report sut = EditionValidator.validate(edition);
+
+        final List<String> plants = sut.getProblems(EditionValidator.Rule.PLANTS);
+        assertTrue(plants.stream().anyMatch(problem -> problem.contains("Doppelte Nummer")));
+        assertTrue(plants.stream().anyMatch(problem -> problem.contains("Ungueltiger Typ")));
+        assertTrue(plants.stream().anyMatch(problem -> problem.contains("Ungueltige Nummer")));
+        assertTrue(plants.stream().anyMatch(problem -> problem.contains("Zu wenige Kraftwerke")));
+        assertEquals(1, sut.getProblems(EditionValidator.Rule.TABLES).size());
+    }
+
+    @Test
+    public void testNewGameEngineVerifyFunctionalityValidatorReportsMalformedPlants() {
+        final Edition edition = new EditionGermany() {
+            @Override public List<String> getPlantSpecifications() {
+                return List.of("3 OO 1", "five G 2");
+            }
+        };
+
+        try {
+            new GameEngine(Factory.newFactory(), edition, 2, 1);
+            fail();
+        } catch (IllegalArgumentException exception) {
+            // Der Bericht des Validators, nicht ein Fehler beim Zerlegen in EditionTables.
+            assertTrue(exception.getMessage(), exception.getMessage().contains("PLANTS: "));
+        }
+    }
+
+    @Test (expected = IllegalArgumentException.class)
+    public void testNewBoardDenyActionInvalidEdition() {
+        Factory.newFactory().newBoard(withCities("A 1 B 3"));
+    }
+
+    @Test (expected = IllegalArgumentException.class)
+    public void testRequireValidDenyActionInvalidEdition() {
+        EditionValidator.validate(withCities("A 1 B 3")).requireValid();
+    }
+}
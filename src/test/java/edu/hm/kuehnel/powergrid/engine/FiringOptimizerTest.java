@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) 2020 Stefan Kuehnel - All Rights Reserved
+ * Unauthorized copying of this file, via any medium is strictly prohibited
+ * Proprietary and confidential
+ * Written by Stefan Kuehnel <stefan.kuehnel@hm.edu>, May 2020
+ *
+ * DISCLAIMER. THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OR CONDITION,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. THE AUTHOR HEREBY DISCLAIMS
+ * ALL LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE.
+ */
+
+package edu.hm.kuehnel.powergrid.engine;
+
+import edu.hm.cs.rs.powergrid.Edition;
+import edu.hm.cs.rs.powergrid.EditionGermany;
+import edu.hm.cs.rs.powergrid.datastore.Factory;
+import edu.hm.cs.rs.powergrid.datastore.Resource;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+import static org.junit.Assert.assertEquals;
+
+/** Die Testklasse fuer den FiringOptimizer.
+ * @author Stefan Kuehnel, stefan.kuehnel@hm.edu
+ * @version last-modified 2026-10-19
+ */
+public class FiringOptimizerTest {
+    /** Verhindert unendliche Schleifen. */
+    @Rule
+    public final Timeout globalTimeout = Timeout.seconds(1); // Maximale Anzahl an Sekunden pro Testfall.
+
+    /** Edition. */
+    private final Edition edition;
+
+    /** Tabellen der Edition. */
+    private final EditionTables tables;
+
+    /** Initialisiert die Tabellen. */
+    public FiringOptimizerTest() {
+        edition = new EditionGermany();
+        tables = new EditionTables(edition);
+    }
+
+    /** Instanziiert einen neuen Optimierer.
+     * @return Optimierer.
+     */
+    public FiringOptimizer getSUT() {
+        return new FiringOptimizer(tables);
+    }
+
+    /** Hilfsmethode, die Kraftwerksnummern in Indizes uebersetzt.
+     * @param numbers Kraftwerksnummern, aufsteigend.
+     * @return Kraftwerksindizes.
+     */
+    private int[] plants(int... numbers) {
+        final int[] result = new int[numbers.length];
+        for (int position = 0; position < numbers.length; position++)
+            result[position] = tables.findPlant(numbers[position]);
+        return result;
+    }
+
+    @Test
+    public void testOptimizeVerifyFunctionalityBestIncomeWithScarceResources() {
+        final FiringOptimizer sut = getSUT();
+        // "3 OO 1", "5 HH 1", "10 CC 2": Fuer alle drei reichen 2 Kohle und 2 Oel nicht.
+        final int income = sut.optimize(plants(3, 5, 10), 3, new int[] {2, 2, 0, 0}, 3);
+
+        assertEquals(edition.getPoweredCitiesIncome().get(3).intValue(), income);
+        assertEquals(0b101, sut.getMask());
+        assertEquals(4, sut.getResourcesUsed());
+    }
+
+    @Test
+    public void testOptimizeVerifyFunctionalityFewestResourcesForSameIncome() {
+        final FiringOptimizer sut = getSUT();
+        // "3 OO 1" und "13 E 1" versorgen je eine Stadt, das Oekokraftwerk kostet nichts.
+        sut.optimize(plants(3, 13), 2, new int[] {0, 2, 0, 0}, 1);
+
+        assertEquals(0b10, sut.getMask());
+        assertEquals(0, sut.getResourcesUsed());
+    }
+
+    @Test
+    public void testOptimizeVerifyFunctionalityHybridSplitsCoalAndOil() {
+        final FiringOptimizer sut = getSUT();
+        sut.optimize(plants(5), 1, new int[] {2, 1, 0, 0}, 1);
+
+        assertEquals(1, sut.getMask());
+        assertEquals(1, sut.getHybridCoal());
+    }
+
+    @Test
+    public void testOptimizeVerifyFunctionalityNothingToFire() {
+        final FiringOptimizer sut = getSUT();
+        final int income = sut.optimize(plants(3, 4), 2, new int[] {0, 0, 0, 0}, 2);
+
+        assertEquals(edition.getPoweredCitiesIncome().get(0).intValue(), income);
+        assertEquals(0, sut.getMask());
+    }
+
+    @Test
+    public void testOptimizeVerifyFunctionalityEngineAcceptsResult() {
+        final GameEngine engine = new GameEngine(Factory.newFactory(), edition, 3, 42);
+        while (engine.getState().getPhase() != Phase.PlantAuction)
+            engine.apply(ActionType.EndPhase, 0, 0, 0);
+        engine.apply(ActionType.Bid, 0, tables.findPlant(3), 3);
+        engine.apply(ActionType.EndPhase, 0, 0, 0);
+        engine.apply(ActionType.BuyResource, 0, Resource.Oil.ordinal(), 2);
+        engine.apply(ActionType.EndPhase, 0, 0, 0);
+        engine.apply(ActionType.BuildCity, 0, engine.getBoard().indexOf("Hamburg"), 0);
+        engine.apply(ActionType.EndPhase, 0, 0, 0);
+        final FiringOptimizer sut = getSUT();
+
+        final int income = sut.optimize(engine.getState(), 0);
+
+        assertEquals(income, engine.apply(ActionType.FirePlants, 0, sut.getMask(), sut.getHybridCoal()));
+        assertEquals(edition.getPoweredCitiesIncome().get(1).intValue(), income);
+    }
+
+    @Test (expected = IllegalArgumentException.class)
+    public void testOptimizeRequireArgumentCountWithinArray() {
+        getSUT().optimize(plants(3), 2, new int[] {0, 0, 0, 0}, 1);
+    }
+}
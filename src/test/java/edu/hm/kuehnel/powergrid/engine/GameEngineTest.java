@@ -0,0 +1,475 @@
+/*
+ * Copyright (c) 2020 Stefan Kuehnel - All Rights Reserved
+ * Unauthorized copying of this file, via any medium is strictly prohibited
+ * Proprietary and confidential
+ * Written by Stefan Kuehnel <stefan.kuehnel@hm.edu>, May 2020
+ *
+ * DISCLAIMER. THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OR CONDITION,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. THE AUTHOR HEREBY DISCLAIMS
+ * ALL LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE.
+ */
+
+package edu.hm.kuehnel.powergrid.engine;
+
+import edu.hm.cs.rs.powergrid.Edition;
+import edu.hm.cs.rs.powergrid.EditionGermany;
+import edu.hm.cs.rs.powergrid.datastore.Factory;
+import edu.hm.cs.rs.powergrid.datastore.Resource;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/** Die Testklasse fuer die GameEngine.
+ * @author Stefan Kuehnel, stefan.kuehnel@hm.edu
+ * @version last-modified 2026-10-19
+ */
+public class GameEngineTest {
+    /** Verhindert unendliche Schleifen. */
+    @Rule
+    public final Timeout globalTimeout = Timeout.seconds(1); // Maximale Anzahl an Sekunden pro Testfall.
+
+    /** Factory. */
+    private final Factory factory;
+
+    /** Edition. */
+    private final Edition edition;
+
+    /** Initialisiert die Factory. */
+    public GameEngineTest() throws IOException {
+        factory = Factory.newFactory();
+        edition = new EditionGermany();
+    }
+
+    /** Instanziiert ein neues Spiel mit drei Spielern.
+     * @return Spiel.
+     */
+    public GameEngine getSUT() {
+        return new GameEngine(factory, edition, 3, 42);
+    }
+
+    /** Beendet Phasen, bis das Spiel in der gewuenschten Phase ist.
+     * @param sut Spiel.
+     * @param phase Gewuenschte Phase.
+     */
+    private static void advanceTo(GameEngine sut, Phase phase) {
+        while (sut.getState().getPhase() != phase)
+            sut.apply(ActionType.EndPhase, 0, 0, 0);
+    }
+
+    @Test
+    public void testNewGameVerifyFunctionalityInitialState() {
+        final GameState sut = getSUT().getState();
+
+        assertEquals(Phase.Opening, sut.getPhase());
+        assertEquals(edition.getInitialElectro(), sut.getMoney(2));
+        assertEquals((int) edition.getResourcesInitiallyAvailable().get(Resource.Oil), sut.getMarket(Resource.Oil.ordinal()));
+        assertEquals(edition.getActualPlants(0), sut.getTables().getActualPlants(0));
+    }
+
+    @Test
+    public void testNewGameVerifyFunctionalityOnlyRegionsForPlayersRemain() {
+        final BoardIndex sut = getSUT().getBoard();
+
+        final long want = edition.getCitySpecifications().stream()
+                .filter(spec -> Integer.parseInt(spec.split("\\s+")[1]) <= edition.getRegionsUsed().get(3))
+                .count();
+
+        assertEquals(want, sut.size());
+    }
+
+    @Test (expected = IllegalArgumentException.class)
+    public void testNewGameRequireArgumentPlayersInRange() {
+        new GameEngine(factory, edition, 7, 42);
+    }
+
+    @Test (expected = IllegalArgumentException.class)
+    public void testNewGameRequireArgumentValidEdition() {
+        // Beide neuen Staedte nennen ihre Verbindung, newBoard scheiterte sonst erst in connect.
+        final Edition invalid = new EditionGermany() {
+            @Override public List<String> getCitySpecifications() {
+                final List<String> specs = new ArrayList<>(super.getCitySpecifications());
+                specs.add("Entenhausen 1 Kiel 4 Duckburg 3");
+                specs.add("Duckburg 1 Entenhausen 3");
+                return specs;
+            }
+        };
+        new GameEngine(factory, invalid, 3, 42);
+    }
+
+    @Test
+    public void testNewGameVerifyFunctionalitySameSeedSameDeck() {
+        final GameState first = getSUT().getState();
+        final GameState second = getSUT().getState();
+
+        for (int plant = 0; plant < first.getTables().getPlants(); plant++)
+            assertEquals(first.getPlantLocation(plant), second.getPlantLocation(plant));
+    }
+
+    @Test (expected = IllegalStateException.class)
+    public void testApplyDenyActionWrongPhase() {
+        getSUT().apply(ActionType.BuildCity, 0, 0, 0);
+    }
+
+    @Test
+    public void testApplyVerifyFunctionalityBidAcquiresPlant() {
+        final GameEngine sut = getSUT();
+        advanceTo(sut, Phase.PlantAuction);
+        final int plant = sut.getState().getMarketPlant(0);
+        final int price = sut.getTables().getPlantNumber(plant) + 2;
+
+        final int electro = sut.apply(ActionType.Bid, 1, plant, price);
+
+        assertEquals(-price, electro);
+        assertEquals(1, sut.getState().getPlantLocation(plant));
+        assertEquals(edition.getInitialElectro() - price, sut.getState().getMoney(1));
+    }
+
+    @Test (expected = IllegalArgumentException.class)
+    public void testApplyRequireArgumentBidNotBelowPlantNumber() {
+        final GameEngine sut = getSUT();
+        advanceTo(sut, Phase.PlantAuction);
+        final int plant = sut.getState().getMarketPlant(0);
+
+        sut.apply(ActionType.Bid, 0, plant, sut.getTables().getPlantNumber(plant) - 1);
+    }
+
+    @Test (expected = IllegalArgumentException.class)
+    public void testApplyRequireArgumentBidOnlyInActualMarket() {
+        final GameEngine sut = getSUT();
+        advanceTo(sut, Phase.PlantAuction);
+        final int plant = sut.getState().getMarketPlant(edition.getActualPlants(0));
+
+        sut.apply(ActionType.Bid, 0, plant, 100);
+    }
+
+    @Test
+    public void testApplyVerifyFunctionalityBuyResourceCheapestFirst() {
+        final GameEngine sut = getSUT();
+        advanceTo(sut, Phase.PlantAuction);
+        sut.apply(ActionType.Bid, 0, sut.getTables().findPlant(3), 3); // "3 OO 1"
+        advanceTo(sut, Phase.ResourceBuying);
+
+        // 18 Oel im Markt, die billigsten kosten je 3 Elektro.
+        final int electro = sut.apply(ActionType.BuyResource, 0, Resource.Oil.ordinal(), 2);
+
+        assertEquals(-6, electro);
+        assertEquals(2, sut.getState().getResources(0, Resource.Oil.ordinal()));
+        assertEquals(16, sut.getState().getMarket(Resource.Oil.ordinal()));
+    }
+
+    @Test (expected = IllegalArgumentException.class)
+    public void testApplyRequireArgumentBuyResourceWithinCapacity() {
+        final GameEngine sut = getSUT();
+        advanceTo(sut, Phase.PlantAuction);
+        sut.apply(ActionType.Bid, 0, sut.getTables().findPlant(3), 3); // "3 OO 1" fasst 4 Oel.
+        advanceTo(sut, Phase.ResourceBuying);
+
+        sut.apply(ActionType.BuyResource, 0, Resource.Oil.ordinal(), 5);
+    }
+
+    @Test
+    public void testPlayerOrderVerifyFunctionalityCitiesThenBiggestPlant() {
+        final GameEngine sut = getSUT();
+        advanceTo(sut, Phase.PlantAuction);
+        sut.apply(ActionType.Bid, 0, sut.getTables().findPlant(3), 3);
+        sut.apply(ActionType.Bid, 2, sut.getTables().findPlant(4), 4);
+        final int[] order = new int[3];
+
+        assertArrayEquals(new int[] {2, 0, 1}, sut.getState().getPlayerOrder(order));
+
+        advanceTo(sut, Phase.Building);
+        sut.apply(ActionType.BuildCity, 1, sut.getBoard().indexOf("Hamburg"), 0);
+        sut.apply(ActionType.BuildCity, 0, sut.getBoard().indexOf("Bremen"), 0);
+
+        // Spieler 0 und 1 haben je eine Stadt, Spieler 0 das groessere Kraftwerk.
+        assertArrayEquals(new int[] {0, 1, 2}, sut.getState().getPlayerOrder(order));
+    }
+
+    @Test (expected = IllegalArgumentException.class)
+    public void testPlayerOrderRequireArgumentOneEntryPerPlayer() {
+        getSUT().getState().getPlayerOrder(new int[2]);
+    }
+
+    @Test
+    public void testApplyVerifyFunctionalityBuildCityPaysConnection() {
+        final GameEngine sut = getSUT();
+        advanceTo(sut, Phase.Building);
+        final BoardIndex board = sut.getBoard();
+
+        final int first = sut.apply(ActionType.BuildCity, 0, board.indexOf("Hamburg"), 0);
+        final int second = sut.apply(ActionType.BuildCity, 0, board.indexOf("Bremen"), 0);
+
+        assertEquals(-10, first);
+        assertEquals(-21, second);
+        assertEquals(2, sut.getState().getCitiesBuilt(0));
+    }
+
+    @Test
+    public void testMakeVerifyFunctionalityOwnedCitiesFollowUndo() {
+        final GameEngine sut = getSUT();
+        advanceTo(sut, Phase.Building);
+        final int hamburg = sut.getBoard().indexOf("Hamburg");
+
+        sut.make(ActionType.BuildCity, 0, hamburg, 0);
+        assertTrue(sut.getState().isOwner(0, hamburg));
+        assertTrue(sut.getState().isOccupied(0, hamburg));
+        assertEquals(1, sut.getState().getOwnerCount(hamburg));
+        assertEquals(1, sut.getState().getFreeSlot(hamburg));
+
+        sut.undo();
+        final CitySet cities = new CitySet(sut.getBoard().size());
+        assertTrue(sut.getState().copyOwned(0, cities).isEmpty());
+        assertTrue(sut.getState().copyOccupied(0, cities).isEmpty());
+        assertEquals(0, sut.getState().getFreeSlot(hamburg));
+    }
+
+    @Test
+    public void testApplyVerifyFunctionalityCityCostFollowsSlots() {
+        final GameEngine sut = getSUT();
+        advanceTo(sut, Phase.Building);
+        final int hamburg = sut.getBoard().indexOf("Hamburg");
+        assertEquals(10, sut.getState().getCityCost(hamburg));
+
+        sut.apply(ActionType.BuildCity, 0, hamburg, 0);
+
+        assertEquals(0, sut.getState().getCityOwner(hamburg, 0));
+        assertEquals(GameState.NO_OWNER, sut.getState().getCityOwner(hamburg, 1));
+        assertEquals(15, sut.getState().getCityCost(hamburg));
+    }
+
+    @Test (expected = IllegalArgumentException.class)
+    public void testApplyDenyActionSecondSlotInLevelOne() {
+        final GameEngine sut = getSUT();
+        advanceTo(sut, Phase.Building);
+        final int hamburg = sut.getBoard().indexOf("Hamburg");
+
+        sut.apply(ActionType.BuildCity, 0, hamburg, 0);
+        sut.apply(ActionType.BuildCity, 1, hamburg, 0);
+    }
+
+    @Test
+    public void testApplyVerifyFunctionalityFirePlantsPaysIncome() {
+        final GameEngine sut = getSUT();
+        advanceTo(sut, Phase.PlantAuction);
+        sut.apply(ActionType.Bid, 0, sut.getTables().findPlant(3), 3); // "3 OO 1"
+        advanceTo(sut, Phase.ResourceBuying);
+        sut.apply(ActionType.BuyResource, 0, Resource.Oil.ordinal(), 2);
+        advanceTo(sut, Phase.Building);
+        sut.apply(ActionType.BuildCity, 0, sut.getBoard().indexOf("Hamburg"), 0);
+        sut.apply(ActionType.BuildCity, 0, sut.getBoard().indexOf("Bremen"), 0);
+        advanceTo(sut, Phase.Bureaucracy);
+
+        final int electro = sut.apply(ActionType.FirePlants, 0, 1, 0);
+
+        assertEquals(edition.getPoweredCitiesIncome().get(1).intValue(), electro);
+        assertEquals(0, sut.getState().getResources(0, Resource.Oil.ordinal()));
+        assertTrue(sut.getState().hasFired(0));
+    }
+
+    @Test
+    public void testApplyVerifyFunctionalityEndRoundRefillsMarket() {
+        final GameEngine sut = getSUT();
+        advanceTo(sut, Phase.Bureaucracy);
+        final int coal = sut.getState().getMarket(Resource.Coal.ordinal());
+        final int oil = sut.getState().getMarket(Resource.Oil.ordinal());
+
+        sut.apply(ActionType.EndPhase, 0, 0, 0);
+
+        assertEquals(Phase.PlayerOrder, sut.getState().getPhase());
+        assertEquals(1, sut.getState().getRound());
+        assertEquals(coal, sut.getState().getMarket(Resource.Coal.ordinal())); // Kein Vorrat an Kohle.
+        assertEquals(oil + 2, sut.getState().getMarket(Resource.Oil.ordinal()));
+        assertFalse(sut.getState().hasFired(0));
+    }
+
+    @Test
+    public void testAddListenerVerifyFunctionalityListenerSeesAction() {
+        final GameEngine sut = getSUT();
+        final int[] seen = new int[1];
+        sut.addListener((type, player, first, second, electro) -> seen[0]++);
+
+        advanceTo(sut, Phase.PlantAuction);
+
+        assertEquals(2, seen[0]);
+    }
+
+    @Test
+    public void testApplyAllVerifyFunctionalitySameStateAsSingleActions() {
+        final GameEngine want = getSUT();
+        final GameEngine sut = getSUT();
+        advanceTo(want, Phase.PlantAuction);
+        want.apply(ActionType.Bid, 0, want.getTables().findPlant(3), 3);
+        advanceTo(want, Phase.ResourceBuying);
+        want.apply(ActionType.BuyResource, 0, Resource.Oil.ordinal(), 1);
+        want.apply(ActionType.BuyResource, 0, Resource.Oil.ordinal(), 1);
+
+        final ActionBatch batch = new ActionBatch(1)
+                .add(ActionType.EndPhase, 0, 0, 0)
+                .add(ActionType.EndPhase, 0, 0, 0)
+                .add(ActionType.Bid, 0, sut.getTables().findPlant(3), 3)
+                .add(ActionType.EndPhase, 0, 0, 0)
+                .add(ActionType.BuyResource, 0, Resource.Oil.ordinal(), 1)
+                .add(ActionType.BuyResource, 0, Resource.Oil.ordinal(), 1);
+        sut.applyAll(batch);
+
+        assertEquals(want.getState().getMoney(0), sut.getState().getMoney(0));
+        assertEquals(want.getState().getMarket(Resource.Oil.ordinal()), sut.getState().getMarket(Resource.Oil.ordinal()));
+        assertEquals(-3, batch.getElectro(2));
+        assertEquals(-3, batch.getElectro(5)); // Die zweite Einheit Oel kostet noch 3 Elektro.
+    }
+
+    @Test
+    public void testApplyAllVerifyFunctionalityFailedBatchRollsBack() {
+        final GameEngine sut = getSUT();
+        advanceTo(sut, Phase.Building);
+        final BoardIndex board = sut.getBoard();
+        final int[] seen = new int[1];
+        sut.addListener((type, player, first, second, electro) -> seen[0]++);
+
+        final ActionBatch batch = new ActionBatch(4)
+                .add(ActionType.BuildCity, 0, board.indexOf("Hamburg"), 0)
+                .add(ActionType.BuildCity, 1, board.indexOf("Hamburg"), 0); // Einen zweiten Platz gibt es erst in Stufe 2.
+        try {
+            sut.applyAll(batch);
+            throw new AssertionError("Folge haette abgelehnt werden muessen.");
+        } catch (IllegalArgumentException exception) {
+            // erwartet
+        }
+
+        assertEquals(edition.getInitialElectro(), sut.getState().getMoney(0));
+        assertEquals(0, sut.getState().getCitiesBuilt(0));
+        assertEquals(GameState.NO_OWNER, sut.getState().getCityOwner(board.indexOf("Hamburg"), 0));
+        assertEquals(0, seen[0]);
+    }
+
+    @Test
+    public void testApplyAllVerifyFunctionalityFailedBatchKeepsOpenMoves() {
+        final GameEngine sut = getSUT();
+        advanceTo(sut, Phase.Building);
+        final BoardIndex board = sut.getBoard();
+        final ByteBuffer before = bytes(sut.getState());
+        sut.make(ActionType.BuildCity, 0, board.indexOf("Hamburg"), 0);
+        final ByteBuffer made = bytes(sut.getState());
+
+        try {
+            sut.applyAll(new ActionBatch(2)
+                    .add(ActionType.BuildCity, 0, board.indexOf("Bremen"), 0)
+                    .add(ActionType.BuildCity, 1, board.indexOf("Bremen"), 0));
+            throw new AssertionError("Folge haette abgelehnt werden muessen.");
+        } catch (IllegalArgumentException exception) {
+            // erwartet
+        }
+
+        assertEquals(made, bytes(sut.getState()));
+        assertEquals(1, sut.getState().getUndoDepth());
+        sut.undo();
+        assertEquals(before, bytes(sut.getState()));
+    }
+
+    @Test
+    public void testApplyAllVerifyFunctionalityBatchBelongsToOpenMove() {
+        final GameEngine sut = getSUT();
+        advanceTo(sut, Phase.Building);
+        final BoardIndex board = sut.getBoard();
+        final ByteBuffer before = bytes(sut.getState());
+        sut.make(ActionType.BuildCity, 0, board.indexOf("Hamburg"), 0);
+
+        sut.applyAll(new ActionBatch(1).add(ActionType.BuildCity, 0, board.indexOf("Bremen"), 0));
+        assertEquals(2, sut.getState().getCitiesBuilt(0));
+        assertEquals(1, sut.getState().getUndoDepth());
+
+        sut.undo();
+        assertEquals(before, bytes(sut.getState()));
+    }
+
+    @Test
+    public void testApplyAllVerifyFunctionalityOneNotificationPerBatch() {
+        final GameEngine sut = getSUT();
+        final int[] batches = new int[1];
+        sut.addListener(new GameListener() {
+            @Override
+            public void applied(ActionType type, int player, int first, int second, int electro) {
+                throw new AssertionError("Einzelmeldung statt Meldung der Folge.");
+            }
+
+            @Override
+            public void appliedAll(ActionBatch batch) {
+                batches[0]++;
+            }
+        });
+
+        sut.applyAll(new ActionBatch(2).add(ActionType.EndPhase, 0, 0, 0).add(ActionType.EndPhase, 0, 0, 0));
+
+        assertEquals(1, batches[0]);
+        assertEquals(Phase.PlantAuction, sut.getState().getPhase());
+    }
+
+    /** Hilfsmethode, die einen Zustand in Bytes abbildet.
+     * @param state Zustand.
+     * @return Bytes.
+     */
+    private static ByteBuffer bytes(GameState state) {
+        final ByteBuffer buffer = ByteBuffer.allocate(state.getByteSize());
+        state.writeTo(buffer);
+        return buffer.flip();
+    }
+
+    @Test
+    public void testUndoVerifyFunctionalityRestoresExactState() {
+        final GameEngine sut = getSUT();
+        final ByteBuffer want = bytes(sut.getState());
+        final BoardIndex board = sut.getBoard();
+
+        sut.make(ActionType.EndPhase, 0, 0, 0);
+        sut.make(ActionType.EndPhase, 0, 0, 0);
+        sut.make(ActionType.Bid, 0, sut.getTables().findPlant(3), 3);
+        sut.make(ActionType.Bid, 1, sut.getState().getMarketPlant(0), 40);
+        sut.make(ActionType.EndPhase, 0, 0, 0);
+        sut.make(ActionType.BuyResource, 0, Resource.Oil.ordinal(), 2);
+        sut.make(ActionType.EndPhase, 0, 0, 0);
+        sut.make(ActionType.BuildCity, 0, board.indexOf("Hamburg"), 0);
+        sut.make(ActionType.EndPhase, 0, 0, 0);
+        sut.make(ActionType.FirePlants, 0, 1, 0);
+        sut.make(ActionType.EndPhase, 0, 0, 0);
+        assertEquals(11, sut.getState().getUndoDepth());
+
+        while (sut.getState().getUndoDepth() > 0)
+            sut.undo();
+
+        assertEquals(want, bytes(sut.getState()));
+    }
+
+    @Test
+    public void testUndoVerifyFunctionalityOnlyLatestMove() {
+        final GameEngine sut = getSUT();
+        advanceTo(sut, Phase.Building);
+        final BoardIndex board = sut.getBoard();
+        sut.make(ActionType.BuildCity, 0, board.indexOf("Hamburg"), 0);
+        final ByteBuffer want = bytes(sut.getState());
+
+        sut.make(ActionType.BuildCity, 0, board.indexOf("Bremen"), 0);
+        sut.undo();
+
+        assertEquals(want, bytes(sut.getState()));
+        assertEquals(1, sut.getState().getCitiesBuilt(0));
+    }
+
+    @Test (expected = IllegalStateException.class)
+    public void testUndoDenyActionWithoutMove() {
+        final GameEngine sut = getSUT();
+        sut.apply(ActionType.EndPhase, 0, 0, 0);
+        sut.undo();
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2020 Stefan Kuehnel - All Rights Reserved
+ * Unauthorized copying of this file, via any medium is strictly prohibited
+ * Proprietary and confidential
+ * Written by Stefan Kuehnel <stefan.kuehnel@hm.edu>, May 2020
+ *
+ * DISCLAIMER. THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OR CONDITION,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. THE AUTHOR HEREBY DISCLAIMS
+ * ALL LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE.
+ */
+
+package edu.hm.kuehnel.powergrid.engine;
+
+import edu.hm.cs.rs.powergrid.EditionGermany;
+import edu.hm.cs.rs.powergrid.datastore.Factory;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+import java.util.SplittableRandom;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/** Die Testklasse fuer GraphAnalytics.
+ * @author Stefan Kuehnel, stefan.kuehnel@hm.edu
+ * @version last-modified 2026-10-19
+ */
+public class GraphAnalyticsTest {
+    /** Verhindert unendliche Schleifen. */
+    @Rule
+    public final Timeout globalTimeout = Timeout.seconds(1); // Maximale Anzahl an Sekunden pro Testfall.
+
+    /** Der ganze deutsche Spielplan. */
+    private final BoardIndex board;
+
+    /** Initialisiert den Spielplan. */
+    public GraphAnalyticsTest() {
+        board = new BoardIndex(Factory.newFactory().newBoard(new EditionGermany()));
+    }
+
+    /** Instanziiert eine neue Analyse.
+     * @return Analyse.
+     */
+    public GraphAnalytics getSUT() {
+        return new GraphAnalytics(board, 64);
+    }
+
+    /** Bitmaske aus Staedtenamen.
+     * @param names Namen.
+     * @return Bitmaske.
+     */
+    private long[] mask(String... names) {
+        final long[] mask = new long[(board.size() + 63) / 64];
+        for (String name : names)
+            mask[board.indexOf(name) / 64] |= 1L << board.indexOf(name);
+        return mask;
+    }
+
+    @Test
+    public void testGetSteinerUpperBoundVerifyFunctionalityNeighbours() {
+        final GraphAnalytics sut = getSUT();
+        final long[] mask = mask("Flensburg", "Kiel", "Lübeck");
+
+        assertEquals(8, sut.getSpanningTreeWeight(mask));
+        assertEquals(8, sut.getSteinerUpperBound(mask));
+        assertTrue(sut.getSteinerLowerBound(mask) <= 8);
+    }
+
+    @Test
+    public void testGetSteinerUpperBoundVerifyFunctionalityUsesOtherCities() {
+        final GraphAnalytics sut = getSUT();
+        final long[] mask = mask("Flensburg", "Lübeck");
+
+        assertEquals(GraphAnalytics.UNREACHABLE, sut.getSpanningTreeWeight(mask));
+        assertEquals(8, sut.getSteinerUpperBound(mask));
+        assertEquals(8, sut.getSteinerLowerBound(mask));
+    }
+
+    @Test
+    public void testGetSteinerLowerBoundVerifyFunctionalityBoundsHoldForRandomSets() {
+        final GraphAnalytics sut = getSUT();
+        final SplittableRandom random = new SplittableRandom(3);
+        for (int round = 0; round < 200; round++) {
+            final long[] mask = new long[sut.getMaskWords()];
+            for (int city = 0; city < board.size(); city++)
+                if (random.nextInt(4) == 0)
+                    mask[city / 64] |= 1L << city;
+            final long lower = sut.getSteinerLowerBound(mask);
+            final long upper = sut.getSteinerUpperBound(mask);
+            final long induced = sut.getSpanningTreeWeight(mask);
+
+            assertTrue(lower <= upper);
+            assertTrue(upper <= induced);
+        }
+    }
+
+    @Test
+    public void testGetSteinerLowerBoundVerifyFunctionalityCachedByMask() {
+        final GraphAnalytics sut = getSUT();
+        final long want = sut.getSteinerLowerBound(mask("Kiel", "München", "Berlin"));
+        final long have = sut.getSteinerLowerBound(mask("Kiel", "München", "Berlin"));
+
+        assertEquals(want, have);
+        assertEquals(1, sut.getCacheHits());
+    }
+
+    @Test (expected = IllegalArgumentException.class)
+    public void testGetSteinerUpperBoundRequireArgumentMaskLength() {
+        getSUT().getSteinerUpperBound(new long[2]);
+    }
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright (c) 2020 Stefan Kuehnel - All Rights Reserved
+ * Unauthorized copying of this file, via any medium is strictly prohibited
+ * Proprietary and confidential
+ * Written by Stefan Kuehnel <stefan.kuehnel@hm.edu>, May 2020
+ *
+ * DISCLAIMER. THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OR CONDITION,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. THE AUTHOR HEREBY DISCLAIMS
+ * ALL LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE.
+ */
+
+package edu.hm.kuehnel.powergrid.engine;
+
+import edu.hm.cs.rs.powergrid.Edition;
+import edu.hm.cs.rs.powergrid.EditionGermany;
+import edu.hm.cs.rs.powergrid.datastore.Factory;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+import java.lang.management.ManagementFactory;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/** Die Testklasse fuer das PlayerLedger.
+ * @author Stefan Kuehnel, stefan.kuehnel@hm.edu
+ * @version last-modified 2026-10-19
+ */
+public class PlayerLedgerTest {
+    /** Verhindert unendliche Schleifen. */
+    @Rule
+    public final Timeout globalTimeout = Timeout.seconds(1); // Maximale Anzahl an Sekunden pro Testfall.
+
+    /** Edition. */
+    private final Edition edition;
+
+    /** Spiel mit drei Spielern: Spieler 0 besitzt "3 OO 1" und ist in Hamburg und Bremen angeschlossen. */
+    private final GameEngine engine;
+
+    /** Initialisiert das Spiel. */
+    public PlayerLedgerTest() {
+        edition = new EditionGermany();
+        engine = new GameEngine(Factory.newFactory(), edition, 3, 42);
+        advanceTo(Phase.PlantAuction);
+        engine.apply(ActionType.Bid, 0, engine.getTables().findPlant(3), 3);
+        advanceTo(Phase.Building);
+        engine.apply(ActionType.BuildCity, 0, engine.getBoard().indexOf("Hamburg"), 0);
+        engine.apply(ActionType.BuildCity, 0, engine.getBoard().indexOf("Bremen"), 0);
+    }
+
+    /** Instanziiert ein neues Ledger aus dem Spiel.
+     * @return Ledger.
+     */
+    public PlayerLedger getSUT() {
+        final PlayerLedger sut = new PlayerLedger(engine.getTables(), 3);
+        sut.load(engine.getState());
+        return sut;
+    }
+
+    /** Hilfsmethode, die Phasen beendet, bis das Spiel in der gewuenschten Phase ist.
+     * @param phase Gewuenschte Phase.
+     */
+    private void advanceTo(Phase phase) {
+        while (engine.getState().getPhase() != phase)
+            engine.apply(ActionType.EndPhase, 0, 0, 0);
+    }
+
+    @Test
+    public void testLoadVerifyFunctionalityCopiesState() {
+        final PlayerLedger sut = getSUT();
+
+        assertEquals(engine.getState().getMoney(0), sut.getMoney(0));
+        assertEquals(2, sut.getCitiesBuilt(0));
+        assertEquals(1, sut.getPlantsOwned(0));
+        assertEquals(1, sut.getCapacity(0));
+        assertEquals(1, sut.getCitiesPowered(0));
+        assertEquals(0, sut.getPlantsOwned(1));
+        assertEquals(0, sut.getCitiesPowered(1));
+    }
+
+    @Test
+    public void testSettleVerifyFunctionalityClampsToCapacity() {
+        final PlayerLedger sut = getSUT();
+        final int before = sut.getMoney(0);
+
+        sut.settle(new int[] {5, 0, 0});
+
+        assertEquals(1, sut.getCitiesPowered(0));
+        assertEquals(before + edition.getPoweredCitiesIncome().get(1), sut.getMoney(0));
+        assertEquals(edition.getInitialElectro() + edition.getPoweredCitiesIncome().get(0), sut.getMoney(1));
+    }
+
+    @Test
+    public void testRankVerifyFunctionalityPoweredThenMoneyThenPlayer() {
+        final PlayerLedger sut = getSUT();
+        final int[] order = new int[3];
+
+        sut.rank(order);
+        assertArrayEquals(new int[] {0, 1, 2}, order);
+
+        sut.addMoney(2, 1);
+        sut.rank(order);
+        assertArrayEquals(new int[] {0, 2, 1}, order);
+    }
+
+    @Test (expected = IllegalStateException.class)
+    public void testAddMoneyDenyActionOverflow() {
+        final PlayerLedger sut = getSUT();
+        sut.addMoney(1, Integer.MAX_VALUE);
+    }
+
+    @Test (expected = IllegalArgumentException.class)
+    public void testSettleRequireArgumentOneEntryPerPlayer() {
+        getSUT().settle(new int[2]);
+    }
+
+    @Test
+    public void testRankVerifyFunctionalityNoAllocation() {
+        final PlayerLedger sut = getSUT();
+        final int[] powered = {1, 0, 0};
+        final int[] order = new int[3];
+        final com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        final long thread = Thread.currentThread().getId();
+        threads.getThreadAllocatedBytes(thread);
+
+        final long before = threads.getThreadAllocatedBytes(thread);
+        for (int round = 0; round < 10_000; round++) {
+            sut.load(engine.getState());
+            sut.settle(powered);
+            sut.rank(order);
+        }
+        final long allocated = threads.getThreadAllocatedBytes(thread) - before;
+
+        assertTrue("allocated " + allocated, allocated < 1024);
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) 2020 Stefan Kuehnel - All Rights Reserved
+ * Unauthorized copying of this file, via any medium is strictly prohibited
+ * Proprietary and confidential
+ * Written by Stefan Kuehnel <stefan.kuehnel@hm.edu>, May 2020
+ *
+ * DISCLAIMER. THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OR CONDITION,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. THE AUTHOR HEREBY DISCLAIMS
+ * ALL LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE.
+ */
+
+package edu.hm.kuehnel.powergrid.engine;
+
+import edu.hm.cs.rs.powergrid.Edition;
+import edu.hm.cs.rs.powergrid.EditionGermany;
+import edu.hm.cs.rs.powergrid.datastore.Board;
+import edu.hm.cs.rs.powergrid.datastore.City;
+import edu.hm.cs.rs.powergrid.datastore.Factory;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/** Die Testklasse fuer den RegionSelector.
+ * @author Stefan Kuehnel, stefan.kuehnel@hm.edu
+ * @version last-modified 2026-10-19
+ */
+public class RegionSelectorTest {
+    /** Verhindert unendliche Schleifen. */
+    @Rule
+    public final Timeout globalTimeout = Timeout.seconds(1); // Maximale Anzahl an Sekunden pro Testfall.
+
+    /** Factory. */
+    private final Factory factory;
+
+    /** Edition. */
+    private final Edition edition;
+
+    /** Initialisiert die Factory. */
+    public RegionSelectorTest() {
+        factory = Factory.newFactory();
+        edition = new EditionGermany();
+    }
+
+    /** Instanziiert einen neuen RegionSelector fuer den ganzen deutschen Spielplan.
+     * @return RegionSelector.
+     */
+    public RegionSelector getSUT() {
+        return new RegionSelector(new BoardIndex(factory.newBoard(edition)));
+    }
+
+    @Test
+    public void testIsConnectedVerifyFunctionalityNeighboursOnly() {
+        final RegionSelector sut = getSUT();
+
+        assertEquals(6, sut.getRegions());
+        assertTrue(sut.isConnected(0b000011)); // Gebiete 1 und 2
+        assertFalse(sut.isConnected(0b100001)); // Gebiete 1 und 6
+        assertTrue(sut.isConnected(0b111111));
+    }
+
+    @Test
+    public void testForEachConnectedVerifyFunctionalityOnlyConnectedSets() {
+        final RegionSelector sut = getSUT();
+        final List<Long> have = new ArrayList<>();
+        sut.forEachConnected(3, have::add);
+
+        assertFalse(have.isEmpty());
+        for (long selection : have) {
+            assertEquals(3, Long.bitCount(selection));
+            assertTrue(sut.isConnected(selection));
+        }
+    }
+
+    @Test
+    public void testSelectVerifyFunctionalityBestScore() {
+        final RegionSelector sut = getSUT();
+        final long want = sut.select(3);
+        final List<Long> candidates = new ArrayList<>();
+        sut.forEachConnected(3, candidates::add);
+
+        assertTrue(candidates.contains(want));
+        for (long selection : candidates)
+            assertTrue(sut.score(want) <= sut.score(selection));
+        assertEquals(0b111111, sut.select(6));
+    }
+
+    @Test
+    public void testKeepVerifyFunctionalityOnlySelectedRegionsRemain() {
+        final RegionSelector sut = getSUT();
+        final long selection = sut.select(4);
+        final Board board = factory.newBoard(edition);
+
+        RegionSelector.keep(board, selection);
+        board.close();
+
+        assertFalse(board.getCities().isEmpty());
+        for (City city : board.getCities()) {
+            assertTrue((selection >>> city.getRegion() - 1 & 1) != 0);
+            for (City other : city.getConnections().keySet())
+                assertTrue((selection >>> other.getRegion() - 1 & 1) != 0);
+        }
+    }
+
+    @Test (expected = IllegalArgumentException.class)
+    public void testSelectRequireArgumentCountInRange() {
+        getSUT().select(7);
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2020 Stefan Kuehnel - All Rights Reserved
+ * Unauthorized copying of this file, via any medium is strictly prohibited
+ * Proprietary and confidential
+ * Written by Stefan Kuehnel <stefan.kuehnel@hm.edu>, May 2020
+ *
+ * DISCLAIMER. THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OR CONDITION,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. THE AUTHOR HEREBY DISCLAIMS
+ * ALL LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE.
+ */
+
+package edu.hm.kuehnel.powergrid.engine;
+
+import edu.hm.cs.rs.powergrid.Edition;
+import edu.hm.cs.rs.powergrid.EditionGermany;
+import edu.hm.cs.rs.powergrid.datastore.Factory;
+import edu.hm.cs.rs.powergrid.datastore.Resource;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+/** Die Testklasse fuer die Zobrist-Hashes.
+ * @author Stefan Kuehnel, stefan.kuehnel@hm.edu
+ * @version last-modified 2026-10-19
+ */
+public class ZobristTest {
+    /** Verhindert unendliche Schleifen. */
+    @Rule
+    public final Timeout globalTimeout = Timeout.seconds(1); // Maximale Anzahl an Sekunden pro Testfall.
+
+    /** Factory. */
+    private final Factory factory;
+
+    /** Edition. */
+    private final Edition edition;
+
+    /** Initialisiert die Factory. */
+    public ZobristTest() {
+        factory = Factory.newFactory();
+        edition = new EditionGermany();
+    }
+
+    /** Instanziiert ein neues Spiel, bereit zum Rohstoffkauf mit "3 OO 1" und "4 CC 1".
+     * @return Spiel.
+     */
+    public GameEngine getSUT() {
+        final GameEngine sut = new GameEngine(factory, edition, 2, 42);
+        sut.apply(ActionType.EndPhase, 0, 0, 0);
+        sut.apply(ActionType.EndPhase, 0, 0, 0);
+        sut.apply(ActionType.Bid, 0, sut.getTables().findPlant(3), 3);
+        sut.apply(ActionType.Bid, 0, sut.getTables().findPlant(4), 4);
+        sut.apply(ActionType.EndPhase, 0, 0, 0);
+        return sut;
+    }
+
+    @Test
+    public void testGetHashVerifyFunctionalityIncrementalEqualsFull() {
+        final GameEngine sut = getSUT();
+        sut.apply(ActionType.BuyResource, 0, Resource.Oil.ordinal(), 2);
+        sut.apply(ActionType.EndPhase, 0, 0, 0);
+        sut.apply(ActionType.BuildCity, 0, sut.getBoard().indexOf("Hamburg"), 0);
+        sut.apply(ActionType.EndPhase, 0, 0, 0);
+        sut.apply(ActionType.FirePlants, 0, 1, 0);
+        sut.apply(ActionType.EndPhase, 0, 0, 0);
+
+        assertEquals(Zobrist.hash(sut.getState()), sut.getState().getHash());
+    }
+
+    @Test
+    public void testGetHashVerifyFunctionalityTranspositionsCollide() {
+        final GameEngine first = getSUT();
+        final GameEngine second = getSUT();
+
+        first.apply(ActionType.BuyResource, 0, Resource.Oil.ordinal(), 1);
+        first.apply(ActionType.BuyResource, 0, Resource.Coal.ordinal(), 1);
+        second.apply(ActionType.BuyResource, 0, Resource.Coal.ordinal(), 1);
+        second.apply(ActionType.BuyResource, 0, Resource.Oil.ordinal(), 1);
+
+        assertEquals(first.getState().getHash(), second.getState().getHash());
+    }
+
+    @Test
+    public void testGetHashVerifyFunctionalityDifferentPositionsDiffer() {
+        final GameEngine first = getSUT();
+        final GameEngine second = getSUT();
+
+        first.apply(ActionType.BuyResource, 0, Resource.Oil.ordinal(), 1);
+        second.apply(ActionType.BuyResource, 0, Resource.Coal.ordinal(), 1);
+
+        assertNotEquals(first.getState().getHash(), second.getState().getHash());
+    }
+
+    @Test
+    public void testGetHashVerifyFunctionalityUndoRestoresHash() {
+        final GameEngine sut = getSUT();
+        final long want = sut.getState().getHash();
+
+        sut.make(ActionType.BuyResource, 0, Resource.Oil.ordinal(), 2);
+        sut.make(ActionType.EndPhase, 0, 0, 0);
+        sut.make(ActionType.BuildCity, 0, sut.getBoard().indexOf("Kiel"), 0);
+        sut.undo();
+        sut.undo();
+        sut.undo();
+
+        assertEquals(want, sut.getState().getHash());
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2020 Stefan Kuehnel - All Rights Reserved
+ * Unauthorized copying of this file, via any medium is strictly prohibited
+ * Proprietary and confidential
+ * Written by Stefan Kuehnel <stefan.kuehnel@hm.edu>, May 2020
+ *
+ * DISCLAIMER. THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OR CONDITION,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. THE AUTHOR HEREBY DISCLAIMS
+ * ALL LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE.
+ */
+
+package edu.hm.kuehnel.powergrid.metrics;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+import java.util.stream.IntStream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/** Die Testklasse fuer LatencyHistogram.
+ * @author Stefan Kuehnel, stefan.kuehnel@hm.edu
+ * @version last-modified 2026-10-19
+ */
+public class LatencyHistogramTest {
+    @Rule public final Timeout globalTimeout = Timeout.seconds(1); // Maximale Anzahl an Sekunden pro Testfall.
+
+    @Test public void testBucketVerifyFunctionalityBoundsContainValue() {
+        // arrange
+        final long[] values = {0, 1, 15, 16, 17, 1000, 123_456_789, Long.MAX_VALUE};
+
+        // act, assert
+        for (long value : values) {
+            final int bucket = LatencyHistogram.bucket(value);
+            assertTrue(bucket < LatencyHistogram.BUCKETS);
+            assertTrue(value <= LatencyHistogram.highest(bucket));
+            assertTrue(bucket == 0 || value > LatencyHistogram.highest(bucket - 1));
+        }
+    }
+
+    @Test public void testGetQuantileVerifyFunctionalityRelativeError() {
+        // arrange
+        final LatencyHistogram sut = new LatencyHistogram();
+
+        // act
+        for (long value = 1; value <= 10_000; value++)
+            sut.record(value * 1000);
+
+        // assert
+        assertEquals(10_000, sut.getCount());
+        assertEquals(1000L * 10_000 * 10_001 / 2, sut.getSum());
+        final long median = sut.getQuantile(0.5);
+        assertTrue(median >= 5_000_000 && median <= 5_000_000 * 17 / 16);
+        final long p99 = sut.getQuantile(0.99);
+        assertTrue(p99 >= 9_900_000 && p99 <= 9_900_000 * 17 / 16);
+    }
+
+    @Test public void testGetQuantileVerifyFunctionalityEmpty() {
+        // arrange
+        final LatencyHistogram sut = new LatencyHistogram();
+
+        // act, assert
+        assertEquals(0, sut.getQuantile(0.99));
+    }
+
+    @Test public void testRecordVerifyFunctionalityConcurrent() {
+        // arrange
+        final LatencyHistogram sut = new LatencyHistogram();
+
+        // act
+        IntStream.range(0, 100_000).parallel().forEach(value -> sut.record(value));
+
+        // assert
+        assertEquals(100_000, sut.getCount());
+        assertEquals(100_000L * 99_999 / 2, sut.getSum());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testGetQuantileRequireArgumentRange() {
+        // arrange
+        final LatencyHistogram sut = new LatencyHistogram();
+
+        // act
+        sut.getQuantile(1.5);
+    }
+}
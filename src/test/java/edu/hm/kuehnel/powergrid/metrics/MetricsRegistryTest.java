@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2020 Stefan Kuehnel - All Rights Reserved
+ * Unauthorized copying of this file, via any medium is strictly prohibited
+ * Proprietary and confidential
+ * Written by Stefan Kuehnel <stefan.kuehnel@hm.edu>, May 2020
+ *
+ * DISCLAIMER. THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OR CONDITION,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. THE AUTHOR HEREBY DISCLAIMS
+ * ALL LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE.
+ */
+
+package edu.hm.kuehnel.powergrid.metrics;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.stream.IntStream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/** Die Testklasse fuer MetricsRegistry und Counter.
+ * @author Stefan Kuehnel, stefan.kuehnel@hm.edu
+ * @version last-modified 2026-10-19
+ */
+public class MetricsRegistryTest {
+    @Rule public final Timeout globalTimeout = Timeout.seconds(1); // Maximale Anzahl an Sekunden pro Testfall.
+
+    @Test public void testCounterVerifyFunctionalitySameInstance() {
+        // arrange
+        final MetricsRegistry sut = new MetricsRegistry();
+
+        // act
+        final Counter first = sut.counter("test_total", "Test.");
+        final Counter second = sut.counter("test_total", "Test.");
+
+        // assert
+        assertSame(first, second);
+    }
+
+    @Test public void testCounterVerifyFunctionalityConcurrent() {
+        // arrange
+        final Counter sut = new MetricsRegistry().counter("test_total", "Test.");
+
+        // act
+        IntStream.range(0, 100_000).parallel().forEach(index -> sut.increment());
+        sut.add(5);
+
+        // assert
+        assertEquals(100_005, sut.get());
+    }
+
+    @Test public void testWritePrometheusVerifyFunctionalityFormat() throws IOException {
+        // arrange
+        final MetricsRegistry sut = new MetricsRegistry();
+        sut.counter("test_total", "Zaehler.").add(3);
+        sut.histogram("test_seconds", "Dauer.").record(2_000_000_000L);
+        final StringWriter writer = new StringWriter();
+
+        // act
+        sut.writePrometheus(writer);
+
+        // assert
+        final String text = writer.toString();
+        assertTrue(text.contains("# HELP test_total Zaehler.\n# TYPE test_total counter\ntest_total 3\n"));
+        assertTrue(text.contains("# TYPE test_seconds summary\n"));
+        assertTrue(text.contains("test_seconds_sum 2.000000000\n"));
+        assertTrue(text.contains("test_seconds_count 1\n"));
+        assertTrue(text.indexOf("test_seconds") < text.indexOf("test_total"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testHistogramDenyActionNameOfCounter() {
+        // arrange
+        final MetricsRegistry sut = new MetricsRegistry();
+        sut.counter("test_total", "Test.");
+
+        // act
+        sut.histogram("test_total", "Test.");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testCounterRequireArgumentValidName() {
+        // arrange
+        final MetricsRegistry sut = new MetricsRegistry();
+
+        // act
+        sut.counter("test-total", "Test.");
+    }
+}
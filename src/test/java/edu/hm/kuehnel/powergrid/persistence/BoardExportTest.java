@@ -0,0 +1,139 @@
+/*
+ * Copyright (c) 2020 Stefan Kuehnel - All Rights Reserved
+ * Unauthorized copying of this file, via any medium is strictly prohibited
+ * Proprietary and confidential
+ * Written by Stefan Kuehnel <stefan.kuehnel@hm.edu>, May 2020
+ *
+ * DISCLAIMER. THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OR CONDITION,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. THE AUTHOR HEREBY DISCLAIMS
+ * ALL LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE.
+ */
+
+package edu.hm.kuehnel.powergrid.persistence;
+
+import edu.hm.cs.rs.powergrid.Edition;
+import edu.hm.cs.rs.powergrid.EditionGermany;
+import edu.hm.cs.rs.powergrid.datastore.Factory;
+import edu.hm.kuehnel.powergrid.engine.ActionType;
+import edu.hm.kuehnel.powergrid.engine.BoardIndex;
+import edu.hm.kuehnel.powergrid.engine.GameEngine;
+import edu.hm.kuehnel.powergrid.engine.GameState;
+import edu.hm.kuehnel.powergrid.engine.Phase;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.Assert.assertEquals;
+
+/** Die Testklasse fuer den BoardExport.
+ * @author Stefan Kuehnel, stefan.kuehnel@hm.edu
+ * @version last-modified 2026-10-19
+ */
+public class BoardExportTest {
+    /** Verhindert unendliche Schleifen. */
+    @Rule
+    public final Timeout globalTimeout = Timeout.seconds(1); // Maximale Anzahl an Sekunden pro Testfall.
+
+    /** Factory. */
+    private final Factory factory;
+
+    /** Edition. */
+    private final Edition edition;
+
+    /** Initialisiert die Factory. */
+    public BoardExportTest() {
+        factory = Factory.newFactory();
+        edition = new EditionGermany();
+    }
+
+    @Test
+    public void testWriteBoardVerifyFunctionalityColumnsMatchIndex() {
+        final BoardIndex board = new GameEngine(factory, edition, 3, 42).getBoard();
+        final ByteBuffer buffer = ByteBuffer.allocate(BoardExport.getByteSize(board));
+
+        BoardExport.writeBoard(board, buffer);
+        assertEquals(buffer.capacity(), buffer.position());
+
+        buffer.flip();
+        final int cities = buffer.getInt();
+        final int edges = buffer.getInt();
+        final int nameBytes = buffer.getInt();
+        assertEquals(board.size(), cities);
+        assertEquals(board.getEdges(), edges);
+        assertEquals(GameState.SLOTS, buffer.getInt());
+
+        final int[] nameOffsets = new int[cities + 1];
+        buffer.asIntBuffer().get(nameOffsets);
+        final int names = 16 + align(4 * (cities + 1));
+        final byte[] first = new byte[nameOffsets[1] - nameOffsets[0]];
+        buffer.position(names).get(first);
+        assertEquals(board.getName(0), new String(first, StandardCharsets.UTF_8));
+
+        final int regions = names + align(nameBytes);
+        final int offsets = regions + align(4 * cities);
+        final int targets = offsets + align(4 * (cities + 1));
+        assertEquals(board.getRegion(cities - 1), buffer.getInt(regions + 4 * (cities - 1)));
+        assertEquals(board.getOffset(cities), buffer.getInt(offsets + 4 * cities));
+        assertEquals(board.getTarget(edges - 1), buffer.getInt(targets + 4 * (edges - 1)));
+        assertEquals(board.getCost(edges - 1), buffer.getInt(targets + align(4 * edges) + 4 * (edges - 1)));
+    }
+
+    @Test
+    public void testAppendVerifyFunctionalityOneRowPerGame() throws IOException {
+        final GameEngine engine = new GameEngine(factory, edition, 3, 42);
+        final BoardIndex board = engine.getBoard();
+        final int hamburg = board.indexOf("Hamburg");
+        final Path path = Files.createTempFile("powergrid", ".pgbx");
+        Files.delete(path);
+        try {
+            try (BoardExport sut = new BoardExport(path, board)) {
+                sut.append(engine.getState());
+                while (engine.getState().getPhase() != Phase.Building)
+                    engine.apply(ActionType.EndPhase, 0, 0, 0);
+                engine.apply(ActionType.BuildCity, 2, hamburg, 0);
+                sut.append(engine.getState());
+                assertEquals(2, sut.getRows());
+            }
+
+            final int rowSize = BoardExport.getRowSize(board);
+            final ByteBuffer file = ByteBuffer.wrap(Files.readAllBytes(path)).order(ByteOrder.LITTLE_ENDIAN);
+            assertEquals(BoardExport.HEADER_SIZE + BoardExport.getByteSize(board) + 2 * rowSize, file.capacity());
+            assertEquals(BoardExport.MAGIC, file.getInt(0));
+            assertEquals(2, file.getLong(BoardExport.ROWS_POSITION));
+
+            final int rows = BoardExport.HEADER_SIZE + BoardExport.getByteSize(board);
+            assertEquals(GameState.NO_OWNER, file.get(rows + hamburg * GameState.SLOTS));
+            assertEquals(2, file.get(rows + rowSize + hamburg * GameState.SLOTS));
+        } finally {
+            Files.deleteIfExists(path);
+        }
+    }
+
+    @Test (expected = IllegalArgumentException.class)
+    public void testAppendRequireArgumentSameBoard() throws IOException {
+        final Path path = Files.createTempFile("powergrid", ".pgbx");
+        Files.delete(path);
+        try (BoardExport sut = new BoardExport(path, new GameEngine(factory, edition, 3, 42).getBoard())) {
+            sut.append(new GameEngine(factory, edition, 3, 42).getState());
+        } finally {
+            Files.deleteIfExists(path);
+        }
+    }
+
+    /** Hilfsmethode, die eine Laenge auf ein Vielfaches von 8 aufrundet.
+     * @param bytes Laenge.
+     * @return Aufgerundete Laenge.
+     */
+    private static int align(int bytes) {
+        return bytes + 7 & ~7;
+    }
+}
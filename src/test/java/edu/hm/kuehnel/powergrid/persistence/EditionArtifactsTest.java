@@ -0,0 +1,149 @@
+/*
+ * Copyright (c) 2020 Stefan Kuehnel - All Rights Reserved
+ * Unauthorized copying of this file, via any medium is strictly prohibited
+ * Proprietary and confidential
+ * Written by Stefan Kuehnel <stefan.kuehnel@hm.edu>, May 2020
+ *
+ * DISCLAIMER. THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OR CONDITION,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. THE AUTHOR HEREBY DISCLAIMS
+ * ALL LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE.
+ */
+
+package edu.hm.kuehnel.powergrid.persistence;
+
+import edu.hm.cs.rs.powergrid.Edition;
+import edu.hm.cs.rs.powergrid.EditionGermany;
+import edu.hm.cs.rs.powergrid.datastore.Factory;
+import edu.hm.kuehnel.powergrid.engine.BoardIndex;
+import edu.hm.kuehnel.powergrid.engine.EditionTables;
+import edu.hm.kuehnel.powergrid.engine.GameEngine;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+/** Die Testklasse fuer EditionArtifacts.
+ * @author Stefan Kuehnel, stefan.kuehnel@hm.edu
+ * @version last-modified 2026-10-19
+ */
+public class EditionArtifactsTest {
+    /** Verhindert unendliche Schleifen. */
+    @Rule
+    public final Timeout globalTimeout = Timeout.seconds(1); // Maximale Anzahl an Sekunden pro Testfall.
+
+    /** Factory. */
+    private final Factory factory = Factory.newFactory();
+
+    /** Edition. */
+    private final Edition edition = new EditionGermany();
+
+    /**
+     * Hilfsmethode, die Teile schreibt und wieder liest.
+     * @param artifacts Teile.
+     * @return Gelesene Teile.
+     * @throws IOException wenn das Lesen scheitert.
+     */
+    private static EditionArtifacts roundTrip(EditionArtifacts artifacts) throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        artifacts.writeTo(out);
+        return EditionArtifacts.readFrom(new ByteArrayInputStream(out.toByteArray()));
+    }
+
+    @Test
+    public void testReadFromVerifyFunctionalityTablesSurvive() throws IOException {
+        final EditionTables want = EditionArtifacts.build(factory, edition).getTables();
+
+        final EditionTables have = roundTrip(EditionArtifacts.build(factory, edition)).getTables();
+
+        assertEquals(want.getEdition().getClass(), have.getEdition().getClass());
+        assertEquals(want.getPlayersMaximum(), have.getPlayersMaximum());
+        assertEquals(want.getPlants(), have.getPlants());
+        for (int plant = 0; plant < want.getPlants(); plant++) {
+            assertEquals(want.getPlantNumber(plant), have.getPlantNumber(plant));
+            assertEquals(want.getPlantCities(plant), have.getPlantCities(plant));
+        }
+        for (int slot = 0; slot < 3; slot++)
+            assertEquals(want.getCityCost(slot), have.getCityCost(slot));
+    }
+
+    @Test
+    public void testReadFromVerifyFunctionalityBoardsSurvive() throws IOException {
+        final EditionArtifacts built = EditionArtifacts.build(factory, edition);
+
+        final EditionArtifacts sut = roundTrip(built);
+
+        for (int players = 2; players <= 6; players++) {
+            final BoardIndex want = built.getBoard(players);
+            final BoardIndex have = sut.getBoard(players);
+            assertEquals(want.size(), have.size());
+            assertEquals(want.getEdges(), have.getEdges());
+            for (int city = 0; city < want.size(); city++) {
+                assertEquals(want.getName(city), have.getCity(city).getName());
+                assertEquals(want.getRegion(city), have.getCity(city).getRegion());
+                assertEquals(want.getCity(city).getConnections().size(), have.getCity(city).getConnections().size());
+            }
+        }
+        assertSame(sut.getBoard(2), sut.getBoard(3));
+    }
+
+    @Test
+    public void testReadFromVerifyFunctionalitySameGame() throws IOException {
+        final EditionArtifacts built = EditionArtifacts.build(factory, edition);
+        final EditionArtifacts loaded = roundTrip(built);
+        final GameEngine want = new GameEngine(built.getTables(), built.getBoard(3), 3, factory.newRandomSource(42));
+        final GameEngine have = new GameEngine(loaded.getTables(), loaded.getBoard(3), 3, factory.newRandomSource(42));
+
+        GameLogTest.playRound(want);
+        GameLogTest.playRound(have);
+
+        GameLogTest.assertSameState(want.getState(), have.getState());
+    }
+
+    @Test
+    public void testLoadVerifyFunctionalityBuildsWithoutResource() {
+        final EditionArtifacts want = EditionArtifacts.build(factory, edition);
+
+        final EditionArtifacts sut = EditionArtifacts.load(factory, edition);
+
+        assertEquals(want.getBoard(4).size(), sut.getBoard(4).size());
+        assertEquals(want.getBoard(4).getEdges(), sut.getBoard(4).getEdges());
+    }
+
+    @Test (expected = IOException.class)
+    public void testReadFromDenyActionUnknownFormat() throws IOException {
+        EditionArtifacts.readFrom(new ByteArrayInputStream(new byte[] {1, 2, 3, 4, 5, 6}));
+    }
+
+    @Test (expected = IOException.class)
+    public void testReadFromDenyActionClassIsNoEdition() throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final DataOutputStream data = new DataOutputStream(out);
+        data.writeInt(EditionArtifacts.MAGIC);
+        data.writeShort(EditionArtifacts.VERSION);
+        data.writeLong(0);
+        data.writeUTF(StringBuilder.class.getName());
+        data.writeUTF(factory.getClass().getName());
+
+        EditionArtifacts.readFrom(new ByteArrayInputStream(out.toByteArray()));
+    }
+
+    @Test (expected = IOException.class)
+    public void testReadFromDenyActionStaleEdition() throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        EditionArtifacts.build(factory, edition).writeTo(out);
+        final byte[] bytes = out.toByteArray();
+        // Der Fingerabdruck steht hinter Kennung und Version.
+        bytes[Integer.BYTES + Short.BYTES] ^= 1;
+
+        EditionArtifacts.readFrom(new ByteArrayInputStream(bytes));
+    }
+}
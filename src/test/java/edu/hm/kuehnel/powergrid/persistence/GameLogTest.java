@@ -0,0 +1,214 @@
+/*
+ * Copyright (c) 2020 Stefan Kuehnel - All Rights Reserved
+ * Unauthorized copying of this file, via any medium is strictly prohibited
+ * Proprietary and confidential
+ * Written by Stefan Kuehnel <stefan.kuehnel@hm.edu>, May 2020
+ *
+ * DISCLAIMER. THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OR CONDITION,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. THE AUTHOR HEREBY DISCLAIMS
+ * ALL LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE.
+ */
+
+package edu.hm.kuehnel.powergrid.persistence;
+
+import edu.hm.cs.rs.powergrid.EditionGermany;
+import edu.hm.cs.rs.powergrid.datastore.Factory;
+import edu.hm.cs.rs.powergrid.datastore.Resource;
+import edu.hm.kuehnel.powergrid.engine.ActionType;
+import edu.hm.kuehnel.powergrid.engine.BoardIndex;
+import edu.hm.kuehnel.powergrid.engine.EditionTables;
+import edu.hm.kuehnel.powergrid.engine.GameEngine;
+import edu.hm.kuehnel.powergrid.engine.GameState;
+import edu.hm.kuehnel.powergrid.engine.Phase;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.Consumer;
+
+import static org.junit.Assert.assertEquals;
+
+/** Die Testklasse fuer GameLog und GameLogReplayer.
+ * @author Stefan Kuehnel, stefan.kuehnel@hm.edu
+ * @version last-modified 2026-10-19
+ */
+public class GameLogTest {
+    /** Verhindert unendliche Schleifen. */
+    @Rule
+    public final Timeout globalTimeout = Timeout.seconds(1); // Maximale Anzahl an Sekunden pro Testfall.
+
+    /** Factory. */
+    private final Factory factory;
+
+    /** Initialisiert die Factory. */
+    public GameLogTest() throws IOException {
+        factory = Factory.newFactory();
+    }
+
+    /** Spielt eine Runde mit Auktion, Rohstoffkauf, Anschluss und Buerokratie.
+     * @param engine Spiel in der Phase Opening.
+     */
+    static void playRound(GameEngine engine) {
+        final int oil = Resource.Oil.ordinal();
+        final int hamburg = engine.getBoard().indexOf("Hamburg");
+        engine.apply(ActionType.EndPhase, 0, 0, 0);
+        engine.apply(ActionType.EndPhase, 0, 0, 0);
+        engine.apply(ActionType.Bid, 0, engine.getTables().findPlant(3), 5);
+        engine.apply(ActionType.Bid, 1, engine.getState().getMarketPlant(0), 20);
+        engine.apply(ActionType.EndPhase, 0, 0, 0);
+        engine.apply(ActionType.BuyResource, 0, oil, 2);
+        engine.apply(ActionType.EndPhase, 0, 0, 0);
+        engine.apply(ActionType.BuildCity, 0, hamburg, 0);
+        engine.apply(ActionType.BuildCity, 0, engine.getBoard().indexOf("Bremen"), 0);
+        engine.apply(ActionType.BuildCity, 1, engine.getBoard().indexOf("Kiel"), 0);
+        engine.apply(ActionType.EndPhase, 0, 0, 0);
+        engine.apply(ActionType.FirePlants, 0, 1, 0);
+        engine.apply(ActionType.EndPhase, 0, 0, 0);
+    }
+
+    /** Vergleicht zwei Spielzustaende.
+     * @param want Erwarteter Zustand.
+     * @param have Tatsaechlicher Zustand.
+     */
+    static void assertSameState(GameState want, GameState have) {
+        assertEquals(want.getPhase(), have.getPhase());
+        assertEquals(want.getRound(), have.getRound());
+        assertEquals(want.getLevel(), have.getLevel());
+        for (int player = 0; player < want.getPlayers(); player++) {
+            assertEquals(want.getMoney(player), have.getMoney(player));
+            assertEquals(want.getCitiesBuilt(player), have.getCitiesBuilt(player));
+            for (int resource = 0; resource < EditionTables.RESOURCES; resource++)
+                assertEquals(want.getResources(player, resource), have.getResources(player, resource));
+        }
+        for (int resource = 0; resource < EditionTables.RESOURCES; resource++) {
+            assertEquals(want.getMarket(resource), have.getMarket(resource));
+            assertEquals(want.getSupply(resource), have.getSupply(resource));
+        }
+        for (int city = 0; city < want.getBoard().size(); city++)
+            for (int slot = 0; slot < GameState.SLOTS; slot++)
+                assertEquals(want.getCityOwner(city, slot), have.getCityOwner(city, slot));
+        for (int plant = 0; plant < want.getTables().getPlants(); plant++)
+            assertEquals(want.getPlantLocation(plant), have.getPlantLocation(plant));
+    }
+
+    @Test
+    public void testReplayVerifyFunctionalityReplayedStateEqualsPlayedState() throws IOException {
+        final Path path = Files.createTempFile("powergrid", ".log");
+        Files.delete(path);
+        try {
+            final GameEngine played = new GameEngine(factory, new EditionGermany(), 3, 42);
+            logged(path, played, GameLogTest::playRound);
+
+            final GameEngine replayed = new GameLogReplayer(factory).replay(path);
+
+            assertEquals(Phase.PlayerOrder, replayed.getState().getPhase());
+            assertSameState(played.getState(), replayed.getState());
+        } finally {
+            Files.deleteIfExists(path);
+        }
+    }
+
+    @Test
+    public void testReplayVerifyFunctionalityMoreRecordsThanOneBuffer() throws IOException {
+        final Path path = Files.createTempFile("powergrid", ".log");
+        Files.delete(path);
+        try {
+            final GameEngine played = new GameEngine(factory, new EditionGermany(), 2, 7);
+            // Runden ohne Zuege, bis der Puffer mehrmals voll war.
+            logged(path, played, engine -> {
+                for (int action = 0; action < 3 * GameLog.RECORDS_PER_FLUSH; action++)
+                    engine.apply(ActionType.EndPhase, 0, 0, 0);
+            });
+
+            final GameEngine replayed = new GameLogReplayer(factory).replay(path);
+
+            assertSameState(played.getState(), replayed.getState());
+        } finally {
+            Files.deleteIfExists(path);
+        }
+    }
+
+    @Test (expected = IOException.class)
+    public void testReplayRequireArgumentLogFile() throws IOException {
+        final Path path = Files.createTempFile("powergrid", ".log");
+        try {
+            Files.write(path, new byte[] {1, 2, 3, 4, 5, 6, 7, 8});
+            new GameLogReplayer(factory).replay(path);
+        } finally {
+            Files.deleteIfExists(path);
+        }
+    }
+
+    @Test (expected = IOException.class)
+    public void testReplayRequireArgumentKnownActionType() throws IOException {
+        final Path path = Files.createTempFile("powergrid", ".log");
+        Files.delete(path);
+        try {
+            logged(path, new GameEngine(factory, new EditionGermany(), 2, 7), GameLogTest::playRound);
+            final byte[] record = new byte[GameLog.RECORD_SIZE];
+            record[0] = Byte.MAX_VALUE;
+            Files.write(path, record, StandardOpenOption.APPEND);
+
+            new GameLogReplayer(factory).replay(path);
+        } finally {
+            Files.deleteIfExists(path);
+        }
+    }
+
+    @Test (expected = IOException.class)
+    public void testReplayRequireArgumentCompleteHeader() throws IOException {
+        final Path path = Files.createTempFile("powergrid", ".log");
+        try {
+            Files.write(path, ByteBuffer.allocate(10).putInt(GameLog.MAGIC).putShort(GameLog.VERSION).array());
+            new GameLogReplayer(factory).replay(path);
+        } finally {
+            Files.deleteIfExists(path);
+        }
+    }
+
+    @Test
+    public void testReplayVerifyFunctionalityCustomBoardNeedsMatchingBoard() throws IOException {
+        final Path path = Files.createTempFile("powergrid", ".log");
+        Files.delete(path);
+        try {
+            // Drei Spieler auf dem Spielplan fuer sechs Spieler, also nicht auf dem Spielplan der Factory.
+            final EditionArtifacts artifacts = EditionArtifacts.build(factory, new EditionGermany());
+            final BoardIndex board = artifacts.getBoard(6);
+            final GameEngine played = new GameEngine(artifacts.getTables(), board, 3, factory.newRandomSource(42));
+            logged(path, played, GameLogTest::playRound);
+
+            try {
+                new GameLogReplayer(factory).replay(path);
+                throw new AssertionError("Der Spielplan haette nicht passen duerfen.");
+            } catch (IOException exception) {
+                // Erwartet.
+            }
+            assertSameState(played.getState(), new GameLogReplayer(factory).replay(path, board).getState());
+        } finally {
+            Files.deleteIfExists(path);
+        }
+    }
+
+    /**
+     * Hilfsmethode, die Zuege eines Spieles protokolliert und das Protokoll danach schliesst.
+     * @param path Pfad des Protokolls.
+     * @param engine Spiel.
+     * @param moves Zuege.
+     * @throws IOException wenn das Protokoll nicht geschrieben werden kann.
+     */
+    private static void logged(Path path, GameEngine engine, Consumer<GameEngine> moves) throws IOException {
+        final GameLog log = new GameLog(path, engine);
+        try {
+            moves.accept(engine);
+        } finally {
+            log.close();
+        }
+    }
+}
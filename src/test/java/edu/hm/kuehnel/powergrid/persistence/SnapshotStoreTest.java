@@ -0,0 +1,192 @@
+/*
+ * Copyright (c) 2020 Stefan Kuehnel - All Rights Reserved
+ * Unauthorized copying of this file, via any medium is strictly prohibited
+ * Proprietary and confidential
+ * Written by Stefan Kuehnel <stefan.kuehnel@hm.edu>, May 2020
+ *
+ * DISCLAIMER. THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OR CONDITION,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. THE AUTHOR HEREBY DISCLAIMS
+ * ALL LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE.
+ */
+
+package edu.hm.kuehnel.powergrid.persistence;
+
+import edu.hm.cs.rs.powergrid.Edition;
+import edu.hm.cs.rs.powergrid.EditionGermany;
+import edu.hm.cs.rs.powergrid.datastore.Factory;
+import edu.hm.kuehnel.powergrid.engine.ActionType;
+import edu.hm.kuehnel.powergrid.engine.GameEngine;
+import edu.hm.kuehnel.powergrid.metrics.Counter;
+import edu.hm.kuehnel.powergrid.metrics.MetricsRegistry;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+/** Die Testklasse fuer den SnapshotStore.
+ * @author Stefan Kuehnel, stefan.kuehnel@hm.edu
+ * @version last-modified 2026-10-19
+ */
+public class SnapshotStoreTest {
+    /** Verhindert unendliche Schleifen. */
+    @Rule
+    public final Timeout globalTimeout = Timeout.seconds(1); // Maximale Anzahl an Sekunden pro Testfall.
+
+    /** Factory. */
+    private final Factory factory;
+
+    /** Edition. */
+    private final Edition edition;
+
+    /** Initialisiert die Factory. */
+    public SnapshotStoreTest() throws IOException {
+        factory = Factory.newFactory();
+        edition = new EditionGermany();
+    }
+
+    @Test
+    public void testLoadVerifyFunctionalityRestoredStateEqualsSavedState() throws IOException {
+        final Path path = Files.createTempFile("powergrid", ".snap");
+        try (SnapshotStore sut = new SnapshotStore(path, factory, edition, 4)) {
+            final GameEngine saved = new GameEngine(factory, edition, 3, 42);
+            GameLogTest.playRound(saved);
+
+            sut.save(2, saved);
+            final GameEngine loaded = sut.load(2);
+
+            GameLogTest.assertSameState(saved.getState(), loaded.getState());
+        } finally {
+            Files.deleteIfExists(path);
+        }
+    }
+
+    @Test
+    public void testLoadVerifyFunctionalityNewestSnapshotWins() throws IOException {
+        final Path path = Files.createTempFile("powergrid", ".snap");
+        try (SnapshotStore sut = new SnapshotStore(path, factory, edition, 1)) {
+            final GameEngine saved = new GameEngine(factory, edition, 2, 7);
+
+            // Drei Sicherungspunkte, damit beide Seiten des Platzes mehrmals beschrieben werden.
+            for (int snapshot = 0; snapshot < 3; snapshot++) {
+                saved.apply(ActionType.EndPhase, 0, 0, 0);
+                sut.save(0, saved);
+            }
+
+            assertEquals(saved.getState().getPhase(), sut.load(0).getState().getPhase());
+        } finally {
+            Files.deleteIfExists(path);
+        }
+    }
+
+    @Test
+    public void testLoadVerifyFunctionalitySurvivesReopen() throws IOException {
+        final Path path = Files.createTempFile("powergrid", ".snap");
+        try {
+            final GameEngine saved = new GameEngine(factory, edition, 4, 11);
+            GameLogTest.playRound(saved);
+            try (SnapshotStore sut = new SnapshotStore(path, factory, edition, 2)) {
+                sut.save(1, saved);
+            }
+
+            try (SnapshotStore sut = new SnapshotStore(path, factory, edition, 2)) {
+                GameLogTest.assertSameState(saved.getState(), sut.load(1).getState());
+            }
+        } finally {
+            Files.deleteIfExists(path);
+        }
+    }
+
+    @Test
+    public void testLoadRequireReturnNullForEmptyOrClearedSlot() throws IOException {
+        final Path path = Files.createTempFile("powergrid", ".snap");
+        try (SnapshotStore sut = new SnapshotStore(path, factory, edition, 2)) {
+            assertNull(sut.load(0));
+
+            sut.save(1, new GameEngine(factory, edition, 2, 7));
+            sut.clear(1);
+
+            assertNull(sut.load(1));
+        } finally {
+            Files.deleteIfExists(path);
+        }
+    }
+
+    @Test
+    public void testLoadRequireReturnNullForTornPageAfterClear() throws IOException {
+        final Path path = Files.createTempFile("powergrid", ".snap");
+        try (SnapshotStore sut = new SnapshotStore(path, factory, edition, 1)) {
+            final GameEngine saved = new GameEngine(factory, edition, 2, 7);
+            sut.save(0, saved);
+            sut.save(0, saved);
+            sut.clear(0);
+
+            // Abgebrochener Schreibvorgang: nur der Stempel am Seitenanfang ist geschrieben.
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+                channel.write(ByteBuffer.allocate(Integer.BYTES).putInt(0, 1), SnapshotStore.HEADER_SIZE);
+            }
+
+            assertNull(sut.load(0));
+        } finally {
+            Files.deleteIfExists(path);
+        }
+    }
+
+    @Test (expected = IOException.class)
+    public void testNewSnapshotStoreRequireArgumentMatchingFile() throws IOException {
+        final Path path = Files.createTempFile("powergrid", ".snap");
+        try {
+            new SnapshotStore(path, factory, edition, 2).close();
+            new SnapshotStore(path, factory, edition, 3).close();
+        } finally {
+            Files.deleteIfExists(path);
+        }
+    }
+
+    @Test (expected = IllegalArgumentException.class)
+    public void testSaveRequireArgumentKnownSlot() throws IOException {
+        final Path path = Files.createTempFile("powergrid", ".snap");
+        try (SnapshotStore sut = new SnapshotStore(path, factory, edition, 2)) {
+            sut.save(2, new GameEngine(factory, edition, 2, 7));
+        } finally {
+            Files.deleteIfExists(path);
+        }
+    }
+
+    @Test (expected = IllegalArgumentException.class)
+    public void testSaveRequireArgumentEngineOnBoardOfStore() throws IOException {
+        final Path path = Files.createTempFile("powergrid", ".snap");
+        try (SnapshotStore sut = new SnapshotStore(path, factory, edition, 2)) {
+            final EditionArtifacts artifacts = EditionArtifacts.build(factory, edition);
+            sut.save(0, new GameEngine(artifacts.getTables(), artifacts.getBoard(6), 3, factory.newRandomSource(42)));
+        } finally {
+            Files.deleteIfExists(path);
+        }
+    }
+
+    @Test
+    public void testLoadVerifyFunctionalityRestoredGameIsNotCountedAsStarted() throws IOException {
+        final Counter started = MetricsRegistry.getDefault().counter("powergrid_games_started_total", "Begonnene Spiele.");
+        final Path path = Files.createTempFile("powergrid", ".snap");
+        try (SnapshotStore sut = new SnapshotStore(path, factory, edition, 1)) {
+            sut.save(0, new GameEngine(factory, edition, 2, 7));
+            final long before = started.get();
+
+            sut.load(0);
+
+            assertEquals(before, started.get());
+        } finally {
+            Files.deleteIfExists(path);
+        }
+    }
+}
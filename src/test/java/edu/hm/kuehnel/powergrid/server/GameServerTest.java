@@ -0,0 +1,273 @@
+/*
+ * Copyright (c) 2020 Stefan Kuehnel - All Rights Reserved
+ * Unauthorized copying of this file, via any medium is strictly prohibited
+ * Proprietary and confidential
+ * Written by Stefan Kuehnel <stefan.kuehnel@hm.edu>, May 2020
+ *
+ * DISCLAIMER. THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OR CONDITION,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. THE AUTHOR HEREBY DISCLAIMS
+ * ALL LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE.
+ */
+
+package edu.hm.kuehnel.powergrid.server;
+
+import edu.hm.cs.rs.powergrid.Edition;
+import edu.hm.cs.rs.powergrid.EditionGermany;
+import edu.hm.cs.rs.powergrid.datastore.Factory;
+import edu.hm.kuehnel.powergrid.engine.Action;
+import edu.hm.kuehnel.powergrid.engine.ActionType;
+import edu.hm.kuehnel.powergrid.engine.GameEngine;
+import edu.hm.kuehnel.powergrid.engine.Phase;
+import edu.hm.kuehnel.powergrid.persistence.EditionArtifacts;
+import edu.hm.kuehnel.powergrid.persistence.SnapshotStore;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/** Die Testklasse fuer den GameServer.
+ * @author Stefan Kuehnel, stefan.kuehnel@hm.edu
+ * @version last-modified 2026-10-19
+ */
+public class GameServerTest {
+    /** Verhindert unendliche Schleifen. */
+    @Rule
+    public final Timeout globalTimeout = Timeout.seconds(1); // Maximale Anzahl an Sekunden pro Testfall.
+
+    /** Factory. */
+    private final Factory factory;
+
+    /** Edition. */
+    private final Edition edition;
+
+    /** Initialisiert die Factory. */
+    public GameServerTest() {
+        factory = Factory.newFactory();
+        edition = new EditionGermany();
+    }
+
+    @Test
+    public void testSubmitVerifyFunctionalityConcurrentClientsOnManyGames() throws Exception {
+        final int games = 50;
+        final int clients = 4;
+        final int phasesPerClient = 6;
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        final ExecutorService clientPool = Executors.newFixedThreadPool(clients);
+        try {
+            final GameServer sut = new GameServer(factory, edition, executor, clients * phasesPerClient);
+            final long[] ids = new long[games];
+            for (int game = 0; game < games; game++)
+                ids[game] = sut.newGame(2 + game % 5, game);
+
+            // Jeder Client schickt jedem Spiel mehrere EndPhase-Zuege, die Clients laufen gleichzeitig.
+            final List<Future<?>> sent = new ArrayList<>();
+            for (int client = 0; client < clients; client++)
+                sent.add(clientPool.submit(() -> {
+                    final List<CompletableFuture<Integer>> results = new ArrayList<>();
+                    for (int phase = 0; phase < phasesPerClient; phase++)
+                        for (long id: ids)
+                            results.add(sut.submit(id, new Action(ActionType.EndPhase, 0, 0, 0)));
+                    results.forEach(CompletableFuture::join);
+                    return null;
+                }));
+            for (Future<?> future: sent)
+                future.get();
+
+            // 24 Phasenwechsel: Opening, dann vier volle Runden zu je fuenf Phasen, dann drei weitere.
+            final GameEngine reference = new GameEngine(factory, edition, 2, 0);
+            for (int phase = 0; phase < clients * phasesPerClient; phase++)
+                reference.apply(ActionType.EndPhase, 0, 0, 0);
+            for (long id: ids) {
+                assertEquals(reference.getState().getPhase(), sut.query(id, state -> state.getPhase()).get());
+                assertEquals(reference.getState().getRound(), (int) sut.query(id, state -> state.getRound()).get());
+            }
+            assertEquals(games, sut.getGames());
+        } finally {
+            clientPool.shutdownNow();
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testSubmitRequireFutureFailedForIllegalAction() throws InterruptedException {
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            final GameServer sut = new GameServer(factory, edition, executor, 4);
+            final long game = sut.newGame(3, 1);
+
+            // In der Eroeffnung darf niemand Staedte bauen.
+            final CompletableFuture<Integer> result = sut.submit(game, new Action(ActionType.BuildCity, 0, 0, 0));
+            try {
+                result.get();
+                throw new AssertionError("Zug haette abgelehnt werden muessen.");
+            } catch (ExecutionException exception) {
+                assertTrue(exception.getCause() instanceof IllegalStateException
+                        || exception.getCause() instanceof IllegalArgumentException);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testQueryVerifyFunctionalityNewGameInOpening() throws Exception {
+        final GameServer sut = new GameServer(factory, edition, Runnable::run, 1);
+        final long game = sut.newGame(2, 5);
+        assertEquals(Phase.Opening, sut.query(game, state -> state.getPhase()).get());
+    }
+
+    @Test (expected = IllegalStateException.class)
+    public void testSubmitDenyActionFullMailbox() {
+        // Ein Executor, der nie etwas ausfuehrt, damit das Postfach voll laeuft.
+        final GameServer sut = new GameServer(factory, edition, task -> { }, 2);
+        final long game = sut.newGame(2, 5);
+        for (int action = 0; action < 3; action++)
+            sut.submit(game, new Action(ActionType.EndPhase, 0, 0, 0));
+    }
+
+    @Test
+    public void testPostVerifyFunctionalityFailingTaskKeepsMailboxRunning() {
+        final GameActor sut = new GameActor(new GameEngine(factory, edition, 2, 5), Runnable::run, 4);
+        final AtomicBoolean done = new AtomicBoolean();
+        sut.post(() -> {
+            throw new IllegalStateException("Auftrag scheitert.");
+        });
+        sut.post(() -> done.set(true));
+        assertTrue(done.get());
+    }
+
+    @Test
+    public void testPostVerifyFunctionalityRejectedScheduleCanBeRetried() {
+        final AtomicBoolean reject = new AtomicBoolean(true);
+        final GameActor sut = new GameActor(new GameEngine(factory, edition, 2, 5), task -> {
+            if (reject.getAndSet(false))
+                throw new RejectedExecutionException();
+            task.run();
+        }, 4);
+        final AtomicBoolean done = new AtomicBoolean();
+        try {
+            sut.post(() -> { });
+        } catch (RejectedExecutionException exception) {
+            // Der Executor lehnt genau einmal ab.
+        }
+        sut.post(() -> done.set(true));
+        assertTrue(done.get());
+    }
+
+    @Test (expected = IllegalArgumentException.class)
+    public void testSubmitRequireArgumentKnownGame() {
+        final GameServer sut = new GameServer(factory, edition, Runnable::run, 1);
+        final long game = sut.newGame(2, 5);
+        sut.removeGame(game);
+        sut.submit(game, new Action(ActionType.EndPhase, 0, 0, 0));
+    }
+
+    @Test (expected = IllegalArgumentException.class)
+    public void testNewGameRequireArgumentPlayersInEditionRange() {
+        new GameServer(factory, edition, Runnable::run, 1).newGame(7, 5);
+    }
+
+    @Test
+    public void testEvictIdleVerifyFunctionalityNextCommandRehydrates() throws Exception {
+        final Path path = Files.createTempFile("powergrid", ".snap");
+        try (SnapshotStore store = new SnapshotStore(path, factory, edition, 4)) {
+            final GameServer sut = new GameServer(factory, EditionArtifacts.build(factory, edition), Runnable::run, 4,
+                    store, Duration.ZERO);
+            final long game = sut.newGame(3, 1);
+            sut.submit(game, new Action(ActionType.EndPhase, 0, 0, 0)).get();
+            sut.submit(game, new Action(ActionType.EndPhase, 0, 0, 0)).get();
+
+            assertEquals(1, sut.evictIdle());
+            assertEquals(0, sut.getGames());
+
+            assertEquals(Phase.PlantAuction, sut.query(game, state -> state.getPhase()).get());
+            assertEquals(1, sut.getGames());
+        } finally {
+            Files.deleteIfExists(path);
+        }
+    }
+
+    @Test
+    public void testEvictIdleVerifyFunctionalityWaitingCommandKeepsGameResident() throws Exception {
+        final Path path = Files.createTempFile("powergrid", ".snap");
+        try (SnapshotStore store = new SnapshotStore(path, factory, edition, 4)) {
+            // Ein Executor, der die Bearbeitung erst auf Zuruf startet.
+            final List<Runnable> pending = new ArrayList<>();
+            final GameServer sut = new GameServer(factory, EditionArtifacts.build(factory, edition), pending::add, 4,
+                    store, Duration.ZERO);
+            final long game = sut.newGame(2, 1);
+            sut.evictIdle();
+            final CompletableFuture<Integer> command = sut.submit(game, new Action(ActionType.EndPhase, 0, 0, 0));
+
+            while (!pending.isEmpty())
+                pending.remove(0).run();
+
+            // Der Zug lag hinter dem Auslagern im Postfach, das Spiel bleibt und bearbeitet ihn selbst.
+            assertEquals(1, sut.getGames());
+            assertEquals(0, command.get().intValue());
+        } finally {
+            Files.deleteIfExists(path);
+        }
+    }
+
+    @Test
+    public void testOfferDenyActionSealedMailbox() {
+        final GameActor sut = new GameActor(new GameEngine(factory, edition, 2, 5), Runnable::run, 4);
+
+        assertTrue(sut.seal());
+        assertFalse(sut.offer(() -> { }));
+    }
+
+    @Test
+    public void testRemoveGameVerifyFunctionalityEvictedGame() throws IOException {
+        final Path path = Files.createTempFile("powergrid", ".snap");
+        try (SnapshotStore store = new SnapshotStore(path, factory, edition, 1)) {
+            final GameServer sut = new GameServer(factory, EditionArtifacts.build(factory, edition), Runnable::run, 4,
+                    store, Duration.ZERO);
+            final long game = sut.newGame(2, 5);
+            sut.evictIdle();
+
+            assertTrue(sut.removeGame(game));
+            assertFalse(sut.removeGame(game));
+
+            // Der Platz ist wieder frei, die alte Nummer trifft das neue Spiel nicht.
+            final long next = sut.newGame(2, 6);
+            assertTrue(next != game);
+            assertFalse(sut.removeGame(game));
+        } finally {
+            Files.deleteIfExists(path);
+        }
+    }
+
+    @Test (expected = IllegalStateException.class)
+    public void testNewGameDenyActionStoreFull() throws IOException {
+        final Path path = Files.createTempFile("powergrid", ".snap");
+        try (SnapshotStore store = new SnapshotStore(path, factory, edition, 1)) {
+            final GameServer sut = new GameServer(factory, EditionArtifacts.build(factory, edition), Runnable::run, 4,
+                    store, Duration.ofMinutes(5));
+            sut.newGame(2, 5);
+            sut.newGame(2, 6);
+        } finally {
+            Files.deleteIfExists(path);
+        }
+    }
+}